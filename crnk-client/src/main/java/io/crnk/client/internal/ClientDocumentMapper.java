@@ -15,6 +15,7 @@ import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.internal.document.mapper.DocumentMapper;
 import io.crnk.core.engine.internal.document.mapper.DocumentMapperUtil;
+import io.crnk.core.engine.internal.document.mapper.ProjectionPlan;
 import io.crnk.core.engine.internal.document.mapper.ResourceMapper;
 import io.crnk.core.engine.internal.utils.PreconditionUtil;
 import io.crnk.core.engine.parser.TypeParser;
@@ -49,7 +50,7 @@ public class ClientDocumentMapper extends DocumentMapper {
 
 			@Override
 			protected void setRelationship(Resource resource, ResourceField field, Object entity,
-					ResourceInformation resourceInformation, QueryAdapter queryAdapter) {
+					ResourceInformation resourceInformation, QueryAdapter queryAdapter, ProjectionPlan plan) {
 				// we also include relationship data if it is not null and not a
 				// unloaded proxy
 				boolean includeRelation = true;
@@ -3,6 +3,7 @@ package io.crnk.client.internal;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +83,14 @@ class ClientResourceUpsert extends ResourceUpsert {
 		return proxyFactory.createResourceProxy(resourceClass, relationId);
 	}
 
+	/**
+	 * Related objects are taken from the includes section or proxied, there is nothing to fetch in bulk.
+	 */
+	@Override
+	protected Map<ResourceIdentifier, Object> fetchRelatedObjects(Resource resource, RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
+		return Collections.emptyMap();
+	}
+
 	public List<Object> allocateResources(List<Resource> resources) {
 		List<Object> objects = new ArrayList<>();
 		for (Resource resource : resources) {
@@ -151,7 +160,7 @@ class ClientResourceUpsert extends ResourceUpsert {
 	}
 
 	@Override
-	protected void setRelationsField(Object newResource, RegistryEntry registryEntry, Map.Entry<String, Relationship> property, QueryAdapter queryAdapter, RepositoryMethodParameterProvider parameterProvider) {
+	protected void setRelationsField(Object newResource, RegistryEntry registryEntry, Map.Entry<String, Relationship> property, QueryAdapter queryAdapter, RepositoryMethodParameterProvider parameterProvider, Map<ResourceIdentifier, Object> relatedObjects) {
 
 		Relationship relationship = property.getValue();
 
@@ -174,7 +183,7 @@ class ClientResourceUpsert extends ResourceUpsert {
 			}
 		} else {
 			// set elements
-			super.setRelationsField(newResource, registryEntry, property, queryAdapter, parameterProvider);
+			super.setRelationsField(newResource, registryEntry, property, queryAdapter, parameterProvider, relatedObjects);
 		}
 	}
 
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import io.crnk.core.engine.error.JsonApiExceptionMapper;
 import io.crnk.core.engine.filter.DocumentFilter;
 import io.crnk.core.engine.http.HttpRequestContextProvider;
+import io.crnk.core.engine.http.RequestContextPropagator;
+import io.crnk.core.engine.http.RequestThreadBound;
 import io.crnk.core.engine.information.resource.ResourceFieldNameTransformer;
 import io.crnk.core.engine.internal.dispatcher.ControllerRegistry;
 import io.crnk.core.engine.internal.dispatcher.ControllerRegistryBuilder;
@@ -17,6 +19,7 @@ import io.crnk.core.engine.internal.jackson.JsonApiModuleBuilder;
 import io.crnk.core.engine.internal.registry.ResourceRegistryImpl;
 import io.crnk.core.engine.internal.utils.ClassUtils;
 import io.crnk.core.engine.internal.utils.PreconditionUtil;
+import io.crnk.core.engine.internal.utils.StringUtils;
 import io.crnk.core.engine.properties.NullPropertiesProvider;
 import io.crnk.core.engine.properties.PropertiesProvider;
 import io.crnk.core.engine.query.QueryAdapterBuilder;
@@ -31,6 +34,7 @@ import io.crnk.core.module.discovery.FallbackServiceDiscoveryFactory;
 import io.crnk.core.module.discovery.ServiceDiscovery;
 import io.crnk.core.module.discovery.ServiceDiscoveryFactory;
 import io.crnk.core.queryspec.DefaultQuerySpecDeserializer;
+import io.crnk.core.queryspec.InMemoryEvaluator;
 import io.crnk.core.queryspec.QuerySpecDeserializer;
 import io.crnk.core.queryspec.internal.QuerySpecAdapterBuilder;
 import io.crnk.core.repository.RelationshipRepositoryV2;
@@ -48,8 +52,15 @@ import io.crnk.legacy.repository.information.DefaultRelationshipRepositoryInform
 import io.crnk.legacy.repository.information.DefaultResourceRepositoryInformationBuilder;
 import net.jodah.typetools.TypeResolver;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Facilitates the startup of Crnk in various environments (Spring, CDI,
@@ -88,6 +99,16 @@ public class CrnkBoot {
 
 	private DocumentMapper documentMapper;
 
+	private ExecutorService includeLookupExecutor;
+
+	private boolean includeLookupExecutorOwned;
+
+	private ForkJoinPool inMemoryForkJoinPool;
+
+	private boolean inMemoryForkJoinPoolOwned;
+
+	private int inMemoryParallelThreshold = InMemoryEvaluator.DEFAULT_PARALLEL_THRESHOLD;
+
 	private static String buildServiceUrl(String resourceDefaultDomain, String webPathPrefix) {
 		return resourceDefaultDomain + (webPathPrefix != null ? webPathPrefix : "");
 	}
@@ -156,9 +177,80 @@ public class CrnkBoot {
 
 		setupServiceUrlProvider();
 		setupServiceDiscovery();
+		setupInMemoryEvaluation();
+		setupQuerySpecParseCache();
 		bootDiscovery();
 	}
 
+	private void setupQuerySpecParseCache() {
+		String parseCacheSize = propertiesProvider.getProperty(CrnkProperties.QUERY_SPEC_PARSE_CACHE_SIZE);
+		if (querySpecDeserializer instanceof DefaultQuerySpecDeserializer && !StringUtils.isBlank(parseCacheSize)) {
+			((DefaultQuerySpecDeserializer) querySpecDeserializer).setParseCacheSize(Integer.parseInt(parseCacheSize.trim()));
+		}
+	}
+
+	private void setupInMemoryEvaluation() {
+		String parallelism = propertiesProvider.getProperty(CrnkProperties.IN_MEMORY_PARALLELISM);
+		if (inMemoryForkJoinPool == null && !StringUtils.isBlank(parallelism)) {
+			int threads = Integer.parseInt(parallelism.trim());
+			if (threads > 1) {
+				inMemoryForkJoinPool = new ForkJoinPool(threads);
+				inMemoryForkJoinPoolOwned = true;
+			}
+		}
+		String threshold = propertiesProvider.getProperty(CrnkProperties.IN_MEMORY_PARALLEL_THRESHOLD);
+		if (!StringUtils.isBlank(threshold)) {
+			inMemoryParallelThreshold = Integer.parseInt(threshold.trim());
+		}
+		moduleRegistry.setInMemoryEvaluator(createInMemoryEvaluator());
+	}
+
+	/**
+	 * Sets the pool used by {@link #createInMemoryEvaluator()} to filter and sort large collections in parallel. The pool
+	 * remains owned by the caller. Alternatively, the {@link CrnkProperties#IN_MEMORY_PARALLELISM} property creates a pool
+	 * with the given number of threads that is shut down by {@link #close()}.
+	 *
+	 * @param forkJoinPool to use or null to evaluate sequentially
+	 */
+	public void setInMemoryForkJoinPool(ForkJoinPool forkJoinPool) {
+		checkNotConfiguredYet();
+		this.inMemoryForkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * @return evaluator making use of the in-memory pool and threshold of this instance, to be used with
+	 * {@link io.crnk.core.queryspec.QuerySpec#apply(Iterable, InMemoryEvaluator)}. Repositories obtain such an evaluator
+	 * from {@link io.crnk.core.engine.registry.ResourceRegistry#getInMemoryEvaluator()}.
+	 */
+	public InMemoryEvaluator createInMemoryEvaluator() {
+		InMemoryEvaluator evaluator = new InMemoryEvaluator();
+		evaluator.setForkJoinPool(inMemoryForkJoinPool);
+		evaluator.setParallelThreshold(inMemoryParallelThreshold);
+		return evaluator;
+	}
+
+	/**
+	 * Releases the thread pools created by this instance from its properties. Pools set by the application are left
+	 * untouched.
+	 */
+	public void close() {
+		if (includeLookupExecutorOwned) {
+			// requests still arriving fall back to sequential lookups
+			documentMapper.setIncludeLookupExecutor(null, 0, Collections.<RequestContextPropagator>emptyList(),
+					Collections.<RequestThreadBound>emptyList());
+			includeLookupExecutor.shutdown();
+			includeLookupExecutor = null;
+			includeLookupExecutorOwned = false;
+		}
+		if (inMemoryForkJoinPoolOwned) {
+			inMemoryForkJoinPool.shutdown();
+			inMemoryForkJoinPool = null;
+			inMemoryForkJoinPoolOwned = false;
+			// repositories still serving requests fall back to sequential evaluation
+			moduleRegistry.setInMemoryEvaluator(createInMemoryEvaluator());
+		}
+	}
+
 	private void setupServiceDiscovery() {
 		if (serviceDiscovery == null) {
 			// revert to reflection-based approach if no ServiceDiscovery is
@@ -181,7 +273,58 @@ public class CrnkBoot {
 		objectMapper.registerModule(jsonApiModuleBuilder.build());
 
 		requestDispatcher = createRequestDispatcher(moduleRegistry.getExceptionMapperRegistry());
+		setupIncludeLookupExecution();
+	}
+
+	private void setupIncludeLookupExecution() {
+		if (includeLookupExecutor == null) {
+			String threads = propertiesProvider.getProperty(CrnkProperties.INCLUDE_LOOKUP_THREADS);
+			if (StringUtils.isBlank(threads) || Integer.parseInt(threads.trim()) <= 1) {
+				return;
+			}
+			includeLookupExecutor = Executors.newFixedThreadPool(Integer.parseInt(threads.trim()), new ThreadFactory() {
+
+				private final AtomicInteger counter = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "crnk-include-lookup-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			includeLookupExecutorOwned = true;
+		}
 
+		int parallelism = 0;
+		String parallelismValue = propertiesProvider.getProperty(CrnkProperties.INCLUDE_LOOKUP_PARALLELISM);
+		if (!StringUtils.isBlank(parallelismValue)) {
+			parallelism = Integer.parseInt(parallelismValue.trim());
+		}
+
+		List<RequestContextPropagator> propagators = new ArrayList<>();
+		if (defaultServiceUrlProvider instanceof HttpRequestContextProvider) {
+			propagators.add((HttpRequestContextProvider) defaultServiceUrlProvider);
+		}
+		if (serviceUrlProvider != defaultServiceUrlProvider && serviceUrlProvider instanceof HttpRequestContextProvider) {
+			propagators.add((HttpRequestContextProvider) serviceUrlProvider);
+		}
+		propagators.addAll(moduleRegistry.getRequestContextPropagators());
+		documentMapper.setIncludeLookupExecutor(includeLookupExecutor, parallelism, propagators,
+				moduleRegistry.getRequestThreadBoundModules());
+	}
+
+	/**
+	 * Sets the executor used to look up sibling relationships of inclusions concurrently. By default lookups are done
+	 * sequentially by the thread serving the request. The executor remains owned by the caller. Alternatively, the
+	 * {@link CrnkProperties#INCLUDE_LOOKUP_THREADS} property creates a pool with the given number of threads that is shut
+	 * down by {@link #close()}.
+	 *
+	 * @param executor to use or null to look up sequentially
+	 */
+	public void setIncludeLookupExecutor(ExecutorService executor) {
+		checkNotConfiguredYet();
+		this.includeLookupExecutor = executor;
 	}
 
 	private void setupResourceRegistry() {
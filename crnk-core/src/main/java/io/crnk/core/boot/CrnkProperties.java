@@ -119,6 +119,10 @@ public class CrnkProperties {
 	 *   it is the root resp. an included entity. This can lead to confusion if inclusions are cyclic (not that uncommon).
 	 *   For this reason support is disabled by default.
 	 * </p>
+	 * <p>
+	 *   Offset and limit apply to the related resources of each resource separately. Bulk relationship repositories of
+	 *   the JPA module fetch those pages for all resources with a single query.
+	 * </p>
 	 */
 	public static final String INCLUDE_PAGING_ENABLED = "crnk.config.include.paging.enabled";
 
@@ -129,5 +133,90 @@ public class CrnkProperties {
 	 */
 	public static final String RETURN_404_ON_NULL = "crnk.config.resource.response.return_404";
 
+	/**
+	 * <p>
+	 * Set a boolean whether Crnk should defer the serialization of resource attribute values until the response is
+	 * written, instead of converting every value into a {@link com.fasterxml.jackson.databind.JsonNode} tree while the
+	 * document is built. By default this is disabled.
+	 * </p>
+	 * <p>
+	 * Only attribute values are deferred. The attributes of a {@link io.crnk.core.engine.document.Resource} hold the
+	 * original values wrapped in a {@link com.fasterxml.jackson.databind.node.POJONode}; the document, relationships,
+	 * links and meta information are built as before. Document filters that inspect attributes as trees have to be
+	 * aware of this.
+	 * </p>
+	 * <p>
+	 * The values are serialized after all document filters have returned and the status has been committed. They must
+	 * remain accessible until then, failures while writing can no longer be mapped to an error response. Document
+	 * filters resolve values that may fail beforehand. The transaction filter of the JPA module serializes values its
+	 * persistence context has not loaded yet before the transaction ends.
+	 * </p>
+	 */
+	public static final String SERIALIZATION_STREAMING_ENABLED = "crnk.config.serialization.streaming";
+
+	/**
+	 * <p>
+	 * Set which links are written for relationships of a resource. See
+	 * {@link io.crnk.core.engine.properties.RelationshipLinksBehavior}.
+	 * </p>
+	 * <p>
+	 * Possible values: SELF_AND_RELATED (default), SELF, RELATED
+	 * </p>
+	 */
+	public static final String RELATIONSHIP_LINKS_BEHAVIOR = "crnk.config.serialization.relationshipLinks";
+
+	/**
+	 * <p>
+	 * Set the number of threads used by the evaluators of {@link io.crnk.core.boot.CrnkBoot#createInMemoryEvaluator()} and
+	 * {@link io.crnk.core.engine.registry.ResourceRegistry#getInMemoryEvaluator()} to filter and sort large collections in
+	 * memory, like the ones of {@link io.crnk.core.repository.InMemoryResourceRepository}. By default collections are
+	 * evaluated sequentially by the calling thread. See {@link io.crnk.core.queryspec.InMemoryEvaluator}.
+	 * </p>
+	 */
+	public static final String IN_MEMORY_PARALLELISM = "crnk.config.inMemory.parallelism";
+
+	/**
+	 * <p>
+	 * Set the minimum collection size from which {@link #IN_MEMORY_PARALLELISM} takes effect. Defaults to
+	 * {@link io.crnk.core.queryspec.InMemoryEvaluator#DEFAULT_PARALLEL_THRESHOLD}.
+	 * </p>
+	 */
+	public static final String IN_MEMORY_PARALLEL_THRESHOLD = "crnk.config.inMemory.parallelThreshold";
+
+	/**
+	 * <p>
+	 * Set the number of parsed query parameter sets the {@link io.crnk.core.queryspec.DefaultQuerySpecDeserializer}
+	 * keeps in a least recently used cache. Requests with the same parameters then obtain a copy of the cached
+	 * {@link io.crnk.core.queryspec.QuerySpec} instead of parsing them again. Disabled by default. See
+	 * {@link io.crnk.core.queryspec.DefaultQuerySpecDeserializer#setParseCacheSize(int)}.
+	 * </p>
+	 */
+	public static final String QUERY_SPEC_PARSE_CACHE_SIZE = "crnk.config.query.parseCacheSize";
 
+	/**
+	 * <p>
+	 * Set the number of threads used to look up sibling relationships of inclusions concurrently. Only the repository
+	 * calls run on the pool, the results are merged by the thread serving the request. By default lookups are sequential.
+	 * The executor can also be set with {@link CrnkBoot#setIncludeLookupExecutor(java.util.concurrent.ExecutorService)}.
+	 * </p>
+	 */
+	public static final String INCLUDE_LOOKUP_THREADS = "crnk.config.include.lookup.threads";
+
+	/**
+	 * <p>
+	 * Set the maximum number of concurrent relationship lookups of a single request when {@link #INCLUDE_LOOKUP_THREADS}
+	 * is in use. Unlimited by default.
+	 * </p>
+	 */
+	public static final String INCLUDE_LOOKUP_PARALLELISM = "crnk.config.include.lookup.parallelism";
+
+	/**
+	 * <p>
+	 * Set whether to-one relationships served by a non-bulk relationship repository are looked up with a single
+	 * findAll on the opposite resource repository, where the source entities already carry the target with its id.
+	 * Otherwise the relationship repository is called once per source. Only enable it if those repositories resolve
+	 * to-one relationships to the target held by the source entity. Disabled by default.
+	 * </p>
+	 */
+	public static final String INCLUDE_LOOKUP_BY_TARGET_ID = "crnk.config.include.lookup.byTargetId";
 }
@@ -2,6 +2,8 @@ package io.crnk.core.engine.dispatcher;
 
 import io.crnk.core.engine.document.Document;
 import io.crnk.core.engine.http.HttpRequestContextBase;
+import io.crnk.core.engine.internal.dispatcher.path.JsonPath;
+import io.crnk.core.engine.internal.dispatcher.path.PathBuilder;
 import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 
 import java.io.IOException;
@@ -16,5 +18,18 @@ public interface RequestDispatcher {
 							 RepositoryMethodParameterProvider parameterProvider,
 							 Document requestBody);
 
+	/**
+	 * Same as {@link #dispatchRequest(String, String, Map, RepositoryMethodParameterProvider, Document)} for a path that
+	 * has already been parsed with {@link #getPathBuilder()}.
+	 */
+	Response dispatchRequest(JsonPath jsonPath, String method, Map<String, Set<String>> parameters,
+							 RepositoryMethodParameterProvider parameterProvider,
+							 Document requestBody);
+
 	void dispatchAction(String jsonPath, String method, Map<String, Set<String>> parameters);
+
+	/**
+	 * @return path builder used by this dispatcher to parse request paths, callers use it to parse a path only once.
+	 */
+	PathBuilder getPathBuilder();
 }
@@ -1,6 +1,7 @@
 package io.crnk.core.engine.http;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public interface HttpRequestContext extends HttpRequestContextBase {
 
@@ -10,7 +11,19 @@ public interface HttpRequestContext extends HttpRequestContextBase {
 
 	void setResponse(int statusCode, String text) throws IOException;
 
+	/**
+	 * Sets the response and lets the given writer write the body directly to the underlying container if
+	 * supported, see {@link StreamingHttpRequestContextBase}.
+	 */
+	void setResponse(int statusCode, HttpResponseWriter writer) throws IOException;
+
 	boolean acceptsAny();
 
+	/**
+	 * @return stream of the request body without intermediate buffering if supported by the underlying
+	 * {@link StreamingHttpRequestContextBase}, null if there is no body.
+	 */
+	InputStream getRequestBodyStream() throws IOException;
+
 	<T> T unwrap(Class<T> type);
 }
@@ -1,9 +1,10 @@
 package io.crnk.core.engine.http;
 
-import io.crnk.core.engine.url.ServiceUrlProvider;
+import java.util.concurrent.Callable;
 
-public class HttpRequestContextProvider implements ServiceUrlProvider {
+import io.crnk.core.engine.url.ServiceUrlProvider;
 
+public class HttpRequestContextProvider implements ServiceUrlProvider, RequestContextPropagator {
 
 	private ThreadLocal<HttpRequestContext> threadLocal = new ThreadLocal<>();
 
@@ -27,4 +28,28 @@ public class HttpRequestContextProvider implements ServiceUrlProvider {
 	public void onRequestFinished() {
 		threadLocal.remove();
 	}
+
+	@Override
+	public <T> Callable<T> propagate(final Callable<T> callable) {
+		final HttpRequestContext request = threadLocal.get();
+		return new Callable<T>() {
+
+			@Override
+			public T call() throws Exception {
+				HttpRequestContext previous = threadLocal.get();
+				threadLocal.set(request);
+				try {
+					return callable.call();
+				}
+				finally {
+					if (previous != null) {
+						threadLocal.set(previous);
+					}
+					else {
+						threadLocal.remove();
+					}
+				}
+			}
+		};
+	}
 }
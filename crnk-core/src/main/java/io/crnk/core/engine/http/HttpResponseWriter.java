@@ -0,0 +1,16 @@
+package io.crnk.core.engine.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the body of a response to the output stream provided by the underlying container. Allows to serialize
+ * large responses without buffering them in memory first.
+ */
+public interface HttpResponseWriter {
+
+	/**
+	 * @param outputStream to write the body to. It is flushed and closed by the caller.
+	 */
+	void writeTo(OutputStream outputStream) throws IOException;
+}
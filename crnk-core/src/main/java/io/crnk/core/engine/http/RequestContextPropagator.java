@@ -0,0 +1,18 @@
+package io.crnk.core.engine.http;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries request-scoped state, like thread-locals or transactions, from the thread serving a request over to worker
+ * threads that do work on its behalf.
+ */
+public interface RequestContextPropagator {
+
+	/**
+	 * Captures the context of the calling thread.
+	 *
+	 * @param callable to run on another thread
+	 * @return callable that runs the given one with the captured context in place
+	 */
+	<T> Callable<T> propagate(Callable<T> callable);
+}
@@ -0,0 +1,17 @@
+package io.crnk.core.engine.http;
+
+import io.crnk.core.engine.information.resource.ResourceInformation;
+
+/**
+ * Implemented by modules whose repositories depend on state bound to the thread serving the request, like an open
+ * persistence context or transaction. Relationships of such resources are always looked up by that thread, also when
+ * inclusions are otherwise looked up concurrently.
+ */
+public interface RequestThreadBound {
+
+	/**
+	 * @param resourceInformation of a resource taking part in a lookup, either as source or as target
+	 * @return true if its repositories must be called by the thread serving the request
+	 */
+	boolean isRequestThreadBound(ResourceInformation resourceInformation);
+}
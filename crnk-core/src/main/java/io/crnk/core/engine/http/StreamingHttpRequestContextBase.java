@@ -0,0 +1,29 @@
+package io.crnk.core.engine.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Optionally implemented by a {@link HttpRequestContextBase} that can pass request and response bodies directly
+ * from and to the underlying container. Otherwise bodies are buffered and handed over with
+ * {@link HttpRequestContextBase#getRequestBody()} resp. {@link HttpRequestContextBase#setResponse(int, byte[])}.
+ */
+public interface StreamingHttpRequestContextBase extends HttpRequestContextBase {
+
+	/**
+	 * Sets the status code and lets the writer write the body. Response headers must be set in advance.
+	 *
+	 * @param code   status code
+	 * @param writer to write the body, or null for none
+	 */
+	void setResponse(int code, HttpResponseWriter writer) throws IOException;
+
+	/**
+	 * Gives access to the request body without buffering it. The stream can only be consumed once. If
+	 * {@link #getRequestBody()} has been called in advance, the buffered body is returned instead. Calling
+	 * {@link #getRequestBody()} after the stream has been obtained is not supported.
+	 *
+	 * @return stream of the request body or null if there is none
+	 */
+	InputStream getRequestBodyStream() throws IOException;
+}
@@ -1,12 +1,14 @@
 package io.crnk.core.engine.internal.dispatcher;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import io.crnk.core.engine.internal.dispatcher.controller.BaseController;
 import io.crnk.core.engine.internal.dispatcher.path.JsonPath;
 import io.crnk.core.engine.internal.dispatcher.path.PathBuilder;
 import io.crnk.core.engine.internal.http.HttpRequestProcessorImpl;
+import io.crnk.core.engine.internal.utils.CompareUtils;
 import io.crnk.core.exception.MethodNotFoundException;
 
 /**
@@ -16,7 +18,13 @@ import io.crnk.core.exception.MethodNotFoundException;
  */
 public class ControllerRegistry {
 
-	private final List<BaseController> controllers = new LinkedList<>();
+	private final List<BaseController> controllers = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Controllers by kind of path, whether it targets a collection and HTTP method. Filled upon first use of a
+	 * combination, see {@link BaseController#isAcceptable(JsonPath, String)}.
+	 */
+	private final ConcurrentHashMap<DispatchKey, BaseController> dispatchTable = new ConcurrentHashMap<>();
 
 	public ControllerRegistry(List<BaseController> baseControllers) {
 		if (baseControllers != null) {
@@ -31,6 +39,7 @@ public class ControllerRegistry {
 	 */
 	public void addController(BaseController controller) {
 		controllers.add(controller);
+		dispatchTable.clear();
 	}
 
 	/**
@@ -41,11 +50,50 @@ public class ControllerRegistry {
 	 * @return suitable controller
 	 */
 	public BaseController getController(JsonPath jsonPath, String requestType) {
+		DispatchKey key = new DispatchKey(jsonPath.getClass(), jsonPath.isCollection(), requestType);
+		BaseController dispatchedController = dispatchTable.get(key);
+		if (dispatchedController != null) {
+			return dispatchedController;
+		}
 		for (BaseController controller : controllers) {
 			if (controller.isAcceptable(jsonPath, requestType)) {
+				dispatchTable.put(key, controller);
 				return controller;
 			}
 		}
 		throw new MethodNotFoundException(PathBuilder.build(jsonPath), requestType);
 	}
+
+	private static class DispatchKey {
+
+		private final Class<?> pathClass;
+
+		private final boolean collection;
+
+		private final String requestType;
+
+		DispatchKey(Class<?> pathClass, boolean collection, String requestType) {
+			this.pathClass = pathClass;
+			this.collection = collection;
+			this.requestType = requestType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof DispatchKey)) {
+				return false;
+			}
+			DispatchKey other = (DispatchKey) obj;
+			return pathClass == other.pathClass && collection == other.collection
+					&& CompareUtils.isEquals(requestType, other.requestType);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = pathClass.hashCode();
+			result = 31 * result + (collection ? 1 : 0);
+			result = 31 * result + (requestType != null ? requestType.hashCode() : 0);
+			return result;
+		}
+	}
 }
@@ -19,7 +19,9 @@ import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 public abstract class BaseController {
 
 	/**
-	 * Checks if requested repository method is acceptable.
+	 * Checks if requested repository method is acceptable. The result may only depend on the type of the path, whether
+	 * it targets a collection and the request type, since {@link io.crnk.core.engine.internal.dispatcher.ControllerRegistry}
+	 * remembers the accepting controller for each such combination.
 	 *
 	 * @param jsonPath    Requested resource path
 	 * @param requestType HTTP request type
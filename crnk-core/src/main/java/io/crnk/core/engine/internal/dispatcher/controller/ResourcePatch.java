@@ -2,6 +2,8 @@ package io.crnk.core.engine.internal.dispatcher.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
 import io.crnk.core.engine.dispatcher.Response;
 import io.crnk.core.engine.document.Document;
 import io.crnk.core.engine.document.Resource;
@@ -12,7 +14,6 @@ import io.crnk.core.engine.internal.dispatcher.path.JsonPath;
 import io.crnk.core.engine.internal.dispatcher.path.ResourcePath;
 import io.crnk.core.engine.internal.document.mapper.DocumentMapper;
 import io.crnk.core.engine.internal.repository.ResourceRepositoryAdapter;
-import io.crnk.core.engine.internal.utils.ExceptionUtil;
 import io.crnk.core.engine.parser.TypeParser;
 import io.crnk.core.engine.properties.PropertiesProvider;
 import io.crnk.core.engine.query.QueryAdapter;
@@ -22,10 +23,11 @@ import io.crnk.core.exception.ResourceNotFoundException;
 import io.crnk.core.repository.response.JsonApiResponse;
 import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 
-import java.io.IOException;
 import java.io.Serializable;
-import java.util.*;
-import java.util.concurrent.Callable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 
 public class ResourcePatch extends ResourceUpsert {
 
@@ -46,7 +48,7 @@ public class ResourcePatch extends ResourceUpsert {
 						   RepositoryMethodParameterProvider parameterProvider, Document requestDocument) {
 
 		RegistryEntry endpointRegistryEntry = getRegistryEntry(jsonPath);
-		final Resource resourceBody = getRequestBody(requestDocument, jsonPath, HttpMethod.PATCH);
+		Resource resourceBody = getRequestBody(requestDocument, jsonPath, HttpMethod.PATCH);
 		RegistryEntry bodyRegistryEntry = resourceRegistry.getEntry(resourceBody.getType());
 
 		String idString = jsonPath.getIds().getIds().get(0);
@@ -60,44 +62,10 @@ public class ResourcePatch extends ResourceUpsert {
 		if (resource == null) {
 			throw new ResourceNotFoundException(jsonPath.toString());
 		}
-		final Resource resourceFindData =
-				documentMapper.toDocument(resourceFindResponse, queryAdapter, parameterProvider).getSingleData().get();
-
 		resourceInformation.verify(resource, requestDocument);
 
-		// extract current attributes from findOne without any manipulation by query params (such as sparse fieldsets)
-		ExceptionUtil.wrapCatchedExceptions(new Callable<Object>() {
-			@Override
-			public Object call() throws Exception {
-				String attributesFromFindOne = extractAttributesFromResourceAsJson(resourceFindData);
-				Map<String, Object> attributesToUpdate =
-						new HashMap<>(emptyIfNull(objectMapper.readValue(attributesFromFindOne, Map.class)));
-
-				// deserialize the request JSON's attributes object into a map
-				String attributesAsJson = objectMapper.writeValueAsString(resourceBody.getAttributes());
-				Map<String, Object> attributesFromRequest = emptyIfNull(objectMapper.readValue(attributesAsJson, Map.class));
-
-				// remove attributes that were omitted in the request
-				Iterator<String> it = attributesToUpdate.keySet().iterator();
-				while (it.hasNext()) {
-					String key = it.next();
-					if (!attributesFromRequest.containsKey(key)) {
-						it.remove();
-					}
-				}
-
-				// walk the source map and apply target values from request
-				updateValues(attributesToUpdate, attributesFromRequest);
-				Map<String, JsonNode> upsertedAttributes = new HashMap<>();
-				for (Map.Entry<String, Object> entry : attributesToUpdate.entrySet()) {
-					JsonNode value = objectMapper.valueToTree(entry.getValue());
-					upsertedAttributes.put(entry.getKey(), value);
-				}
-
-				resourceBody.setAttributes(upsertedAttributes);
-				return null;
-			}
-		}, "failed to merge patched attributes");
+		// merge the request attributes into the current state of the resource, embedded objects are merged field by field
+		resourceBody.setAttributes(mergeAttributes(resource, resourceInformation, resourceBody.getAttributes()));
 
 		JsonApiResponse updatedResource;
 		Set<String> loadedRelationshipNames;
@@ -117,43 +85,62 @@ public class ResourcePatch extends ResourceUpsert {
 	}
 
 
-	private <K, V> Map<K, V> emptyIfNull(Map<K, V> value) {
-		return (Map<K, V>) (value != null ? value : Collections.emptyMap());
+	private Map<String, JsonNode> mergeAttributes(Object resource, ResourceInformation resourceInformation,
+			Map<String, JsonNode> requestAttributes) {
+		Map<String, JsonNode> mergedAttributes = new HashMap<>();
+		for (Map.Entry<String, JsonNode> entry : requestAttributes.entrySet()) {
+			String attributeName = entry.getKey();
+			JsonNode requestValue = entry.getValue();
+			if (requestValue instanceof ObjectNode) {
+				// only embedded objects need the current value, everything else is replaced as a whole
+				JsonNode currentValue = getCurrentAttributeValue(resource, resourceInformation, attributeName);
+				ObjectNode mergedValue = currentValue instanceof ObjectNode ? ((ObjectNode) currentValue).deepCopy()
+						: objectMapper.createObjectNode();
+				mergeObject(mergedValue, (ObjectNode) requestValue);
+				requestValue = mergedValue;
+			}
+			mergedAttributes.put(attributeName, requestValue);
+		}
+		return mergedAttributes;
 	}
 
-	private String extractAttributesFromResourceAsJson(Resource resource) throws IOException {
-
-		JsonApiResponse response = new JsonApiResponse();
-		response.setEntity(resource);
-		// deserialize using the objectMapper so it becomes json-api
-		String newRequestBody = objectMapper.writeValueAsString(resource);
-		JsonNode node = objectMapper.readTree(newRequestBody);
-		JsonNode attributes = node.findValue("attributes");
-		return objectMapper.writeValueAsString(attributes);
-
+	/**
+	 * @return current value of the given attribute as read from the resource, without any manipulation by query parameters
+	 * (such as sparse fieldsets).
+	 */
+	@SuppressWarnings("unchecked")
+	private JsonNode getCurrentAttributeValue(Object resource, ResourceInformation resourceInformation, String attributeName) {
+		if (resource instanceof Resource) {
+			JsonNode value = ((Resource) resource).getAttributes().get(attributeName);
+			return value instanceof POJONode ? objectMapper.valueToTree(((POJONode) value).getPojo()) : value;
+		}
+		ResourceField field = resourceInformation.findAttributeFieldByName(attributeName);
+		if (field == null) {
+			// dynamic attribute
+			return objectMapper.valueToTree(resourceInformation.getAttributeFields().getDynamicProperty(resource, attributeName));
+		}
+		return objectMapper.valueToTree(field.getAccessor().getValue(resource));
 	}
 
-	private void updateValues(Map<String, Object> source, Map<String, Object> updates) {
-
-		for (Map.Entry<String, Object> entry : updates.entrySet()) {
+	private static void mergeObject(ObjectNode target, ObjectNode updates) {
+		Iterator<Map.Entry<String, JsonNode>> iterator = updates.fields();
+		while (iterator.hasNext()) {
+			Map.Entry<String, JsonNode> entry = iterator.next();
 			String fieldName = entry.getKey();
-			Object updatedValue = entry.getValue();
-
-			// updating an embedded object
-			if (updatedValue instanceof Map) {
+			JsonNode updatedValue = entry.getValue();
 
-				// source may lack the whole entry yet
-				if (source.get(fieldName) == null) {
-					source.put(fieldName, new HashMap<>());
+			// updating an embedded object, target may lack the whole entry yet
+			if (updatedValue instanceof ObjectNode) {
+				JsonNode targetValue = target.get(fieldName);
+				if (!(targetValue instanceof ObjectNode)) {
+					targetValue = target.putObject(fieldName);
 				}
-
-				Object sourceMap = source.get(fieldName);
-				updateValues((Map<String, Object>) sourceMap, (Map<String, Object>) updatedValue);
+				mergeObject((ObjectNode) targetValue, (ObjectNode) updatedValue);
 				continue;
 			}
 
 			// updating a simple value
-			source.put(fieldName, updatedValue);
+			target.set(fieldName, updatedValue);
 		}
 	}
 
@@ -2,7 +2,11 @@ package io.crnk.core.engine.internal.dispatcher.controller;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -182,52 +186,137 @@ public abstract class ResourceUpsert extends ResourceIncludeField {
 			queryAdapter,
 			RepositoryMethodParameterProvider parameterProvider) {
 		if (resource.getRelationships() != null) {
+			// reject unknown relationships before any related object is looked up
+			ResourceInformation resourceInformation = registryEntry.getResourceInformation();
+			for (Map.Entry<String, Relationship> property : resource.getRelationships().entrySet()) {
+				if (property.getValue() != null && resourceInformation.findRelationshipFieldByName(property.getKey()) == null) {
+					throw new ResourceException(String.format("Invalid relationship name: %s for %s", property.getKey(),
+							resourceInformation.getResourceType()));
+				}
+			}
+
+			Map<ResourceIdentifier, Object> relatedObjects = fetchRelatedObjects(resource, parameterProvider, queryAdapter);
 			for (Map.Entry<String, Relationship> property : resource.getRelationships().entrySet()) {
 				String propertyName = property.getKey();
 				Relationship relationship = property.getValue();
 				if (relationship != null) {
-
-					ResourceInformation resourceInformation = registryEntry.getResourceInformation();
 					ResourceField field = resourceInformation.findRelationshipFieldByName(propertyName);
-					if (field == null) {
-						throw new ResourceException(String.format("Invalid relationship name: %s for %s", property.getKey(),
-								resourceInformation.getResourceType()));
-					}
 					if (field.isCollection()) {
 						//noinspection unchecked
 						setRelationsField(newResource,
 								registryEntry,
 								property,
 								queryAdapter,
-								parameterProvider);
+								parameterProvider,
+								relatedObjects);
 					}
 					else {
 						//noinspection unchecked
 						setRelationField(newResource, registryEntry, propertyName, relationship, queryAdapter,
-								parameterProvider);
+								parameterProvider, relatedObjects);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolves the related objects of all relationships of the given resource, to-one and to-many alike, with one
+	 * findAll per target type. Types referenced by a single identifier are left to
+	 * {@link #fetchRelatedObject(RegistryEntry, Serializable, RepositoryMethodParameterProvider, QueryAdapter)}.
+	 *
+	 * @return related objects by identifier. Identifiers that could not be resolved are missing.
+	 */
+	protected Map<ResourceIdentifier, Object> fetchRelatedObjects(Resource resource,
+			RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
+		Map<String, Set<ResourceIdentifier>> identifiersByType = new LinkedHashMap<>();
+		for (Relationship relationship : resource.getRelationships().values()) {
+			if (relationship == null || !relationship.getData().isPresent()) {
+				continue;
+			}
+			Object data = relationship.getData().get();
+			Iterable<?> relationshipIds = data instanceof Iterable ? (Iterable<?>) data : Collections.singletonList(data);
+			for (Object relationshipId : relationshipIds) {
+				if (relationshipId instanceof ResourceIdentifier) {
+					ResourceIdentifier resourceId = (ResourceIdentifier) relationshipId;
+					Set<ResourceIdentifier> identifiers = identifiersByType.get(resourceId.getType());
+					if (identifiers == null) {
+						identifiers = new LinkedHashSet<>();
+						identifiersByType.put(resourceId.getType(), identifiers);
 					}
+					identifiers.add(resourceId);
+				}
+			}
+		}
+
+		Map<ResourceIdentifier, Object> relatedObjects = new HashMap<>();
+		for (Map.Entry<String, Set<ResourceIdentifier>> typeEntry : identifiersByType.entrySet()) {
+			RegistryEntry entry = resourceRegistry.getEntry(typeEntry.getKey());
+			if (entry == null || typeEntry.getValue().size() < 2) {
+				continue;
+			}
+			Map<Serializable, ResourceIdentifier> identifiersById = new LinkedHashMap<>();
+			for (ResourceIdentifier resourceId : typeEntry.getValue()) {
+				identifiersById.put(parseRelationshipId(entry, resourceId), resourceId);
+			}
+			Map<Serializable, Object> objects =
+					fetchRelatedObjects(entry, identifiersById.keySet(), parameterProvider, queryAdapter);
+			for (Map.Entry<Serializable, ResourceIdentifier> idEntry : identifiersById.entrySet()) {
+				Object object = objects.get(idEntry.getKey());
+				if (object != null) {
+					relatedObjects.put(idEntry.getValue(), object);
 				}
 			}
 		}
+		return relatedObjects;
+	}
+
+	/**
+	 * @return related objects by id. Ids that could not be found are missing.
+	 */
+	protected Map<Serializable, Object> fetchRelatedObjects(RegistryEntry entry, Collection<Serializable> relationIds,
+			RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
+		ResourceInformation resourceInformation = entry.getResourceInformation();
+		Object objects = entry.getResourceRepository(parameterProvider).findAll(relationIds, queryAdapter).getEntity();
+		Map<Serializable, Object> objectsById = new HashMap<>();
+		if (objects != null) {
+			for (Object object : (Iterable<?>) objects) {
+				objectsById.put((Serializable) resourceInformation.getId(object), object);
+			}
+		}
+		return objectsById;
+	}
+
+	private Serializable parseRelationshipId(RegistryEntry entry, ResourceIdentifier resourceId) {
+		Class idFieldType = entry.getResourceInformation()
+				.getIdField()
+				.getType();
+		return typeParser.parse(resourceId.getId(), idFieldType);
+	}
+
+	private Object getRelatedObject(ResourceIdentifier resourceId, Map<ResourceIdentifier, Object> relatedObjects,
+			RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
+		Object relatedObject = relatedObjects.get(resourceId);
+		if (relatedObject == null) {
+			// not resolved in bulk, let the repository decide how to handle missing resources
+			RegistryEntry entry = resourceRegistry.getEntry(resourceId.getType());
+			Serializable castedRelationshipId = parseRelationshipId(entry, resourceId);
+			relatedObject = fetchRelatedObject(entry, castedRelationshipId, parameterProvider, queryAdapter);
+		}
+		return relatedObject;
 	}
 
 	protected void setRelationsField(Object newResource, RegistryEntry registryEntry,
 			Map.Entry<String, Relationship> property, QueryAdapter queryAdapter,
-			RepositoryMethodParameterProvider parameterProvider) {
+			RepositoryMethodParameterProvider parameterProvider, Map<ResourceIdentifier, Object> relatedObjects) {
 		Relationship relationship = property.getValue();
 		if (relationship.getData().isPresent()) {
 			String propertyName = property.getKey();
 			ResourceField relationshipField = registryEntry.getResourceInformation()
 					.findRelationshipFieldByName(propertyName);
-			Class idFieldType = null;
 			List relationships = new LinkedList<>();
 			for (ResourceIdentifier resourceId : relationship.getCollectionData().get()) {
-				RegistryEntry entry = resourceRegistry.getEntry(resourceId.getType());
-				idFieldType = entry.getResourceInformation()
-						.getIdField()
-						.getType();
-				Serializable castedRelationshipId = typeParser.parse(resourceId.getId(), idFieldType);
-				Object relationObject = fetchRelatedObject(entry, castedRelationshipId, parameterProvider, queryAdapter);
+				Object relationObject = getRelatedObject(resourceId, relatedObjects, parameterProvider, queryAdapter);
 				relationships.add(relationObject);
 			}
 			PropertyUtils.setProperty(newResource, relationshipField.getUnderlyingName(), relationships);
@@ -236,7 +325,7 @@ public abstract class ResourceUpsert extends ResourceIncludeField {
 
 	protected void setRelationField(Object newResource, RegistryEntry registryEntry,
 			String relationshipName, Relationship relationship, QueryAdapter queryAdapter,
-			RepositoryMethodParameterProvider parameterProvider) {
+			RepositoryMethodParameterProvider parameterProvider, Map<ResourceIdentifier, Object> relatedObjects) {
 
 		if (relationship.getData().isPresent()) {
 			ResourceIdentifier relationshipId = (ResourceIdentifier) relationship.getData().get();
@@ -250,13 +339,7 @@ public abstract class ResourceUpsert extends ResourceIncludeField {
 
 			Object relationObject;
 			if (relationshipId != null) {
-				RegistryEntry entry = resourceRegistry.getEntry(relationshipId.getType());
-				Class idFieldType = entry.getResourceInformation()
-						.getIdField()
-						.getType();
-				Serializable castedRelationshipId = typeParser.parse(relationshipId.getId(), idFieldType);
-
-				relationObject = fetchRelatedObject(entry, castedRelationshipId, parameterProvider, queryAdapter);
+				relationObject = getRelatedObject(relationshipId, relatedObjects, parameterProvider, queryAdapter);
 			}
 			else {
 				relationObject = null;
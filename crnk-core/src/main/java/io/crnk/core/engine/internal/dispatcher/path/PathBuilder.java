@@ -2,8 +2,10 @@ package io.crnk.core.engine.internal.dispatcher.path;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
@@ -22,10 +24,20 @@ public class PathBuilder {
 
 	private final ResourceRegistry resourceRegistry;
 
+	/**
+	 * Resource types of the registry compiled into a tree of path segments. Built upon first use and whenever a path
+	 * matches a resource type that is missing in the tree, i.e. the registry has changed in the meantime.
+	 */
+	private volatile RouteNode routes;
+
 	public PathBuilder(ResourceRegistry resourceRegistry) {
 		this.resourceRegistry = resourceRegistry;
 	}
 
+	public ResourceRegistry getResourceRegistry() {
+		return resourceRegistry;
+	}
+
 	private static PathIds createPathIds(String idsString) {
 		List<String> pathIds = Arrays.asList(idsString.split(PathIds.ID_SEPARATOR_PATTERN));
 		return new PathIds(pathIds);
@@ -112,17 +124,29 @@ public class PathBuilder {
 				elementName = strings[currentElementIdx];
 
 				// support "/" in resource type to group repositories
-				StringBuilder potentialResourceType = new StringBuilder();
-				for (int i = 0; currentElementIdx + i < strings.length; i++) {
-					if (potentialResourceType.length() > 0) {
-						potentialResourceType.append("/");
-					}
-					potentialResourceType.append(strings[currentElementIdx + i]);
-					entry = resourceRegistry.getEntry(potentialResourceType.toString());
-					if (entry != null) {
-						currentElementIdx += i;
-						elementName = potentialResourceType.toString();
-						break;
+				RouteNode route = findRoute(strings, currentElementIdx);
+				if (route != null) {
+					entry = resourceRegistry.getEntry(route.resourceType);
+				}
+				if (entry != null) {
+					currentElementIdx += route.depth - 1;
+					elementName = route.resourceType;
+				}
+				else if (previousJsonPath == null) {
+					// not compiled yet or registry changed in the meantime, relationship names are resolved later on
+					StringBuilder potentialResourceType = new StringBuilder();
+					for (int i = 0; currentElementIdx + i < strings.length; i++) {
+						if (potentialResourceType.length() > 0) {
+							potentialResourceType.append("/");
+						}
+						potentialResourceType.append(strings[currentElementIdx + i]);
+						entry = resourceRegistry.getEntry(potentialResourceType.toString());
+						if (entry != null) {
+							routes = null;
+							currentElementIdx += i;
+							elementName = potentialResourceType.toString();
+							break;
+						}
 					}
 				}
 
@@ -179,17 +203,67 @@ public class PathBuilder {
 
 		ResourceInformation resourceInformation = previousEntry.getResourceInformation();
 
-		List<ResourceField> resourceFields = resourceInformation.getRelationshipFields();
-		for (ResourceField field : resourceFields) {
-			if (field.getJsonName().equals(elementName)) {
-				if (relationshipMark) {
-					return new RelationshipsPath(elementName);
-				} else {
-					return new FieldPath(elementName);
-				}
+		ResourceField field = elementName != null ? resourceInformation.findRelationshipFieldByName(elementName) : null;
+		if (field != null) {
+			if (relationshipMark) {
+				return new RelationshipsPath(elementName);
+			} else {
+				return new FieldPath(elementName);
 			}
 		}
 		//TODO: Throw different exception? element name can be null..
 		throw new ResourceFieldNotFoundException(elementName);
 	}
+
+	/**
+	 * @return route of the shortest resource type matching the path segments starting at the given index
+	 */
+	private RouteNode findRoute(String[] strings, int startIdx) {
+		RouteNode node = routes;
+		if (node == null) {
+			node = compileRoutes();
+			routes = node;
+		}
+		for (int i = startIdx; i < strings.length; i++) {
+			node = node.children.get(strings[i]);
+			if (node == null) {
+				return null;
+			}
+			if (node.resourceType != null) {
+				return node;
+			}
+		}
+		return null;
+	}
+
+	private RouteNode compileRoutes() {
+		RouteNode root = new RouteNode(0);
+		for (RegistryEntry entry : resourceRegistry.getResources()) {
+			String resourceType = entry.getResourceInformation().getResourceType();
+			RouteNode node = root;
+			for (String segment : resourceType.split(SEPARATOR)) {
+				RouteNode child = node.children.get(segment);
+				if (child == null) {
+					child = new RouteNode(node.depth + 1);
+					node.children.put(segment, child);
+				}
+				node = child;
+			}
+			node.resourceType = resourceType;
+		}
+		return root;
+	}
+
+	private static class RouteNode {
+
+		private final int depth;
+
+		private final Map<String, RouteNode> children = new HashMap<>();
+
+		private String resourceType;
+
+		RouteNode(int depth) {
+			this.depth = depth;
+		}
+	}
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package io.crnk.core.engine.internal.document.mapper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.crnk.core.boot.CrnkProperties;
 import io.crnk.core.engine.document.Document;
 import io.crnk.core.engine.document.ErrorData;
+import io.crnk.core.engine.http.RequestContextPropagator;
+import io.crnk.core.engine.http.RequestThreadBound;
+import io.crnk.core.engine.internal.utils.StringUtils;
 import io.crnk.core.engine.properties.PropertiesProvider;
+import io.crnk.core.engine.properties.RelationshipLinksBehavior;
 import io.crnk.core.engine.query.QueryAdapter;
 import io.crnk.core.engine.registry.ResourceRegistry;
 import io.crnk.core.repository.response.JsonApiResponse;
@@ -14,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 public class DocumentMapper {
 
@@ -31,10 +37,26 @@ public class DocumentMapper {
 		this.propertiesProvider = propertiesProvider;
 		this.util = new DocumentMapperUtil(resourceRegistry, objectMapper);
 		this.resourceMapper = newResourceMapper(util, client, objectMapper);
+		this.resourceMapper.setStreamingSerialization(propertiesProvider != null && Boolean.parseBoolean(propertiesProvider
+				.getProperty(CrnkProperties.SERIALIZATION_STREAMING_ENABLED)));
+		String relationshipLinksBehavior = propertiesProvider != null ? propertiesProvider.getProperty(CrnkProperties
+				.RELATIONSHIP_LINKS_BEHAVIOR) : null;
+		if (!StringUtils.isBlank(relationshipLinksBehavior)) {
+			this.resourceMapper.setRelationshipLinksBehavior(RelationshipLinksBehavior.valueOf(relationshipLinksBehavior));
+		}
 		this.includeLookupSetter = new IncludeLookupSetter(resourceRegistry, resourceMapper, propertiesProvider);
 		this.client = client;
 	}
 
+	/**
+	 * Enables concurrent lookups of sibling relationships, see
+	 * {@link IncludeLookupSetter#setLookupExecutor(ExecutorService, int, List, List)}.
+	 */
+	public void setIncludeLookupExecutor(ExecutorService executor, int parallelism,
+			List<RequestContextPropagator> requestContextPropagators, List<RequestThreadBound> requestThreadBoundModules) {
+		includeLookupSetter.setLookupExecutor(executor, parallelism, requestContextPropagators, requestThreadBoundModules);
+	}
+
 	protected ResourceMapper newResourceMapper(DocumentMapperUtil util, boolean client, ObjectMapper objectMapper) {
 		return new ResourceMapper(util, client, objectMapper);
 	}
@@ -73,8 +95,9 @@ public class DocumentMapper {
 		if (entity != null) {
 			if (entity instanceof Iterable) {
 				ArrayList<Object> dataList = new ArrayList<>();
+				ProjectionPlans plans = new ProjectionPlans(queryAdapter);
 				for (Object obj : (Iterable<?>) entity) {
-					dataList.add(resourceMapper.toData(obj, queryAdapter));
+					dataList.add(resourceMapper.toData(obj, plans));
 				}
 				doc.setData(Nullable.of((Object) dataList));
 			} else {
@@ -15,6 +15,7 @@ import io.crnk.core.engine.document.ResourceIdentifier;
 import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.internal.dispatcher.path.PathBuilder;
+import io.crnk.core.engine.properties.RelationshipLinksBehavior;
 import io.crnk.core.engine.query.QueryAdapter;
 import io.crnk.core.engine.registry.RegistryEntry;
 import io.crnk.core.engine.registry.ResourceRegistry;
@@ -31,6 +32,10 @@ import io.crnk.legacy.queryParams.params.TypedParams;
 
 public class DocumentMapperUtil {
 
+	private static final String SELF_FIELD_NAME = "self";
+
+	private static final String RELATED_FIELD_NAME = "related";
+
 	private ResourceRegistry resourceRegistry;
 
 	private ObjectMapper objectMapper;
@@ -101,6 +106,49 @@ public class DocumentMapperUtil {
 		return resourceUrl + "/" + resourceId + (!related ? "/" + PathBuilder.RELATIONSHIP_MARK + "/" : "/") + field.getJsonName();
 	}
 
+	/**
+	 * @return url of the resources of the given type with a trailing slash, to be resolved once per request and then
+	 * shared by the links of all its resources, see {@link #getRelationshipLinks(String, String, ResourceField, RelationshipLinksBehavior)}
+	 */
+	@SuppressWarnings("deprecation")
+	public String getResourceUrlPrefix(ResourceInformation resourceInformation) {
+		// cached by the registry per service url
+		String resourceUrl = resourceRegistry.getResourceUrl(resourceInformation);
+		return resourceUrl.endsWith("/") ? resourceUrl : resourceUrl + "/";
+	}
+
+	/**
+	 * Writes the self and/or related link of a relationship. Both share the resource url as prefix, which is
+	 * kept in the buffer while appending the individual suffixes.
+	 *
+	 * @param resourceUrlPrefix url of the resources with a trailing slash, see {@link #getResourceUrlPrefix(ResourceInformation)}
+	 * @param resourceId        id string of the resource
+	 * @param field             relationship field
+	 * @param behavior          which links to write
+	 * @return links object of the relationship
+	 */
+	public ObjectNode getRelationshipLinks(String resourceUrlPrefix, String resourceId, ResourceField field,
+			RelationshipLinksBehavior behavior) {
+		String fieldName = field.getJsonName();
+
+		StringBuilder builder = new StringBuilder(resourceUrlPrefix.length() + String.valueOf(resourceId).length()
+				+ PathBuilder.RELATIONSHIP_MARK.length() + fieldName.length() + 2);
+		builder.append(resourceUrlPrefix).append(resourceId).append('/');
+		int prefixLength = builder.length();
+
+		ObjectNode links = objectMapper.createObjectNode();
+		if (behavior.includesSelf()) {
+			builder.append(PathBuilder.RELATIONSHIP_MARK).append('/').append(fieldName);
+			links.put(SELF_FIELD_NAME, builder.toString());
+			builder.setLength(prefixLength);
+		}
+		if (behavior.includesRelated()) {
+			builder.append(fieldName);
+			links.put(RELATED_FIELD_NAME, builder.toString());
+		}
+		return links;
+	}
+
 	public List<ResourceIdentifier> toResourceIds(Collection<?> entities) {
 		List<ResourceIdentifier> results = new ArrayList<>();
 		for (Object entity : entities) {
@@ -126,11 +174,24 @@ public class DocumentMapperUtil {
 	}
 
 	public void setLinks(LinksContainer container, LinksInformation linksInformation) {
-		if (linksInformation != null) {
+		if (linksInformation != null && linksInformation.getClass() == DefaultSelfRelatedLinksInformation.class) {
+			// most common case, avoid a serialization round-trip for two strings
+			DefaultSelfRelatedLinksInformation defaultLinks = (DefaultSelfRelatedLinksInformation) linksInformation;
+			ObjectNode linksNode = objectMapper.createObjectNode();
+			putIfNotEmpty(linksNode, RELATED_FIELD_NAME, defaultLinks.getRelated());
+			putIfNotEmpty(linksNode, SELF_FIELD_NAME, defaultLinks.getSelf());
+			container.setLinks(linksNode);
+		} else if (linksInformation != null) {
 			container.setLinks((ObjectNode) objectMapper.valueToTree(linksInformation));
 		}
 	}
 
+	private static void putIfNotEmpty(ObjectNode node, String fieldName, String value) {
+		if (value != null && !value.isEmpty()) {
+			node.put(fieldName, value);
+		}
+	}
+
 	public void setMeta(MetaContainer container, MetaInformation metaInformation) {
 		if (metaInformation != null) {
 			container.setMeta((ObjectNode) objectMapper.valueToTree(metaInformation));
@@ -6,18 +6,30 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import io.crnk.core.boot.CrnkProperties;
 import io.crnk.core.engine.document.Document;
 import io.crnk.core.engine.document.Relationship;
 import io.crnk.core.engine.document.Resource;
 import io.crnk.core.engine.document.ResourceIdentifier;
+import io.crnk.core.engine.http.RequestContextPropagator;
+import io.crnk.core.engine.http.RequestThreadBound;
 import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.internal.repository.RelationshipRepositoryAdapter;
+import io.crnk.core.engine.internal.repository.ResourceRepositoryAdapter;
 import io.crnk.core.engine.internal.utils.PreconditionUtil;
 import io.crnk.core.engine.properties.PropertiesProvider;
 import io.crnk.core.engine.query.QueryAdapter;
@@ -48,6 +60,16 @@ public class IncludeLookupSetter {
 	// currently
 	private boolean allowPagination = false;
 
+	private ExecutorService lookupExecutor;
+
+	private int lookupParallelism;
+
+	private List<RequestContextPropagator> requestContextPropagators = Collections.emptyList();
+
+	private List<RequestThreadBound> requestThreadBoundModules = Collections.emptyList();
+
+	private boolean lookupByTargetId;
+
 	public IncludeLookupSetter(ResourceRegistry resourceRegistry, ResourceMapper resourceMapper,
 			PropertiesProvider propertiesProvider) {
 		this.resourceMapper = resourceMapper;
@@ -58,6 +80,25 @@ public class IncludeLookupSetter {
 		this.util = new IncludeLookupUtil(resourceRegistry, includeBehavior);
 		this.allowPagination = propertiesProvider != null && Boolean.parseBoolean(propertiesProvider.getProperty(CrnkProperties
 				.INCLUDE_PAGING_ENABLED));
+		this.lookupByTargetId = propertiesProvider != null && Boolean.parseBoolean(propertiesProvider.getProperty(CrnkProperties
+				.INCLUDE_LOOKUP_BY_TARGET_ID));
+	}
+
+	/**
+	 * Enables concurrent lookups of sibling relationships. Only the repository calls run on the executor, their results
+	 * are merged on the calling thread.
+	 *
+	 * @param executor                  to run lookups on or null to do them sequentially
+	 * @param parallelism               maximum number of concurrent lookups per request, zero or less for no limit
+	 * @param requestContextPropagators to carry the request context over to the executor threads
+	 * @param requestThreadBoundModules whose lookups stay on the calling thread
+	 */
+	public void setLookupExecutor(ExecutorService executor, int parallelism,
+			List<RequestContextPropagator> requestContextPropagators, List<RequestThreadBound> requestThreadBoundModules) {
+		this.lookupExecutor = executor;
+		this.lookupParallelism = parallelism;
+		this.requestContextPropagators = new ArrayList<>(requestContextPropagators);
+		this.requestThreadBoundModules = new ArrayList<>(requestThreadBoundModules);
 	}
 
 	public void setIncludedElements(Document document, Object entity, QueryAdapter queryAdapter,
@@ -86,11 +127,8 @@ public class IncludeLookupSetter {
 		resourceMap.putAll(dataMap);
 
 		Set<ResourceIdentifier> inclusions = new HashSet<>();
-		PopulatedCache populatedCache = new PopulatedCache();
-
-		ArrayList<ResourceField> stack = new ArrayList<>();
-		populate(dataList, inclusions, resourceMap, entityMap, stack, inclusionQueryAdapter, parameterProvider,
-				additionalEagerLoadedRelations, populatedCache);
+		populate(dataList, inclusions, resourceMap, entityMap, inclusionQueryAdapter, parameterProvider,
+				additionalEagerLoadedRelations);
 
 		// no need to include resources included in the data section
 		inclusions.removeAll(dataMap.keySet());
@@ -107,115 +145,173 @@ public class IncludeLookupSetter {
 		document.setIncluded(included);
 	}
 
-	private void populate(Collection<Resource> resourceList, Set<ResourceIdentifier> inclusions,
+	/**
+	 * Populates the relationships breadth-first. Each level gathers the resources reached by all inclusion paths of the
+	 * same depth and resolves each relationship field with a single lookup across all of them. Every resource and field
+	 * pair is populated at most once, by the shortest path reaching it.
+	 */
+	private void populate(Collection<Resource> dataList, Set<ResourceIdentifier> inclusions,
 			Map<ResourceIdentifier, Resource> resourceMap, Map<ResourceIdentifier, Object> entityMap,
-			List<ResourceField> fieldPath,
 			QueryAdapter queryAdapter, RepositoryMethodParameterProvider parameterProvider,
-			Set<String> additionalEagerLoadedRootRelations, PopulatedCache populatedCache) {
+			Set<String> additionalEagerLoadedRootRelations) {
+		Map<ResourceField, Set<Resource>> populatedCache = new HashMap<>();
+		ProjectionPlans plans = new ProjectionPlans(queryAdapter);
+
+		List<PopulationGroup> level = new ArrayList<>();
+		level.add(new PopulationGroup(Collections.<ResourceField>emptyList(), dataList, additionalEagerLoadedRootRelations));
+		int depth = 0;
+		while (!level.isEmpty()) {
+			checkNoRecursion(depth++);
+
+			Map<ResourceField, List<PopulationRequest>> requests = new LinkedHashMap<>();
+			for (PopulationGroup group : level) {
+				addRequests(group, queryAdapter, requests);
+			}
 
-		if (resourceList.isEmpty()) {
-			return; // nothing to do
-		}
+			List<FieldPopulation> populations = new ArrayList<>();
+			for (Map.Entry<ResourceField, List<PopulationRequest>> entry : requests.entrySet()) {
+				ResourceField resourceField = entry.getKey();
+				Set<Resource> populatedSources = populatedCache.get(resourceField);
+				if (populatedSources == null) {
+					populatedSources = Collections.newSetFromMap(new IdentityHashMap<Resource, Boolean>());
+					populatedCache.put(resourceField, populatedSources);
+				}
+				populations.add(prepareField(resourceField, entry.getValue(), populatedSources, plans,
+						parameterProvider, resourceMap, entityMap));
+			}
 
-		checkNoRecursion(fieldPath);
+			// repository lookups of sibling fields are independent of each other, merging happens on this thread
+			fetchLookups(populations, queryAdapter);
 
-		Set<ResourceField> relationshipFields = util.getRelationshipFields(resourceList);
-		for (ResourceField resourceField : relationshipFields) {
-			fieldPath.add(resourceField);
-			populateField(resourceField, queryAdapter, fieldPath, populatedCache, resourceList,
-					additionalEagerLoadedRootRelations, parameterProvider, resourceMap, entityMap, inclusions);
-			fieldPath.remove(fieldPath.size() - 1);
+			List<PopulationGroup> nextLevel = new ArrayList<>();
+			for (FieldPopulation population : populations) {
+				completeField(population, plans, resourceMap, entityMap);
+
+				// add inclusions and do nested population if requested as such
+				for (PopulationRequest request : population.requests) {
+					if (request.includeResources && !request.targets.isEmpty()) {
+						for (Resource target : request.targets) {
+							inclusions.add(target.toIdentifier());
+						}
+						nextLevel.add(new PopulationGroup(request.fieldPath, request.targets, Collections.<String>emptySet()));
+					}
+				}
+			}
+			level = nextLevel;
 		}
 	}
 
-	private void populateField(ResourceField resourceField, QueryAdapter queryAdapter, List<ResourceField> fieldPath,
-			PopulatedCache populatedCache, Collection<Resource> resourceList, Set<String> additionalEagerLoadedRootRelations,
-			RepositoryMethodParameterProvider parameterProvider, Map<ResourceIdentifier, Resource> resourceMap,
-			Map<ResourceIdentifier, Object> entityMap, Set<ResourceIdentifier> inclusions) {
-		ResourceInformation resourceInformation = resourceField.getParentResourceInformation();
-
-		boolean includeRequested = util.isInclusionRequested(queryAdapter, fieldPath);
-
-		boolean includeResources = includeRequested || resourceField.getIncludeByDefault();
-		boolean includeRelationshipData = !resourceField.isLazy() || includeResources || additionalEagerLoadedRootRelations
-				.contains(resourceField.getJsonName());
-
-		if (includeRelationshipData) {
+	private void addRequests(PopulationGroup group, QueryAdapter queryAdapter,
+			Map<ResourceField, List<PopulationRequest>> requests) {
+		for (ResourceField resourceField : util.getRelationshipFields(group.resources)) {
+			List<ResourceField> fieldPath = new ArrayList<>(group.fieldPath.size() + 1);
+			fieldPath.addAll(group.fieldPath);
+			fieldPath.add(resourceField);
 
-			Collection<Resource> unpopulatedResourceList = populatedCache.filterProcessed(resourceList, resourceField);
-			if (!unpopulatedResourceList.isEmpty()) {
+			boolean includeRequested = util.isInclusionRequested(queryAdapter, fieldPath);
+			boolean includeResources = includeRequested || resourceField.getIncludeByDefault();
+			boolean includeRelationshipData = !resourceField.isLazy() || includeResources
+					|| group.additionalEagerLoadedRelations.contains(resourceField.getJsonName());
+			if (includeRelationshipData) {
+				List<PopulationRequest> fieldRequests = requests.get(resourceField);
+				if (fieldRequests == null) {
+					fieldRequests = new ArrayList<>();
+					requests.put(resourceField, fieldRequests);
+				}
+				fieldRequests.add(new PopulationRequest(fieldPath, includeResources, group.resources));
+			}
+		}
+	}
 
-				// only handle resources from the proper subtype where the
-				// relationship is desired to be loaded
-				List<Resource> resourcesByType = util.filterByType(unpopulatedResourceList, resourceInformation);
-				List<Resource> resourcesWithField = util.filterByLoadedRelationship(resourcesByType, resourceField);
+	private FieldPopulation prepareField(ResourceField resourceField, List<PopulationRequest> requests,
+			Set<Resource> populatedSources, ProjectionPlans plans, RepositoryMethodParameterProvider parameterProvider,
+			Map<ResourceIdentifier, Resource> resourceMap, Map<ResourceIdentifier, Object> entityMap) {
+		ResourceInformation resourceInformation = resourceField.getParentResourceInformation();
+		FieldPopulation population = new FieldPopulation(resourceField, requests);
+
+		// only handle resources from the proper subtype where the
+		// relationship is desired to be loaded and not populated yet
+		List<Resource> resourcesWithField = new ArrayList<>();
+		for (PopulationRequest request : requests) {
+			List<Resource> unpopulatedResources = new ArrayList<>();
+			for (Resource resource : request.resources) {
+				if (populatedSources.add(resource)) {
+					unpopulatedResources.add(resource);
+				}
+			}
+			List<Resource> resourcesByType = util.filterByType(unpopulatedResources, resourceInformation);
+			request.sources = util.filterByLoadedRelationship(resourcesByType, resourceField);
+			resourcesWithField.addAll(request.sources);
+		}
+		if (resourcesWithField.isEmpty()) {
+			return population;
+		}
 
-				// lookup resources by inspecting the POJOs in entityMap
-				LookupIncludeBehavior fieldLookupIncludeBehavior = resourceField.getLookupIncludeAutomatically();
+		// lookup resources by inspecting the POJOs in entityMap
+		LookupIncludeBehavior fieldLookupIncludeBehavior = resourceField.getLookupIncludeAutomatically();
 
-				Set<Resource> populatedResources;
-				if (fieldLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_ALWAYS
-						|| globalLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_ALWAYS) {
-					// lookup resources by making repository calls
-					populatedResources =
-							lookupRelationshipField(resourcesWithField, resourceField, queryAdapter, parameterProvider,
-									resourceMap, entityMap);
-				}
-				else if (fieldLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_WHEN_NULL
-						|| globalLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_WHEN_NULL) {
-					// try to populate from entities
-					Set<Resource> extractedResources =
-							extractRelationshipField(resourcesWithField, resourceField, queryAdapter, resourceMap, entityMap,
-									true);
-
-					// do lookups where relationship data is null
-					Collection<Resource> resourcesForLookup =
-							util.findResourcesWithoutRelationshipData(resourcesWithField, resourceField);
-					Collection<Resource> lookedupResources =
-							lookupRelationshipField(resourcesForLookup, resourceField, queryAdapter, parameterProvider,
-									resourceMap, entityMap);
-
-					populatedResources = util.union(lookedupResources, extractedResources);
-				}
-				else {
-					// do not do any lookups
-					populatedResources =
-							extractRelationshipField(resourcesWithField, resourceField, queryAdapter, resourceMap, entityMap,
-									false);
-
-					// set relationship data to null for single-valued relation.
-					// extractRelationshipField cannot differentiate between
-					// null and not loaded.
-					// It assume it is null and loaded. Otherwise an application
-					// can reconfigure the includeBehavior to make a lookup
-					// and be sure.
-					if (!Iterable.class.isAssignableFrom(resourceField.getType())) {
-						Nullable<Object> emptyData = Nullable.nullValue();
-						for (Resource resourceWithField : resourcesWithField) {
-							Relationship relationship = resourceWithField.getRelationships().get(resourceField.getJsonName
-									());
-							if (!relationship.getData().isPresent()) {
-								relationship.setData(emptyData);
-							}
-						}
+		Map<Resource, List<Resource>> targetsBySource = population.targetsBySource;
+		if (fieldLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_ALWAYS
+				|| globalLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_ALWAYS) {
+			// lookup resources by making repository calls
+			prepareLookup(population, resourcesWithField, parameterProvider, entityMap);
+		}
+		else if (fieldLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_WHEN_NULL
+				|| globalLookupIncludeBehavior == LookupIncludeBehavior.AUTOMATICALLY_WHEN_NULL) {
+			// try to populate from entities
+			extractRelationshipField(resourcesWithField, resourceField, plans, resourceMap, entityMap, true,
+					targetsBySource);
+
+			// do lookups where relationship data is null
+			Collection<Resource> resourcesForLookup =
+					util.findResourcesWithoutRelationshipData(resourcesWithField, resourceField);
+			prepareLookup(population, resourcesForLookup, parameterProvider, entityMap);
+		}
+		else {
+			// do not do any lookups
+			extractRelationshipField(resourcesWithField, resourceField, plans, resourceMap, entityMap, false,
+					targetsBySource);
+
+			// set relationship data to null for single-valued relation.
+			// extractRelationshipField cannot differentiate between
+			// null and not loaded.
+			// It assume it is null and loaded. Otherwise an application
+			// can reconfigure the includeBehavior to make a lookup
+			// and be sure.
+			if (!Iterable.class.isAssignableFrom(resourceField.getType())) {
+				Nullable<Object> emptyData = Nullable.nullValue();
+				for (Resource resourceWithField : resourcesWithField) {
+					Relationship relationship = resourceWithField.getRelationships().get(resourceField.getJsonName());
+					if (!relationship.getData().isPresent()) {
+						relationship.setData(emptyData);
 					}
 				}
+			}
+		}
+		return population;
+	}
+
+	private void completeField(FieldPopulation population, ProjectionPlans plans,
+			Map<ResourceIdentifier, Resource> resourceMap, Map<ResourceIdentifier, Object> entityMap) {
+		if (population.responseMap != null) {
+			applyLookup(population, plans, resourceMap, entityMap);
+		}
 
-				// add inclusions and do nested population if requested as
-				// such
-				if (includeResources && !populatedResources.isEmpty()) {
-					inclusions.addAll(util.toIds(populatedResources));
-					Set<String> additionalEagerLoadedNestedRelations = Collections.emptySet();
-					populate(populatedResources, inclusions, resourceMap, entityMap, fieldPath, queryAdapter,
-							parameterProvider, additionalEagerLoadedNestedRelations, populatedCache);
+		Map<Resource, List<Resource>> targetsBySource = population.targetsBySource;
+		for (PopulationRequest request : population.requests) {
+			Set<Resource> targets = Collections.newSetFromMap(new IdentityHashMap<Resource, Boolean>());
+			for (Resource source : request.sources) {
+				List<Resource> sourceTargets = targetsBySource.get(source);
+				if (sourceTargets != null) {
+					targets.addAll(sourceTargets);
 				}
 			}
+			request.targets = targets;
 		}
 	}
 
-	private void checkNoRecursion(List<ResourceField> fieldPath) {
-		int index = fieldPath.size();
-		if (index >= 42) {
+	private void checkNoRecursion(int depth) {
+		if (depth >= 42) {
 			throw new IllegalStateException("42 nested inclusions reached, aborting");
 		}
 	}
@@ -225,10 +321,9 @@ public class IncludeLookupSetter {
 	 * original POJOs. Throw an InternalServerErrorException if the field is an
 	 * Iterable and null.
 	 */
-	private Set<Resource> extractRelationshipField(List<Resource> sourceResources, ResourceField relationshipField,
-			QueryAdapter queryAdapter, Map<ResourceIdentifier, Resource> resourceMap,
-			Map<ResourceIdentifier, Object> entityMap, boolean lookUp) {
-		Set<Resource> loadedEntities = new HashSet<>();
+	private void extractRelationshipField(List<Resource> sourceResources, ResourceField relationshipField,
+			ProjectionPlans plans, Map<ResourceIdentifier, Resource> resourceMap,
+			Map<ResourceIdentifier, Object> entityMap, boolean lookUp, Map<Resource, List<Resource>> targetsBySource) {
 		for (Resource sourceResource : sourceResources) {
 			ResourceIdentifier id = sourceResource.toIdentifier();
 
@@ -246,73 +341,302 @@ public class IncludeLookupSetter {
 				if (targetEntity == null) {
 					continue;
 				}
-				List<Resource> targetIds =
-						setupRelation(sourceResource, relationshipField, targetEntity, queryAdapter, resourceMap, entityMap);
-				loadedEntities.addAll(targetIds);
+				List<Resource> targets =
+						setupRelation(sourceResource, relationshipField, targetEntity, plans, resourceMap, entityMap);
+				targetsBySource.put(sourceResource, targets);
 			}
 		}
-		return loadedEntities;
 	}
 
 	/**
-	 * Loads all related resources for the given resources and relationship
-	 * field. It updates the relationship data of the source resources
-	 * accordingly and returns the loaded resources for potential inclusion in
-	 * the result resource.
+	 * Determines the ids and repository to load the related resources of the given resources with. The lookup itself
+	 * happens in {@link #fetchLookups(List, QueryAdapter)}.
 	 */
-	@SuppressWarnings("unchecked")
-	private Set<Resource> lookupRelationshipField(Collection<Resource> sourceResources, ResourceField relationshipField,
-			QueryAdapter queryAdapter, RepositoryMethodParameterProvider parameterProvider,
-			Map<ResourceIdentifier, Resource> resourceMap, Map<ResourceIdentifier, Object> entityMap) {
+	private void prepareLookup(FieldPopulation population, Collection<Resource> sourceResources,
+			RepositoryMethodParameterProvider parameterProvider, Map<ResourceIdentifier, Object> entityMap) {
 		if (sourceResources.isEmpty()) {
-			return Collections.emptySet();
+			return;
 		}
 
+		ResourceField relationshipField = population.resourceField;
 		ResourceInformation resourceInformation = relationshipField.getParentResourceInformation();
 		RegistryEntry registyEntry = resourceRegistry.getEntry(resourceInformation.getResourceType());
 
-		List<Serializable> resourceIds = getIds(sourceResources, resourceInformation);
+		population.relationshipRepository =
+				registyEntry.getRelationshipRepositoryForType(relationshipField.getOppositeResourceType(), parameterProvider);
+		if (population.relationshipRepository != null) {
+			population.requestThreadBound = isRequestThreadBound(resourceInformation)
+					|| isRequestThreadBound(relationshipField.getOppositeResourceType());
+			population.lookupSources = new ArrayList<>(sourceResources);
+			population.lookupIds = getIds(sourceResources, resourceInformation, entityMap);
+			population.responseMap = new HashMap<>();
+			if (lookupByTargetId && !population.relationshipRepository.isBulk()
+					&& !Iterable.class.isAssignableFrom(relationshipField.getType())) {
+				prepareTargetIdLookup(population, parameterProvider, entityMap);
+			}
+		}
+	}
 
-		boolean isMany = Iterable.class.isAssignableFrom(relationshipField.getType());
+	private boolean isRequestThreadBound(String resourceType) {
+		RegistryEntry entry = resourceRegistry.getEntry(resourceType);
+		return entry != null && isRequestThreadBound(entry.getResourceInformation());
+	}
 
-		Set<Resource> loadedTargets = new HashSet<>();
+	private boolean isRequestThreadBound(ResourceInformation resourceInformation) {
+		for (RequestThreadBound boundModule : requestThreadBoundModules) {
+			if (boundModule.isRequestThreadBound(resourceInformation)) {
+				return true;
+			}
+		}
+		return false;
+	}
 
-		@SuppressWarnings("rawtypes")
-		RelationshipRepositoryAdapter relationshipRepository =
-				registyEntry.getRelationshipRepositoryForType(relationshipField.getOppositeResourceType(), parameterProvider);
-		if (relationshipRepository != null) {
-			Map<Object, JsonApiResponse> responseMap;
-			if (isMany) {
-				responseMap = relationshipRepository.findBulkManyTargets(resourceIds, relationshipField, queryAdapter);
+	/**
+	 * A non-bulk relationship repository would be called once per source. For to-one relationships where the source
+	 * entities already carry the target, the targets are instead fetched with a single findAll on the opposite resource
+	 * repository.
+	 */
+	private void prepareTargetIdLookup(FieldPopulation population, RepositoryMethodParameterProvider parameterProvider,
+			Map<ResourceIdentifier, Object> entityMap) {
+		ResourceField relationshipField = population.resourceField;
+		RegistryEntry targetEntry = resourceRegistry.getEntry(relationshipField.getOppositeResourceType());
+		if (targetEntry == null) {
+			return;
+		}
+		ResourceInformation targetInformation = targetEntry.getResourceInformation();
+
+		Map<Serializable, Serializable> targetIds = new HashMap<>();
+		int index = 0;
+		for (Resource sourceResource : population.lookupSources) {
+			Serializable sourceId = population.lookupIds.get(index++);
+			Object source = entityMap.get(sourceResource.toIdentifier());
+			if (source != null && !(source instanceof Resource)) {
+				Object target = relationshipField.getAccessor().getValue(source);
+				Serializable targetId = target != null ? (Serializable) targetInformation.getId(target) : null;
+				if (targetId != null) {
+					targetIds.put(sourceId, targetId);
+				}
 			}
-			else {
-				responseMap = relationshipRepository.findBulkOneTargets(resourceIds, relationshipField, queryAdapter);
+		}
+		if (!targetIds.isEmpty()) {
+			@SuppressWarnings("rawtypes")
+			ResourceRepositoryAdapter targetRepository = targetEntry.getResourceRepository(parameterProvider);
+			if (targetRepository.getResourceRepository() != null) {
+				population.targetRepository = targetRepository;
+				population.targetInformation = targetInformation;
+				population.targetIds = targetIds;
+			}
+		}
+	}
+
+	/**
+	 * Performs the repository lookups of the given fields. If an executor is configured, the lookups run concurrently
+	 * with at most {@link #lookupParallelism} of them in flight at a time. Non-bulk relationship repositories are then
+	 * also called concurrently for their individual sources. Lookups of {@link RequestThreadBound} resources are done by
+	 * the calling thread.
+	 */
+	private void fetchLookups(List<FieldPopulation> populations, QueryAdapter queryAdapter) {
+		List<FieldPopulation> boundOwners = new ArrayList<>();
+		List<Callable<Map<Object, JsonApiResponse>>> boundTasks = new ArrayList<>();
+		List<FieldPopulation> concurrentOwners = new ArrayList<>();
+		List<Callable<Map<Object, JsonApiResponse>>> concurrentTasks = new ArrayList<>();
+		for (FieldPopulation population : populations) {
+			if (population.lookupSources != null) {
+				boolean concurrent = isConcurrent(population);
+				for (Callable<Map<Object, JsonApiResponse>> task : createLookupTasks(population, queryAdapter)) {
+					if (concurrent) {
+						concurrentOwners.add(population);
+						concurrentTasks.add(task);
+					}
+					else {
+						boundOwners.add(population);
+						boundTasks.add(task);
+					}
+				}
+			}
+		}
+		if (concurrentTasks.size() < 2) {
+			boundOwners.addAll(concurrentOwners);
+			boundTasks.addAll(concurrentTasks);
+			concurrentOwners.clear();
+			concurrentTasks.clear();
+		}
+
+		if (!concurrentTasks.isEmpty()) {
+			List<Callable<Map<Object, JsonApiResponse>>> propagatedTasks = new ArrayList<>();
+			for (Callable<Map<Object, JsonApiResponse>> task : concurrentTasks) {
+				for (RequestContextPropagator propagator : requestContextPropagators) {
+					task = propagator.propagate(task);
+				}
+				propagatedTasks.add(task);
+			}
+			List<Map<Object, JsonApiResponse>> concurrentResults = runConcurrently(propagatedTasks);
+			for (int i = 0; i < concurrentTasks.size(); i++) {
+				concurrentOwners.get(i).responseMap.putAll(concurrentResults.get(i));
 			}
+		}
+
+		for (int i = 0; i < boundTasks.size(); i++) {
+			boundOwners.get(i).responseMap.putAll(call(boundTasks.get(i)));
+		}
+	}
+
+	private boolean isConcurrent(FieldPopulation population) {
+		return lookupExecutor != null && !population.requestThreadBound;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Callable<Map<Object, JsonApiResponse>>> createLookupTasks(final FieldPopulation population,
+			final QueryAdapter queryAdapter) {
+		List<Callable<Map<Object, JsonApiResponse>>> tasks = new ArrayList<>();
+
+		List<Serializable> relationshipIds = population.lookupIds;
+		if (population.targetIds != null) {
+			tasks.add(new Callable<Map<Object, JsonApiResponse>>() {
+
+				@Override
+				public Map<Object, JsonApiResponse> call() {
+					return fetchByTargetIds(population, queryAdapter);
+				}
+			});
+			relationshipIds = new ArrayList<>();
+			for (Serializable sourceId : population.lookupIds) {
+				if (!population.targetIds.containsKey(sourceId)) {
+					relationshipIds.add(sourceId);
+				}
+			}
+		}
 
-			for (Resource sourceResource : sourceResources) {
-				Serializable sourceId = resourceInformation.parseIdString(sourceResource.getId());
-				JsonApiResponse targetResponse = responseMap.get(sourceId);
-				if (targetResponse != null && targetResponse.getEntity() != null) {
-					Object targetEntity = targetResponse.getEntity();
+		if (isConcurrent(population) && !population.relationshipRepository.isBulk()) {
+			for (Serializable sourceId : relationshipIds) {
+				tasks.add(createRelationshipLookupTask(population, Collections.singletonList(sourceId), queryAdapter));
+			}
+		}
+		else if (!relationshipIds.isEmpty()) {
+			tasks.add(createRelationshipLookupTask(population, relationshipIds, queryAdapter));
+		}
+		return tasks;
+	}
+
+	private Callable<Map<Object, JsonApiResponse>> createRelationshipLookupTask(final FieldPopulation population,
+			final List<Serializable> sourceIds, final QueryAdapter queryAdapter) {
+		return new Callable<Map<Object, JsonApiResponse>>() {
 
-					List<Resource> targets =
-							setupRelation(sourceResource, relationshipField, targetEntity, queryAdapter, resourceMap, entityMap);
-					loadedTargets.addAll(targets);
+			@Override
+			@SuppressWarnings("unchecked")
+			public Map<Object, JsonApiResponse> call() {
+				ResourceField resourceField = population.resourceField;
+				if (Iterable.class.isAssignableFrom(resourceField.getType())) {
+					return population.relationshipRepository.findBulkManyTargets(sourceIds, resourceField, queryAdapter);
 				}
 				else {
-					Nullable<Object> emptyData = (Nullable) Nullable
-							.of(Iterable.class.isAssignableFrom(relationshipField.getType()) ? Collections.emptyList() : null);
-					Relationship relationship = sourceResource.getRelationships().get(relationshipField.getJsonName());
-					relationship.setData(emptyData);
+					return population.relationshipRepository.findBulkOneTargets(sourceIds, resourceField, queryAdapter);
 				}
 			}
+		};
+	}
+
+	private Map<Object, JsonApiResponse> fetchByTargetIds(FieldPopulation population, QueryAdapter queryAdapter) {
+		Set<Serializable> distinctTargetIds = new LinkedHashSet<>(population.targetIds.values());
+		JsonApiResponse response = population.targetRepository.findAll(distinctTargetIds, queryAdapter);
+
+		ResourceInformation targetInformation = population.targetInformation;
+		Map<Object, Object> targetsById = new HashMap<>();
+		if (response.getEntity() != null) {
+			for (Object target : (Iterable<?>) response.getEntity()) {
+				targetsById.put(targetInformation.getId(target), target);
+			}
+		}
+
+		Map<Object, JsonApiResponse> responseMap = new HashMap<>();
+		for (Map.Entry<Serializable, Serializable> entry : population.targetIds.entrySet()) {
+			Object target = targetsById.get(entry.getValue());
+			responseMap.put(entry.getKey(), new JsonApiResponse().setEntity(target));
 		}
+		return responseMap;
+	}
 
-		return loadedTargets;
+	private static <T> T call(Callable<T> task) {
+		try {
+			return task.call();
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private <T> List<T> runConcurrently(List<Callable<T>> tasks) {
+		CompletionService<T> completionService = new ExecutorCompletionService<>(lookupExecutor);
+		int maxActive = lookupParallelism > 0 ? Math.min(lookupParallelism, tasks.size()) : tasks.size();
+		Map<Future<T>, Integer> futures = new HashMap<>();
+		List<T> results = new ArrayList<>(Collections.<T>nCopies(tasks.size(), null));
+		try {
+			while (futures.size() < maxActive) {
+				futures.put(completionService.submit(tasks.get(futures.size())), futures.size());
+			}
+			for (int completed = 0; completed < tasks.size(); completed++) {
+				Future<T> future = completionService.take();
+				results.set(futures.get(future), future.get());
+				if (futures.size() < tasks.size()) {
+					futures.put(completionService.submit(tasks.get(futures.size())), futures.size());
+				}
+			}
+			return results;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while looking up inclusions", e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+		finally {
+			for (Future<T> future : futures.keySet()) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Updates the relationship data of the looked up resources accordingly and registers the loaded resources of each
+	 * source for potential inclusion in the result resource.
+	 */
+	@SuppressWarnings("unchecked")
+	private void applyLookup(FieldPopulation population, ProjectionPlans plans,
+			Map<ResourceIdentifier, Resource> resourceMap, Map<ResourceIdentifier, Object> entityMap) {
+		ResourceField relationshipField = population.resourceField;
+		int index = 0;
+		for (Resource sourceResource : population.lookupSources) {
+			Serializable sourceId = population.lookupIds.get(index++);
+			JsonApiResponse targetResponse = population.responseMap.get(sourceId);
+			if (targetResponse != null && targetResponse.getEntity() != null) {
+				Object targetEntity = targetResponse.getEntity();
+
+				List<Resource> targets =
+						setupRelation(sourceResource, relationshipField, targetEntity, plans, resourceMap, entityMap);
+				population.targetsBySource.put(sourceResource, targets);
+			}
+			else {
+				Nullable<Object> emptyData = (Nullable) Nullable
+						.of(Iterable.class.isAssignableFrom(relationshipField.getType()) ? Collections.emptyList() : null);
+				Relationship relationship = sourceResource.getRelationships().get(relationshipField.getJsonName());
+				relationship.setData(emptyData);
+			}
+		}
 	}
 
 	private List<Resource> setupRelation(Resource sourceResource, ResourceField relationshipField, Object targetEntity,
-			QueryAdapter queryAdapter, Map<ResourceIdentifier, Resource> resourceMap,
+			ProjectionPlans plans, Map<ResourceIdentifier, Resource> resourceMap,
 			Map<ResourceIdentifier, Object> entityMap) {
 		// set the relation
 		String relationshipName = relationshipField.getJsonName();
@@ -321,22 +645,22 @@ public class IncludeLookupSetter {
 		if (targetEntity instanceof Iterable) {
 			List<Resource> targets = new ArrayList<>();
 			for (Object targetElement : (Iterable<?>) targetEntity) {
-				Resource targetResource = mergeResource(targetElement, queryAdapter, resourceMap, entityMap);
+				Resource targetResource = mergeResource(targetElement, plans, resourceMap, entityMap);
 				targets.add(targetResource);
 			}
 			relationship.setData(Nullable.of((Object) util.toIds(targets)));
 			return targets;
 		}
 		else {
-			Resource targetResource = mergeResource(targetEntity, queryAdapter, resourceMap, entityMap);
+			Resource targetResource = mergeResource(targetEntity, plans, resourceMap, entityMap);
 			relationship.setData(Nullable.of((Object) targetResource.toIdentifier()));
 			return Collections.singletonList(targetResource);
 		}
 	}
 
-	private Resource mergeResource(Object targetEntity, QueryAdapter queryAdapter, Map<ResourceIdentifier, Resource> resourceMap,
+	private Resource mergeResource(Object targetEntity, ProjectionPlans plans, Map<ResourceIdentifier, Resource> resourceMap,
 			Map<ResourceIdentifier, Object> entityMap) {
-		Resource targetResource = resourceMapper.toData(targetEntity, queryAdapter);
+		Resource targetResource = resourceMapper.toData(targetEntity, plans);
 		ResourceIdentifier targetId = targetResource.toIdentifier();
 		if (!resourceMap.containsKey(targetId)) {
 			resourceMap.put(targetId, targetResource);
@@ -351,47 +675,98 @@ public class IncludeLookupSetter {
 		return targetResource;
 	}
 
-	private List<Serializable> getIds(Collection<Resource> resources, ResourceInformation resourceInformation) {
-		List<Serializable> ids = new ArrayList<>();
+	/**
+	 * Takes the typed ids from the entities where available rather than parsing the string ids of the resources.
+	 */
+	private List<Serializable> getIds(Collection<Resource> resources, ResourceInformation resourceInformation,
+			Map<ResourceIdentifier, Object> entityMap) {
+		List<Serializable> ids = new ArrayList<>(resources.size());
 		for (Resource resource : resources) {
-			Serializable id = resourceInformation.parseIdString(resource.getId());
+			Object entity = entityMap.get(resource.toIdentifier());
+			Serializable id = null;
+			if (entity != null && !(entity instanceof Resource)
+					&& resourceInformation.getResourceClass().isInstance(entity)) {
+				id = (Serializable) resourceInformation.getId(entity);
+			}
+			if (id == null) {
+				id = resourceInformation.parseIdString(resource.getId());
+			}
 			ids.add(id);
 		}
 		return ids;
 	}
 
+	private static final class PopulationGroup {
+
+		private final List<ResourceField> fieldPath;
+
+		private final Collection<Resource> resources;
+
+		private final Set<String> additionalEagerLoadedRelations;
+
+		PopulationGroup(List<ResourceField> fieldPath, Collection<Resource> resources,
+				Set<String> additionalEagerLoadedRelations) {
+			this.fieldPath = fieldPath;
+			this.resources = resources;
+			this.additionalEagerLoadedRelations = additionalEagerLoadedRelations;
+		}
+	}
+
 	/**
-	 * Cache resource/field pairs already populated to avoid loops
+	 * Population of a single relationship field within a level. Only the repository lookups may run on other threads,
+	 * everything else happens on the thread serving the request.
 	 */
-	class PopulatedCache {
+	private static final class FieldPopulation {
 
-		private HashSet<String> processed = new HashSet<>();
+		private final ResourceField resourceField;
 
-		public void markProcessed(Resource resource, ResourceField field) {
-			String key = getKey(resource, field);
-			processed.add(key);
-		}
+		private final List<PopulationRequest> requests;
 
-		public Collection<Resource> filterProcessed(Collection<Resource> resources, ResourceField field) {
-			Collection<Resource> result = new ArrayList<>();
-			for (Resource resource : resources) {
-				if (!wasProcessed(resource, field)) {
-					result.add(resource);
-					markProcessed(resource, field);
-				}
-			}
-			return result;
-		}
+		private final Map<Resource, List<Resource>> targetsBySource = new IdentityHashMap<>();
 
-		public boolean wasProcessed(Resource resource, ResourceField field) {
-			String key = getKey(resource, field);
-			return processed.contains(key);
-		}
+		@SuppressWarnings("rawtypes")
+		private RelationshipRepositoryAdapter relationshipRepository;
+
+		private List<Resource> lookupSources;
+
+		private List<Serializable> lookupIds;
+
+		@SuppressWarnings("rawtypes")
+		private ResourceRepositoryAdapter targetRepository;
+
+		private ResourceInformation targetInformation;
+
+		private Map<Serializable, Serializable> targetIds;
+
+		private Map<Object, JsonApiResponse> responseMap;
+
+		private boolean requestThreadBound;
 
-		private String getKey(Resource resource, ResourceField field) {
-			return resourceRegistry.getBaseResourceInformation(resource.getType()).getResourceType() + "@" + resource.getId()
-					+ "@" + field.getUnderlyingName();
+		FieldPopulation(ResourceField resourceField, List<PopulationRequest> requests) {
+			this.resourceField = resourceField;
+			this.requests = requests;
 		}
 	}
 
+	/**
+	 * Population of a relationship field for the resources reached by one inclusion path.
+	 */
+	private static final class PopulationRequest {
+
+		private final List<ResourceField> fieldPath;
+
+		private final boolean includeResources;
+
+		private final Collection<Resource> resources;
+
+		private List<Resource> sources;
+
+		private Set<Resource> targets = Collections.emptySet();
+
+		PopulationRequest(List<ResourceField> fieldPath, boolean includeResources, Collection<Resource> resources) {
+			this.fieldPath = fieldPath;
+			this.includeResources = includeResources;
+			this.resources = resources;
+		}
+	}
 }
@@ -0,0 +1,40 @@
+package io.crnk.core.engine.internal.document.mapper;
+
+import io.crnk.core.engine.information.resource.ResourceField;
+import io.crnk.core.engine.query.QueryAdapter;
+
+/**
+ * Attribute and relationship fields to write for resources of a particular type in the response to a particular request.
+ * Sparse fieldsets and inclusions of the {@link QueryAdapter} are evaluated once when the plan is built, all resources of
+ * that type then only walk the arrays.
+ */
+public class ProjectionPlan {
+
+	private final ResourceField[] attributeFields;
+
+	private final ResourceField[] relationshipFields;
+
+	private final String resourceUrlPrefix;
+
+	/**
+	 * @param resourceUrlPrefix url of the resources with a trailing slash, resolved against the service url of the
+	 *                          request. Null if no links are written.
+	 */
+	public ProjectionPlan(ResourceField[] attributeFields, ResourceField[] relationshipFields, String resourceUrlPrefix) {
+		this.attributeFields = attributeFields;
+		this.relationshipFields = relationshipFields;
+		this.resourceUrlPrefix = resourceUrlPrefix;
+	}
+
+	public ResourceField[] getAttributeFields() {
+		return attributeFields;
+	}
+
+	public ResourceField[] getRelationshipFields() {
+		return relationshipFields;
+	}
+
+	public String getResourceUrlPrefix() {
+		return resourceUrlPrefix;
+	}
+}
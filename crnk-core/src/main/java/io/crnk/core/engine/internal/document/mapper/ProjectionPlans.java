@@ -0,0 +1,34 @@
+package io.crnk.core.engine.internal.document.mapper;
+
+import io.crnk.core.engine.information.resource.ResourceInformation;
+import io.crnk.core.engine.query.QueryAdapter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ProjectionPlan}s of a single mapping call, one per resource type. Instances are created by the caller and
+ * passed to {@link ResourceMapper#toData(Object, ProjectionPlans)} for every resource it maps. Not thread-safe.
+ */
+public class ProjectionPlans {
+
+	private final QueryAdapter queryAdapter;
+
+	private final Map<ResourceInformation, ProjectionPlan> plans = new HashMap<>();
+
+	public ProjectionPlans(QueryAdapter queryAdapter) {
+		this.queryAdapter = queryAdapter;
+	}
+
+	public QueryAdapter getQueryAdapter() {
+		return queryAdapter;
+	}
+
+	protected ProjectionPlan get(ResourceInformation resourceInformation) {
+		return plans.get(resourceInformation);
+	}
+
+	protected void put(ResourceInformation resourceInformation, ProjectionPlan plan) {
+		plans.put(resourceInformation, plan);
+	}
+}
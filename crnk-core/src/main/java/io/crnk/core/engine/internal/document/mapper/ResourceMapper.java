@@ -7,29 +7,59 @@ import io.crnk.core.engine.document.Relationship;
 import io.crnk.core.engine.document.Resource;
 import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
+import io.crnk.core.engine.properties.RelationshipLinksBehavior;
 import io.crnk.core.engine.query.QueryAdapter;
 import io.crnk.core.resource.links.LinksInformation;
 import io.crnk.core.resource.links.SelfLinksInformation;
 import io.crnk.core.resource.meta.MetaInformation;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class ResourceMapper {
 
-	private static final String SELF_FIELD_NAME = "self";
-	private static final String RELATED_FIELD_NAME = "related";
-
 	private DocumentMapperUtil util;
 	private boolean client;
 	private ObjectMapper objectMapper;
 
+	private boolean streamingSerialization;
+
+	private RelationshipLinksBehavior relationshipLinksBehavior = RelationshipLinksBehavior.SELF_AND_RELATED;
+
 	public ResourceMapper(DocumentMapperUtil util, boolean client, ObjectMapper objectMapper) {
 		this.util = util;
 		this.client = client;
 		this.objectMapper = objectMapper;
 	}
 
+	/**
+	 * @param streamingSerialization whether attribute values are kept as {@link com.fasterxml.jackson.databind.node.POJONode}
+	 *                               and serialized directly to the response rather than being converted to trees upfront.
+	 */
+	public void setStreamingSerialization(boolean streamingSerialization) {
+		this.streamingSerialization = streamingSerialization;
+	}
+
+	public boolean isStreamingSerialization() {
+		return streamingSerialization;
+	}
+
+	public void setRelationshipLinksBehavior(RelationshipLinksBehavior relationshipLinksBehavior) {
+		this.relationshipLinksBehavior = relationshipLinksBehavior;
+	}
+
+	public RelationshipLinksBehavior getRelationshipLinksBehavior() {
+		return relationshipLinksBehavior;
+	}
+
 	public Resource toData(Object entity, QueryAdapter queryAdapter) {
+		return toData(entity, new ProjectionPlans(queryAdapter));
+	}
+
+	/**
+	 * @param plans of the current mapping call, shared by all resources mapped with it
+	 */
+	public Resource toData(Object entity, ProjectionPlans plans) {
 		if (entity instanceof Resource) {
 			// Resource and ResourceId
 			return (Resource) entity;
@@ -46,8 +76,9 @@ public class ResourceMapper {
 				util.setLinks(resource, getResourceLinks(entity, resourceInformation));
 				util.setMeta(resource, getResourceMeta(entity, resourceInformation));
 			}
-			setAttributes(resource, entity, resourceInformation, queryAdapter);
-			setRelationships(resource, entity, resourceInformation, queryAdapter);
+			ProjectionPlan plan = getProjectionPlan(resourceInformation, plans);
+			setAttributes(resource, entity, plan);
+			setRelationships(resource, entity, resourceInformation, plan, plans.getQueryAdapter());
 			return resource;
 		}
 	}
@@ -75,16 +106,42 @@ public class ResourceMapper {
 		return info;
 	}
 
-	protected void setAttributes(Resource resource, Object entity, ResourceInformation resourceInformation, QueryAdapter queryAdapter) {
-		// fields legacy may further limit the number of fields
-		List<ResourceField> fields = DocumentMapperUtil.getRequestedFields(resourceInformation, queryAdapter, resourceInformation.getAttributeFields().getFields(), false);
+	/**
+	 * @return fields to write for the given resource type. Computed once per type and mapping call.
+	 */
+	protected ProjectionPlan getProjectionPlan(ResourceInformation resourceInformation, ProjectionPlans plans) {
+		ProjectionPlan plan = plans.get(resourceInformation);
+		if (plan == null) {
+			QueryAdapter queryAdapter = plans.getQueryAdapter();
+			// fields legacy may further limit the number of fields
+			List<ResourceField> attributeFields = DocumentMapperUtil.getRequestedFields(resourceInformation, queryAdapter,
+					resourceInformation.getAttributeFields().getFields(), false);
+			List<ResourceField> relationshipFields = DocumentMapperUtil.getRequestedFields(resourceInformation, queryAdapter,
+					resourceInformation.getRelationshipFields(), true);
+			// relationship links of all resources of this type share the url resolved for the current request
+			String resourceUrlPrefix = client ? null : util.getResourceUrlPrefix(resourceInformation);
+			plan = new ProjectionPlan(toNonIgnoredArray(attributeFields), toNonIgnoredArray(relationshipFields),
+					resourceUrlPrefix);
+			plans.put(resourceInformation, plan);
+		}
+		return plan;
+	}
 
-		// serialize the individual attributes
+	private ResourceField[] toNonIgnoredArray(List<ResourceField> fields) {
+		List<ResourceField> results = new ArrayList<>(fields.size());
 		for (ResourceField field : fields) {
 			if (!isIgnored(field)) {
-				setAttribute(resource, field, entity);
+				results.add(field);
 			}
 		}
+		return results.toArray(new ResourceField[results.size()]);
+	}
+
+	protected void setAttributes(Resource resource, Object entity, ProjectionPlan plan) {
+		// serialize the individual attributes
+		for (ResourceField field : plan.getAttributeFields()) {
+			setAttribute(resource, field, entity);
+		}
 	}
 
 	protected boolean isIgnored(ResourceField field) { // NOSONAR signature is ok since protected
@@ -93,24 +150,27 @@ public class ResourceMapper {
 
 	protected void setAttribute(Resource resource, ResourceField field, Object entity) {
 		Object value = field.getAccessor().getValue(entity);
-		JsonNode valueNode = objectMapper.valueToTree(value);
+		JsonNode valueNode;
+		if (streamingSerialization && value != null) {
+			valueNode = objectMapper.getNodeFactory().pojoNode(value);
+		} else {
+			valueNode = objectMapper.valueToTree(value);
+		}
 		resource.getAttributes().put(field.getJsonName(), valueNode);
 	}
 
-	protected void setRelationships(Resource resource, Object entity, ResourceInformation resourceInformation, QueryAdapter queryAdapter) {
-		List<ResourceField> fields = DocumentMapperUtil.getRequestedFields(resourceInformation, queryAdapter, resourceInformation.getRelationshipFields(), true);
-		for (ResourceField field : fields) {
-			if (!isIgnored(field)) {
-				setRelationship(resource, field, entity, resourceInformation, queryAdapter);
-			}
+	protected void setRelationships(Resource resource, Object entity, ResourceInformation resourceInformation, ProjectionPlan plan,
+			QueryAdapter queryAdapter) {
+		for (ResourceField field : plan.getRelationshipFields()) {
+			setRelationship(resource, field, entity, resourceInformation, queryAdapter, plan);
 		}
 	}
 
-	protected void setRelationship(Resource resource, ResourceField field, Object entity, ResourceInformation resourceInformation, QueryAdapter queryAdapter) {
+	protected void setRelationship(Resource resource, ResourceField field, Object entity, ResourceInformation resourceInformation,
+			QueryAdapter queryAdapter, ProjectionPlan plan) {
 		{ // NOSONAR signature is ok since protected
-			ObjectNode relationshipLinks = objectMapper.createObjectNode();
-			relationshipLinks.put(SELF_FIELD_NAME, util.getRelationshipLink(resourceInformation, entity, field, false));
-			relationshipLinks.put(RELATED_FIELD_NAME, util.getRelationshipLink(resourceInformation, entity, field, true));
+			ObjectNode relationshipLinks =
+					util.getRelationshipLinks(plan.getResourceUrlPrefix(), resource.getId(), field, relationshipLinksBehavior);
 
 			Relationship relationship = new Relationship();
 			relationship.setLinks(relationshipLinks);
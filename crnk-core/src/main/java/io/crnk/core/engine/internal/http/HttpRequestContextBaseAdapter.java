@@ -1,6 +1,9 @@
 package io.crnk.core.engine.internal.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -8,6 +11,8 @@ import java.util.concurrent.Callable;
 import io.crnk.core.engine.http.HttpHeaders;
 import io.crnk.core.engine.http.HttpRequestContext;
 import io.crnk.core.engine.http.HttpRequestContextBase;
+import io.crnk.core.engine.http.HttpResponseWriter;
+import io.crnk.core.engine.http.StreamingHttpRequestContextBase;
 import io.crnk.core.engine.internal.utils.ExceptionUtil;
 import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 
@@ -78,6 +83,20 @@ public class HttpRequestContextBaseAdapter implements HttpRequestContext {
 		});
 	}
 
+	@Override
+	public void setResponse(int statusCode, HttpResponseWriter writer) throws IOException {
+		hasResponse = true;
+		if (base instanceof StreamingHttpRequestContextBase) {
+			((StreamingHttpRequestContextBase) base).setResponse(statusCode, writer);
+		} else if (writer != null) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			writer.writeTo(buffer);
+			base.setResponse(statusCode, buffer.toByteArray());
+		} else {
+			base.setResponse(statusCode, (byte[]) null);
+		}
+	}
+
 	@Override
 	public boolean acceptsAny() {
 		return accepts("*") || accepts("*/*");
@@ -136,6 +155,15 @@ public class HttpRequestContextBaseAdapter implements HttpRequestContext {
 		return base.getRequestBody();
 	}
 
+	@Override
+	public InputStream getRequestBodyStream() throws IOException {
+		if (base instanceof StreamingHttpRequestContextBase) {
+			return ((StreamingHttpRequestContextBase) base).getRequestBodyStream();
+		}
+		byte[] requestBody = base.getRequestBody();
+		return requestBody != null ? new ByteArrayInputStream(requestBody) : null;
+	}
+
 	@Override
 	public void setResponseHeader(String name, String value) {
 		base.setResponseHeader(name, value);
@@ -51,6 +51,8 @@ public class HttpRequestProcessorImpl implements RequestDispatcher {
 
 	private QueryAdapterBuilder queryAdapterBuilder;
 
+	private final PathBuilder pathBuilder;
+
 	public HttpRequestProcessorImpl(ModuleRegistry moduleRegistry, ServiceUrlProvider serviceUrlProvider, ControllerRegistry controllerRegistry,
 									ExceptionMapperRegistry exceptionMapperRegistry, QueryAdapterBuilder queryAdapterBuilder) {
 		this.controllerRegistry = controllerRegistry;
@@ -58,6 +60,7 @@ public class HttpRequestProcessorImpl implements RequestDispatcher {
 		this.moduleRegistry = moduleRegistry;
 		this.exceptionMapperRegistry = exceptionMapperRegistry;
 		this.queryAdapterBuilder = queryAdapterBuilder;
+		this.pathBuilder = new PathBuilder(moduleRegistry.getResourceRegistry());
 
 		// TODO clean this class up
 		this.moduleRegistry.setRequestDispatcher(this);
@@ -99,8 +102,14 @@ public class HttpRequestProcessorImpl implements RequestDispatcher {
 	public Response dispatchRequest(String path, String method, Map<String, Set<String>> parameters,
 									RepositoryMethodParameterProvider parameterProvider,
 									Document requestBody) {
+		JsonPath jsonPath = pathBuilder.build(path);
+		return dispatchRequest(jsonPath, method, parameters, parameterProvider, requestBody);
+	}
 
-		JsonPath jsonPath = new PathBuilder(moduleRegistry.getResourceRegistry()).build(path);
+	@Override
+	public Response dispatchRequest(JsonPath jsonPath, String method, Map<String, Set<String>> parameters,
+									RepositoryMethodParameterProvider parameterProvider,
+									Document requestBody) {
 		try {
 			BaseController controller = controllerRegistry.getController(jsonPath, method);
 
@@ -142,7 +151,7 @@ public class HttpRequestProcessorImpl implements RequestDispatcher {
 
 	@Override
 	public void dispatchAction(String path, String method, Map<String, Set<String>> parameters) {
-		JsonPath jsonPath = new PathBuilder(moduleRegistry.getResourceRegistry()).build(path);
+		JsonPath jsonPath = pathBuilder.build(path);
 
 		// preliminary implementation, more to come in the future
 		ActionFilterChain chain = new ActionFilterChain();
@@ -151,6 +160,14 @@ public class HttpRequestProcessorImpl implements RequestDispatcher {
 		chain.doFilter(context);
 	}
 
+	/**
+	 * @return path builder shared by all requests, it keeps the routes compiled from the resource registry.
+	 */
+	@Override
+	public PathBuilder getPathBuilder() {
+		return pathBuilder;
+	}
+
 	public QueryAdapterBuilder getQueryAdapterBuilder() {
 		return queryAdapterBuilder;
 	}
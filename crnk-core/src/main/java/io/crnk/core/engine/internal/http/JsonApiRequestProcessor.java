@@ -1,6 +1,9 @@
 package io.crnk.core.engine.internal.http;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.crnk.core.engine.dispatcher.RequestDispatcher;
 import io.crnk.core.engine.dispatcher.Response;
 import io.crnk.core.engine.document.Document;
@@ -8,16 +11,17 @@ import io.crnk.core.engine.http.HttpHeaders;
 import io.crnk.core.engine.http.HttpMethod;
 import io.crnk.core.engine.http.HttpRequestContext;
 import io.crnk.core.engine.http.HttpRequestProcessor;
+import io.crnk.core.engine.http.HttpResponseWriter;
 import io.crnk.core.engine.internal.dispatcher.path.ActionPath;
 import io.crnk.core.engine.internal.dispatcher.path.JsonPath;
-import io.crnk.core.engine.internal.dispatcher.path.PathBuilder;
-import io.crnk.core.engine.registry.ResourceRegistry;
 import io.crnk.core.module.Module;
 import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.Set;
 
@@ -49,12 +53,10 @@ public class JsonApiRequestProcessor implements HttpRequestProcessor {
 	public void process(HttpRequestContext requestContext) throws IOException {
 		if (isJsonApiRequest(requestContext)) {
 
-			ResourceRegistry resourceRegistry = moduleContext.getResourceRegistry();
 			RequestDispatcher requestDispatcher = moduleContext.getRequestDispatcher();
 
 			String path = requestContext.getPath();
-
-			JsonPath jsonPath = new PathBuilder(resourceRegistry).build(path);
+			JsonPath jsonPath = requestDispatcher.getPathBuilder().build(path);
 			Map<String, Set<String>> parameters = requestContext.getRequestParameters();
 			String method = requestContext.getMethod();
 
@@ -62,17 +64,11 @@ public class JsonApiRequestProcessor implements HttpRequestProcessor {
 				// inital implementation, has to improve
 				requestDispatcher.dispatchAction(path, method, parameters);
 			} else if (jsonPath != null) {
-				byte[] requestBody = requestContext.getRequestBody();
-
-				Document document = null;
-				if (requestBody != null && requestBody.length > 0) {
-					ObjectMapper objectMapper = moduleContext.getObjectMapper();
-					document = objectMapper.readerFor(Document.class).readValue(requestBody);
-				}
+				Document document = readDocument(requestContext);
 
 				RepositoryMethodParameterProvider parameterProvider = requestContext.getRequestParameterProvider();
-				Response crnkResponse = requestDispatcher
-						.dispatchRequest(path, method, parameters, parameterProvider, document);
+				Response crnkResponse =
+						requestDispatcher.dispatchRequest(jsonPath, method, parameters, parameterProvider, document);
 				setResponse(requestContext, crnkResponse);
 			} else {
 				// no repositories invoked, we do nothing
@@ -80,14 +76,35 @@ public class JsonApiRequestProcessor implements HttpRequestProcessor {
 		}
 	}
 
+	private Document readDocument(HttpRequestContext requestContext) throws IOException {
+		InputStream requestBody = requestContext.getRequestBodyStream();
+		if (requestBody == null) {
+			return null;
+		}
+		ObjectMapper objectMapper = moduleContext.getObjectMapper();
+		try (JsonParser parser = objectMapper.getFactory().createParser(requestBody)) {
+			if (parser.nextToken() == null) {
+				// empty body
+				return null;
+			}
+			return objectMapper.readerFor(Document.class).readValue(parser);
+		}
+	}
+
 	private void setResponse(HttpRequestContext requestContext, Response crnkResponse)
 			throws IOException {
 		if (crnkResponse != null) {
-			ObjectMapper objectMapper = moduleContext.getObjectMapper();
-			String responseBody = objectMapper.writeValueAsString(crnkResponse.getDocument());
-
-			requestContext.setResponse(crnkResponse.getHttpStatus(), responseBody);
+			// deferred attribute values are resolved by the document filters while errors can still be mapped, see
+			// CrnkProperties.SERIALIZATION_STREAMING_ENABLED, so the document is written straight to the container
+			final Document document = crnkResponse.getDocument();
+			final ObjectWriter writer = moduleContext.getObjectMapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 			requestContext.setResponseHeader("Content-Type", HttpHeaders.JSONAPI_CONTENT_TYPE_AND_CHARSET);
+			requestContext.setResponse(crnkResponse.getHttpStatus(), new HttpResponseWriter() {
+				@Override
+				public void writeTo(OutputStream outputStream) throws IOException {
+					writer.writeValue(outputStream, document);
+				}
+			});
 		}
 	}
 
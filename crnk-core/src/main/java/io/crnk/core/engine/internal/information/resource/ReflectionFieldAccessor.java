@@ -2,28 +2,25 @@ package io.crnk.core.engine.internal.information.resource;
 
 import io.crnk.core.engine.information.resource.ResourceFieldAccessor;
 import io.crnk.core.engine.internal.utils.ClassUtils;
+import io.crnk.core.engine.internal.utils.PropertyAccessor;
 import io.crnk.core.engine.internal.utils.PropertyException;
-import io.crnk.core.engine.internal.utils.PropertyUtils;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
+/**
+ * Accesses a resource field through a public field or its getter and setter. The members are resolved once upon
+ * construction and invoked with method handles, see {@link PropertyAccessor}.
+ */
 public class ReflectionFieldAccessor implements ResourceFieldAccessor {
 
-	private Method getter;
-
-	private Method setter;
-
-	private Field field;
+	private PropertyAccessor accessor;
 
 	private Class<?> resourceType;
 
 	private String fieldName;
 
-	private Class<?> fieldType;
-
 	public ReflectionFieldAccessor(Class<?> resourceType, String fieldName, Class<?> fieldType) {
 		if (fieldName == null) {
 			throw new IllegalArgumentException("no fieldName provided");
@@ -36,14 +33,13 @@ public class ReflectionFieldAccessor implements ResourceFieldAccessor {
 		}
 		this.resourceType = resourceType;
 		this.fieldName = fieldName;
-		this.fieldType = fieldType;
-		this.getter = ClassUtils.findGetter(resourceType, fieldName);
-		this.setter = ClassUtils.findSetter(resourceType, fieldName, fieldType);
-		this.field = ClassUtils.findClassField(resourceType, fieldName);
+		Method getter = ClassUtils.findGetter(resourceType, fieldName);
+		Method setter = ClassUtils.findSetter(resourceType, fieldName, fieldType);
+		Field field = ClassUtils.findClassField(resourceType, fieldName);
 		if (field != null && !Modifier.isPublic(field.getModifiers())) {
-			this.field = null;
+			field = null;
 		}
-
+		this.accessor = new PropertyAccessor(resourceType, fieldName, field, getter, setter);
 	}
 
 	@Override
@@ -53,17 +49,14 @@ public class ReflectionFieldAccessor implements ResourceFieldAccessor {
 			throw new PropertyException(message, resourceType, fieldName);
 		}
 		try {
-			if (field != null) {
-				return field.get(resource);
-			} else if (getter != null) {
-				return getter.invoke(resource);
-			}
-		} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+			return accessor.getValue(resource);
+		}
+		catch (PropertyException e) {
+			throw e;
+		}
+		catch (RuntimeException e) {
 			throw new PropertyException(e, resourceType, fieldName);
 		}
-
-		String message = String.format("Cannot find an getter for %s.%s", resourceType.getCanonicalName(), fieldName);
-		throw new PropertyException(message, resourceType, fieldName);
 	}
 
 	@Override
@@ -73,19 +66,13 @@ public class ReflectionFieldAccessor implements ResourceFieldAccessor {
 			throw new PropertyException(message, resourceType, fieldName);
 		}
 		try {
-			Object mappedValue = PropertyUtils.prepareValue(fieldValue, fieldType);
-			if (field != null) {
-				field.set(resource, mappedValue);
-			} else if (setter != null) {
-				setter.invoke(resource, mappedValue);
-			} else {
-				String message = String.format("Cannot find an setter for %s.%s", resourceType.getCanonicalName(), fieldName);
-				throw new PropertyException(message, resourceType, fieldName);
-			}
-		} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+			accessor.setValue(resource, fieldValue);
+		}
+		catch (PropertyException e) {
+			throw e;
+		}
+		catch (RuntimeException e) {
 			throw new PropertyException(e, resourceType, fieldName);
 		}
-
 	}
-
 }
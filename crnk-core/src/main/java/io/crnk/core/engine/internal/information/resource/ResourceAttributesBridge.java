@@ -10,13 +10,15 @@ import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.internal.utils.ClassUtils;
 import io.crnk.core.exception.InvalidResourceException;
 import io.crnk.core.exception.ResourceException;
-import io.crnk.core.utils.Optional;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Classes which implement those interface are able to provide a set of resource attributes
@@ -24,11 +26,20 @@ import java.util.List;
 public class ResourceAttributesBridge<T> {
 
 	private final List<ResourceField> staticFields;
+	private final Map<String, ResourceField> staticFieldByJsonName = new HashMap<>();
 	private Method jsonAnyGetter;
 	private Method jsonAnySetter;
 
+	/**
+	 * Readers are set up once per field and reused for every request body.
+	 */
+	private volatile ReaderCache readerCache;
+
 	public ResourceAttributesBridge(List<ResourceField> staticFields, Class<T> resourceClass) {
 		this.staticFields = staticFields;
+		for (ResourceField staticField : staticFields) {
+			staticFieldByJsonName.put(staticField.getJsonName(), staticField);
+		}
 
 		initializeGetterAndSetter(resourceClass);
 	}
@@ -55,24 +66,32 @@ public class ResourceAttributesBridge<T> {
 				(jsonAnySetter != null && jsonAnyGetter == null);
 	}
 
+	/**
+	 * Binds a single attribute of a request document. The request body has already been parsed into a
+	 * {@link io.crnk.core.engine.document.Document} at this point, since document filters and repositories working with
+	 * {@link io.crnk.core.engine.document.Resource} depend on it. Binding therefore is not a single streaming pass over
+	 * the body, but converts the attribute tree with a reader prepared once per field.
+	 *
+	 * @param objectMapper to obtain readers from
+	 * @param instance     to set the value on
+	 * @param valueNode    value of the attribute
+	 * @param propertyName json name of the attribute
+	 */
 	public void setProperty(ObjectMapper objectMapper, T instance, JsonNode valueNode, String propertyName) {
-		Optional<ResourceField> optStaticField = findStaticField(propertyName);
+		ResourceField staticField = staticFieldByJsonName.get(propertyName);
 		try {
-			if (optStaticField.isPresent()) {
-				ResourceField field = optStaticField.get();
-				Type valueType = field.getGenericType();
+			if (staticField != null) {
 				Object value;
 				if (valueNode != null) {
-					JavaType jacksonValueType = objectMapper.getTypeFactory().constructType(valueType);
-					ObjectReader reader = objectMapper.reader().forType(jacksonValueType);
+					ObjectReader reader = getReaderCache(objectMapper).getReader(staticField);
 					value = reader.readValue(valueNode);
 				} else {
 					value = null;
 				}
-				field.getAccessor().setValue(instance, value);
+				staticField.getAccessor().setValue(instance, value);
 			} else if (jsonAnySetter != null) {
 				// Needed for JsonIgnore and dynamic attributes
-				Object value = objectMapper.reader().forType(Object.class).readValue(valueNode);
+				Object value = getReaderCache(objectMapper).anyReader.readValue(valueNode);
 				jsonAnySetter.invoke(instance, propertyName, value);
 			}
 		} catch (IOException | IllegalAccessException | InvocationTargetException e) {
@@ -81,16 +100,58 @@ public class ResourceAttributesBridge<T> {
 		}
 	}
 
-	private Optional<ResourceField> findStaticField(String propertyName) {
-		for (ResourceField resourceField : staticFields) {
-			if (resourceField.getJsonName().equals(propertyName)) {
-				return Optional.of(resourceField);
-			}
+	/**
+	 * @return value of a dynamic attribute as returned by the method annotated with {@link JsonAnyGetter}, or null if
+	 * there is no such method or attribute
+	 */
+	public Object getDynamicProperty(T instance, String propertyName) {
+		if (jsonAnyGetter == null) {
+			return null;
+		}
+		try {
+			Map<?, ?> values = (Map<?, ?>) jsonAnyGetter.invoke(instance);
+			return values != null ? values.get(propertyName) : null;
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new ResourceException(
+					String.format("Exception while reading %s.%s due to %s", instance, propertyName, e.getMessage()), e);
 		}
-		return Optional.empty();
+	}
+
+	private ReaderCache getReaderCache(ObjectMapper objectMapper) {
+		ReaderCache cache = readerCache;
+		if (cache == null || cache.objectMapper != objectMapper) {
+			cache = new ReaderCache(objectMapper);
+			readerCache = cache;
+		}
+		return cache;
 	}
 
 	public List<ResourceField> getFields() {
 		return staticFields;
 	}
+
+	private static class ReaderCache {
+
+		private final ObjectMapper objectMapper;
+
+		private final ObjectReader anyReader;
+
+		private final ConcurrentHashMap<String, ObjectReader> fieldReaders = new ConcurrentHashMap<>();
+
+		ReaderCache(ObjectMapper objectMapper) {
+			this.objectMapper = objectMapper;
+			this.anyReader = objectMapper.readerFor(Object.class);
+		}
+
+		ObjectReader getReader(ResourceField field) {
+			ObjectReader reader = fieldReaders.get(field.getJsonName());
+			if (reader == null) {
+				Type valueType = field.getGenericType();
+				JavaType jacksonValueType = objectMapper.getTypeFactory().constructType(valueType);
+				reader = objectMapper.readerFor(jacksonValueType);
+				fieldReaders.put(field.getJsonName(), reader);
+			}
+			return reader;
+		}
+	}
 }
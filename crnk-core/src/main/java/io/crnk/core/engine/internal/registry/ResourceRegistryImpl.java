@@ -9,6 +9,7 @@ import io.crnk.core.engine.url.ServiceUrlProvider;
 import io.crnk.core.exception.RepositoryNotFoundException;
 import io.crnk.core.exception.ResourceNotFoundInitializationException;
 import io.crnk.core.module.ModuleRegistry;
+import io.crnk.core.queryspec.InMemoryEvaluator;
 import io.crnk.core.utils.Optional;
 
 import java.util.Collection;
@@ -22,6 +23,13 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 
 	private ConcurrentHashMap<String, ResourceInformation> baseTypeCache = new ConcurrentHashMap<>();
 
+	/**
+	 * Bounds the number of service urls resource urls are cached for, since they may be chosen by clients.
+	 */
+	private static final int MAX_CACHED_SERVICE_URLS = 16;
+
+	private final ConcurrentHashMap<String, ResourceUrlCache> resourceUrlCaches = new ConcurrentHashMap<>();
+
 	private ResourceRegistryPart rootPart;
 
 	public ResourceRegistryImpl(ResourceRegistryPart rootPart, ModuleRegistry moduleRegistry, ServiceUrlProvider serviceUrlProvider) {
@@ -99,8 +107,20 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 
 	@Override
 	public String getResourceUrl(ResourceInformation resourceInformation) {
-		String url = UrlUtils.removeTrailingSlash(serviceUrlProvider.getUrl());
-		return url + "/" + resourceInformation.getResourceType();
+		String serviceUrl = serviceUrlProvider.getUrl();
+		if (serviceUrl == null) {
+			return UrlUtils.removeTrailingSlash(serviceUrl) + "/" + resourceInformation.getResourceType();
+		}
+		// service url may depend on the current request, e.g. its host
+		ResourceUrlCache cache = resourceUrlCaches.get(serviceUrl);
+		if (cache == null) {
+			if (resourceUrlCaches.size() >= MAX_CACHED_SERVICE_URLS) {
+				resourceUrlCaches.clear();
+			}
+			cache = new ResourceUrlCache(serviceUrl);
+			resourceUrlCaches.put(serviceUrl, cache);
+		}
+		return cache.getResourceUrl(resourceInformation.getResourceType());
 	}
 
 	@Override
@@ -150,4 +170,32 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 	public RegistryEntry getEntry(Class<?> clazz) {
 		return rootPart.getEntry(clazz);
 	}
+
+	@Override
+	public InMemoryEvaluator getInMemoryEvaluator() {
+		return moduleRegistry.getInMemoryEvaluator();
+	}
+
+	/**
+	 * Resource urls resolved against a particular service url.
+	 */
+	private static class ResourceUrlCache {
+
+		private final String baseUrl;
+
+		private final ConcurrentHashMap<String, String> resourceUrls = new ConcurrentHashMap<>();
+
+		ResourceUrlCache(String serviceUrl) {
+			this.baseUrl = UrlUtils.removeTrailingSlash(serviceUrl);
+		}
+
+		String getResourceUrl(String resourceType) {
+			String resourceUrl = resourceUrls.get(resourceType);
+			if (resourceUrl == null) {
+				resourceUrl = baseUrl + "/" + resourceType;
+				resourceUrls.put(resourceType, resourceUrl);
+			}
+			return resourceUrl;
+		}
+	}
 }
@@ -283,6 +283,15 @@ public class RelationshipRepositoryAdapter<T, I extends Serializable, D, J exten
 		return relationshipRepository;
 	}
 
+	/**
+	 * @return true if the repository can look up the targets of many sources at once. Otherwise
+	 * {@link #findBulkManyTargets(List, ResourceField, QueryAdapter)} and
+	 * {@link #findBulkOneTargets(List, ResourceField, QueryAdapter)} fall back to one call per source.
+	 */
+	public boolean isBulk() {
+		return relationshipRepository instanceof BulkRelationshipRepositoryV2;
+	}
+
 	@Override
 	protected ResourceInformation getResourceInformation(Object repository) {
 		Class<?> clazz = ((RelationshipRepositoryV2<?, ?, ?, ?>) repository).getTargetResourceClass();
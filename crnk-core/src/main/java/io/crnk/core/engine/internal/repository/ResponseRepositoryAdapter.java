@@ -6,9 +6,12 @@ import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.internal.utils.JsonApiUrlBuilder;
 import io.crnk.core.engine.internal.utils.PreconditionUtil;
+import io.crnk.core.engine.internal.utils.PropertyUtils;
 import io.crnk.core.engine.query.QueryAdapter;
 import io.crnk.core.exception.BadRequestException;
 import io.crnk.core.module.ModuleRegistry;
+import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
 import io.crnk.core.queryspec.internal.QuerySpecAdapter;
 import io.crnk.core.repository.LinksRepositoryV2;
 import io.crnk.core.repository.MetaRepositoryV2;
@@ -25,6 +28,7 @@ import io.crnk.legacy.internal.AnnotatedRepositoryAdapter;
 import io.crnk.legacy.repository.LinksRepository;
 import io.crnk.legacy.repository.MetaRepository;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -183,7 +187,8 @@ public abstract class ResponseRepositoryAdapter {
 			if ((totalCount != null || isNextPageAvailable != null) && !hasPageLinks(pagedLinksInformation)) {
 				// only enrich if not already set
 				boolean hasResults = resources.iterator().hasNext();
-				doEnrichPageLinksInformation(pagedLinksInformation, totalCount, isNextPageAvailable, queryAdapter, requestSpec, hasResults);
+				doEnrichPageLinksInformation(pagedLinksInformation, totalCount, isNextPageAvailable, queryAdapter, requestSpec,
+						resources, hasResults);
 			}
 		}
 		return linksInformation;
@@ -218,7 +223,7 @@ public abstract class ResponseRepositoryAdapter {
 
 	private void doEnrichPageLinksInformation(PagedLinksInformation pagedLinksInformation, Long total, Boolean
 			isNextPageAvailable, QueryAdapter queryAdapter,
-											  RepositoryRequestSpec requestSpec, boolean hasResults) {
+											  RepositoryRequestSpec requestSpec, Iterable<?> resources, boolean hasResults) {
 		long pageSize = queryAdapter.getLimit().longValue();
 		long offset = queryAdapter.getOffset();
 		long currentPage = offset / pageSize;
@@ -229,7 +234,11 @@ public abstract class ResponseRepositoryAdapter {
 			isNextPageAvailable = offset + pageSize < total;
 		}
 
-		if (queryAdapter.getOffset() > 0 || hasResults) {
+		QuerySpec querySpec = ((QuerySpecAdapter) queryAdapter).getQuerySpec();
+		if (querySpec.getPageAfter() != null) {
+			doEnrichCursorPageLinksInformation(pagedLinksInformation, isNextPageAvailable, queryAdapter, requestSpec,
+					resources);
+		} else if (queryAdapter.getOffset() > 0 || hasResults) {
 			Long totalPages = total != null ? (total + pageSize - 1) / pageSize : null;
 			QueryAdapter pageSpec = queryAdapter.duplicate();
 			pageSpec.setLimit(pageSize);
@@ -255,6 +264,44 @@ public abstract class ResponseRepositoryAdapter {
 		}
 	}
 
+	/**
+	 * With cursor-based paging the next page starts after the sort values of the last resource. Previous and last pages
+	 * are not known. The offset is advanced instead should the last resource lack a sort value.
+	 */
+	private void doEnrichCursorPageLinksInformation(PagedLinksInformation pagedLinksInformation,
+			boolean isNextPageAvailable, QueryAdapter queryAdapter, RepositoryRequestSpec requestSpec,
+			Iterable<?> resources) {
+		QueryAdapter pageSpec = queryAdapter.duplicate();
+		QuerySpec pageQuerySpec = ((QuerySpecAdapter) pageSpec).getQuerySpec();
+
+		pageSpec.setOffset(0);
+		pageQuerySpec.setPageAfter(Collections.emptyList());
+		pagedLinksInformation.setFirst(toUrl(pageSpec, requestSpec));
+
+		Object lastResource = null;
+		for (Object resource : resources) {
+			lastResource = resource;
+		}
+		if (isNextPageAvailable && lastResource != null) {
+			List<Object> pageAfter = new ArrayList<>();
+			for (SortSpec sortSpec : pageQuerySpec.getSort()) {
+				Object value = PropertyUtils.getProperty(lastResource, sortSpec.getAttributePath());
+				if (value == null) {
+					pageAfter = null;
+					break;
+				}
+				pageAfter.add(value);
+			}
+			if (pageAfter != null) {
+				pageQuerySpec.setPageAfter(pageAfter);
+			} else {
+				pageQuerySpec.setPageAfter(((QuerySpecAdapter) queryAdapter).getQuerySpec().getPageAfter());
+				pageSpec.setOffset(queryAdapter.getOffset() + queryAdapter.getLimit());
+			}
+			pagedLinksInformation.setNext(toUrl(pageSpec, requestSpec));
+		}
+	}
+
 	private String toUrl(QueryAdapter queryAdapter, RepositoryRequestSpec requestSpec) {
 		JsonApiUrlBuilder urlBuilder = new JsonApiUrlBuilder(moduleRegistry.getResourceRegistry());
 		Object relationshipSourceId = requestSpec.getId();
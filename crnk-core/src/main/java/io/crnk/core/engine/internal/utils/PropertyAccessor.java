@@ -0,0 +1,195 @@
+package io.crnk.core.engine.internal.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+import io.crnk.core.exception.RepositoryMethodException;
+
+/**
+ * Reads and writes a single property of a bean class with {@link MethodHandle}s resolved upfront. Public fields are accessed
+ * directly, everything else through its getter and setter. Use {@link PropertyAccessorFactory} to obtain cached instances.
+ */
+public class PropertyAccessor {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Class<?> beanClass;
+
+	private final String propertyName;
+
+	private final Field field;
+
+	private final Method getter;
+
+	private final Class<?> propertyClass;
+
+	private final Type propertyType;
+
+	private final Class<?> valueClass;
+
+	private MethodHandle getterHandle;
+
+	private MethodHandle setterHandle;
+
+	private IllegalAccessException getterAccessException;
+
+	private IllegalAccessException setterAccessException;
+
+	/**
+	 * @param beanClass    class holding the property
+	 * @param propertyName name of the property
+	 * @param field        field backing the property or null. Only public fields are accessed directly.
+	 * @param getter       getter of the property or null
+	 * @param setter       setter of the property or null
+	 */
+	public PropertyAccessor(Class<?> beanClass, String propertyName, Field field, Method getter, Method setter) {
+		this.beanClass = beanClass;
+		this.propertyName = propertyName;
+		this.field = field;
+		this.getter = getter;
+
+		boolean publicField = field != null && Modifier.isPublic(field.getModifiers());
+		if (field != null) {
+			propertyClass = field.getType();
+			propertyType = field.getGenericType();
+		}
+		else if (getter != null) {
+			propertyClass = getter.getReturnType();
+			propertyType = getter.getGenericReturnType();
+		}
+		else {
+			propertyClass = null;
+			propertyType = null;
+		}
+		valueClass = publicField || setter == null ? propertyClass : setter.getParameterTypes()[0];
+
+		try {
+			if (publicField) {
+				getterHandle = adaptFieldHandle(LOOKUP.unreflectGetter(field), GETTER_TYPE);
+			}
+			else if (getter != null) {
+				getterHandle = LOOKUP.unreflect(getter).asType(GETTER_TYPE);
+			}
+		}
+		catch (IllegalAccessException e) {
+			getterAccessException = e;
+		}
+		try {
+			if (publicField) {
+				setterHandle = adaptFieldHandle(LOOKUP.unreflectSetter(field), SETTER_TYPE);
+			}
+			else if (setter != null) {
+				setterHandle = LOOKUP.unreflect(setter).asType(SETTER_TYPE);
+			}
+		}
+		catch (IllegalAccessException e) {
+			setterAccessException = e;
+		}
+	}
+
+	private MethodHandle adaptFieldHandle(MethodHandle handle, MethodType type) {
+		if (Modifier.isStatic(field.getModifiers())) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asType(type);
+	}
+
+	public Class<?> getBeanClass() {
+		return beanClass;
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	/**
+	 * @return class of the property
+	 * @throws PropertyException if the property does not exist
+	 */
+	public Class<?> getPropertyClass() {
+		checkExists();
+		return propertyClass;
+	}
+
+	/**
+	 * @return generic type of the property
+	 * @throws PropertyException if the property does not exist
+	 */
+	public Type getPropertyType() {
+		checkExists();
+		return propertyType;
+	}
+
+	/**
+	 * @param bean to read from
+	 * @return property value. Unchecked exceptions thrown by the getter are passed through, checked ones are wrapped in
+	 * {@link PropertyException}.
+	 */
+	public Object getValue(Object bean) {
+		if (getterHandle == null) {
+			if (getterAccessException != null) {
+				throw new PropertyException(getterAccessException, beanClass, propertyName);
+			}
+			checkExists();
+			throw new RepositoryMethodException(
+					String.format("Unable to find accessor method for %s.%s", beanClass.getName(), propertyName));
+		}
+		try {
+			return (Object) getterHandle.invokeExact(bean);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new PropertyException(e, beanClass, propertyName);
+		}
+	}
+
+	/**
+	 * Sets the property value. Lists and sets are converted to match the property type, see
+	 * {@link PropertyUtils#prepareValue(Object, Class)}. Unchecked exceptions thrown by the setter are passed through, checked
+	 * ones are wrapped in {@link PropertyException}.
+	 *
+	 * @param bean  to write to
+	 * @param value to set
+	 */
+	public void setValue(Object bean, Object value) {
+		if (setterHandle == null) {
+			if (setterAccessException != null) {
+				throw new PropertyException(setterAccessException, beanClass, propertyName);
+			}
+			checkExists();
+			throw new RepositoryMethodException(
+					String.format("Unable to find accessor method for %s.%s", beanClass.getName(), propertyName));
+		}
+		if (value == null && valueClass.isPrimitive()) {
+			String message = String.format("Cannot set null to primitive %s.%s", beanClass.getName(), propertyName);
+			throw new PropertyException(new IllegalArgumentException(message), beanClass, propertyName);
+		}
+		try {
+			setterHandle.invokeExact(bean, PropertyUtils.prepareValue(value, valueClass));
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new PropertyException(e, beanClass, propertyName);
+		}
+	}
+
+	private void checkExists() {
+		if (field == null && getter == null) {
+			String message = String.format("Cannot find an getter for %s.%s", beanClass.getCanonicalName(), propertyName);
+			throw new PropertyException(message, beanClass, propertyName);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package io.crnk.core.engine.internal.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the fields and methods of a bean property once and caches the resulting {@link PropertyAccessor} per class and
+ * property name. The cache is attached to the bean class and does not prevent it from being unloaded.
+ */
+public class PropertyAccessorFactory {
+
+	private static final ClassValue<ConcurrentMap<String, PropertyAccessor>> ACCESSORS =
+			new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+
+				@Override
+				protected ConcurrentMap<String, PropertyAccessor> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private PropertyAccessorFactory() {
+	}
+
+	/**
+	 * Returns the accessor for the given property. The lookup follows {@link PropertyUtils#getProperty(Object, String)}: a
+	 * public field is accessed directly, a non-public field through its getter and setter. Without a field, the getter is
+	 * searched among {@link ClassUtils#getClassGetters(Class)}. Accessors of non-existing properties are returned as well
+	 * and fail upon use.
+	 *
+	 * @param beanClass    class holding the property
+	 * @param propertyName name of the property
+	 * @return cached accessor
+	 */
+	public static PropertyAccessor getAccessor(Class<?> beanClass, String propertyName) {
+		ConcurrentMap<String, PropertyAccessor> classAccessors = ACCESSORS.get(beanClass);
+		PropertyAccessor accessor = classAccessors.get(propertyName);
+		if (accessor == null) {
+			accessor = createAccessor(beanClass, propertyName);
+			PropertyAccessor existing = classAccessors.putIfAbsent(propertyName, accessor);
+			if (existing != null) {
+				accessor = existing;
+			}
+		}
+		return accessor;
+	}
+
+	private static PropertyAccessor createAccessor(Class<?> beanClass, String propertyName) {
+		Field field = ClassUtils.findClassField(beanClass, propertyName);
+		Method getter;
+		Method setter = null;
+		if (field != null) {
+			getter = Modifier.isPublic(field.getModifiers()) ? null : ClassUtils.findGetter(beanClass, propertyName);
+			if (!Modifier.isPublic(field.getModifiers())) {
+				setter = ClassUtils.findSetter(beanClass, propertyName, field.getType());
+			}
+		}
+		else {
+			getter = findGetter(beanClass, propertyName);
+			if (getter != null) {
+				setter = ClassUtils.findSetter(beanClass, propertyName, getter.getReturnType());
+			}
+		}
+		return new PropertyAccessor(beanClass, propertyName, field, getter, setter);
+	}
+
+	private static Method findGetter(Class<?> beanClass, String propertyName) {
+		List<Method> classGetters = ClassUtils.getClassGetters(beanClass);
+		for (Method getter : classGetters) {
+			if (ClassUtils.getGetterFieldName(getter).equals(propertyName)) {
+				return getter;
+			}
+		}
+		return null;
+	}
+}
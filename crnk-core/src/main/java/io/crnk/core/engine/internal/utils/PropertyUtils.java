@@ -1,9 +1,5 @@
 package io.crnk.core.engine.internal.utils;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -11,13 +7,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
-import io.crnk.core.exception.RepositoryMethodException;
-
 /**
  * <p>
  * A lighter version of Apache Commons PropertyUtils without additional dependencies and with support for fluent
  * setters.
  * </p>
+ * <p>
+ * Properties are resolved once per class and name by {@link PropertyAccessorFactory}.
+ * </p>
  */
 public class PropertyUtils {
 
@@ -44,13 +41,7 @@ public class PropertyUtils {
 	 */
 	public static Object getProperty(Object bean, String field) {
 		INSTANCE.checkParameters(bean, field);
-
-		try {
-			return INSTANCE.getPropertyValue(bean, field);
-		}
-		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-			throw handleReflectionException(bean.getClass(), field, e);
-		}
+		return PropertyAccessorFactory.getAccessor(bean.getClass(), field).getValue(bean);
 	}
 
 
@@ -62,7 +53,7 @@ public class PropertyUtils {
 	 * @return bean's property class
 	 */
 	public static Class<?> getPropertyClass(Class<?> beanClass, String field) {
-		return INSTANCE.findPropertyClass(beanClass, field);
+		return PropertyAccessorFactory.getAccessor(beanClass, field).getPropertyClass();
 	}
 
 	/**
@@ -73,7 +64,7 @@ public class PropertyUtils {
 	 * @return bean's property class
 	 */
 	public static Type getPropertyType(Class<?> beanClass, String field) {
-		return INSTANCE.findPropertyType(beanClass, field);
+		return PropertyAccessorFactory.getAccessor(beanClass, field).getPropertyType();
 	}
 
 	/**
@@ -152,21 +143,7 @@ public class PropertyUtils {
 	 */
 	public static void setProperty(Object bean, String field, Object value) {
 		INSTANCE.checkParameters(bean, field);
-
-		try {
-			INSTANCE.setPropertyValue(bean, field, value);
-		}
-		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-			throw handleReflectionException(bean.getClass(), field, e);
-		}
-	}
-
-	private static RuntimeException handleReflectionException(Class<?> beanClass, String field, ReflectiveOperationException e) {
-		if (e instanceof InvocationTargetException &&
-				((InvocationTargetException) e).getTargetException() instanceof RuntimeException) {
-			return (RuntimeException) ((InvocationTargetException) e).getTargetException();
-		}
-		return new PropertyException(e, beanClass, field);
+		PropertyAccessorFactory.getAccessor(bean.getClass(), field).setValue(bean, value);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -188,123 +165,4 @@ public class PropertyUtils {
 			throw new IllegalArgumentException(String.format("No field specified for bean: %s", bean.getClass()));
 		}
 	}
-
-	private Object getPropertyValue(Object bean, String fieldName)
-			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-
-		Field foundField = findField(bean.getClass(), fieldName);
-		if (foundField != null) {
-			if (!Modifier.isPublic(foundField.getModifiers())) {
-				Method getter = getGetter(bean.getClass(), foundField.getName());
-				return getter.invoke(bean);
-			}
-			else {
-				return foundField.get(bean);
-			}
-		}
-		else {
-			Method getter = findGetter(bean.getClass(), fieldName);
-			checkGetterNotNull(getter, bean.getClass(), fieldName);
-			return getter.invoke(bean);
-		}
-	}
-
-	private void checkGetterNotNull(Method getter, Class<?> bean, String fieldName) {
-		if (getter == null) {
-			String message = String
-					.format("Cannot find an getter for %s.%s", bean.getClass().getCanonicalName(), fieldName);
-			throw new PropertyException(message, bean, fieldName);
-		}
-	}
-
-	private Class<?> findPropertyClass(Class<?> beanClass, String fieldName) {
-		Field foundField = findField(beanClass, fieldName);
-		if (foundField != null) {
-			return foundField.getType();
-		}
-		else {
-			Method getter = findGetter(beanClass, fieldName);
-			checkGetterNotNull(getter, beanClass, fieldName);
-			return getter.getReturnType();
-		}
-	}
-
-	private Type findPropertyType(Class<?> beanClass, String fieldName) {
-		Field foundField = findField(beanClass, fieldName);
-		if (foundField != null) {
-			return foundField.getGenericType();
-		}
-		else {
-			Method getter = findGetter(beanClass, fieldName);
-			checkGetterNotNull(getter, beanClass, fieldName);
-			return getter.getGenericReturnType();
-		}
-	}
-
-	private Method findGetter(Class<?> beanClass, String fieldName) {
-		List<Method> classGetters = ClassUtils.getClassGetters(beanClass);
-
-		for (Method getter : classGetters) {
-			String getterFieldName = ClassUtils.getGetterFieldName(getter);
-			if (getterFieldName.equals(fieldName)) {
-				return getter;
-			}
-		}
-		return null;
-	}
-
-	private Field findField(Class<?> beanClass, String fieldName) {
-		List<Field> classFields = ClassUtils.getClassFields(beanClass);
-		for (Field field : classFields) {
-			if (field.getName().equals(fieldName)) {
-				return field;
-			}
-		}
-		return null;
-	}
-
-	private Method getGetter(Class<?> beanClass, String fieldName) throws NoSuchMethodException {
-		Method getter = ClassUtils.findGetter(beanClass, fieldName);
-		if (getter != null) {
-			return getter;
-		}
-		else {
-			throw new RepositoryMethodException(
-					String.format("Unable to find accessor method for %s.%s", beanClass.getName(), fieldName));
-		}
-	}
-
-	private void setPropertyValue(Object bean, String fieldName, Object value)
-			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-		Field foundField = findField(bean.getClass(), fieldName);
-
-		if (foundField != null) {
-			if (!Modifier.isPublic(foundField.getModifiers())) {
-				Method setter = getSetter(bean, foundField.getName(), foundField.getType());
-				setter.invoke(bean, prepareValue(value, setter.getParameterTypes()[0]));
-			}
-			else {
-				foundField.set(bean, prepareValue(value, foundField.getType()));
-			}
-		}
-		else {
-			Method getter = findGetter(bean.getClass(), fieldName);
-			checkGetterNotNull(getter, bean.getClass(), fieldName);
-			String getterFieldName = ClassUtils.getGetterFieldName(getter);
-			Method setter = getSetter(bean, getterFieldName, getter.getReturnType());
-			setter.invoke(bean, prepareValue(value, setter.getParameterTypes()[0]));
-		}
-	}
-
-	private Method getSetter(Object bean, String fieldName, Class<?> fieldType) throws NoSuchMethodException {
-		Class<? extends Object> beanClass = bean.getClass();
-		Method setter = ClassUtils.findSetter(beanClass, fieldName, fieldType);
-		if (setter != null) {
-			return setter;
-		}
-		else {
-			throw new RepositoryMethodException(
-					String.format("Unable to find accessor method for %s.%s", beanClass.getName(), fieldName));
-		}
-	}
 }
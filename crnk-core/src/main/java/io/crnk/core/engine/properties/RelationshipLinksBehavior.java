@@ -0,0 +1,42 @@
+package io.crnk.core.engine.properties;
+
+import io.crnk.core.boot.CrnkProperties;
+
+/**
+ * Determines which links are written for the relationships of a resource. See
+ * {@value CrnkProperties#RELATIONSHIP_LINKS_BEHAVIOR} for more information.
+ */
+public enum RelationshipLinksBehavior {
+
+	/**
+	 * Writes both the <i>self</i> and <i>related</i> link. This is the default.
+	 */
+	SELF_AND_RELATED(true, true),
+
+	/**
+	 * Writes only the <i>self</i> link pointing to the relationship itself.
+	 */
+	SELF(true, false),
+
+	/**
+	 * Writes only the <i>related</i> link pointing to the related resources.
+	 */
+	RELATED(false, true);
+
+	private final boolean self;
+
+	private final boolean related;
+
+	RelationshipLinksBehavior(boolean self, boolean related) {
+		this.self = self;
+		this.related = related;
+	}
+
+	public boolean includesSelf() {
+		return self;
+	}
+
+	public boolean includesRelated() {
+		return related;
+	}
+}
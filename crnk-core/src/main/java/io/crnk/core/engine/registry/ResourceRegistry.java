@@ -2,6 +2,7 @@ package io.crnk.core.engine.registry;
 
 import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.url.ServiceUrlProvider;
+import io.crnk.core.queryspec.InMemoryEvaluator;
 
 /**
  * ${@link ResourceRegistryPart} implementation if a number of convenience methods used and exposed
@@ -33,4 +34,10 @@ public interface ResourceRegistry extends ResourceRegistryPart {
 	 */
 	ResourceInformation getBaseResourceInformation(String resourceType);
 
+	/**
+	 * @return evaluator to be used by repositories applying a {@link io.crnk.core.queryspec.QuerySpec} in memory, configured
+	 * by {@link io.crnk.core.boot.CrnkBoot}.
+	 */
+	InMemoryEvaluator getInMemoryEvaluator();
+
 }
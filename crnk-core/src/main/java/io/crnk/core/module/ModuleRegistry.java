@@ -7,6 +7,8 @@ import io.crnk.core.engine.error.JsonApiExceptionMapper;
 import io.crnk.core.engine.filter.DocumentFilter;
 import io.crnk.core.engine.filter.RepositoryFilter;
 import io.crnk.core.engine.http.HttpRequestProcessor;
+import io.crnk.core.engine.http.RequestContextPropagator;
+import io.crnk.core.engine.http.RequestThreadBound;
 import io.crnk.core.engine.information.repository.*;
 import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.information.resource.ResourceInformationBuilder;
@@ -29,6 +31,7 @@ import io.crnk.core.module.discovery.MultiResourceLookup;
 import io.crnk.core.module.discovery.ResourceLookup;
 import io.crnk.core.module.discovery.ServiceDiscovery;
 import io.crnk.core.module.internal.DefaultRepositoryInformationBuilderContext;
+import io.crnk.core.queryspec.InMemoryEvaluator;
 import io.crnk.core.repository.RelationshipRepositoryV2;
 import io.crnk.core.repository.ResourceRepositoryV2;
 import io.crnk.core.repository.decorate.RelationshipRepositoryDecorator;
@@ -72,6 +75,8 @@ public class ModuleRegistry {
 
 	private PropertiesProvider propertiesProvider = new NullPropertiesProvider();
 
+	private InMemoryEvaluator inMemoryEvaluator = new InMemoryEvaluator();
+
 	public ModuleRegistry() {
 		this(true);
 	}
@@ -101,6 +106,17 @@ public class ModuleRegistry {
 		this.resourceRegistry = resourceRegistry;
 	}
 
+	/**
+	 * @return evaluator to be used by repositories applying a {@link io.crnk.core.queryspec.QuerySpec} in memory.
+	 */
+	public InMemoryEvaluator getInMemoryEvaluator() {
+		return inMemoryEvaluator;
+	}
+
+	public void setInMemoryEvaluator(InMemoryEvaluator inMemoryEvaluator) {
+		this.inMemoryEvaluator = inMemoryEvaluator;
+	}
+
 	public void setRequestDispatcher(RequestDispatcher requestDispatcher) {
 		this.requestDispatcher = requestDispatcher;
 	}
@@ -161,6 +177,32 @@ public class ModuleRegistry {
 		return aggregatedModule.getHttpRequestProcessors();
 	}
 
+	/**
+	 * @return modules implementing {@link RequestContextPropagator} to carry request state over to other threads.
+	 */
+	public List<RequestContextPropagator> getRequestContextPropagators() {
+		List<RequestContextPropagator> propagators = new ArrayList<>();
+		for (Module module : modules) {
+			if (module instanceof RequestContextPropagator) {
+				propagators.add((RequestContextPropagator) module);
+			}
+		}
+		return propagators;
+	}
+
+	/**
+	 * @return modules implementing {@link RequestThreadBound} whose repositories must be called by the request thread.
+	 */
+	public List<RequestThreadBound> getRequestThreadBoundModules() {
+		List<RequestThreadBound> boundModules = new ArrayList<>();
+		for (Module module : modules) {
+			if (module instanceof RequestThreadBound) {
+				boundModules.add((RequestThreadBound) module);
+			}
+		}
+		return boundModules;
+	}
+
 	/**
 	 * Returns a {@link SecurityProvider} instance that combines all instances
 	 * registered by modules.
@@ -0,0 +1,72 @@
+package io.crnk.core.queryspec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.crnk.core.engine.internal.utils.PropertyAccessor;
+import io.crnk.core.engine.internal.utils.PropertyAccessorFactory;
+import io.crnk.core.engine.internal.utils.PropertyUtils;
+
+/**
+ * Resolves an attribute path like {@link PropertyUtils#getProperty(Object, List)}, but remembers the accessor of each path
+ * segment for the most recently seen bean class. Evaluating the same path against many objects of the same class then skips
+ * the accessor lookup.
+ */
+class AttributePathAccessor {
+
+	private final String[] propertyNames;
+
+	private final CachedAccessor[] accessors;
+
+	AttributePathAccessor(List<String> attributePath) {
+		propertyNames = attributePath.toArray(new String[attributePath.size()]);
+		accessors = new CachedAccessor[propertyNames.length];
+	}
+
+	public Object getValue(Object bean) {
+		Object current = bean;
+		for (int i = 0; i < propertyNames.length; i++) {
+			if (current == null) {
+				return null;
+			}
+			if (current instanceof Iterable) {
+				// follow multi-valued property
+				List<Object> result = new ArrayList<>();
+				for (Object currentElem : (Iterable<?>) current) {
+					result.add(getValue(currentElem, i));
+				}
+				current = result;
+			}
+			else {
+				// follow single-valued property
+				current = getValue(current, i);
+			}
+		}
+		return current;
+	}
+
+	private Object getValue(Object bean, int index) {
+		if (bean == null) {
+			throw new IllegalArgumentException("No bean specified");
+		}
+		Class<?> beanClass = bean.getClass();
+		CachedAccessor cached = accessors[index];
+		if (cached == null || cached.beanClass != beanClass) {
+			cached = new CachedAccessor(beanClass, PropertyAccessorFactory.getAccessor(beanClass, propertyNames[index]));
+			accessors[index] = cached;
+		}
+		return cached.accessor.getValue(bean);
+	}
+
+	private static final class CachedAccessor {
+
+		private final Class<?> beanClass;
+
+		private final PropertyAccessor accessor;
+
+		CachedAccessor(Class<?> beanClass, PropertyAccessor accessor) {
+			this.beanClass = beanClass;
+			this.accessor = accessor;
+		}
+	}
+}
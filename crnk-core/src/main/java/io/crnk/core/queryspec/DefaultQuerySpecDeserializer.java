@@ -2,14 +2,22 @@ package io.crnk.core.queryspec;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
 import io.crnk.core.engine.internal.utils.PropertyException;
 import io.crnk.core.engine.internal.utils.PropertyUtils;
 import io.crnk.core.engine.parser.ParserException;
@@ -33,6 +41,8 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	private static final String LIMIT_PARAMETER = "limit";
 
+	private static final String AFTER_PARAMETER = "after";
+
 	private TypeParser typeParser;
 
 	private FilterOperator defaultOperator = FilterOperator.EQ;
@@ -53,6 +63,14 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	private boolean ignoreParseExceptions;
 
+	private int parseCacheSize = 0;
+
+	private Map<ParseCacheKey, QuerySpec> parseCache;
+
+	private final AtomicLong parseCacheHits = new AtomicLong();
+
+	private final AtomicLong parseCacheMisses = new AtomicLong();
+
 	public DefaultQuerySpecDeserializer() {
 		supportedOperators.add(FilterOperator.LIKE);
 		supportedOperators.add(FilterOperator.EQ);
@@ -74,6 +92,7 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	public void setEnforceDotPathSeparator(boolean enforceDotPathSeparator) {
 		this.enforceDotPathSeparator = enforceDotPathSeparator;
+		clearParseCache();
 	}
 
 	public boolean getAllowUnknownAttributes() {
@@ -82,6 +101,7 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	public void setAllowUnknownAttributes(boolean allowUnknownAttributes) {
 		this.allowUnknownAttributes = allowUnknownAttributes;
+		clearParseCache();
 	}
 
 	public long getDefaultOffset() {
@@ -95,6 +115,7 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 	 */
 	public void setDefaultOffset(long defaultOffset) {
 		this.defaultOffset = defaultOffset;
+		clearParseCache();
 	}
 
 	public Long getDefaultLimit() {
@@ -108,6 +129,7 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 	 */
 	public void setDefaultLimit(Long defaultLimit) {
 		this.defaultLimit = defaultLimit;
+		clearParseCache();
 	}
 
 	public Long getMaxPageLimit() {
@@ -121,6 +143,7 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 	 */
 	public void setMaxPageLimit(Long maxPageLimit) {
 		this.maxPageLimit = maxPageLimit;
+		clearParseCache();
 	}
 
 	public FilterOperator getDefaultOperator() {
@@ -129,6 +152,7 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	public void setDefaultOperator(FilterOperator defaultOperator) {
 		this.defaultOperator = defaultOperator;
+		clearParseCache();
 	}
 
 	public Set<FilterOperator> getSupportedOperators() {
@@ -137,24 +161,171 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	public void addSupportedOperator(FilterOperator supportedOperator) {
 		this.supportedOperators.add(supportedOperator);
+		clearParseCache();
 	}
 
 	@Override
 	public void init(QuerySpecDeserializerContext ctx) {
 		this.resourceRegistry = ctx.getResourceRegistry();
 		this.typeParser = ctx.getTypeParser();
+		clearParseCache();
 	}
 
 	protected QuerySpec createQuerySpec(Class<?> resourceClass) {
 		return new QuerySpec(resourceClass);
 	}
 
+	public int getParseCacheSize() {
+		return parseCacheSize;
+	}
+
+	/**
+	 * Enables a bounded cache of parsed {@link QuerySpec}s keyed by resource type and request parameters. Recurring
+	 * parameter combinations then skip parsing altogether. Entries beyond the given size are evicted in least recently
+	 * used order. Callers always obtain their own copy of a cached QuerySpec and may modify it freely. Changing the
+	 * configuration of this deserializer clears the cache, modifications of {@link #getSupportedOperators()} require a
+	 * call to {@link #clearParseCache()}.
+	 *
+	 * @param parseCacheSize maximum number of cached entries, zero (the default) disables the cache.
+	 */
+	public synchronized void setParseCacheSize(final int parseCacheSize) {
+		PreconditionUtil.assertFalse("parse cache size must not be negative", parseCacheSize < 0);
+		this.parseCacheSize = parseCacheSize;
+		if (parseCacheSize == 0) {
+			parseCache = null;
+		} else {
+			parseCache = new LinkedHashMap<ParseCacheKey, QuerySpec>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ParseCacheKey, QuerySpec> eldest) {
+					return size() > parseCacheSize;
+				}
+			};
+		}
+	}
+
+	/**
+	 * @return number of requests served from the parse cache
+	 */
+	public long getParseCacheHits() {
+		return parseCacheHits.get();
+	}
+
+	/**
+	 * @return number of requests that had to be parsed while the parse cache was enabled
+	 */
+	public long getParseCacheMisses() {
+		return parseCacheMisses.get();
+	}
+
+	/**
+	 * Removes all entries from the parse cache. Hit and miss counters are kept.
+	 */
+	public synchronized void clearParseCache() {
+		if (parseCache != null) {
+			parseCache.clear();
+		}
+	}
+
 	@Override
 	public QuerySpec deserialize(ResourceInformation resourceInformation, Map<String, Set<String>> parameterMap) {
+		if (parseCacheSize == 0) {
+			return parse(resourceInformation, parameterMap);
+		}
+
+		ParseCacheKey key = new ParseCacheKey(resourceInformation, parameterMap);
+		QuerySpec cachedQuerySpec;
+		synchronized (this) {
+			cachedQuerySpec = parseCache != null ? parseCache.get(key) : null;
+		}
+		if (cachedQuerySpec != null) {
+			parseCacheHits.incrementAndGet();
+			return copy(cachedQuerySpec);
+		}
+
+		parseCacheMisses.incrementAndGet();
+		QuerySpec querySpec = parse(resourceInformation, parameterMap);
+		synchronized (this) {
+			if (parseCache != null) {
+				parseCache.put(key, copy(querySpec));
+			}
+		}
+		return querySpec;
+	}
+
+	/**
+	 * Deep copy of a parsed QuerySpec, so that cached and returned specs do not share any mutable state. Paths, filters,
+	 * sort and inclusion specs as well as collections and dates among the values are copied, other values are
+	 * immutable results of the type parser.
+	 */
+	private static QuerySpec copy(QuerySpec querySpec) {
+		QuerySpec copy = querySpec.duplicate();
+		copySpecs(copy);
+		for (QuerySpec relatedSpec : copy.getNestedSpecs()) {
+			copySpecs(relatedSpec);
+		}
+		return copy;
+	}
+
+	private static void copySpecs(QuerySpec querySpec) {
+		List<FilterSpec> filters = querySpec.getFilters();
+		for (int i = 0; i < filters.size(); i++) {
+			filters.set(i, copyFilter(filters.get(i)));
+		}
+		List<SortSpec> sort = querySpec.getSort();
+		for (int i = 0; i < sort.size(); i++) {
+			sort.set(i, new SortSpec(copyPath(sort.get(i).getAttributePath()), sort.get(i).getDirection()));
+		}
+		List<IncludeFieldSpec> includedFields = querySpec.getIncludedFields();
+		for (int i = 0; i < includedFields.size(); i++) {
+			includedFields.set(i, new IncludeFieldSpec(copyPath(includedFields.get(i).getAttributePath())));
+		}
+		List<IncludeRelationSpec> includedRelations = querySpec.getIncludedRelations();
+		for (int i = 0; i < includedRelations.size(); i++) {
+			includedRelations.set(i, new IncludeRelationSpec(copyPath(includedRelations.get(i).getAttributePath())));
+		}
+		if (querySpec.getPageAfter() != null) {
+			querySpec.setPageAfter(new ArrayList<Object>((List<?>) copyValue(querySpec.getPageAfter())));
+		}
+	}
+
+	private static FilterSpec copyFilter(FilterSpec filter) {
+		if (filter.getExpression() != null) {
+			List<FilterSpec> expressions = new ArrayList<>();
+			for (FilterSpec expression : filter.getExpression()) {
+				expressions.add(copyFilter(expression));
+			}
+			return new FilterSpec(filter.getOperator(), expressions);
+		}
+		return new FilterSpec(copyPath(filter.getAttributePath()), filter.getOperator(), copyValue(filter.getValue()));
+	}
+
+	private static List<String> copyPath(List<String> attributePath) {
+		return attributePath != null ? new ArrayList<>(attributePath) : null;
+	}
+
+	private static Object copyValue(Object value) {
+		if (value instanceof Collection) {
+			Collection<Object> copy = value instanceof Set ? new HashSet<>() : new ArrayList<>();
+			for (Object element : (Collection<?>) value) {
+				copy.add(copyValue(element));
+			}
+			return copy;
+		}
+		if (value instanceof Date) {
+			return ((Date) value).clone();
+		}
+		return value;
+	}
+
+	private QuerySpec parse(ResourceInformation resourceInformation, Map<String, Set<String>> parameterMap) {
 		QuerySpec rootQuerySpec = createQuerySpec(resourceInformation.getResourceClass());
 		setupDefaults(rootQuerySpec);
 
 		List<Parameter> parameters = parseParameters(parameterMap, resourceInformation);
+		Map<QuerySpec, Parameter> pageAfterParameters = new IdentityHashMap<>();
 		for (Parameter parameter : parameters) {
 			QuerySpec querySpec = rootQuerySpec.getQuerySpec(parameter.resourceInformation);
 			if (querySpec == null) {
@@ -175,13 +346,21 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 					deserializeFields(querySpec, parameter);
 					break;
 				case page:
-					deserializePage(querySpec, parameter);
+					if (AFTER_PARAMETER.equalsIgnoreCase(parameter.pageParameter)) {
+						// sorting must be known first
+						pageAfterParameters.put(querySpec, parameter);
+					} else {
+						deserializePage(querySpec, parameter);
+					}
 					break;
 				default:
 					deserializeUnknown(querySpec, parameter);
 			}
 
 		}
+		for (Entry<QuerySpec, Parameter> entry : pageAfterParameters.entrySet()) {
+			deserializePageAfter(entry.getKey(), entry.getValue());
+		}
 
 		return rootQuerySpec;
 	}
@@ -228,6 +407,65 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 		}
 	}
 
+	/**
+	 * Sets up cursor-based paging with <code>page[after]</code>. The primary key is appended to the sort to make it
+	 * unique. The parameter holds the comma-separated values of the sort attributes of the last resource of the previous
+	 * page, with commas and backslashes within values escaped by a backslash. An empty value requests the first page.
+	 */
+	protected void deserializePageAfter(QuerySpec querySpec, Parameter parameter) {
+		if (parameter.values.size() != 1) {
+			throw new ParametersDeserializationException("expected a single cursor for " + parameter);
+		}
+		ResourceField idField = parameter.resourceInformation.getIdField();
+		List<String> idPath = Arrays.asList(idField.getUnderlyingName());
+		boolean sortedById = false;
+		for (SortSpec sortSpec : querySpec.getSort()) {
+			sortedById |= sortSpec.getAttributePath().equals(idPath);
+		}
+		if (!sortedById) {
+			querySpec.addSort(new SortSpec(idPath, Direction.ASC));
+		}
+
+		String cursor = parameter.values.iterator().next();
+		List<Object> values = new ArrayList<>();
+		if (!cursor.isEmpty()) {
+			List<String> stringValues = splitCursor(cursor);
+			List<SortSpec> sortSpecs = querySpec.getSort();
+			if (stringValues.size() != sortSpecs.size()) {
+				throw new BadRequestException("cursor " + cursor + " does not match sort " + sortSpecs);
+			}
+			for (int i = 0; i < sortSpecs.size(); i++) {
+				Class<?> attributeType = getAttributeType(querySpec, sortSpecs.get(i).getAttributePath());
+				try {
+					@SuppressWarnings({"unchecked", "rawtypes"})
+					Object value = typeParser.parse(stringValues.get(i), (Class) attributeType);
+					values.add(value);
+				} catch (ParserException e) {
+					throw new ParametersDeserializationException(parameter.toString(), e);
+				}
+			}
+		}
+		querySpec.setPageAfter(values);
+	}
+
+	private static List<String> splitCursor(String cursor) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		for (int i = 0; i < cursor.length(); i++) {
+			char c = cursor.charAt(i);
+			if (c == '\\' && i + 1 < cursor.length()) {
+				value.append(cursor.charAt(++i));
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+
 	protected void deserializeFilter(QuerySpec querySpec, Parameter parameter) {
 		Class<?> attributeType = getAttributeType(querySpec, parameter.attributePath);
 		Set<Object> typedValues = new HashSet<>();
@@ -426,6 +664,46 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	public void setIgnoreParseExceptions(boolean ignoreParseExceptions) {
 		this.ignoreParseExceptions = ignoreParseExceptions;
+		clearParseCache();
+	}
+
+	private static final class ParseCacheKey {
+
+		private final String resourceType;
+
+		private final Class<?> resourceClass;
+
+		private final Map<String, Set<String>> parameters;
+
+		private final int hashCode;
+
+		ParseCacheKey(ResourceInformation resourceInformation, Map<String, Set<String>> parameterMap) {
+			resourceType = resourceInformation.getResourceType();
+			resourceClass = resourceInformation.getResourceClass();
+			parameters = new TreeMap<>();
+			for (Entry<String, Set<String>> entry : parameterMap.entrySet()) {
+				parameters.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+			}
+			hashCode = 31 * resourceType.hashCode() + parameters.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ParseCacheKey)) {
+				return false;
+			}
+			ParseCacheKey other = (ParseCacheKey) obj;
+			return hashCode == other.hashCode && resourceType.equals(other.resourceType)
+					&& resourceClass == other.resourceClass && parameters.equals(other.parameters);
+		}
 	}
 
 	public class Parameter {
@@ -32,6 +32,17 @@ public class DefaultQuerySpecSerializer implements QuerySpecSerializer {
 		return value.toString();
 	}
 
+	private static String serializeCursor(List<Object> values) {
+		StringBuilder builder = new StringBuilder();
+		for (Object value : values) {
+			if (builder.length() > 0) {
+				builder.append(",");
+			}
+			builder.append(serializeValue(value).replace("\\", "\\\\").replace(",", "\\,"));
+		}
+		return builder.toString();
+	}
+
 	@Override
 	public Map<String, Set<String>> serialize(QuerySpec querySpec) {
 		Map<String, Set<String>> map = new HashMap<>();
@@ -137,6 +148,9 @@ public class DefaultQuerySpecSerializer implements QuerySpecSerializer {
 		if (querySpec.getLimit() != null) {
 			put(map, "page[limit]", Long.toString(querySpec.getLimit()));
 		}
+		if (querySpec.getPageAfter() != null) {
+			put(map, "page[after]", serializeCursor(querySpec.getPageAfter()));
+		}
 	}
 
 }
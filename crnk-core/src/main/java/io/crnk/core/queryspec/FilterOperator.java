@@ -3,6 +3,7 @@ package io.crnk.core.queryspec;
 import io.crnk.core.engine.internal.utils.CompareUtils;
 
 import java.util.Collection;
+import java.util.regex.Pattern;
 
 /**
  * Filter operator used to compare attributes to values by {@link FilterSpec}.
@@ -36,26 +37,7 @@ public abstract class FilterOperator {
 				return false;
 			}
 			String text = value1.toString();
-
-			// translate queryterm to a regex pattern
-			char[] queryTerm = value2.toString().toCharArray();
-
-			StringBuilder pattern = new StringBuilder();
-			pattern.append(".*");
-			String escapedCharacters = "[\\^$.|?*+()";
-			for (char c : queryTerm) {
-				if (escapedCharacters.contains(Character.toString(c))) {
-					pattern.append('\\');
-					pattern.append(c);
-				} else if (c == '%') {
-					pattern.append(".*");
-				} else {
-					pattern.append(Character.toLowerCase(c));
-				}
-			}
-			pattern.append(".*");
-
-			return text.toLowerCase().matches(pattern.toString());
+			return toLikePattern(value2.toString()).matcher(text.toLowerCase()).matches();
 		}
 
 	};
@@ -170,6 +152,27 @@ public abstract class FilterOperator {
 
 	private final String id;
 
+	/**
+	 * Translates a {@link #LIKE} query term to a pattern matching lower case text.
+	 */
+	static Pattern toLikePattern(String likeTerm) {
+		StringBuilder pattern = new StringBuilder();
+		pattern.append(".*");
+		String escapedCharacters = "[\\^$.|?*+()";
+		for (char c : likeTerm.toCharArray()) {
+			if (escapedCharacters.indexOf(c) != -1) {
+				pattern.append('\\');
+				pattern.append(c);
+			} else if (c == '%') {
+				pattern.append(".*");
+			} else {
+				pattern.append(Character.toLowerCase(c));
+			}
+		}
+		pattern.append(".*");
+		return Pattern.compile(pattern.toString());
+	}
+
 	protected FilterOperator(String id) {
 		this.id = id;
 	}
@@ -0,0 +1,13 @@
+package io.crnk.core.queryspec;
+
+/**
+ * {@link FilterSpec} compiled for repeated in-memory evaluation, see {@link InMemoryEvaluator#compile(FilterSpec)}.
+ */
+public interface FilterPredicate {
+
+	/**
+	 * @param object to check
+	 * @return true if the object matches the filter
+	 */
+	boolean matches(Object object);
+}
@@ -87,6 +87,39 @@ public class FilterSpec extends AbstractPathSpec implements Comparable<FilterSpe
 		return ret;
 	}
 
+	/**
+	 * Creates a seek predicate for cursor-based paging. It matches all objects ordered after the given values of the sort
+	 * attributes: <code>a &gt; v1 OR (a = v1 AND b &gt; v2) OR ...</code>. The first sort attribute is additionally
+	 * restricted with <code>a &gt;= v1</code> to let databases make use of an index.
+	 *
+	 * @param sortSpecs sorting of the objects, must be unique
+	 * @param values    of the sort attributes of the last object of the previous page
+	 * @return filter matching the subsequent objects
+	 */
+	public static FilterSpec after(List<SortSpec> sortSpecs, List<?> values) {
+		if (sortSpecs.isEmpty() || sortSpecs.size() != values.size()) {
+			throw new IllegalArgumentException("expected a value for each sort attribute, got " + values + " for "
+					+ sortSpecs);
+		}
+		List<FilterSpec> alternatives = new ArrayList<>();
+		for (int i = 0; i < sortSpecs.size(); i++) {
+			List<FilterSpec> conditions = new ArrayList<>();
+			for (int j = 0; j < i; j++) {
+				conditions.add(new FilterSpec(sortSpecs.get(j).getAttributePath(), FilterOperator.EQ, values.get(j)));
+			}
+			SortSpec sortSpec = sortSpecs.get(i);
+			FilterOperator operator = sortSpec.getDirection() == Direction.DESC ? FilterOperator.LT : FilterOperator.GT;
+			conditions.add(new FilterSpec(sortSpec.getAttributePath(), operator, values.get(i)));
+			alternatives.add(and(conditions));
+		}
+		if (alternatives.size() == 1) {
+			return alternatives.get(0);
+		}
+		SortSpec first = sortSpecs.get(0);
+		FilterOperator boundOperator = first.getDirection() == Direction.DESC ? FilterOperator.LE : FilterOperator.GE;
+		return and(new FilterSpec(first.getAttributePath(), boundOperator, values.get(0)), or(alternatives));
+	}
+
 	static List<FilterSpec> cloneExpressions(List<FilterSpec> list, boolean normalize) {
 		List<FilterSpec> result = new ArrayList<>();
 		for (FilterSpec spec : list) {
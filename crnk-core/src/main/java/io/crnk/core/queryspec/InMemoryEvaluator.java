@@ -3,11 +3,14 @@ package io.crnk.core.queryspec;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
 
-import io.crnk.core.engine.internal.utils.PropertyUtils;
 import io.crnk.core.resource.list.ResourceList;
 import io.crnk.core.resource.meta.MetaInformation;
 import io.crnk.core.resource.meta.HasMoreResourcesMetaInformation;
@@ -19,77 +22,146 @@ import io.crnk.core.resource.meta.PagedMetaInformation;
  */
 public class InMemoryEvaluator {
 
+	/**
+	 * Default minimum number of resources to evaluate in parallel.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
+	private static final long MAX_HEAP_SIZE = Integer.MAX_VALUE - 8;
+
+	private static final int MIN_PARALLEL_CHUNK_SIZE = 1024;
+
+	private ForkJoinPool forkJoinPool;
+
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool;
+	}
+
+	/**
+	 * @param forkJoinPool used to evaluate large collections in parallel, null to evaluate sequentially. Parallel
+	 *                     evaluation is disabled by default.
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * @param parallelThreshold minimum collection size to evaluate in parallel. Smaller collections, and iterables that are
+	 *                          not collections, are evaluated sequentially.
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
 	public static boolean matches(Object object, FilterSpec filterSpec) {
+		return compile(filterSpec).matches(object);
+	}
+
+	/**
+	 * Compiles the given filter for repeated evaluation. Attribute paths keep their resolved accessors, {@link FilterOperator#LIKE}
+	 * terms are translated to a regular expression once and {@link FilterOperator#EQ} comparisons against a collection of
+	 * values make use of a hash lookup.
+	 *
+	 * @param filterSpec to compile
+	 * @return predicate matching objects like {@link #matches(Object, FilterSpec)}
+	 */
+	public static FilterPredicate compile(FilterSpec filterSpec) {
 		List<FilterSpec> expressions = filterSpec.getExpression();
 		if (expressions == null) {
-			return matchesPrimitiveOperator(object, filterSpec);
+			return new AttributePredicate(new AttributePathAccessor(filterSpec.getAttributePath()),
+					compileValueMatcher(filterSpec.getOperator(), filterSpec.getValue()));
 		} else if (filterSpec.getOperator() == FilterOperator.OR) {
-			return matchesOr(object, expressions);
+			return new OrPredicate(compile(expressions));
 		} else if (filterSpec.getOperator() == FilterOperator.AND) {
-			return matchesAnd(object, expressions);
+			return new AndPredicate(compile(expressions));
 		} else if (filterSpec.getOperator() == FilterOperator.NOT) {
-			return !matches(object, FilterSpec.and(expressions));
+			return new NotPredicate(new AndPredicate(compile(expressions)));
 		}
 		throw new UnsupportedOperationException("not implemented " + filterSpec);
 	}
 
-	private static boolean matchesPrimitiveOperator(Object object, FilterSpec filterSpec) {
-		Object value = PropertyUtils.getProperty(object, filterSpec.getAttributePath());
-		FilterOperator operator = filterSpec.getOperator();
-		Object filterValue = filterSpec.getValue();
-		if (value instanceof Collection) {
-			return matchesAny((Collection<?>) value, operator, filterValue);
-		} else {
-			return operator.matches(value, filterValue);
+	private static FilterPredicate[] compile(List<FilterSpec> expressions) {
+		FilterPredicate[] predicates = new FilterPredicate[expressions.size()];
+		for (int i = 0; i < predicates.length; i++) {
+			predicates[i] = compile(expressions.get(i));
 		}
+		return predicates;
 	}
 
-	private static boolean matchesAny(Collection<?> col, FilterOperator operator, Object filterValue) {
-		for (Object elem : col) {
-			boolean matches = operator.matches(elem, filterValue);
-			if (matches) {
-				return true;
-			}
-		}
-		return false;
-	}
+	private static FilterPredicate compileValueMatcher(final FilterOperator operator, final Object filterValue) {
+		if (operator == FilterOperator.LIKE && filterValue != null) {
+			final Pattern pattern = FilterOperator.toLikePattern(filterValue.toString());
+			return new FilterPredicate() {
 
-	private static boolean matchesOr(Object object, List<FilterSpec> expressions) {
-		for (FilterSpec expr : expressions) {
-			if (matches(object, expr)) {
-				return true;
-			}
+				@Override
+				public boolean matches(Object value) {
+					return value != null && pattern.matcher(value.toString().toLowerCase()).matches();
+				}
+			};
+		} else if (operator == FilterOperator.EQ && filterValue instanceof Collection) {
+			final Set<?> filterValues = new HashSet<>((Collection<?>) filterValue);
+			return new FilterPredicate() {
+
+				@Override
+				public boolean matches(Object value) {
+					return filterValues.contains(value);
+				}
+			};
 		}
-		return false;
-	}
+		return new FilterPredicate() {
 
-	private static boolean matchesAnd(Object object, List<FilterSpec> expressions) {
-		for (FilterSpec expr : expressions) {
-			if (!matches(object, expr)) {
-				return false;
+			@Override
+			public boolean matches(Object value) {
+				return operator.matches(value, filterValue);
 			}
-		}
-		return true;
+		};
 	}
 
+	/**
+	 * Evaluates the given querySpec in a single pass over the resources. Only matching resources are kept. When sorting with a
+	 * limit, a bounded heap holds the best <code>offset + limit</code> resources rather than sorting all of them. Sort keys
+	 * are extracted once per resource.
+	 * <p>
+	 * With a {@link #setForkJoinPool(ForkJoinPool)} set, collections of at least {@link #getParallelThreshold()} resources are
+	 * split into chunks that are filtered and sorted in parallel and then merged. The result is the same as with sequential
+	 * evaluation. Filters and accessors must then be safe to use from multiple threads.
+	 * <p>
+	 * A cursor given by {@link QuerySpec#getPageAfter()} is applied like a filter, the total count then refers to the
+	 * resources following the cursor.
+	 */
 	public <T> void eval(Iterable<T> resources, QuerySpec querySpec, ResourceList<T> resultList) {
-		Iterator<T> iterator = resources.iterator();
-		while (iterator.hasNext()) {
-			resultList.add(iterator.next());
+		List<FilterSpec> filters = querySpec.getFilters();
+		FilterSpec pageAfterFilter = querySpec.getPageAfterFilter();
+		if (pageAfterFilter != null) {
+			filters = new ArrayList<>(filters);
+			filters.add(pageAfterFilter);
 		}
-
-		// filter
-		if (!querySpec.getFilters().isEmpty()) {
-			FilterSpec filterSpec = FilterSpec.and(querySpec.getFilters());
-			applyFilter(resultList, filterSpec);
+		FilterPredicate predicate = null;
+		if (!filters.isEmpty()) {
+			predicate = compile(FilterSpec.and(filters));
 		}
-		long totalCount = resultList.size();
 
-		// sort
-		applySorting(resultList, querySpec.getSort());
+		long offset = querySpec.getOffset();
+		Long limit = querySpec.getLimit();
+		long end = limit != null ? offset + limit : Long.MAX_VALUE;
+		List<SortSpec> sortSpecs = querySpec.getSort();
 
-		// offset/limit
-		applyPaging(resultList, querySpec);
+		long totalCount;
+		if (forkJoinPool != null && resources instanceof Collection
+				&& ((Collection<T>) resources).size() >= Math.max(parallelThreshold, 1)) {
+			totalCount = collectParallel((Collection<T>) resources, predicate, new SortKeyExtractor(sortSpecs), offset, end,
+					resultList);
+		} else if (sortSpecs.isEmpty()) {
+			totalCount = collectPage(resources, predicate, offset, end, resultList);
+		} else {
+			totalCount = collectSorted(resources, predicate, new SortKeyExtractor(sortSpecs), offset, end, resultList);
+		}
 
 		// set page information
 		if (querySpec.getLimit() != null || querySpec.getOffset() != 0) {
@@ -105,61 +177,236 @@ public class InMemoryEvaluator {
 		}
 	}
 
-	private <T> void applySorting(List<T> results, List<SortSpec> sortSpec) {
-		if (!sortSpec.isEmpty()) {
-			Collections.sort(results, new SortSpecComparator<>(sortSpec));
+	private static <T> long collectPage(Iterable<T> resources, FilterPredicate predicate, long offset, long end,
+			List<T> resultList) {
+		long count = 0;
+		for (T resource : resources) {
+			if (predicate == null || predicate.matches(resource)) {
+				if (count >= offset && count < end) {
+					resultList.add(resource);
+				}
+				count++;
+			}
 		}
+		return count;
 	}
 
-	private <T> void applyPaging(List<T> results, QuerySpec querySpec) {
-		int offset = (int) Math.min(querySpec.getOffset(), Integer.MAX_VALUE);
-		int limit = (int) Math.min(Integer.MAX_VALUE, querySpec.getLimit() != null ? querySpec.getLimit() : Integer.MAX_VALUE);
-		limit = Math.min(results.size() - offset, limit);
-		if (offset > 0 || limit < results.size()) {
-			List<T> subList = new ArrayList<>(results.subList(offset, offset + limit));
-			results.clear();
-			results.addAll(subList);
+	private static <T> long collectSorted(Iterable<T> resources, FilterPredicate predicate, SortKeyExtractor extractor,
+			long offset, long end, List<T> resultList) {
+		boolean bounded = end <= MAX_HEAP_SIZE;
+		Collection<SortEntry<T>> entries;
+		PriorityQueue<SortEntry<T>> heap = null;
+		if (bounded) {
+			// keeps the worst entry on top to be replaced by better ones
+			heap = new PriorityQueue<>((int) Math.max(1, Math.min(end, 1024)), Collections.<SortEntry<T>>reverseOrder());
+			entries = heap;
+		} else {
+			entries = new ArrayList<>();
 		}
+
+		long count = 0;
+		for (T resource : resources) {
+			if (predicate == null || predicate.matches(resource)) {
+				SortEntry<T> entry = new SortEntry<>(resource, extractor.getKeys(resource), extractor.directions, count++);
+				if (!bounded || heap.size() < end) {
+					entries.add(entry);
+				} else if (!heap.isEmpty() && entry.compareTo(heap.peek()) < 0) {
+					heap.poll();
+					heap.add(entry);
+				}
+			}
+		}
+
+		List<SortEntry<T>> sortedEntries = new ArrayList<>(entries);
+		Collections.sort(sortedEntries);
+		for (int i = (int) Math.min(offset, sortedEntries.size()); i < sortedEntries.size() && i < end; i++) {
+			resultList.add(sortedEntries.get(i).resource);
+		}
+		return count;
+	}
+
+	private <T> long collectParallel(Collection<T> resources, FilterPredicate predicate, SortKeyExtractor extractor,
+			long offset, long end, List<T> resultList) {
+		@SuppressWarnings("unchecked")
+		T[] array = (T[]) resources.toArray();
+		int chunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE, array.length / (forkJoinPool.getParallelism() * 4));
+		boolean sorted = extractor.accessors.length > 0;
+		EvaluationTask<T> task = new EvaluationTask<>(array, 0, array.length, chunkSize, predicate, extractor, sorted, end);
+		EvaluationRun<T> run = forkJoinPool.invoke(task);
+
+		List<SortEntry<T>> entries = run.entries;
+		for (int i = (int) Math.min(offset, entries.size()); i < entries.size(); i++) {
+			resultList.add(entries.get(i).resource);
+		}
+		return run.count;
 	}
 
-	private <T> void applyFilter(List<T> results, FilterSpec filterSpec) {
-		if (filterSpec != null) {
-			Iterator<T> iterator = results.iterator();
-			while (iterator.hasNext()) {
-				T next = iterator.next();
-				if (!matches(next, filterSpec)) {
-					iterator.remove();
+	/**
+	 * Matching resources of a chunk in result order, truncated to the <code>offset + limit</code> first ones.
+	 */
+	private static final class EvaluationRun<T> {
+
+		private final List<SortEntry<T>> entries;
+
+		private final long count;
+
+		EvaluationRun(List<SortEntry<T>> entries, long count) {
+			this.entries = entries;
+			this.count = count;
+		}
+	}
+
+	/**
+	 * Filters and sorts a chunk of resources, splitting it further if it is larger than the chunk size. Positions within the
+	 * whole array keep the result order stable.
+	 */
+	private static final class EvaluationTask<T> extends RecursiveTask<EvaluationRun<T>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final T[] resources;
+
+		private final int from;
+
+		private final int to;
+
+		private final int chunkSize;
+
+		private final FilterPredicate predicate;
+
+		private final SortKeyExtractor extractor;
+
+		private final boolean sorted;
+
+		private final long end;
+
+		EvaluationTask(T[] resources, int from, int to, int chunkSize, FilterPredicate predicate,
+				SortKeyExtractor extractor, boolean sorted, long end) {
+			this.resources = resources;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.predicate = predicate;
+			this.extractor = extractor;
+			this.sorted = sorted;
+			this.end = end;
+		}
+
+		@Override
+		protected EvaluationRun<T> compute() {
+			if (to - from > chunkSize) {
+				int middle = (from + to) >>> 1;
+				EvaluationTask<T> left =
+						new EvaluationTask<>(resources, from, middle, chunkSize, predicate, extractor, sorted, end);
+				EvaluationTask<T> right =
+						new EvaluationTask<>(resources, middle, to, chunkSize, predicate, extractor, sorted, end);
+				right.fork();
+				EvaluationRun<T> leftRun = left.compute();
+				EvaluationRun<T> rightRun = right.join();
+				return merge(leftRun, rightRun);
+			}
+
+			List<SortEntry<T>> entries = new ArrayList<>();
+			for (int i = from; i < to; i++) {
+				T resource = resources[i];
+				if (predicate == null || predicate.matches(resource)) {
+					entries.add(new SortEntry<>(resource, extractor.getKeys(resource), extractor.directions, i));
+				}
+			}
+			long count = entries.size();
+			if (sorted) {
+				Collections.sort(entries);
+			}
+			return new EvaluationRun<>(truncate(entries), count);
+		}
+
+		private EvaluationRun<T> merge(EvaluationRun<T> leftRun, EvaluationRun<T> rightRun) {
+			List<SortEntry<T>> left = leftRun.entries;
+			List<SortEntry<T>> right = rightRun.entries;
+			List<SortEntry<T>> merged = new ArrayList<>((int) Math.min(end, left.size() + right.size()));
+			if (!sorted) {
+				merged.addAll(left);
+				merged.addAll(right);
+			} else {
+				int i = 0;
+				int j = 0;
+				while ((i < left.size() || j < right.size()) && merged.size() < end) {
+					if (j == right.size() || i < left.size() && left.get(i).compareTo(right.get(j)) <= 0) {
+						merged.add(left.get(i++));
+					} else {
+						merged.add(right.get(j++));
+					}
 				}
 			}
+			return new EvaluationRun<>(truncate(merged), leftRun.count + rightRun.count);
+		}
+
+		private List<SortEntry<T>> truncate(List<SortEntry<T>> entries) {
+			return entries.size() > end ? new ArrayList<>(entries.subList(0, (int) end)) : entries;
+		}
+	}
+
+	private static final class SortKeyExtractor {
+
+		private final AttributePathAccessor[] accessors;
+
+		private final boolean[] directions;
+
+		SortKeyExtractor(List<SortSpec> sortSpecs) {
+			accessors = new AttributePathAccessor[sortSpecs.size()];
+			directions = new boolean[sortSpecs.size()];
+			for (int i = 0; i < accessors.length; i++) {
+				SortSpec sortSpec = sortSpecs.get(i);
+				accessors[i] = new AttributePathAccessor(sortSpec.getAttributePath());
+				directions[i] = sortSpec.getDirection() == Direction.DESC;
+			}
+		}
+
+		Object[] getKeys(Object resource) {
+			Object[] keys = new Object[accessors.length];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = accessors[i].getValue(resource);
+			}
+			return keys;
 		}
 	}
 
-	static class SortSpecComparator<T> implements Comparator<T> {
+	/**
+	 * Resource with its extracted sort keys. The position of the resource breaks ties to keep the sort stable.
+	 */
+	private static final class SortEntry<T> implements Comparable<SortEntry<T>> {
+
+		private final T resource;
+
+		private final Object[] keys;
 
-		private List<SortSpec> sortSpecs;
+		private final boolean[] descending;
 
-		public SortSpecComparator(List<SortSpec> sortSpecs) {
-			this.sortSpecs = sortSpecs;
+		private final long position;
+
+		SortEntry(T resource, Object[] keys, boolean[] descending, long position) {
+			this.resource = resource;
+			this.keys = keys;
+			this.descending = descending;
+			this.position = position;
 		}
 
 		@Override
 		@SuppressWarnings("unchecked")
-		public int compare(T o1, T o2) {
-			for (SortSpec orderSpec : sortSpecs) {
-				Comparable<Object> value1 = (Comparable<Object>) PropertyUtils.getProperty(o1, orderSpec.getAttributePath());
-				Comparable<Object> value2 = (Comparable<Object>) PropertyUtils.getProperty(o2, orderSpec.getAttributePath());
-
-				int d = compare(value1, value2);
-				if (orderSpec.getDirection() == Direction.DESC) {
+		public int compareTo(SortEntry<T> other) {
+			for (int i = 0; i < keys.length; i++) {
+				int d = compare((Comparable<Object>) keys[i], (Comparable<Object>) other.keys[i]);
+				if (descending[i]) {
 					d = -d;
 				}
-				if (d != 0)
+				if (d != 0) {
 					return d;
+				}
 			}
-			return 0;
+			return position < other.position ? -1 : position == other.position ? 0 : 1;
 		}
 
-		private int compare(Comparable<Object> value1, Comparable<Object> value2) {
+		private static int compare(Comparable<Object> value1, Comparable<Object> value2) {
 			if (value1 == null && value2 == null)
 				return 0;
 			if (value1 == null)
@@ -170,4 +417,82 @@ public class InMemoryEvaluator {
 			return value1.compareTo(value2);
 		}
 	}
+
+	private static final class AttributePredicate implements FilterPredicate {
+
+		private final AttributePathAccessor accessor;
+
+		private final FilterPredicate valueMatcher;
+
+		AttributePredicate(AttributePathAccessor accessor, FilterPredicate valueMatcher) {
+			this.accessor = accessor;
+			this.valueMatcher = valueMatcher;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			Object value = accessor.getValue(object);
+			if (value instanceof Collection) {
+				for (Object elem : (Collection<?>) value) {
+					if (valueMatcher.matches(elem)) {
+						return true;
+					}
+				}
+				return false;
+			}
+			return valueMatcher.matches(value);
+		}
+	}
+
+	private static final class OrPredicate implements FilterPredicate {
+
+		private final FilterPredicate[] predicates;
+
+		OrPredicate(FilterPredicate[] predicates) {
+			this.predicates = predicates;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			for (FilterPredicate predicate : predicates) {
+				if (predicate.matches(object)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static final class AndPredicate implements FilterPredicate {
+
+		private final FilterPredicate[] predicates;
+
+		AndPredicate(FilterPredicate[] predicates) {
+			this.predicates = predicates;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			for (FilterPredicate predicate : predicates) {
+				if (!predicate.matches(object)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class NotPredicate implements FilterPredicate {
+
+		private final FilterPredicate predicate;
+
+		NotPredicate(FilterPredicate predicate) {
+			this.predicate = predicate;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			return !predicate.matches(object);
+		}
+	}
 }
@@ -19,6 +19,8 @@ public class QuerySpec {
 
 	private long offset = 0;
 
+	private List<Object> pageAfter = null;
+
 	private List<FilterSpec> filters = new ArrayList<>();
 
 	private List<SortSpec> sort = new ArrayList<>();
@@ -57,9 +59,22 @@ public class QuerySpec {
 	 * @return sorted, filtered list.
 	 */
 	public <T> DefaultResourceList<T> apply(Iterable<T> resources) {
+		return apply(resources, new InMemoryEvaluator());
+	}
+
+	/**
+	 * Same as {@link #apply(Iterable)} with the given evaluator, e.g. one set up for parallel evaluation with
+	 * {@link io.crnk.core.boot.CrnkBoot#createInMemoryEvaluator()}.
+	 *
+	 * @param <T>       the type of resources in this Iterable
+	 * @param resources resources
+	 * @param evaluator to evaluate this querySpec with
+	 * @return sorted, filtered list.
+	 */
+	public <T> DefaultResourceList<T> apply(Iterable<T> resources, InMemoryEvaluator evaluator) {
 		DefaultResourceList<T> resultList = new DefaultResourceList<>();
 		resultList.setMeta(new DefaultPagedMetaInformation());
-		apply(resources, resultList);
+		evaluator.eval(resources, this, resultList);
 		return resultList;
 	}
 
@@ -89,6 +104,7 @@ public class QuerySpec {
 		result = prime * result + ((includedRelations == null) ? 0 : includedRelations.hashCode());
 		result = prime * result + ((limit == null) ? 0 : limit.hashCode());
 		result = prime * result + Long.valueOf(offset).hashCode();
+		result = prime * result + ((pageAfter == null) ? 0 : pageAfter.hashCode());
 		result = prime * result + ((relatedSpecs == null) ? 0 : relatedSpecs.hashCode());
 		result = prime * result + ((sort == null) ? 0 : sort.hashCode());
 		return result;
@@ -106,7 +122,8 @@ public class QuerySpec {
 		return CompareUtils.isEquals(filters, other.filters) // NOSONAR
 				&& CompareUtils.isEquals(includedFields, other.includedFields) && CompareUtils
 				.isEquals(includedRelations, other.includedRelations) && CompareUtils.isEquals(limit, other.limit)
-				&& CompareUtils.isEquals(offset, other.offset) && CompareUtils.isEquals(relatedSpecs, other.relatedSpecs)
+				&& CompareUtils.isEquals(offset, other.offset) && CompareUtils.isEquals(pageAfter, other.pageAfter)
+				&& CompareUtils.isEquals(relatedSpecs, other.relatedSpecs)
 				&& CompareUtils.isEquals(sort, other.sort);
 	}
 
@@ -126,6 +143,36 @@ public class QuerySpec {
 		this.offset = offset;
 	}
 
+	/**
+	 * @return values of the sort attributes of the last resource of the previous page, null if no cursor-based paging is
+	 * used.
+	 */
+	public List<Object> getPageAfter() {
+		return pageAfter;
+	}
+
+	/**
+	 * Enables cursor-based paging. Only resources sorted after the given values are returned. The values must match
+	 * {@link #getSort()}, whereas the sort must be unique, for example by ending with the primary key. An empty list
+	 * requests the first page. Unlike an offset, a cursor can be evaluated with an index and does not get slower on
+	 * later pages. See {@link FilterSpec#after(List, List)}.
+	 *
+	 * @param pageAfter cursor values or null to disable cursor-based paging
+	 */
+	public void setPageAfter(List<Object> pageAfter) {
+		this.pageAfter = pageAfter;
+	}
+
+	/**
+	 * @return filter matching the resources after {@link #getPageAfter()} or null if there is no cursor.
+	 */
+	public FilterSpec getPageAfterFilter() {
+		if (pageAfter == null || pageAfter.isEmpty()) {
+			return null;
+		}
+		return FilterSpec.after(sort, pageAfter);
+	}
+
 	public List<FilterSpec> getFilters() {
 		return filters;
 	}
@@ -249,6 +296,7 @@ public class QuerySpec {
 		QuerySpec copy = new QuerySpec(resourceClass);
 		copy.limit = limit;
 		copy.offset = offset;
+		copy.pageAfter = pageAfter != null ? new ArrayList<>(pageAfter) : null;
 		copy.includedFields.addAll(includedFields);
 		copy.includedRelations.addAll(includedRelations);
 		copy.sort.addAll(sort);
@@ -277,6 +325,7 @@ public class QuerySpec {
 				"resourceClass=" + resourceClass +
 				", limit=" + limit +
 				", offset=" + offset +
+				", pageAfter=" + pageAfter +
 				", filters=" + filters +
 				", sort=" + sort +
 				", includedFields=" + includedFields +
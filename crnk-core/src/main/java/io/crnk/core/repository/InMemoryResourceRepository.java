@@ -0,0 +1,374 @@
+package io.crnk.core.repository;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.crnk.core.engine.information.resource.ResourceInformation;
+import io.crnk.core.engine.internal.utils.ClassUtils;
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
+import io.crnk.core.engine.internal.utils.PropertyUtils;
+import io.crnk.core.engine.registry.ResourceRegistry;
+import io.crnk.core.exception.ResourceNotFoundException;
+import io.crnk.core.queryspec.Direction;
+import io.crnk.core.queryspec.FilterOperator;
+import io.crnk.core.queryspec.FilterSpec;
+import io.crnk.core.queryspec.InMemoryEvaluator;
+import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
+import io.crnk.core.resource.annotations.JsonApiId;
+import io.crnk.core.resource.list.ResourceList;
+
+/**
+ * Resource repository holding its resources in memory. Resources are kept in a map by their id to serve
+ * {@link #findOne(Serializable, QuerySpec)}, {@link #findAll(Iterable, QuerySpec)} and id filters without scanning.
+ * Further attributes can be indexed with {@link #addHashIndex(String)} and {@link #addSortedIndex(String)}:
+ * <ul>
+ * <li>{@link FilterOperator#EQ} filters, with a single value or a collection of values, make use of hash and sorted
+ * indexes.</li>
+ * <li>{@link FilterOperator#LT}, {@link FilterOperator#LE}, {@link FilterOperator#GT} and {@link FilterOperator#GE}
+ * filters make use of sorted indexes.</li>
+ * <li>Sorting by a single attribute with a sorted index iterates the index rather than sorting the resources.</li>
+ * </ul>
+ * The remaining parts of the {@link QuerySpec} are applied to the selected resources with the
+ * {@link ResourceRegistry#getInMemoryEvaluator()}, evaluating large results in parallel if
+ * {@link io.crnk.core.boot.CrnkProperties#IN_MEMORY_PARALLELISM} is set.
+ * Attribute paths may also point to related resources, like <code>project.id</code>. An index on the opposite id of a
+ * relationship allows {@link RelationshipRepositoryBase#findTargets(Iterable, String, QuerySpec)} to avoid scanning.
+ * <p>
+ * Reads work on an immutable snapshot and never block. Modifications copy the snapshot and rebuild its indexes, making
+ * this repository a good fit for read-mostly data. Use {@link #saveAll(Iterable)} to load many resources at once. Results
+ * without sort specification are not guaranteed to be in insertion order. Resources must not be modified without saving
+ * them again, otherwise indexes get outdated.
+ *
+ * @param <T> resource type
+ * @param <I> identity type
+ */
+public class InMemoryResourceRepository<T, I extends Serializable> extends ResourceRepositoryBase<T, I> {
+
+	private final Map<List<String>, Boolean> indexDefinitions = new LinkedHashMap<>();
+
+	private volatile Snapshot<T> snapshot = new Snapshot<>(new LinkedHashMap<Object, T>(),
+			Collections.<List<String>, AttributeIndex<T>>emptyMap());
+
+	private ResourceRegistry resourceRegistry;
+
+	public InMemoryResourceRepository(Class<T> resourceClass) {
+		super(resourceClass);
+	}
+
+	/**
+	 * Adds an index to answer {@link FilterOperator#EQ} filters on the given attribute.
+	 *
+	 * @param attributePath attribute name, nested attributes are separated by dots
+	 */
+	public void addHashIndex(String attributePath) {
+		addIndex(attributePath, false);
+	}
+
+	/**
+	 * Adds an index to answer {@link FilterOperator#EQ} and range filters on the given attribute and to sort by it. The
+	 * attribute values must be {@link Comparable}.
+	 *
+	 * @param attributePath attribute name, nested attributes are separated by dots
+	 */
+	public void addSortedIndex(String attributePath) {
+		addIndex(attributePath, true);
+	}
+
+	private synchronized void addIndex(String attributePath, boolean sorted) {
+		indexDefinitions.put(Arrays.asList(attributePath.split("\\.")), sorted);
+		snapshot = createSnapshot(snapshot.resources);
+	}
+
+	@Override
+	public T findOne(I id, QuerySpec querySpec) {
+		T resource = snapshot.resources.get(id);
+		if (resource == null) {
+			throw new ResourceNotFoundException("resource not found");
+		}
+		return resource;
+	}
+
+	@Override
+	public ResourceList<T> findAll(Iterable<I> ids, QuerySpec querySpec) {
+		Snapshot<T> currentSnapshot = snapshot;
+		List<T> resources = new ArrayList<>();
+		for (I id : ids) {
+			T resource = currentSnapshot.resources.get(id);
+			if (resource != null) {
+				resources.add(resource);
+			}
+		}
+		return querySpec.apply(resources, getInMemoryEvaluator());
+	}
+
+	@Override
+	public ResourceList<T> findAll(QuerySpec querySpec) {
+		Snapshot<T> currentSnapshot = snapshot;
+		Collection<T> candidates = findFilterCandidates(currentSnapshot, querySpec.getFilters());
+		if (candidates != null) {
+			return querySpec.apply(candidates, getInMemoryEvaluator());
+		}
+
+		List<SortSpec> sort = querySpec.getSort();
+		if (sort.size() == 1) {
+			SortSpec sortSpec = sort.get(0);
+			AttributeIndex<T> index = currentSnapshot.indexes.get(sortSpec.getAttributePath());
+			if (index != null && index.isSortable()) {
+				QuerySpec unsortedSpec = querySpec.duplicate();
+				unsortedSpec.setSort(new ArrayList<SortSpec>());
+				return unsortedSpec.apply(index.getSorted(sortSpec.getDirection()), getInMemoryEvaluator());
+			}
+		}
+		return querySpec.apply(currentSnapshot.resources.values(), getInMemoryEvaluator());
+	}
+
+	/**
+	 * @return the smallest set of resources selected by an indexed filter or null if no filter can make use of an index.
+	 */
+	private Collection<T> findFilterCandidates(Snapshot<T> currentSnapshot, List<FilterSpec> filters) {
+		Collection<T> candidates = null;
+		for (FilterSpec filter : filters) {
+			if (filter.getExpression() != null) {
+				continue;
+			}
+			Collection<T> filterCandidates = null;
+			FilterOperator operator = filter.getOperator();
+			Object value = filter.getValue();
+			if (operator == FilterOperator.EQ && filter.getAttributePath().equals(getIdPath())) {
+				filterCandidates = currentSnapshot.findByIds(value);
+			} else {
+				AttributeIndex<T> index = currentSnapshot.indexes.get(filter.getAttributePath());
+				if (index != null) {
+					filterCandidates = index.find(operator, value);
+				}
+			}
+			if (filterCandidates != null && (candidates == null || filterCandidates.size() < candidates.size())) {
+				candidates = filterCandidates;
+			}
+		}
+		return candidates;
+	}
+
+	@Override
+	public <S extends T> S save(S resource) {
+		saveAll(Collections.singletonList(resource));
+		return resource;
+	}
+
+	/**
+	 * Saves all the given resources with a single update of the indexes.
+	 *
+	 * @param resources to save
+	 */
+	public synchronized void saveAll(Iterable<? extends T> resources) {
+		Map<Object, T> newResources = new LinkedHashMap<>(snapshot.resources);
+		for (T resource : resources) {
+			Object id = PropertyUtils.getProperty(resource, getIdName());
+			PreconditionUtil.assertNotNull("id must not be null", id);
+			newResources.put(id, resource);
+		}
+		snapshot = createSnapshot(newResources);
+	}
+
+	@Override
+	public synchronized void delete(I id) {
+		if (snapshot.resources.containsKey(id)) {
+			Map<Object, T> newResources = new LinkedHashMap<>(snapshot.resources);
+			newResources.remove(id);
+			snapshot = createSnapshot(newResources);
+		}
+	}
+
+	@Override
+	public void setResourceRegistry(ResourceRegistry resourceRegistry) {
+		super.setResourceRegistry(resourceRegistry);
+		this.resourceRegistry = resourceRegistry;
+	}
+
+	private InMemoryEvaluator getInMemoryEvaluator() {
+		InMemoryEvaluator evaluator = resourceRegistry != null ? resourceRegistry.getInMemoryEvaluator() : null;
+		return evaluator != null ? evaluator : new InMemoryEvaluator();
+	}
+
+	/**
+	 * @return name of the id field. Taken from the {@link JsonApiId} annotation as long as the repository is not registered,
+	 * allowing to seed it with resources right after construction.
+	 */
+	private String getIdName() {
+		if (resourceRegistry != null) {
+			ResourceInformation resourceInformation = resourceRegistry.findEntry(getResourceClass()).getResourceInformation();
+			return resourceInformation.getIdField().getUnderlyingName();
+		}
+		for (Field field : ClassUtils.getClassFields(getResourceClass())) {
+			if (field.isAnnotationPresent(JsonApiId.class)) {
+				return field.getName();
+			}
+		}
+		Method getter = ClassUtils.findMethodWith(getResourceClass(), JsonApiId.class);
+		PreconditionUtil.assertNotNull("no @JsonApiId found for " + getResourceClass(), getter);
+		return ClassUtils.getGetterFieldName(getter);
+	}
+
+	private List<String> getIdPath() {
+		return Arrays.asList(getIdName());
+	}
+
+	private Snapshot<T> createSnapshot(Map<Object, T> resources) {
+		Map<List<String>, AttributeIndex<T>> indexes = new HashMap<>();
+		for (Map.Entry<List<String>, Boolean> definition : indexDefinitions.entrySet()) {
+			AttributeIndex<T> index = new AttributeIndex<>(definition.getValue());
+			for (T resource : resources.values()) {
+				index.add(resource, PropertyUtils.getProperty(resource, definition.getKey()));
+			}
+			indexes.put(definition.getKey(), index);
+		}
+		return new Snapshot<>(resources, indexes);
+	}
+
+	private static final class Snapshot<T> {
+
+		private final Map<Object, T> resources;
+
+		private final Map<List<String>, AttributeIndex<T>> indexes;
+
+		Snapshot(Map<Object, T> resources, Map<List<String>, AttributeIndex<T>> indexes) {
+			this.resources = resources;
+			this.indexes = indexes;
+		}
+
+		Collection<T> findByIds(Object value) {
+			List<T> result = new ArrayList<>();
+			Collection<?> ids = value instanceof Collection ? (Collection<?>) value : Collections.singleton(value);
+			for (Object id : new LinkedHashSet<>(ids)) {
+				T resource = resources.get(id);
+				if (resource != null) {
+					result.add(resource);
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Maps the values of an attribute to the resources holding them. Resources with a multi-valued attribute are registered
+	 * for each of its values.
+	 */
+	private static final class AttributeIndex<T> {
+
+		private final Map<Object, List<T>> entries;
+
+		private final List<T> nullEntries = new ArrayList<>();
+
+		private final boolean sorted;
+
+		private boolean multiValued;
+
+		AttributeIndex(boolean sorted) {
+			this.sorted = sorted;
+			this.entries = sorted ? new TreeMap<Object, List<T>>() : new HashMap<Object, List<T>>();
+		}
+
+		void add(T resource, Object value) {
+			if (value instanceof Collection) {
+				multiValued = true;
+				for (Object element : (Collection<?>) value) {
+					add(resource, element);
+				}
+			} else if (value == null) {
+				nullEntries.add(resource);
+			} else {
+				List<T> list = entries.get(value);
+				if (list == null) {
+					list = new ArrayList<>(1);
+					entries.put(value, list);
+				}
+				list.add(resource);
+			}
+		}
+
+		boolean isSortable() {
+			return sorted && !multiValued;
+		}
+
+		/**
+		 * @return resources matching the given filter or null if not supported by this index
+		 */
+		Collection<T> find(FilterOperator operator, Object value) {
+			if (operator == FilterOperator.EQ) {
+				Collection<?> values = value instanceof Collection ? (Collection<?>) value : Collections.singleton(value);
+				List<List<T>> lists = new ArrayList<>();
+				for (Object element : values) {
+					List<T> list = element == null ? nullEntries : entries.get(element);
+					if (list != null) {
+						lists.add(list);
+					}
+				}
+				return merge(lists, multiValued || values.size() > 1);
+			} else if (sorted && value != null && !(value instanceof Collection)) {
+				NavigableMap<Object, List<T>> sortedEntries = (NavigableMap<Object, List<T>>) entries;
+				NavigableMap<Object, List<T>> range;
+				if (operator == FilterOperator.LT) {
+					range = sortedEntries.headMap(value, false);
+				} else if (operator == FilterOperator.LE) {
+					range = sortedEntries.headMap(value, true);
+				} else if (operator == FilterOperator.GT) {
+					range = sortedEntries.tailMap(value, false);
+				} else if (operator == FilterOperator.GE) {
+					range = sortedEntries.tailMap(value, true);
+				} else {
+					return null;
+				}
+				return merge(range.values(), multiValued);
+			}
+			return null;
+		}
+
+		/**
+		 * @return all resources in the order of {@link QuerySpec#apply(Iterable)}, null values come first in ascending order.
+		 */
+		Collection<T> getSorted(Direction direction) {
+			NavigableMap<Object, List<T>> sortedEntries = (NavigableMap<Object, List<T>>) entries;
+			List<T> result = new ArrayList<>();
+			if (direction == Direction.ASC) {
+				result.addAll(nullEntries);
+				for (List<T> list : sortedEntries.values()) {
+					result.addAll(list);
+				}
+			} else {
+				for (List<T> list : sortedEntries.descendingMap().values()) {
+					result.addAll(list);
+				}
+				result.addAll(nullEntries);
+			}
+			return result;
+		}
+
+		private static <T> Collection<T> merge(Collection<List<T>> lists, boolean removeDuplicates) {
+			List<T> result = new ArrayList<>();
+			Set<T> visited = removeDuplicates ? Collections.newSetFromMap(new IdentityHashMap<T, Boolean>()) : null;
+			for (List<T> list : lists) {
+				for (T resource : list) {
+					if (visited == null || visited.add(resource)) {
+						result.add(resource);
+					}
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package io.crnk.core.boot;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.crnk.core.engine.dispatcher.RequestDispatcher;
@@ -24,6 +25,8 @@ import io.crnk.core.module.SimpleModule;
 import io.crnk.core.module.discovery.ReflectionsServiceDiscovery;
 import io.crnk.core.module.discovery.ServiceDiscovery;
 import io.crnk.core.module.discovery.ServiceDiscoveryFactory;
+import io.crnk.core.queryspec.DefaultQuerySpecDeserializer;
+import io.crnk.core.queryspec.InMemoryEvaluator;
 import io.crnk.core.queryspec.QuerySpecDeserializer;
 import io.crnk.core.queryspec.internal.QuerySpecAdapterBuilder;
 import io.crnk.core.repository.response.JsonApiResponse;
@@ -106,6 +109,64 @@ public class CrnkBootTest {
 		Assert.assertNotNull(boot.getServiceDiscovery());
 	}
 
+	@Test
+	public void inMemoryPoolOwnedByInstance() {
+		PropertiesProvider propertiesProvider = Mockito.mock(PropertiesProvider.class);
+		Mockito.when(propertiesProvider.getProperty(Mockito.eq(CrnkProperties.IN_MEMORY_PARALLELISM))).thenReturn("3");
+		Mockito.when(propertiesProvider.getProperty(Mockito.eq(CrnkProperties.IN_MEMORY_PARALLEL_THRESHOLD))).thenReturn("100");
+		CrnkBoot boot = new CrnkBoot();
+		boot.setServiceDiscoveryFactory(serviceDiscoveryFactory);
+		boot.setPropertiesProvider(propertiesProvider);
+		boot.boot();
+
+		InMemoryEvaluator evaluator = boot.createInMemoryEvaluator();
+		ForkJoinPool pool = evaluator.getForkJoinPool();
+		Assert.assertEquals(3, pool.getParallelism());
+		Assert.assertEquals(100, evaluator.getParallelThreshold());
+		InMemoryEvaluator registryEvaluator = boot.getResourceRegistry().getInMemoryEvaluator();
+		Assert.assertSame(pool, registryEvaluator.getForkJoinPool());
+		Assert.assertEquals(100, registryEvaluator.getParallelThreshold());
+
+		// other instances are not affected
+		Assert.assertNull(new CrnkBoot().createInMemoryEvaluator().getForkJoinPool());
+		Assert.assertNull(new InMemoryEvaluator().getForkJoinPool());
+
+		boot.close();
+		Assert.assertTrue(pool.isShutdown());
+		Assert.assertNull(boot.createInMemoryEvaluator().getForkJoinPool());
+		Assert.assertNull(boot.getResourceRegistry().getInMemoryEvaluator().getForkJoinPool());
+	}
+
+	@Test
+	public void setQuerySpecParseCacheSize() {
+		PropertiesProvider propertiesProvider = Mockito.mock(PropertiesProvider.class);
+		Mockito.when(propertiesProvider.getProperty(Mockito.eq(CrnkProperties.QUERY_SPEC_PARSE_CACHE_SIZE))).thenReturn("50");
+		CrnkBoot boot = new CrnkBoot();
+		boot.setServiceDiscoveryFactory(serviceDiscoveryFactory);
+		boot.setPropertiesProvider(propertiesProvider);
+		boot.boot();
+
+		DefaultQuerySpecDeserializer deserializer = (DefaultQuerySpecDeserializer) boot.getQuerySpecDeserializer();
+		Assert.assertEquals(50, deserializer.getParseCacheSize());
+		Assert.assertEquals(0, ((DefaultQuerySpecDeserializer) new CrnkBoot().getQuerySpecDeserializer()).getParseCacheSize());
+	}
+
+	@Test
+	public void closeKeepsProvidedInMemoryPool() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			CrnkBoot boot = new CrnkBoot();
+			boot.setServiceDiscoveryFactory(serviceDiscoveryFactory);
+			boot.setInMemoryForkJoinPool(pool);
+			boot.boot();
+			Assert.assertSame(pool, boot.createInMemoryEvaluator().getForkJoinPool());
+			boot.close();
+			Assert.assertFalse(pool.isShutdown());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	@Test
 	public void setInvalidRepository() {
 		SimpleModule module = new SimpleModule("test");
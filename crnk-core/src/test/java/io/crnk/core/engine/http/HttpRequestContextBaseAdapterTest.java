@@ -1,8 +1,12 @@
 package io.crnk.core.engine.http;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
 
 import io.crnk.core.engine.internal.http.HttpRequestContextBaseAdapter;
+import io.crnk.core.engine.internal.utils.IOUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,6 +33,52 @@ public class HttpRequestContextBaseAdapterTest {
 		Assert.assertTrue(adapter.hasResponse());
 	}
 
+	@Test
+	public void testWriterBufferedIfNoStreamingSupport() throws IOException {
+		adapter.setResponse(12, new HttpResponseWriter() {
+			@Override
+			public void writeTo(OutputStream outputStream) throws IOException {
+				outputStream.write(new byte[]{1, 2});
+			}
+		});
+		Mockito.verify(base, Mockito.times(1)).setResponse(Mockito.eq(12), Mockito.eq(new byte[]{1, 2}));
+		Assert.assertTrue(adapter.hasResponse());
+	}
+
+	@Test
+	public void testWriterPassedToStreamingBase() throws IOException {
+		StreamingHttpRequestContextBase streamingBase = Mockito.mock(StreamingHttpRequestContextBase.class);
+		adapter = new HttpRequestContextBaseAdapter(streamingBase);
+
+		HttpResponseWriter writer = Mockito.mock(HttpResponseWriter.class);
+		adapter.setResponse(12, writer);
+		Mockito.verify(streamingBase, Mockito.times(1)).setResponse(Mockito.eq(12), Mockito.eq(writer));
+		Mockito.verify(streamingBase, Mockito.times(0)).setResponse(Mockito.anyInt(), Mockito.any(byte[].class));
+		Mockito.verify(writer, Mockito.times(0)).writeTo(Mockito.any(OutputStream.class));
+		Assert.assertTrue(adapter.hasResponse());
+	}
+
+	@Test
+	public void testRequestBodyStreamFallsBackToBufferedBody() throws IOException {
+		Mockito.when(base.getRequestBody()).thenReturn(new byte[]{1, 2});
+		InputStream stream = adapter.getRequestBodyStream();
+		Assert.assertTrue(Arrays.equals(new byte[]{1, 2}, IOUtils.readFully(stream)));
+
+		Mockito.when(base.getRequestBody()).thenReturn(null);
+		Assert.assertNull(adapter.getRequestBodyStream());
+	}
+
+	@Test
+	public void testRequestBodyStreamFromStreamingBase() throws IOException {
+		StreamingHttpRequestContextBase streamingBase = Mockito.mock(StreamingHttpRequestContextBase.class);
+		adapter = new HttpRequestContextBaseAdapter(streamingBase);
+
+		InputStream stream = Mockito.mock(InputStream.class);
+		Mockito.when(streamingBase.getRequestBodyStream()).thenReturn(stream);
+		Assert.assertSame(stream, adapter.getRequestBodyStream());
+		Mockito.verify(streamingBase, Mockito.times(0)).getRequestBody();
+	}
+
 	@Test
 	public void testAccepts() throws IOException {
 		Mockito.when(base.getRequestHeader(Mockito.eq(HttpHeaders.HTTP_HEADER_ACCEPT))).thenReturn("text/html,application/json");
@@ -1,15 +1,24 @@
 package io.crnk.core.engine.http;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import io.crnk.core.boot.CrnkBoot;
+import io.crnk.core.engine.dispatcher.RequestDispatcher;
+import io.crnk.core.engine.dispatcher.Response;
 import io.crnk.core.engine.document.Document;
 import io.crnk.core.engine.document.ErrorData;
 import io.crnk.core.engine.document.Resource;
+import io.crnk.core.engine.internal.dispatcher.path.JsonPath;
+import io.crnk.core.engine.internal.dispatcher.path.PathBuilder;
 import io.crnk.core.engine.internal.http.HttpRequestContextBaseAdapter;
 import io.crnk.core.engine.internal.http.JsonApiRequestProcessor;
 import io.crnk.core.engine.url.ConstantServiceUrlProvider;
+import io.crnk.core.exception.BadRequestException;
 import io.crnk.core.mock.models.Task;
 import io.crnk.core.module.Module;
 import io.crnk.core.module.discovery.ReflectionsServiceDiscovery;
@@ -17,6 +26,8 @@ import io.crnk.core.queryspec.QuerySpec;
 import io.crnk.core.queryspec.internal.QuerySpecAdapter;
 import io.crnk.core.repository.response.JsonApiResponse;
 import io.crnk.core.resource.registry.ResourceRegistryBuilderTest;
+import io.crnk.core.utils.Nullable;
+import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -189,6 +200,52 @@ public class JsonApiRequestProcessorTest {
 		Assert.assertEquals("400", errorData.getStatus());
 	}
 
+	@Test
+	public void documentWrittenAfterStatusCommitted() throws IOException {
+		Resource resource = new Resource();
+		resource.setType("tasks");
+		resource.setId("1");
+		resource.setAttribute("name", boot.getObjectMapper().getNodeFactory().pojoNode(new FailingValue()));
+		Document responseDocument = new Document();
+		responseDocument.setData(Nullable.<Object>of(resource));
+
+		RequestDispatcher requestDispatcher = Mockito.mock(RequestDispatcher.class);
+		Mockito.when(requestDispatcher.getPathBuilder()).thenReturn(new PathBuilder(boot.getResourceRegistry()));
+		Mockito.when(requestDispatcher.dispatchRequest(Mockito.any(JsonPath.class), Mockito.anyString(),
+				Mockito.<Map<String, Set<String>>>any(), Mockito.any(RepositoryMethodParameterProvider.class),
+				Mockito.any(Document.class))).thenReturn(new Response(responseDocument, 200));
+		Module.ModuleContext failingContext = Mockito.mock(Module.ModuleContext.class);
+		Mockito.when(failingContext.getRequestDispatcher()).thenReturn(requestDispatcher);
+		Mockito.when(failingContext.getObjectMapper()).thenReturn(boot.getObjectMapper());
+
+		StreamingHttpRequestContextBase streamingContextBase = Mockito.mock(StreamingHttpRequestContextBase.class);
+		Mockito.when(streamingContextBase.getMethod()).thenReturn("GET");
+		Mockito.when(streamingContextBase.getPath()).thenReturn("/tasks/1");
+		Mockito.when(streamingContextBase.getRequestHeader("Accept")).thenReturn("*");
+		new JsonApiRequestProcessor(failingContext).process(new HttpRequestContextBaseAdapter(streamingContextBase));
+
+		// nothing is serialized before the status is committed
+		ArgumentCaptor<HttpResponseWriter> writerCaptor = ArgumentCaptor.forClass(HttpResponseWriter.class);
+		Mockito.verify(streamingContextBase, Mockito.times(1)).setResponse(Mockito.eq(200), writerCaptor.capture());
+		Mockito.verify(streamingContextBase, Mockito.never()).setResponse(Mockito.anyInt(), Mockito.any(byte[].class));
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			writerCaptor.getValue().writeTo(outputStream);
+			Assert.fail();
+		}
+		catch (JsonMappingException e) {
+			Assert.assertTrue(e.getCause() instanceof BadRequestException);
+		}
+	}
+
+	public static class FailingValue {
+
+		public String getValue() {
+			throw new BadRequestException("failed to serialize");
+		}
+	}
+
 	@Test
 	public void testHttpRequestProcessorRegistration() throws IOException {
 		Mockito.when(requestContextBase.getMethod()).thenReturn("GET");
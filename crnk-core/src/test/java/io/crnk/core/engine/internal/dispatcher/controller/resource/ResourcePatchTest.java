@@ -18,7 +18,9 @@ import io.crnk.core.engine.properties.ResourceFieldImmutableWriteBehavior;
 import io.crnk.core.exception.BadRequestException;
 import io.crnk.core.exception.CrnkException;
 import io.crnk.core.exception.ResourceNotFoundException;
+import io.crnk.core.mock.models.Project;
 import io.crnk.core.mock.models.Task;
+import io.crnk.core.mock.repository.ProjectRepository;
 import io.crnk.core.repository.response.JsonApiResponse;
 import io.crnk.core.utils.Nullable;
 import io.crnk.legacy.internal.QueryParamsAdapter;
@@ -27,6 +29,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -364,6 +367,74 @@ public class ResourcePatchTest extends BaseControllerTest {
 
 	}
 
+	@Test
+	public void patchNestedAttributeShouldKeepOmittedNestedValues() throws Exception {
+		// GIVEN
+		Document newProjectBody = new Document();
+		Resource data = createProject();
+		data.setAttribute("data", objectMapper.readTree("{\"data\" : \"asd\", \"priority\" : \"high\"}"));
+		newProjectBody.setData(Nullable.of((Object) data));
+		JsonPath taskPath = pathBuilder.build("/projects");
+
+		ResourcePost resourcePost =
+				new ResourcePost(resourceRegistry, PROPERTIES_PROVIDER, typeParser, objectMapper, documentMapper);
+		Response projectResponse = resourcePost.handle(taskPath, new QueryParamsAdapter(REQUEST_PARAMS), null, newProjectBody);
+		Resource savedProject = projectResponse.getDocument().getSingleData().get();
+
+		data = new Resource();
+		data.setType("projects");
+		data.setId(savedProject.getId());
+		data.setAttribute("data", objectMapper.readTree("{\"data\" : \"updated data\"}"));
+
+		Document projectPatch = new Document();
+		projectPatch.setData(Nullable.of((Object) data));
+		JsonPath jsonPath = pathBuilder.build("/projects/" + savedProject.getId());
+		ResourcePatch sut = new ResourcePatch(resourceRegistry, PROPERTIES_PROVIDER, typeParser, objectMapper, documentMapper);
+
+		// WHEN
+		Response response = sut.handle(jsonPath, new QueryParamsAdapter(REQUEST_PARAMS), null, projectPatch);
+
+		// THEN
+		Resource updatedProject = response.getDocument().getSingleData().get();
+		assertThat(updatedProject.getAttributes().get("name").asText()).isEqualTo("sample project");
+		assertThat(updatedProject.getAttributes().get("data").get("data").asText()).isEqualTo("updated data");
+		assertThat(updatedProject.getAttributes().get("data").get("priority").asText()).isEqualTo("high");
+	}
+
+	@Test
+	public void patchNestedDynamicAttributeShouldKeepOmittedNestedValues() throws Exception {
+		// GIVEN
+		Document newProjectBody = new Document();
+		Resource data = createProject();
+		data.setAttribute("settings", objectMapper.readTree("{\"color\" : \"red\", \"size\" : \"large\"}"));
+		newProjectBody.setData(Nullable.of((Object) data));
+		JsonPath taskPath = pathBuilder.build("/projects");
+
+		ResourcePost resourcePost =
+				new ResourcePost(resourceRegistry, PROPERTIES_PROVIDER, typeParser, objectMapper, documentMapper);
+		Response projectResponse = resourcePost.handle(taskPath, new QueryParamsAdapter(REQUEST_PARAMS), null, newProjectBody);
+		Resource savedProject = projectResponse.getDocument().getSingleData().get();
+
+		data = new Resource();
+		data.setType("projects");
+		data.setId(savedProject.getId());
+		data.setAttribute("settings", objectMapper.readTree("{\"color\" : \"blue\"}"));
+
+		Document projectPatch = new Document();
+		projectPatch.setData(Nullable.of((Object) data));
+		JsonPath jsonPath = pathBuilder.build("/projects/" + savedProject.getId());
+		ResourcePatch sut = new ResourcePatch(resourceRegistry, PROPERTIES_PROVIDER, typeParser, objectMapper, documentMapper);
+
+		// WHEN
+		sut.handle(jsonPath, new QueryParamsAdapter(REQUEST_PARAMS), null, projectPatch);
+
+		// THEN
+		Project updatedProject = new ProjectRepository().findOne(Long.parseLong(savedProject.getId()), REQUEST_PARAMS);
+		Map<?, ?> settings = (Map<?, ?>) updatedProject.dynamicValues().get("settings");
+		assertThat(settings.get("color")).isEqualTo("blue");
+		assertThat(settings.get("size")).isEqualTo("large");
+	}
+
 	@Test
 	public void onUnchagedLazyRelationshipDataShouldNotReturnThatData() throws Exception {
 		// GIVEN
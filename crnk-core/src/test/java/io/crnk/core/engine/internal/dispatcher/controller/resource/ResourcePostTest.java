@@ -14,16 +14,20 @@ import io.crnk.core.engine.internal.dispatcher.path.JsonPath;
 import io.crnk.core.engine.internal.dispatcher.path.ResourcePath;
 import io.crnk.core.engine.properties.PropertiesProvider;
 import io.crnk.core.engine.properties.ResourceFieldImmutableWriteBehavior;
+import io.crnk.core.engine.query.QueryAdapter;
+import io.crnk.core.engine.registry.RegistryEntry;
 import io.crnk.core.exception.BadRequestException;
 import io.crnk.core.exception.RepositoryNotFoundException;
 import io.crnk.core.exception.RequestBodyNotFoundException;
 import io.crnk.core.exception.ResourceException;
+import io.crnk.core.exception.ResourceNotFoundException;
 import io.crnk.core.mock.models.Pojo;
 import io.crnk.core.mock.models.Task;
 import io.crnk.core.mock.repository.PojoRepository;
 import io.crnk.core.mock.repository.TaskRepository;
 import io.crnk.core.utils.Nullable;
 import io.crnk.legacy.internal.QueryParamsAdapter;
+import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 import io.crnk.legacy.queryParams.DefaultQueryParamsParser;
 import io.crnk.legacy.queryParams.QueryParams;
 import io.crnk.legacy.queryParams.QueryParamsBuilder;
@@ -31,8 +35,14 @@ import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -273,6 +283,86 @@ public class ResourcePostTest extends BaseControllerTest {
 		assertThat(taskResponse.getDocument().getSingleData().get().getRelationships().get("assignedProjects").getCollectionData().get().get(0).getId()).isEqualTo(projectId.toString());
 	}
 
+	@Test
+	public void onManyRelationshipsShouldResolveThemTogether() throws Exception {
+		// GIVEN
+		ResourcePost sut = new ResourcePost(resourceRegistry, PROPERTIES_PROVIDER, typeParser, objectMapper, documentMapper);
+		List<ResourceIdentifier> projectIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Document newProjectBody = new Document();
+			newProjectBody.setData(Nullable.of((Object) createProject(Integer.toString(100 + i))));
+			Response projectResponse =
+					sut.handle(pathBuilder.build("/projects"), new QueryParamsAdapter(REQUEST_PARAMS), null, newProjectBody);
+			projectIds.add(projectResponse.getDocument().getSingleData().get().toIdentifier());
+		}
+
+		final AtomicInteger singleFetches = new AtomicInteger();
+		final AtomicInteger bulkFetches = new AtomicInteger();
+		sut = new ResourcePost(resourceRegistry, PROPERTIES_PROVIDER, typeParser, objectMapper, documentMapper) {
+
+			@Override
+			protected Object fetchRelatedObject(RegistryEntry entry, Serializable relationId,
+					RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
+				singleFetches.incrementAndGet();
+				return super.fetchRelatedObject(entry, relationId, parameterProvider, queryAdapter);
+			}
+
+			@Override
+			protected Map<Serializable, Object> fetchRelatedObjects(RegistryEntry entry, Collection<Serializable> relationIds,
+					RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
+				bulkFetches.incrementAndGet();
+				return super.fetchRelatedObjects(entry, relationIds, parameterProvider, queryAdapter);
+			}
+		};
+
+		Document newUserBody = new Document();
+		Resource data = new Resource();
+		newUserBody.setData(Nullable.of((Object) data));
+		data.setType("users");
+		data.setAttribute("name", objectMapper.readTree("\"some user\""));
+		data.getRelationships().put("assignedProjects", new Relationship(projectIds));
+
+		// WHEN
+		Response userResponse = sut.handle(pathBuilder.build("/users"), new QueryParamsAdapter(REQUEST_PARAMS), null, newUserBody);
+
+		// THEN
+		List<ResourceIdentifier> assignedProjects =
+				userResponse.getDocument().getSingleData().get().getRelationships().get("assignedProjects").getCollectionData()
+						.get();
+		assertThat(assignedProjects).isEqualTo(projectIds);
+		assertThat(singleFetches.get()).isEqualTo(0);
+
+		// GIVEN
+		projectIds.add(new ResourceIdentifier("-1", "projects"));
+		data.getRelationships().put("assignedProjects", new Relationship(projectIds));
+
+		// WHEN
+		try {
+			sut.handle(pathBuilder.build("/users"), new QueryParamsAdapter(REQUEST_PARAMS), null, newUserBody);
+			Assert.fail();
+		}
+		catch (ResourceNotFoundException e) {
+			// THEN unresolved identifiers are left to the repository
+			assertThat(singleFetches.get()).isEqualTo(1);
+		}
+
+		// GIVEN
+		projectIds.remove(projectIds.size() - 1);
+		data.getRelationships().put("assignedProjects", new Relationship(projectIds));
+		data.getRelationships().put("invalid-relationship", new Relationship(projectIds));
+
+		// WHEN
+		try {
+			sut.handle(pathBuilder.build("/users"), new QueryParamsAdapter(REQUEST_PARAMS), null, newUserBody);
+			Assert.fail();
+		}
+		catch (ResourceException e) {
+			// THEN rejected before any related object is looked up
+			assertThat(bulkFetches.get()).isEqualTo(2);
+			assertThat(singleFetches.get()).isEqualTo(1);
+		}
+	}
+
 	@Test
 	public void onUpdatedLazyRelationshipDataShouldReturnThatData() throws Exception {
 		// GIVEN
@@ -4,6 +4,7 @@ import io.crnk.core.boot.CrnkBoot;
 import io.crnk.core.engine.information.repository.RepositoryAction;
 import io.crnk.core.engine.information.repository.ResourceRepositoryInformation;
 import io.crnk.core.engine.information.resource.ResourceFieldNameTransformer;
+import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.information.resource.ResourceInformationBuilder;
 import io.crnk.core.engine.internal.information.resource.AnnotationResourceInformationBuilder;
 import io.crnk.core.engine.registry.RegistryEntry;
@@ -328,4 +329,43 @@ public class PathBuilderTest {
 		expectedPath.setParentResource(new ResourcePath("tasks", new PathIds("1")));
 		assertThat(jsonPath).isEqualTo(expectedPath);
 	}
+
+	@Test
+	public void onGroupedResourceTypeShouldReturnResourcePath() {
+		RegistryEntry entry = mockEntry("group/tasks");
+		ResourceRegistry resourceRegistry = Mockito.mock(ResourceRegistry.class);
+		Mockito.when(resourceRegistry.getResources()).thenReturn(Collections.singletonList(entry));
+		Mockito.when(resourceRegistry.getEntry("group/tasks")).thenReturn(entry);
+
+		JsonPath jsonPath = new PathBuilder(resourceRegistry).build("/group/tasks/1");
+
+		JsonPath expectedPath = new ResourcePath("group/tasks", new PathIds("1"));
+		assertThat(jsonPath).isEqualTo(expectedPath);
+	}
+
+	@Test
+	public void onResourceAddedAfterFirstUseShouldReturnResourcePath() {
+		ResourceRegistry resourceRegistry = Mockito.mock(ResourceRegistry.class);
+		Mockito.when(resourceRegistry.getResources()).thenReturn(Collections.<RegistryEntry>emptyList());
+		PathBuilder builder = new PathBuilder(resourceRegistry);
+		Assert.assertNull(builder.build("/late"));
+
+		RegistryEntry entry = mockEntry("late");
+		Mockito.when(resourceRegistry.getEntry("late")).thenReturn(entry);
+		assertThat(builder.build("/late")).isEqualTo(new ResourcePath("late"));
+
+		Mockito.when(resourceRegistry.getResources()).thenReturn(Collections.singletonList(entry));
+		assertThat(builder.build("/late/1")).isEqualTo(new ResourcePath("late", new PathIds("1")));
+	}
+
+	private static RegistryEntry mockEntry(String resourceType) {
+		ResourceInformation resourceInformation = Mockito.mock(ResourceInformation.class);
+		Mockito.when(resourceInformation.getResourceType()).thenReturn(resourceType);
+		ResourceRepositoryInformation repositoryInformation = Mockito.mock(ResourceRepositoryInformation.class);
+		Mockito.when(repositoryInformation.getActions()).thenReturn(Collections.<String, RepositoryAction>emptyMap());
+		RegistryEntry entry = Mockito.mock(RegistryEntry.class);
+		Mockito.when(entry.getResourceInformation()).thenReturn(resourceInformation);
+		Mockito.when(entry.getRepositoryInformation()).thenReturn(repositoryInformation);
+		return entry;
+	}
 }
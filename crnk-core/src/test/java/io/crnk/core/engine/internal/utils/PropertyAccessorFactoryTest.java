@@ -0,0 +1,62 @@
+package io.crnk.core.engine.internal.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertyAccessorFactoryTest {
+
+	@Test
+	public void accessorIsCachedPerClassAndProperty() {
+		PropertyAccessor accessor = PropertyAccessorFactory.getAccessor(Bean.class, "value");
+		Assert.assertSame(accessor, PropertyAccessorFactory.getAccessor(Bean.class, "value"));
+		Assert.assertNotSame(accessor, PropertyAccessorFactory.getAccessor(Bean.class, "publicValue"));
+		Assert.assertNotSame(accessor, PropertyAccessorFactory.getAccessor(ChildBean.class, "value"));
+	}
+
+	@Test
+	public void readAndWriteThroughAccessors() {
+		Bean bean = new Bean();
+		PropertyAccessorFactory.getAccessor(Bean.class, "value").setValue(bean, 12);
+		PropertyAccessorFactory.getAccessor(Bean.class, "publicValue").setValue(bean, "test");
+		Assert.assertEquals(12, PropertyAccessorFactory.getAccessor(Bean.class, "value").getValue(bean));
+		Assert.assertEquals("test", PropertyAccessorFactory.getAccessor(Bean.class, "publicValue").getValue(bean));
+		Assert.assertEquals(int.class, PropertyAccessorFactory.getAccessor(Bean.class, "value").getPropertyClass());
+	}
+
+	@Test
+	public void inheritedPropertiesAreAccessible() {
+		ChildBean bean = new ChildBean();
+		PropertyAccessorFactory.getAccessor(ChildBean.class, "value").setValue(bean, 13);
+		Assert.assertEquals(13, bean.getValue());
+	}
+
+	@Test(expected = PropertyException.class)
+	public void settingNullOnPrimitiveThrowsException() {
+		PropertyAccessorFactory.getAccessor(Bean.class, "value").setValue(new Bean(), null);
+	}
+
+	@Test(expected = PropertyException.class)
+	public void unknownPropertyFailsUponUse() {
+		PropertyAccessor accessor = PropertyAccessorFactory.getAccessor(Bean.class, "doesNotExist");
+		accessor.getValue(new Bean());
+	}
+
+	public static class Bean {
+
+		public String publicValue;
+
+		private int value;
+
+		public int getValue() {
+			return value;
+		}
+
+		public void setValue(int value) {
+			this.value = value;
+		}
+	}
+
+	public static class ChildBean extends Bean {
+
+	}
+}
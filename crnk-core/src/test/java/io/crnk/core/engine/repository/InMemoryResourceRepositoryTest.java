@@ -0,0 +1,159 @@
+package io.crnk.core.engine.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.crnk.core.boot.CrnkBoot;
+import io.crnk.core.exception.ResourceNotFoundException;
+import io.crnk.core.mock.models.Project;
+import io.crnk.core.mock.models.Task;
+import io.crnk.core.module.discovery.ReflectionsServiceDiscovery;
+import io.crnk.core.queryspec.Direction;
+import io.crnk.core.queryspec.FilterOperator;
+import io.crnk.core.queryspec.FilterSpec;
+import io.crnk.core.queryspec.InMemoryEvaluator;
+import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
+import io.crnk.core.repository.InMemoryResourceRepository;
+import io.crnk.core.resource.list.ResourceList;
+import io.crnk.core.resource.registry.ResourceRegistryBuilderTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class InMemoryResourceRepositoryTest {
+
+	private InMemoryResourceRepository<Task, Long> repository;
+
+	private CrnkBoot boot;
+
+	@Before
+	public void setup() {
+		boot = new CrnkBoot();
+		boot.setServiceDiscovery(new ReflectionsServiceDiscovery(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE));
+		boot.boot();
+
+		repository = new InMemoryResourceRepository<>(Task.class);
+		repository.setResourceRegistry(boot.getResourceRegistry());
+		repository.addHashIndex("category");
+		repository.addSortedIndex("name");
+		repository.addHashIndex("project.id");
+
+		Project project = new Project();
+		project.setId(13L);
+
+		List<Task> tasks = new ArrayList<>();
+		for (long i = 0; i < 10; i++) {
+			Task task = new Task();
+			task.setId(i);
+			task.setName("task" + i);
+			task.setCategory(i % 2 == 0 ? "even" : "odd");
+			task.setProject(i < 3 ? project : null);
+			tasks.add(task);
+		}
+		repository.saveAll(tasks);
+	}
+
+	@Test
+	public void findOne() {
+		Assert.assertEquals("task3", repository.findOne(3L, new QuerySpec(Task.class)).getName());
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void findOneNotFound() {
+		repository.findOne(-1L, new QuerySpec(Task.class));
+	}
+
+	@Test
+	public void findAllByIds() {
+		ResourceList<Task> tasks = repository.findAll(Arrays.asList(1L, 4L, 42L), new QuerySpec(Task.class));
+		Assert.assertEquals(Arrays.asList(1L, 4L), getIds(tasks));
+	}
+
+	@Test
+	public void filterByIndexedAttribute() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("category"), FilterOperator.EQ, "odd"));
+		querySpec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.GE, "task5"));
+		querySpec.addSort(new SortSpec(Arrays.asList("id"), Direction.DESC));
+		Assert.assertEquals(Arrays.asList(9L, 7L, 5L), getIds(repository.findAll(querySpec)));
+	}
+
+	@Test
+	public void filterByIndexedValues() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, Arrays.asList("task1", "task2")));
+		querySpec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		Assert.assertEquals(Arrays.asList(1L, 2L), getIds(repository.findAll(querySpec)));
+	}
+
+	@Test
+	public void filterByIndexedRelatedId() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("project", "id"), FilterOperator.EQ, Arrays.asList(13L)));
+		querySpec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		Assert.assertEquals(Arrays.asList(0L, 1L, 2L), getIds(repository.findAll(querySpec)));
+	}
+
+	@Test
+	public void sortByIndexedAttribute() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("name"), Direction.DESC));
+		querySpec.setOffset(1);
+		querySpec.setLimit(2L);
+		Assert.assertEquals(Arrays.asList(8L, 7L), getIds(repository.findAll(querySpec)));
+	}
+
+	@Test
+	public void saveAndDeleteUpdateIndexes() {
+		Task task = repository.findOne(3L, new QuerySpec(Task.class));
+		task.setCategory("special");
+		repository.save(task);
+		repository.delete(5L);
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("category"), FilterOperator.EQ, "special"));
+		Assert.assertEquals(Arrays.asList(3L), getIds(repository.findAll(querySpec)));
+
+		querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("category"), FilterOperator.EQ, "odd"));
+		querySpec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		Assert.assertEquals(Arrays.asList(1L, 7L, 9L), getIds(repository.findAll(querySpec)));
+	}
+
+	@Test
+	public void findAllUsesEvaluatorOfRegistry() {
+		InMemoryEvaluator evaluator = Mockito.spy(new InMemoryEvaluator());
+		boot.getModuleRegistry().setInMemoryEvaluator(evaluator);
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		Assert.assertEquals(10, repository.findAll(querySpec).size());
+		Mockito.verify(evaluator).eval(Mockito.anyCollectionOf(Task.class), Mockito.eq(querySpec),
+				Mockito.<ResourceList<Task>>any());
+	}
+
+	@Test
+	public void saveAllBeforeRegistration() {
+		InMemoryResourceRepository<Task, Long> unregisteredRepository = new InMemoryResourceRepository<>(Task.class);
+		unregisteredRepository.addHashIndex("category");
+		Task task = new Task();
+		task.setId(1L);
+		task.setCategory("seeded");
+		unregisteredRepository.saveAll(Arrays.asList(task));
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.EQ, 1L));
+		Assert.assertEquals(Arrays.asList(1L), getIds(unregisteredRepository.findAll(querySpec)));
+		Assert.assertSame(task, unregisteredRepository.findOne(1L, querySpec));
+	}
+
+	private static List<Long> getIds(List<Task> tasks) {
+		List<Long> ids = new ArrayList<>();
+		for (Task task : tasks) {
+			ids.add(task.getId());
+		}
+		return ids;
+	}
+}
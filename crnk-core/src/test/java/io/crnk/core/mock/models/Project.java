@@ -1,9 +1,14 @@
 package io.crnk.core.mock.models;
 
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.crnk.core.resource.annotations.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @JsonApiResource(type = "projects")
 public class Project {
@@ -35,6 +40,9 @@ public class Project {
 	@JsonApiLookupIncludeAutomatically
 	private Task includedTask;
 
+	@JsonIgnore
+	private Map<String, Object> dynamicValues = new HashMap<>();
+
 	public Long getId() {
 		return id;
 	}
@@ -107,4 +115,14 @@ public class Project {
 	public void setIncludedTask(Task includedTask) {
 		this.includedTask = includedTask;
 	}
+
+	@JsonAnyGetter
+	public Map<String, Object> dynamicValues() {
+		return dynamicValues;
+	}
+
+	@JsonAnySetter
+	public void dynamicValue(String name, Object value) {
+		dynamicValues.put(name, value);
+	}
 }
@@ -3,6 +3,8 @@ package io.crnk.core.mock.models;
 public class ProjectData {
 	private String data;
 
+	private String priority;
+
 	public String getData() {
 		return data;
 	}
@@ -11,4 +13,13 @@ public class ProjectData {
 		this.data = data;
 		return this;
 	}
+
+	public String getPriority() {
+		return priority;
+	}
+
+	public ProjectData setPriority(String priority) {
+		this.priority = priority;
+		return this;
+	}
 }
@@ -190,6 +190,15 @@ public class DefaultQuerySpecSerializerTest {
 		check("http://127.0.0.1/tasks/?page[limit]=2&page[offset]=1", null, querySpec);
 	}
 
+	@Test
+	public void testCursorPaging() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("name"), Direction.ASC));
+		querySpec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		querySpec.setPageAfter(Arrays.<Object>asList("a,b\\c", 12L));
+		check("http://127.0.0.1/tasks/?sort[tasks]=name%2Cid&page[after]=a%5C%2Cb%5C%5Cc%2C12", null, querySpec);
+	}
+
 	@Test
 	public void testPagingOnRelation() throws InstantiationException, IllegalAccessException {
 		QuerySpec querySpec = new QuerySpec(Task.class);
@@ -3,12 +3,14 @@ package io.crnk.core.queryspec;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import io.crnk.core.mock.models.Project;
 import io.crnk.core.mock.models.Task;
 import io.crnk.core.resource.list.DefaultResourceList;
 import io.crnk.core.resource.list.ResourceList;
 import io.crnk.core.resource.meta.DefaultHasMoreResourcesMetaInformation;
+import io.crnk.core.resource.meta.DefaultPagedMetaInformation;
 import io.crnk.core.resource.meta.HasMoreResourcesMetaInformation;
 import io.crnk.core.resource.meta.PagedMetaInformation;
 import org.junit.Assert;
@@ -74,6 +76,20 @@ public class InMemoryEvaluatorTest {
 		Assert.assertEquals(Long.valueOf(2L), results.get(0).getId());
 	}
 
+	@Test
+	public void testPageAfter() {
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addSort(new SortSpec(Arrays.asList("name"), Direction.DESC));
+		spec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		spec.setPageAfter(Arrays.<Object>asList("test3", 3L));
+		spec.setLimit(2L);
+		ResourceList<Task> results = spec.apply(tasks);
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals("test2", results.get(0).getName());
+		Assert.assertEquals("test1", results.get(1).getName());
+		Assert.assertEquals(3L, results.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+	}
+
 	@Test
 	public void testSortAsc() {
 		QuerySpec spec = new QuerySpec(Task.class);
@@ -296,4 +312,102 @@ public class InMemoryEvaluatorTest {
 		List<Task> results = spec.apply(tasks);
 		Assert.assertEquals(3, results.size());
 	}
+
+	@Test
+	public void testCompiledFilterReusable() {
+		FilterSpec filterSpec = FilterSpec.or(
+				new FilterSpec(Arrays.asList("name"), FilterOperator.LIKE, "TEST1%"),
+				new FilterSpec(Arrays.asList("id"), FilterOperator.EQ, Arrays.asList(3L, 4L)));
+		FilterPredicate predicate = InMemoryEvaluator.compile(filterSpec);
+
+		List<Long> matchingIds = new ArrayList<>();
+		for (Task task : tasks) {
+			if (predicate.matches(task)) {
+				matchingIds.add(task.getId());
+			}
+			Assert.assertEquals(InMemoryEvaluator.matches(task, filterSpec), predicate.matches(task));
+		}
+		Assert.assertEquals(Arrays.asList(1L, 3L, 4L), matchingIds);
+	}
+
+	@Test
+	public void testCompiledFilterOnMultiValuedPath() {
+		FilterPredicate predicate = InMemoryEvaluator.compile(new FilterSpec(Arrays.asList("projects", "id"), FilterOperator.EQ, 13L));
+		Assert.assertTrue(predicate.matches(tasks.get(0)));
+		Assert.assertFalse(predicate.matches(tasks.get(1)));
+	}
+
+	@Test
+	public void testSortedPageFromLargerList() {
+		List<Task> manyTasks = new ArrayList<>();
+		for (long i = 0; i < 100; i++) {
+			Task task = new Task();
+			task.setId(i);
+			task.setName("task" + (i % 10));
+			manyTasks.add(task);
+		}
+
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addSort(new SortSpec(Arrays.asList("name"), Direction.DESC));
+		spec.setOffset(5);
+		spec.setLimit(3L);
+		ResourceList<Task> results = spec.apply(manyTasks);
+		Assert.assertEquals(3, results.size());
+		// equal names keep their original order
+		Assert.assertEquals(Long.valueOf(59L), results.get(0).getId());
+		Assert.assertEquals(Long.valueOf(69L), results.get(1).getId());
+		Assert.assertEquals(Long.valueOf(79L), results.get(2).getId());
+	}
+
+	@Test
+	public void testZeroLimitCountsTotal() {
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addSort(new SortSpec(Arrays.asList("name"), Direction.ASC));
+		spec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.GE, 1L));
+		spec.setLimit(0L);
+		ResourceList<Task> results = spec.apply(tasks);
+		Assert.assertEquals(0, results.size());
+		Assert.assertEquals(4L, results.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+	}
+
+	@Test
+	public void testParallelEvaluationMatchesSequential() {
+		List<Task> manyTasks = new ArrayList<>();
+		for (long i = 0; i < 5000; i++) {
+			Task task = new Task();
+			task.setId(i);
+			task.setName("task" + (i % 97));
+			manyTasks.add(task);
+		}
+
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.GE, 100L));
+		spec.addSort(new SortSpec(Arrays.asList("name"), Direction.DESC));
+		spec.setOffset(10L);
+		spec.setLimit(200L);
+
+		ResourceList<Task> sequentialResults = new DefaultResourceList<>();
+		new InMemoryEvaluator().eval(manyTasks, spec, sequentialResults);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			InMemoryEvaluator evaluator = new InMemoryEvaluator();
+			evaluator.setForkJoinPool(pool);
+			evaluator.setParallelThreshold(1000);
+
+			ResourceList<Task> parallelResults = new DefaultResourceList<>(new DefaultPagedMetaInformation(), null);
+			evaluator.eval(manyTasks, spec, parallelResults);
+			Assert.assertEquals(sequentialResults, parallelResults);
+			Assert.assertEquals(4900L, parallelResults.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+
+			spec.setSort(new ArrayList<SortSpec>());
+			sequentialResults = new DefaultResourceList<>();
+			new InMemoryEvaluator().eval(manyTasks, spec, sequentialResults);
+			parallelResults = new DefaultResourceList<>();
+			evaluator.eval(manyTasks, spec, parallelResults);
+			Assert.assertEquals(sequentialResults, parallelResults);
+		} finally {
+			pool.shutdown();
+		}
+	}
 }
@@ -0,0 +1,110 @@
+package io.crnk.core.queryspec.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.crnk.core.mock.models.Task;
+import io.crnk.core.queryspec.Direction;
+import io.crnk.core.queryspec.FilterOperator;
+import io.crnk.core.queryspec.FilterSpec;
+import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedQuerySpecDeserializerTest extends DefaultQuerySpecDeserializerTestBase {
+
+	@Before
+	public void setup() {
+		super.setup();
+		deserializer.setParseCacheSize(2);
+	}
+
+	@Test
+	public void testRepeatedRequestServedFromCache() {
+		Map<String, Set<String>> params = new HashMap<>();
+		add(params, "sort[tasks]", "name");
+		add(params, "filter[tasks][name]", "test");
+
+		QuerySpec first = deserializer.deserialize(taskInformation, params);
+		QuerySpec second = deserializer.deserialize(taskInformation, params);
+		Assert.assertEquals(1, deserializer.getParseCacheMisses());
+		Assert.assertEquals(1, deserializer.getParseCacheHits());
+
+		QuerySpec expectedSpec = new QuerySpec(Task.class);
+		expectedSpec.addSort(new SortSpec(Arrays.asList("name"), Direction.ASC));
+		expectedSpec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "test"));
+		Assert.assertEquals(expectedSpec, first);
+		Assert.assertEquals(expectedSpec, second);
+		Assert.assertNotSame(first, second);
+	}
+
+	@Test
+	public void testCachedQuerySpecNotAffectedByCallerModifications() {
+		Map<String, Set<String>> params = new HashMap<>();
+		add(params, "filter[tasks][name]", "test");
+
+		QuerySpec first = deserializer.deserialize(taskInformation, params);
+		first.getFilters().get(0).setValue("modified");
+		first.setLimit(5L);
+
+		QuerySpec second = deserializer.deserialize(taskInformation, params);
+		Assert.assertEquals("test", second.getFilters().get(0).getValue());
+		Assert.assertNull(second.getLimit());
+	}
+
+	@Test
+	public void testCachedQuerySpecValuesAndPathsNotShared() {
+		Map<String, Set<String>> params = new HashMap<>();
+		params.put("filter[tasks][name]", new HashSet<>(Arrays.asList("a", "b")));
+		add(params, "sort[tasks]", "name");
+
+		QuerySpec first = deserializer.deserialize(taskInformation, params);
+		((Set<?>) first.getFilters().get(0).getValue()).clear();
+		first.getFilters().get(0).getAttributePath().set(0, "modified");
+		first.getSort().get(0).getAttributePath().set(0, "modified");
+
+		QuerySpec second = deserializer.deserialize(taskInformation, params);
+		Assert.assertEquals(1, deserializer.getParseCacheHits());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b")), second.getFilters().get(0).getValue());
+		Assert.assertEquals(Arrays.asList("name"), second.getFilters().get(0).getAttributePath());
+		Assert.assertEquals(Arrays.asList("name"), second.getSort().get(0).getAttributePath());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryEvicted() {
+		Map<String, Set<String>> params1 = new HashMap<>();
+		add(params1, "sort[tasks]", "name");
+		Map<String, Set<String>> params2 = new HashMap<>();
+		add(params2, "sort[tasks]", "id");
+		Map<String, Set<String>> params3 = new HashMap<>();
+		add(params3, "sort[tasks]", "-name");
+
+		deserializer.deserialize(taskInformation, params1);
+		deserializer.deserialize(taskInformation, params2);
+		deserializer.deserialize(taskInformation, params1);
+		deserializer.deserialize(taskInformation, params3);
+		Assert.assertEquals(3, deserializer.getParseCacheMisses());
+		Assert.assertEquals(1, deserializer.getParseCacheHits());
+
+		deserializer.deserialize(taskInformation, params1);
+		Assert.assertEquals(2, deserializer.getParseCacheHits());
+		deserializer.deserialize(taskInformation, params2);
+		Assert.assertEquals(4, deserializer.getParseCacheMisses());
+	}
+
+	@Test
+	public void testConfigurationChangeClearsCache() {
+		Map<String, Set<String>> params = new HashMap<>();
+		deserializer.deserialize(taskInformation, params);
+		deserializer.setDefaultLimit(12L);
+
+		QuerySpec querySpec = deserializer.deserialize(taskInformation, params);
+		Assert.assertEquals(12L, querySpec.getLimit().longValue());
+		Assert.assertEquals(0, deserializer.getParseCacheHits());
+	}
+}
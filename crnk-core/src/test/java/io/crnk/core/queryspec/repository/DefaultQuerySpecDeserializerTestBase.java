@@ -277,6 +277,43 @@ public abstract class DefaultQuerySpecDeserializerTestBase extends AbstractQuery
 		Assert.assertEquals(expectedSpec, actualSpec);
 	}
 
+	@Test
+	public void testCursorPaging() {
+		QuerySpec expectedSpec = new QuerySpec(Task.class);
+		expectedSpec.setLimit(2L);
+		expectedSpec.addSort(new SortSpec(Arrays.asList("name"), Direction.DESC));
+		expectedSpec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		expectedSpec.setPageAfter(Arrays.<Object>asList("a,b", 12L));
+
+		Map<String, Set<String>> params = new HashMap<>();
+		add(params, "page[after]", "a\\,b,12");
+		add(params, "page[limit]", "2");
+		add(params, "sort[tasks]", "-name");
+
+		QuerySpec actualSpec = deserializer.deserialize(taskInformation, params);
+		Assert.assertEquals(expectedSpec, actualSpec);
+	}
+
+	@Test
+	public void testCursorPagingFirstPage() {
+		Map<String, Set<String>> params = new HashMap<>();
+		add(params, "page[after]", "");
+		add(params, "sort[tasks]", "id");
+
+		QuerySpec actualSpec = deserializer.deserialize(taskInformation, params);
+		Assert.assertEquals(Arrays.asList(new SortSpec(Arrays.asList("id"), Direction.ASC)), actualSpec.getSort());
+		Assert.assertEquals(Collections.emptyList(), actualSpec.getPageAfter());
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testCursorNotMatchingSort() {
+		Map<String, Set<String>> params = new HashMap<>();
+		add(params, "page[after]", "12");
+		add(params, "sort[tasks]", "name");
+
+		deserializer.deserialize(taskInformation, params);
+	}
+
 	@Test(expected = ParametersDeserializationException.class)
 	public void testPagingError() throws InstantiationException, IllegalAccessException {
 		QuerySpec expectedSpec = new QuerySpec(Task.class);
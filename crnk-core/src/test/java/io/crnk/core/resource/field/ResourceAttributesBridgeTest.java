@@ -2,6 +2,7 @@ package io.crnk.core.resource.field;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.crnk.core.engine.information.resource.ResourceField;
@@ -62,6 +63,32 @@ public class ResourceAttributesBridgeTest {
 		assertThat(task.getName()).isEqualTo("value");
 	}
 
+	@Test
+	public void onRepeatedAttributesShouldReadWithCurrentObjectMapper() throws Exception {
+		// GIVEN
+		ResourceFieldImpl field = new ResourceFieldImpl("name", "name", ResourceFieldType.ATTRIBUTE, String.class, String.class, null);
+		field.setAccessor(new ReflectionFieldAccessor(Task.class, "name", String.class));
+		ResourceAttributesBridge<Task> sut =
+				new ResourceAttributesBridge<>(Collections.singletonList((ResourceField) field), Task.class);
+		Task task = new Task();
+		sut.setProperty(objectMapper, task, objectMapper.readTree("\"value\""), "name");
+
+		ObjectMapper otherObjectMapper = new ObjectMapper();
+		otherObjectMapper.enable(DeserializationFeature.UNWRAP_SINGLE_VALUE_ARRAYS);
+
+		// WHEN
+		sut.setProperty(otherObjectMapper, task, otherObjectMapper.readTree("[\"other\"]"), "name");
+
+		// THEN
+		assertThat(task.getName()).isEqualTo("other");
+
+		// WHEN
+		sut.setProperty(otherObjectMapper, task, null, "name");
+
+		// THEN
+		assertThat(task.getName()).isNull();
+	}
+
 	@Test
 	public void onDynamicAttributesShouldPutInstanceValues() throws Exception {
 		// GIVEN
@@ -32,6 +32,8 @@ public abstract class AbstractDocumentMapperTest {
 
 	protected ObjectMapper objectMapper;
 
+	protected ModuleRegistry moduleRegistry;
+
 	@Before
 	public void setup() {
 		MockRepositoryUtil.clear();
@@ -46,7 +48,7 @@ public abstract class AbstractDocumentMapperTest {
 
 		ResourceInformationBuilder resourceInformationBuilder =
 				new AnnotationResourceInformationBuilder(new ResourceFieldNameTransformer());
-		ModuleRegistry moduleRegistry = new ModuleRegistry();
+		moduleRegistry = new ModuleRegistry();
 		ResourceRegistryBuilder registryBuilder =
 				new ResourceRegistryBuilder(moduleRegistry, new SampleJsonServiceLocator(), resourceInformationBuilder);
 		resourceRegistry = registryBuilder.build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, moduleRegistry,
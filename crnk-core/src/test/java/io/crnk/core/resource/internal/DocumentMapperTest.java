@@ -278,6 +278,35 @@ public class DocumentMapperTest extends AbstractDocumentMapperTest {
 		Assert.assertEquals("sample category", resource.getAttributes().get("category").asText());
 	}
 
+	@Test
+	public void testAttributesSelectionAppliedPerRequest() {
+		Task task1 = createTask(1, "first task");
+		task1.setCategory("first category");
+		Task task2 = createTask(2, "second task");
+		task2.setCategory("second category");
+
+		QuerySpec categorySpec = new QuerySpec(Task.class);
+		categorySpec.includeField(Arrays.asList("category"));
+		Document document = mapper.toDocument(toResponse(Arrays.asList(task1, task2)), toAdapter(categorySpec));
+		for (Resource resource : document.getCollectionData().get()) {
+			Assert.assertNull(resource.getAttributes().get("name"));
+			Assert.assertNotNull(resource.getAttributes().get("category"));
+		}
+
+		QuerySpec nameSpec = new QuerySpec(Task.class);
+		nameSpec.includeField(Arrays.asList("name"));
+		document = mapper.toDocument(toResponse(Arrays.asList(task1, task2)), toAdapter(nameSpec));
+		for (Resource resource : document.getCollectionData().get()) {
+			Assert.assertNotNull(resource.getAttributes().get("name"));
+			Assert.assertNull(resource.getAttributes().get("category"));
+		}
+
+		document = mapper.toDocument(toResponse(task1), createAdapter());
+		Resource resource = document.getSingleData().get();
+		Assert.assertEquals("first task", resource.getAttributes().get("name").asText());
+		Assert.assertEquals("first category", resource.getAttributes().get("category").asText());
+	}
+
 	private Project createProject(long id, String name) {
 		Project project = new Project();
 		project.setId(id);
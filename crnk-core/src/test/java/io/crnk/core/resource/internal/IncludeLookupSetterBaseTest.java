@@ -7,12 +7,26 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.crnk.core.boot.CrnkProperties;
+import io.crnk.core.engine.dispatcher.RepositoryRequestSpec;
 import io.crnk.core.engine.document.Document;
 import io.crnk.core.engine.document.Relationship;
 import io.crnk.core.engine.document.Resource;
 import io.crnk.core.engine.document.ResourceIdentifier;
+import io.crnk.core.engine.filter.RepositoryBulkRequestFilterChain;
+import io.crnk.core.engine.filter.RepositoryFilterBase;
+import io.crnk.core.engine.filter.RepositoryFilterContext;
+import io.crnk.core.engine.filter.RepositoryRequestFilterChain;
+import io.crnk.core.engine.http.RequestContextPropagator;
+import io.crnk.core.engine.http.RequestThreadBound;
 import io.crnk.core.engine.information.resource.ResourceField;
 import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.internal.document.mapper.DocumentMapper;
@@ -23,7 +37,9 @@ import io.crnk.core.engine.properties.PropertiesProvider;
 import io.crnk.core.mock.models.HierarchicalTask;
 import io.crnk.core.mock.models.Project;
 import io.crnk.core.mock.models.Task;
+import io.crnk.core.module.SimpleModule;
 import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.repository.response.JsonApiResponse;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -221,6 +237,232 @@ public class IncludeLookupSetterBaseTest extends AbstractDocumentMapperTest {
 		assertNotNull(includedResource.getRelationships().get("includedTask").getData());
 	}
 
+	@Test
+	public void includeSameNestedRelationThroughMultiplePaths() throws Exception {
+		final List<String> lookups = new ArrayList<>();
+		SimpleModule module = new SimpleModule("lookupCounter");
+		module.addRepositoryFilter(new RepositoryFilterBase() {
+
+			@Override
+			public <K> Map<K, JsonApiResponse> filterBulkRequest(RepositoryFilterContext context,
+					RepositoryBulkRequestFilterChain<K> chain) {
+				lookups.add(toLookupName(context.getRequest()));
+				return chain.doFilter(context);
+			}
+
+			@Override
+			public JsonApiResponse filterRequest(RepositoryFilterContext context, RepositoryRequestFilterChain chain) {
+				lookups.add(toLookupName(context.getRequest()));
+				return chain.doFilter(context);
+			}
+		});
+		moduleRegistry.addModule(module);
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.includeRelation(Arrays.asList("includedProject", "includedTask"));
+		querySpec.includeRelation(Arrays.asList("includedProjects", "includedTask"));
+
+		Task task = new Task();
+		task.setId(3L);
+
+		Document document = mapper.toDocument(toResponse(task), toAdapter(querySpec));
+		Resource taskResource = document.getSingleData().get();
+		assertNotNull(taskResource.getRelationships().get("includedProject").getSingleData().get());
+		assertEquals(1, taskResource.getRelationships().get("includedProjects").getCollectionData().get().size());
+
+		// project reached through both paths is included and populated once
+		List<Resource> includes = document.getIncluded();
+		assertEquals(1, includes.size());
+		Resource includedResource = includes.get(0);
+		assertEquals("projects", includedResource.getType());
+		ResourceIdentifier includedTaskId = includedResource.getRelationships().get("includedTask").getSingleData().get();
+		assertEquals("3", includedTaskId.getId());
+
+		// one lookup per field on the first level, the shared project is looked up once on the second level
+		Collections.sort(lookups);
+		assertEquals(Arrays.asList("projects.includedTask", "tasks.includedProject", "tasks.includedProjects"), lookups);
+	}
+
+	private static String toLookupName(RepositoryRequestSpec request) {
+		ResourceField relationshipField = request.getRelationshipField();
+		if (relationshipField == null) {
+			return request.getQueryAdapter().getResourceInformation().getResourceType();
+		}
+		return relationshipField.getParentResourceInformation().getResourceType() + "." + relationshipField.getUnderlyingName();
+	}
+
+	@Test
+	public void includeSiblingRelationsConcurrently() throws Exception {
+		final AtomicInteger propagations = new AtomicInteger();
+		final Set<Thread> lookupThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		RequestContextPropagator propagator = new RequestContextPropagator() {
+
+			@Override
+			public <T> Callable<T> propagate(final Callable<T> callable) {
+				propagations.incrementAndGet();
+				return new Callable<T>() {
+
+					@Override
+					public T call() throws Exception {
+						lookupThreads.add(Thread.currentThread());
+						return callable.call();
+					}
+				};
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mapper.setIncludeLookupExecutor(executor, 1, Collections.singletonList(propagator),
+					Collections.<RequestThreadBound>emptyList());
+
+			QuerySpec querySpec = new QuerySpec(Task.class);
+			querySpec.includeRelation(Arrays.asList("includedProject", "includedTask"));
+			querySpec.includeRelation(Arrays.asList("includedProjects", "includedTask"));
+
+			Task task = new Task();
+			task.setId(3L);
+
+			Document document = mapper.toDocument(toResponse(task), toAdapter(querySpec));
+			Resource taskResource = document.getSingleData().get();
+			assertNotNull(taskResource.getRelationships().get("includedProject").getSingleData().get());
+			assertEquals(1, taskResource.getRelationships().get("includedProjects").getCollectionData().get().size());
+
+			List<Resource> includes = document.getIncluded();
+			assertEquals(1, includes.size());
+			ResourceIdentifier includedTaskId = includes.get(0).getRelationships().get("includedTask").getSingleData().get();
+			assertEquals("3", includedTaskId.getId());
+
+			// both sibling lookups of the first level went through the executor with the propagated context
+			assertEquals(2, propagations.get());
+			Assert.assertFalse(lookupThreads.contains(Thread.currentThread()));
+		}
+		finally {
+			mapper.setIncludeLookupExecutor(null, 0, Collections.<RequestContextPropagator>emptyList(),
+					Collections.<RequestThreadBound>emptyList());
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void includeRequestThreadBoundRelationsOnCallingThread() throws Exception {
+		final AtomicInteger propagations = new AtomicInteger();
+		RequestContextPropagator propagator = new RequestContextPropagator() {
+
+			@Override
+			public <T> Callable<T> propagate(Callable<T> callable) {
+				propagations.incrementAndGet();
+				return callable;
+			}
+		};
+		RequestThreadBound projectsBound = new RequestThreadBound() {
+
+			@Override
+			public boolean isRequestThreadBound(ResourceInformation resourceInformation) {
+				return "projects".equals(resourceInformation.getResourceType());
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mapper.setIncludeLookupExecutor(executor, 0, Collections.singletonList(propagator),
+					Collections.singletonList(projectsBound));
+
+			QuerySpec querySpec = new QuerySpec(Task.class);
+			querySpec.includeRelation(Arrays.asList("includedProject", "includedTask"));
+			querySpec.includeRelation(Arrays.asList("includedProjects", "includedTask"));
+
+			Task task = new Task();
+			task.setId(3L);
+
+			Document document = mapper.toDocument(toResponse(task), toAdapter(querySpec));
+			assertEquals(1, document.getIncluded().size());
+
+			// every lookup involves projects, none of them is handed to the executor
+			assertEquals(0, propagations.get());
+		}
+		finally {
+			mapper.setIncludeLookupExecutor(null, 0, Collections.<RequestContextPropagator>emptyList(),
+					Collections.<RequestThreadBound>emptyList());
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void includeNonBulkRelationsConcurrentlyPerSource() throws Exception {
+		final AtomicInteger propagations = new AtomicInteger();
+		RequestContextPropagator propagator = new RequestContextPropagator() {
+
+			@Override
+			public <T> Callable<T> propagate(Callable<T> callable) {
+				propagations.incrementAndGet();
+				return callable;
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mapper.setIncludeLookupExecutor(executor, 0, Collections.singletonList(propagator),
+					Collections.<RequestThreadBound>emptyList());
+
+			QuerySpec querySpec = new QuerySpec(Task.class);
+			querySpec.includeRelation(Arrays.asList("includedProjects"));
+
+			Task task1 = new Task();
+			task1.setId(1L);
+			Task task3 = new Task();
+			task3.setId(3L);
+
+			mapper.toDocument(toResponse(Arrays.asList(task1)), toAdapter(querySpec));
+			int singleSourceLookups = propagations.getAndSet(0);
+			Assert.assertTrue(singleSourceLookups > 0);
+
+			Document document = mapper.toDocument(toResponse(Arrays.asList(task1, task3)), toAdapter(querySpec));
+			List<Resource> data = document.getCollectionData().get();
+			assertEquals(1, data.get(0).getRelationships().get("includedProjects").getCollectionData().get().size());
+			assertEquals(1, data.get(1).getRelationships().get("includedProjects").getCollectionData().get().size());
+
+			// the relationship repositories are not bulk ones, each source is looked up on its own
+			assertEquals(2 * singleSourceLookups, propagations.get());
+		}
+		finally {
+			mapper.setIncludeLookupExecutor(null, 0, Collections.<RequestContextPropagator>emptyList(),
+					Collections.<RequestThreadBound>emptyList());
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void includeToOneByTargetId() throws Exception {
+		Mockito.when(propertiesProvider.getProperty(Mockito.eq(CrnkProperties.INCLUDE_LOOKUP_BY_TARGET_ID)))
+				.thenReturn("true");
+		setup();
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.includeRelation(Arrays.asList("includedProject"));
+
+		// task without relation in the relationship repository, but holding the target
+		Project projectStub = new Project();
+		projectStub.setId(2L);
+		Task taskWithTarget = new Task();
+		taskWithTarget.setId(10L);
+		taskWithTarget.setIncludedProject(projectStub);
+		Task taskWithoutTarget = new Task();
+		taskWithoutTarget.setId(11L);
+
+		Document document =
+				mapper.toDocument(toResponse(Arrays.asList(taskWithTarget, taskWithoutTarget)), toAdapter(querySpec));
+		List<Resource> data = document.getCollectionData().get();
+		ResourceIdentifier projectId = data.get(0).getRelationships().get("includedProject").getSingleData().get();
+		assertEquals("2", projectId.getId());
+		Assert.assertNull(data.get(1).getRelationships().get("includedProject").getSingleData().get());
+
+		List<Resource> includes = document.getIncluded();
+		assertEquals(1, includes.size());
+		assertEquals("projects", includes.get(0).getType());
+		assertEquals("2", includes.get(0).getId());
+	}
+
 	@Test
 	public void includeManyDeepNestedRelationLookup() throws Exception {
 		QuerySpec querySpec = new QuerySpec(Task.class);
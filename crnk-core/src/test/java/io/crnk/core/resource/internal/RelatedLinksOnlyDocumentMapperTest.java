@@ -0,0 +1,42 @@
+package io.crnk.core.resource.internal;
+
+import io.crnk.core.boot.CrnkProperties;
+import io.crnk.core.engine.document.Document;
+import io.crnk.core.engine.document.Relationship;
+import io.crnk.core.engine.document.Resource;
+import io.crnk.core.engine.properties.PropertiesProvider;
+import io.crnk.core.engine.properties.RelationshipLinksBehavior;
+import io.crnk.core.mock.models.Task;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RelatedLinksOnlyDocumentMapperTest extends AbstractDocumentMapperTest {
+
+	@Override
+	protected PropertiesProvider getPropertiesProvider() {
+		return new PropertiesProvider() {
+
+			@Override
+			public String getProperty(String key) {
+				if (CrnkProperties.RELATIONSHIP_LINKS_BEHAVIOR.equals(key)) {
+					return RelationshipLinksBehavior.RELATED.toString();
+				}
+				return null;
+			}
+		};
+	}
+
+	@Test
+	public void testOnlyRelatedLinkWritten() {
+		Task task = new Task();
+		task.setId(2L);
+		task.setName("sample task");
+
+		Document document = mapper.toDocument(toResponse(task), createAdapter());
+		Resource resource = document.getSingleData().get();
+		Relationship relationship = resource.getRelationships().get("project");
+		Assert.assertNotNull(relationship);
+		Assert.assertEquals(1, relationship.getLinks().size());
+		Assert.assertEquals("https://service.local/tasks/2/project", relationship.getLinks().get("related").asText());
+	}
+}
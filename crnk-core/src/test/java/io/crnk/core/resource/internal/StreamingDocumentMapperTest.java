@@ -0,0 +1,72 @@
+package io.crnk.core.resource.internal;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.node.POJONode;
+import io.crnk.core.boot.CrnkProperties;
+import io.crnk.core.engine.document.Document;
+import io.crnk.core.engine.document.Resource;
+import io.crnk.core.engine.internal.document.mapper.DocumentMapper;
+import io.crnk.core.engine.properties.PropertiesProvider;
+import io.crnk.core.mock.models.Project;
+import io.crnk.core.mock.models.Task;
+import io.crnk.core.queryspec.QuerySpec;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingDocumentMapperTest extends AbstractDocumentMapperTest {
+
+	@Override
+	protected PropertiesProvider getPropertiesProvider() {
+		return new PropertiesProvider() {
+
+			@Override
+			public String getProperty(String key) {
+				if (CrnkProperties.SERIALIZATION_STREAMING_ENABLED.equals(key)) {
+					return "true";
+				}
+				return null;
+			}
+		};
+	}
+
+	@Test
+	public void testAttributesNotConvertedToTrees() {
+		Task task = createTask(2, "sample task");
+
+		Document document = mapper.toDocument(toResponse(task), createAdapter());
+		Resource resource = document.getSingleData().get();
+		Assert.assertTrue(resource.getAttributes().get("name") instanceof POJONode);
+		Assert.assertEquals("sample task", resource.getAttributes().get("name").asText());
+	}
+
+	@Test
+	public void testSerializesLikeTreeMode() throws IOException {
+		Task task = createTask(2, "sample task");
+		task.setCategory("sample category");
+		Project project = new Project();
+		project.setId(3L);
+		project.setName("sample project");
+		task.setProject(project);
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.includeRelation(Arrays.asList("project"));
+
+		Document streamingDocument = mapper.toDocument(toResponse(task), toAdapter(querySpec));
+
+		DocumentMapper treeMapper = new DocumentMapper(resourceRegistry, objectMapper, null);
+		Document treeDocument = treeMapper.toDocument(toResponse(task), toAdapter(querySpec));
+
+		String streamingJson = objectMapper.writeValueAsString(streamingDocument);
+		String treeJson = objectMapper.writeValueAsString(treeDocument);
+		Assert.assertEquals(objectMapper.readTree(treeJson), objectMapper.readTree(streamingJson));
+	}
+
+	private Task createTask(long id, String name) {
+		Task task = new Task();
+		task.setId(id);
+		task.setName(name);
+		return task;
+	}
+}
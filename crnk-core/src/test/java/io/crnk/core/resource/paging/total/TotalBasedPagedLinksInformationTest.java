@@ -6,13 +6,19 @@ import io.crnk.core.engine.registry.RegistryEntry;
 import io.crnk.core.exception.BadRequestException;
 import io.crnk.core.mock.models.Task;
 import io.crnk.core.queryspec.AbstractQuerySpecTest;
+import io.crnk.core.queryspec.Direction;
 import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
 import io.crnk.core.queryspec.internal.QuerySpecAdapter;
+import io.crnk.core.repository.response.JsonApiResponse;
 import io.crnk.core.resource.links.PagedLinksInformation;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 public class TotalBasedPagedLinksInformationTest extends AbstractQuerySpecTest {
 
 	private ResourceRepositoryAdapter<Task, Long> adapter;
@@ -51,6 +57,39 @@ public class TotalBasedPagedLinksInformationTest extends AbstractQuerySpecTest {
 		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2&page[offset]=4", linksInformation.getNext());
 	}
 
+	@Test
+	public void testCursorPaging() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		querySpec.setPageAfter(Arrays.<Object>asList(0L));
+		querySpec.setLimit(2L);
+
+		JsonApiResponse response = adapter.findAll(new QuerySpecAdapter(querySpec, resourceRegistry));
+		List<Task> tasks = (List<Task>) response.getEntity();
+		Assert.assertEquals(2, tasks.size());
+		Assert.assertEquals(1L, tasks.get(0).getId().longValue());
+		Assert.assertEquals(2L, tasks.get(1).getId().longValue());
+
+		PagedLinksInformation linksInformation = (PagedLinksInformation) response.getLinksInformation();
+		Assert.assertEquals("http://127.0.0.1/tasks/?sort[tasks]=id&page[limit]=2&page[after]=", linksInformation.getFirst());
+		Assert.assertNull(linksInformation.getLast());
+		Assert.assertNull(linksInformation.getPrev());
+		Assert.assertEquals("http://127.0.0.1/tasks/?sort[tasks]=id&page[limit]=2&page[after]=2", linksInformation.getNext());
+	}
+
+	@Test
+	public void testCursorPagingLast() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("id"), Direction.ASC));
+		querySpec.setPageAfter(Arrays.<Object>asList(2L));
+		querySpec.setLimit(2L);
+
+		JsonApiResponse response = adapter.findAll(new QuerySpecAdapter(querySpec, resourceRegistry));
+		Assert.assertEquals(2, ((List<?>) response.getEntity()).size());
+		PagedLinksInformation linksInformation = (PagedLinksInformation) response.getLinksInformation();
+		Assert.assertNull(linksInformation.getNext());
+	}
+
 	@Test
 	public void testPagingNoContents() throws InstantiationException, IllegalAccessException {
 		TotalResourceCountTestRepository.clear();
@@ -7,6 +7,7 @@ import io.crnk.core.engine.registry.DefaultResourceRegistryPart;
 import io.crnk.core.engine.registry.RegistryEntry;
 import io.crnk.core.engine.registry.ResourceRegistry;
 import io.crnk.core.engine.url.ConstantServiceUrlProvider;
+import io.crnk.core.engine.url.ServiceUrlProvider;
 import io.crnk.core.exception.RepositoryNotFoundException;
 import io.crnk.core.mock.models.Task;
 import io.crnk.core.module.ModuleRegistry;
@@ -73,6 +74,24 @@ public class ResourceRegistryTest {
 		assertThat(resourceUrl).isEqualTo(TEST_MODELS_URL + "/tasks");
 	}
 
+	@Test
+	public void onChangingServiceUrlShouldReturnUrlOfCurrentRequest() {
+		final String[] serviceUrl = new String[1];
+		resourceRegistry = new ResourceRegistryImpl(new DefaultResourceRegistryPart(), moduleRegistry, new ServiceUrlProvider() {
+			@Override
+			public String getUrl() {
+				return serviceUrl[0];
+			}
+		});
+		RegistryEntry entry = resourceRegistry.addEntry(Task.class, newRegistryEntry(Task.class, "tasks"));
+		for (int i = 0; i < 40; i++) {
+			serviceUrl[0] = "http://host" + (i % 20) + "/";
+			assertThat(resourceRegistry.getResourceUrl(entry.getResourceInformation())).isEqualTo("http://host" + (i % 20) + "/tasks");
+			serviceUrl[0] = TEST_MODELS_URL;
+			assertThat(resourceRegistry.getResourceUrl(entry.getResourceInformation())).isEqualTo(TEST_MODELS_URL + "/tasks");
+		}
+	}
+
 	@Test
 	public void onNonExistingTypeShouldReturnNull() {
 		RegistryEntry entry = resourceRegistry.getEntry("nonExistingType");
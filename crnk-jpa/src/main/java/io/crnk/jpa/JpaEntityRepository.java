@@ -1,19 +1,24 @@
 package io.crnk.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import javax.persistence.EntityManager;
 
+import io.crnk.core.engine.internal.utils.ClassUtils;
 import io.crnk.core.queryspec.FilterOperator;
 import io.crnk.core.queryspec.FilterSpec;
+import io.crnk.core.queryspec.IncludeFieldSpec;
 import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
 import io.crnk.core.repository.ResourceRepositoryV2;
 import io.crnk.core.resource.list.ResourceList;
 import io.crnk.core.resource.meta.MetaInformation;
 import io.crnk.core.resource.meta.HasMoreResourcesMetaInformation;
 import io.crnk.core.resource.meta.PagedMetaInformation;
+import io.crnk.jpa.annotations.JpaMergeRelations;
 import io.crnk.jpa.internal.JpaRepositoryBase;
 import io.crnk.jpa.internal.JpaRepositoryUtils;
 import io.crnk.jpa.internal.JpaRequestContext;
@@ -25,6 +30,9 @@ import io.crnk.jpa.query.JpaQueryExecutor;
 import io.crnk.jpa.query.JpaQueryFactory;
 import io.crnk.jpa.query.Tuple;
 import io.crnk.meta.model.MetaAttribute;
+import io.crnk.meta.model.MetaCollectionType;
+import io.crnk.meta.model.MetaMapType;
+import io.crnk.meta.model.MetaType;
 
 /**
  * Exposes a JPA entity as ResourceRepository.
@@ -45,17 +53,41 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 	public final T findOne(I id, QuerySpec querySpec) {
 		QuerySpec idQuerySpec = querySpec.duplicate();
 		idQuerySpec.addFilter(new FilterSpec(Arrays.asList(primaryKeyAttr.getName()), FilterOperator.EQ, id));
+		// single resources are also fetched to be updated, which requires managed, fully populated entities
+		idQuerySpec.setIncludedFields(new ArrayList<IncludeFieldSpec>());
 		List<T> results = findAll(idQuerySpec);
 		return getUnique(results, id);
 	}
 
 	@Override
 	public final ResourceList<T> findAll(Iterable<I> ids, QuerySpec querySpec) {
+		List<I> idList = new ArrayList<>();
+		for (I id : ids) {
+			idList.add(id);
+		}
+		int idBatchSize = module.getIdBatchSize();
+		if (idBatchSize > 0 && idList.size() > idBatchSize && isBatchable(querySpec)) {
+			ResourceList<T> resources = repositoryConfig.newResultList();
+			for (int i = 0; i < idList.size(); i += idBatchSize) {
+				List<I> batchIds = idList.subList(i, Math.min(i + idBatchSize, idList.size()));
+				resources.addAll(findAll(batchIds, querySpec));
+			}
+			return resources;
+		}
+
 		QuerySpec idQuerySpec = querySpec.duplicate();
-		idQuerySpec.addFilter(new FilterSpec(Arrays.asList(primaryKeyAttr.getName()), FilterOperator.EQ, ids));
+		idQuerySpec.addFilter(new FilterSpec(Arrays.asList(primaryKeyAttr.getName()), FilterOperator.EQ, idList));
 		return findAll(idQuerySpec);
 	}
 
+	/**
+	 * Results of multiple statements can only be concatenated if they are neither sorted nor paged.
+	 */
+	private static boolean isBatchable(QuerySpec querySpec) {
+		return querySpec.getLimit() == null && querySpec.getOffset() == 0 && querySpec.getSort().isEmpty()
+				&& querySpec.getPageAfter() == null;
+	}
+
 	@Override
 	public ResourceList<T> findAll(QuerySpec querySpec) {
 		Class<?> entityClass = repositoryConfig.getEntityClass();
@@ -68,6 +100,13 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		Set<String> computedAttrs = computedAttributesRegistry.getForType(entityClass);
 
 		JpaRepositoryUtils.prepareQuery(query, filteredQuerySpec, computedAttrs);
+		List<MetaAttribute> projectedAttrs = getProjectedAttributes(filteredQuerySpec);
+		if (projectedAttrs != null) {
+			query.setEntitySelected(false);
+			for (MetaAttribute projectedAttr : projectedAttrs) {
+				query.addSelection(Arrays.asList(projectedAttr.getName()));
+			}
+		}
 		query = filterQuery(filteredQuerySpec, query);
 		JpaQueryExecutor<?> executor = query.buildExecutor();
 
@@ -83,6 +122,7 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		executor = filterExecutor(filteredQuerySpec, executor);
 
 		List<Tuple> tuples = executor.getResultTuples();
+		int resultCount = tuples.size();
 
 		Boolean hasNext = null;
 		if (fetchNext) {
@@ -92,6 +132,9 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 			}
 		}
 
+		if (projectedAttrs != null) {
+			tuples = toEntityTuples(tuples, projectedAttrs);
+		}
 		tuples = filterTuples(filteredQuerySpec, tuples);
 
 		ResourceList<T> resources = repositoryConfig.newResultList();
@@ -99,7 +142,7 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		fillResourceList(tuples, resources);
 		resources = filterResults(filteredQuerySpec, resources);
 		if (fetchTotal) {
-			long totalRowCount = executor.getTotalRowCount();
+			long totalRowCount = getTotalRowCount(executor, filteredQuerySpec, resultCount);
 			((PagedMetaInformation) metaInfo).setTotalResourceCount(totalRowCount);
 		}
 		if (fetchNext) {
@@ -110,6 +153,110 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 	}
 
 
+	/**
+	 * Sparse field sets are selected as columns rather than entities if the repository maps entities one-to-one and all
+	 * requested fields and sort attributes are basic attributes of the entity. Relations fetched along with the entities,
+	 * due to {@link JpaMergeRelations} or by a {@link JpaRepositoryFilter#filterExecutor}, require selecting entities.
+	 *
+	 * @return attributes to select or null if full entities must be selected
+	 */
+	private List<MetaAttribute> getProjectedAttributes(QuerySpec querySpec) {
+		if (!repositoryConfig.isFieldProjectionEnabled() || querySpec.getIncludedFields().isEmpty()
+				|| !querySpec.getIncludedRelations().isEmpty()
+				|| repositoryConfig.getResourceClass() != repositoryConfig.getEntityClass()
+				|| !meta.getSubTypes().isEmpty()
+				|| repositoryConfig.getResourceClass().isAnnotationPresent(JpaMergeRelations.class) || isFiltered()) {
+			return null;
+		}
+		List<List<String>> paths = new ArrayList<>();
+		paths.add(Arrays.asList(primaryKeyAttr.getName()));
+		for (IncludeFieldSpec includedField : querySpec.getIncludedFields()) {
+			paths.add(includedField.getAttributePath());
+		}
+		for (SortSpec sortSpec : querySpec.getSort()) {
+			// cursors of next links are taken from the sort attributes of the last resource
+			paths.add(sortSpec.getAttributePath());
+		}
+
+		List<MetaAttribute> attrs = new ArrayList<>();
+		for (List<String> path : paths) {
+			if (path.size() != 1 || !meta.hasAttribute(path.get(0))) {
+				return null;
+			}
+			MetaAttribute attr = meta.getAttribute(path.get(0));
+			MetaType type = attr.getType();
+			if (attr.isAssociation() || attr.isDerived() || type instanceof MetaCollectionType
+					|| type instanceof MetaMapType) {
+				return null;
+			}
+			if (!attrs.contains(attr)) {
+				attrs.add(attr);
+			}
+		}
+		return attrs;
+	}
+
+	/**
+	 * Populates new entity instances with the projected attributes, the entity takes the place of the first tuple
+	 * element as if it had been selected.
+	 */
+	private List<Tuple> toEntityTuples(List<Tuple> tuples, List<MetaAttribute> projectedAttrs) {
+		Class<?> entityClass = repositoryConfig.getEntityClass();
+		List<Tuple> entityTuples = new ArrayList<>(tuples.size());
+		for (Tuple tuple : tuples) {
+			Object entity = ClassUtils.newInstance(entityClass);
+			for (MetaAttribute projectedAttr : projectedAttrs) {
+				projectedAttr.setValue(entity, tuple.get(projectedAttr.getName(), Object.class));
+			}
+			entityTuples.add(new EntityTuple(entity, tuple));
+		}
+		return entityTuples;
+	}
+
+	private static class EntityTuple implements Tuple {
+
+		private Object entity;
+
+		private Tuple tuple;
+
+		private int numEntriesToIgnore = 0;
+
+		public EntityTuple(Object entity, Tuple tuple) {
+			this.entity = entity;
+			this.tuple = tuple;
+		}
+
+		@Override
+		public <E> E get(String name, Class<E> clazz) {
+			return tuple.get(name, clazz);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <E> E get(int index, Class<E> clazz) {
+			int tupleIndex = index + numEntriesToIgnore;
+			return tupleIndex == 0 ? (E) entity : tuple.get(tupleIndex - 1, clazz);
+		}
+
+		@Override
+		public void reduce(int numEntriesToIgnore) {
+			this.numEntriesToIgnore = numEntriesToIgnore;
+		}
+	}
+
+	/**
+	 * Derives the total from the page if it is not full. Otherwise the {@link JpaRepositoryConfig#getCountStrategy()}
+	 * determines it.
+	 */
+	private long getTotalRowCount(JpaQueryExecutor<?> executor, QuerySpec querySpec, int resultCount) {
+		Long limit = querySpec.getLimit();
+		long offset = querySpec.getOffset();
+		if ((limit == null || resultCount < limit) && (resultCount > 0 || offset == 0)) {
+			return offset + resultCount;
+		}
+		return repositoryConfig.getCountStrategy().count(executor, querySpec, resultCount, isFiltered());
+	}
+
 	@Override
 	public <S extends T> S create(S resource) {
 		return saveInternal(resource);
@@ -129,6 +276,7 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		// save since reads do a detach
 		EntityManager em = module.getEntityManager();
 		em.persist(entity);
+		repositoryConfig.getCountStrategy().invalidate(repositoryConfig.getEntityClass());
 		I id = (I) em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
 
 		// fetch again since we may have to fetch tuple data and do DTO mapping
@@ -146,6 +294,7 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		Object object = em.find(repositoryConfig.getEntityClass(), id);
 		if (object != null) {
 			em.remove(object);
+			repositoryConfig.getCountStrategy().invalidate(repositoryConfig.getEntityClass());
 		}
 	}
 
@@ -5,6 +5,8 @@ import io.crnk.core.engine.error.ExceptionMapper;
 import io.crnk.core.engine.filter.AbstractDocumentFilter;
 import io.crnk.core.engine.filter.DocumentFilterChain;
 import io.crnk.core.engine.filter.DocumentFilterContext;
+import io.crnk.core.engine.http.RequestThreadBound;
+import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.core.engine.information.resource.ResourceInformationBuilder;
 import io.crnk.core.engine.internal.utils.PreconditionUtil;
 import io.crnk.core.engine.transaction.TransactionRunner;
@@ -18,6 +20,7 @@ import io.crnk.core.repository.decorate.ResourceRepositoryDecorator;
 import io.crnk.core.resource.meta.DefaultHasMoreResourcesMetaInformation;
 import io.crnk.core.resource.meta.DefaultPagedMetaInformation;
 import io.crnk.jpa.internal.*;
+import io.crnk.jpa.internal.query.QueryFilterBuilder;
 import io.crnk.jpa.internal.query.backend.querydsl.QuerydslQueryImpl;
 import io.crnk.jpa.mapping.JpaMapper;
 import io.crnk.jpa.meta.JpaMetaProvider;
@@ -79,7 +82,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * requests on the relations where necessary.</li>
  * </ul>
  */
-public class JpaModule implements Module {
+public class JpaModule implements Module, RequestThreadBound {
 
 	private static final String MODULE_NAME = "jpa";
 	private Logger logger = LoggerFactory.getLogger(JpaModule.class);
@@ -112,6 +115,16 @@ public class JpaModule implements Module {
 
 	private boolean totalResourceCountUsed = true;
 
+	private boolean directJoinTableMutationsEnabled = false;
+
+	private int maxInListSize = QueryFilterBuilder.DEFAULT_MAX_IN_LIST_SIZE;
+
+	private boolean inListPaddingEnabled = false;
+
+	private int idBatchSize = 0;
+
+	private int queryShapeCacheSize = 0;
+
 	/**
 	 * Constructor used on client side.
 	 */
@@ -223,6 +236,15 @@ public class JpaModule implements Module {
 		return Collections.unmodifiableSet(repositoryConfigurationMap.keySet());
 	}
 
+	/**
+	 * Repositories of this module work with the persistence context and transaction of the request thread. Their entities
+	 * must neither be loaded by a different EntityManager nor be detached before all inclusions are merged.
+	 */
+	@Override
+	public boolean isRequestThreadBound(ResourceInformation resourceInformation) {
+		return repositoryConfigurationMap.containsKey(resourceInformation.getResourceClass());
+	}
+
 	/**
 	 * Adds the resource to this module.
 	 *
@@ -337,7 +359,13 @@ public class JpaModule implements Module {
 
 					@Override
 					public Response call() throws Exception {
-						return chain.doFilter(context);
+						Response response = chain.doFilter(context);
+						if (response != null && response.getDocument() != null) {
+							// attributes deferred for streaming are written after the transaction, unless not loaded yet
+							DeferredAttributeUtils.serializeUnloadedAttributes(response.getDocument(),
+									JpaModule.this.context.getObjectMapper());
+						}
+						return response;
 					}
 				});
 			}
@@ -503,6 +531,16 @@ public class JpaModule implements Module {
 			QuerydslQueryFactory querydslFactory = (QuerydslQueryFactory) queryFactory;
 			querydslFactory.addInterceptor(new JpaQuerydslTranslationInterceptor());
 		}
+		applyQuerySettings();
+	}
+
+	private void applyQuerySettings() {
+		if (queryFactory instanceof JpaQueryFactoryBase) {
+			JpaQueryFactoryBase queryFactoryBase = (JpaQueryFactoryBase) queryFactory;
+			queryFactoryBase.setMaxInListSize(maxInListSize);
+			queryFactoryBase.setInListPaddingEnabled(inListPaddingEnabled);
+			queryFactoryBase.setShapeCacheSize(queryShapeCacheSize);
+		}
 	}
 
 	/**
@@ -552,6 +590,91 @@ public class JpaModule implements Module {
 		this.totalResourceCountUsed = totalResourceCountUsed;
 	}
 
+	public boolean isDirectJoinTableMutationsEnabled() {
+		return directJoinTableMutationsEnabled;
+	}
+
+	/**
+	 * Adding and removing relations of a many-to-many field normally loads the owning collection and the targets. If
+	 * enabled, fields mapped with a {@link javax.persistence.JoinTable} naming its table and its single join and inverse
+	 * join column are instead updated with plain inserts and deletes on the join table, as long as the collection has
+	 * not been loaded yet. Already loaded collections on the opposite side are not updated. Disabled by default.
+	 *
+	 * @param directJoinTableMutationsEnabled
+	 */
+	public void setDirectJoinTableMutationsEnabled(boolean directJoinTableMutationsEnabled) {
+		this.directJoinTableMutationsEnabled = directJoinTableMutationsEnabled;
+	}
+
+	public int getMaxInListSize() {
+		return maxInListSize;
+	}
+
+	/**
+	 * Filter values with more elements are split into multiple IN lists, since databases limit the number of elements
+	 * of an IN list (e.g. Oracle to 1000). Default is 900.
+	 *
+	 * @param maxInListSize
+	 */
+	public void setMaxInListSize(int maxInListSize) {
+		PreconditionUtil.assertTrue("maxInListSize must be positive", maxInListSize > 0);
+		this.maxInListSize = maxInListSize;
+		applyQuerySettings();
+	}
+
+	public boolean isInListPaddingEnabled() {
+		return inListPaddingEnabled;
+	}
+
+	/**
+	 * Every distinct number of IN list elements makes up a distinct SQL statement, which has to be parsed and planned
+	 * by the database and cached by the JDBC driver and the JPA provider. If enabled, IN lists of filter values and
+	 * parent ids are padded to the next power of two by repeating their last element, limiting the number of distinct
+	 * statements to a few. Disabled by default.
+	 *
+	 * @param inListPaddingEnabled
+	 */
+	public void setInListPaddingEnabled(boolean inListPaddingEnabled) {
+		this.inListPaddingEnabled = inListPaddingEnabled;
+		applyQuerySettings();
+	}
+
+	public int getIdBatchSize() {
+		return idBatchSize;
+	}
+
+	/**
+	 * Lookups by many ids, such as fetching the targets of relationships or inclusions of many sources, are split into
+	 * multiple statements with at most the given number of ids each. Statements are executed one after the other
+	 * within the current transaction. Only unsorted and unpaged lookups of resources are split, relationship lookups
+	 * are sorted and paged per source and can always be split. Zero, the default, disables splitting.
+	 *
+	 * @param idBatchSize
+	 */
+	public void setIdBatchSize(int idBatchSize) {
+		PreconditionUtil.assertTrue("idBatchSize must not be negative", idBatchSize >= 0);
+		this.idBatchSize = idBatchSize;
+	}
+
+	public int getQueryShapeCacheSize() {
+		return queryShapeCacheSize;
+	}
+
+	/**
+	 * Building a query from a {@link QuerySpec} and translating it to SQL takes time. If enabled, the built criteria
+	 * queries are cached by their shape, i.e. by everything but the filter values, which are then just bound as
+	 * parameters. Queries of resources accepted by a {@link JpaRepositoryFilter} are not cached, since filters may
+	 * customize them per request. QueryDSL queries are not cached, their translation may be customized by
+	 * {@link QuerydslRepositoryFilter}s. Zero, the default, disables the cache.
+	 *
+	 * @param queryShapeCacheSize maximum number of cached query shapes
+	 */
+	public void setQueryShapeCacheSize(int queryShapeCacheSize) {
+		PreconditionUtil.assertTrue("queryShapeCacheSize must not be negative", queryShapeCacheSize >= 0);
+		this.queryShapeCacheSize = queryShapeCacheSize;
+		applyQuerySettings();
+	}
+
 	/**
 	 * @param resourceClass
 	 * @return true if a resource for the given resourceClass is managed by
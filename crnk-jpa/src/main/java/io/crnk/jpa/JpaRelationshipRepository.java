@@ -4,13 +4,26 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.persistence.EntityManager;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+import javax.persistence.Persistence;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
 
 import io.crnk.core.engine.internal.utils.MultivaluedMap;
 import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
 import io.crnk.core.repository.BulkRelationshipRepositoryV2;
 import io.crnk.core.repository.RelationshipRepositoryV2;
 import io.crnk.core.resource.list.DefaultResourceList;
@@ -18,18 +31,24 @@ import io.crnk.core.resource.list.ResourceList;
 import io.crnk.core.resource.meta.MetaInformation;
 import io.crnk.core.resource.meta.HasMoreResourcesMetaInformation;
 import io.crnk.core.resource.meta.PagedMetaInformation;
+import io.crnk.jpa.internal.HibernateBatchUtils;
 import io.crnk.jpa.internal.JpaRepositoryBase;
 import io.crnk.jpa.internal.JpaRepositoryUtils;
 import io.crnk.jpa.internal.JpaRequestContext;
 import io.crnk.jpa.mapping.IdentityMapper;
 import io.crnk.jpa.mapping.JpaMapper;
 import io.crnk.jpa.meta.MetaEntity;
+import io.crnk.jpa.query.AnyTypeObject;
 import io.crnk.jpa.query.ComputedAttributeRegistry;
 import io.crnk.jpa.query.JpaQuery;
 import io.crnk.jpa.query.JpaQueryExecutor;
 import io.crnk.jpa.query.JpaQueryFactory;
 import io.crnk.jpa.query.Tuple;
 import io.crnk.meta.model.MetaAttribute;
+import io.crnk.meta.model.MetaAttributePath;
+import io.crnk.meta.model.MetaDataObject;
+import io.crnk.meta.model.MetaMapType;
+import io.crnk.meta.model.MetaPrimaryKey;
 import io.crnk.meta.model.MetaType;
 
 public class JpaRelationshipRepository<S, I extends Serializable, T, J extends Serializable> extends JpaRepositoryBase<T>
@@ -74,9 +93,20 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		Class<?> targetType = getElementType(attrMeta);
 
 		Object sourceEntity = sourceMapper.unmap(source);
+		invalidateCounts();
 
 		EntityManager em = module.getEntityManager();
-		Object target = targetId != null ? em.find(targetType, targetId) : null;
+		Object target;
+		if (targetId == null) {
+			target = null;
+		}
+		else if (oppositeAttrMeta != null) {
+			target = em.find(targetType, targetId);
+		}
+		else {
+			// only the foreign key is written, no need to load the target
+			target = em.getReference(targetType, targetId);
+		}
 		attrMeta.setValue(sourceEntity, target);
 
 		if (target != null && oppositeAttrMeta != null) {
@@ -86,7 +116,6 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 			else {
 				oppositeAttrMeta.setValue(target, sourceEntity);
 			}
-			em.persist(target);
 		}
 	}
 
@@ -97,15 +126,18 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		Class<?> targetType = getElementType(attrMeta);
 
 		Object sourceEntity = sourceMapper.unmap(source);
+		invalidateCounts();
 
-		EntityManager em = module.getEntityManager();
-		Collection<Object> targets = attrMeta.getType().asCollection().newInstance();
-		for (J targetId : targetIds) {
-
-			Object target = em.find(targetType, targetId);
-			targets.add(target);
+		JoinTableMapping joinTable = getDirectJoinTable(attrMeta, sourceEntity);
+		if (joinTable != null) {
+			joinTable.deleteAll(sourceEntity);
+			joinTable.insert(sourceEntity, toDistinctList(targetIds));
+			return;
 		}
 
+		Collection<Object> targets = attrMeta.getType().asCollection().newInstance();
+		targets.addAll(getTargets(targetType, targetIds, oppositeAttrMeta != null));
+
 		// detach current
 		if (oppositeAttrMeta != null) {
 			Collection<?> col = (Collection<?>) attrMeta.getValue(sourceEntity);
@@ -123,20 +155,30 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		}
 
 		// attach new targets
-		for (Object target : targets) {
-			if (oppositeAttrMeta != null) {
+		if (oppositeAttrMeta != null) {
+			for (Object target : targets) {
 				if (oppositeAttrMeta.getType().isCollection()) {
 					oppositeAttrMeta.addValue(target, sourceEntity);
 				}
 				else {
 					oppositeAttrMeta.setValue(target, sourceEntity);
 				}
-				em.persist(target);
 			}
 		}
 		attrMeta.setValue(sourceEntity, targets);
 	}
 
+	/**
+	 * Relationship updates change the results of filters on relationships of both the source and the target entities.
+	 */
+	private void invalidateCounts() {
+		JpaRepositoryConfig<S> sourceConfig = module.getRepositoryConfig(sourceResourceClass);
+		if (sourceConfig != null) {
+			sourceConfig.getCountStrategy().invalidate(sourceEntityClass);
+		}
+		repositoryConfig.getCountStrategy().invalidate(repositoryConfig.getEntityClass());
+	}
+
 	private Class<?> getElementType(MetaAttribute attrMeta) {
 		MetaType type = attrMeta.getType();
 		if (type.isCollection()) {
@@ -154,10 +196,18 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		Class<?> targetType = getElementType(attrMeta);
 
 		Object sourceEntity = sourceMapper.unmap(source);
+		invalidateCounts();
+
+		JoinTableMapping joinTable = getDirectJoinTable(attrMeta, sourceEntity);
+		if (joinTable != null) {
+			List<Object> newTargetIds = toDistinctList(targetIds);
+			newTargetIds.removeAll(joinTable.findTargetIds(sourceEntity, newTargetIds));
+			joinTable.insert(sourceEntity, newTargetIds);
+			return;
+		}
 
 		EntityManager em = module.getEntityManager();
-		for (J targetId : targetIds) {
-			Object target = em.find(targetType, targetId);
+		for (Object target : getTargets(targetType, targetIds, oppositeAttrMeta != null)) {
 			attrMeta.addValue(sourceEntity, target);
 
 			if (oppositeAttrMeta != null) {
@@ -167,7 +217,6 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 				else {
 					oppositeAttrMeta.setValue(target, sourceEntity);
 				}
-				em.persist(target);
 			}
 		}
 		em.persist(sourceEntity);
@@ -180,13 +229,18 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		Class<?> targetType = getElementType(attrMeta);
 
 		Object sourceEntity = sourceMapper.unmap(source);
+		invalidateCounts();
 
-		EntityManager em = module.getEntityManager();
-		for (J targetId : targetIds) {
-			Object target = em.find(targetType, targetId);
+		JoinTableMapping joinTable = getDirectJoinTable(attrMeta, sourceEntity);
+		if (joinTable != null) {
+			joinTable.delete(sourceEntity, toDistinctList(targetIds));
+			return;
+		}
+
+		for (Object target : getTargets(targetType, targetIds, oppositeAttrMeta != null)) {
 			attrMeta.removeValue(sourceEntity, target);
 
-			if (target != null && oppositeAttrMeta != null) {
+			if (oppositeAttrMeta != null) {
 				if (oppositeAttrMeta.getType().isCollection()) {
 					oppositeAttrMeta.removeValue(target, sourceEntity);
 				}
@@ -197,6 +251,225 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		}
 	}
 
+	/**
+	 * @param load whether the targets are needed, for example to update the opposite side. Otherwise only references are
+	 *             obtained.
+	 * @return the targets in the order of the given ids, skipping those that do not exist
+	 */
+	private List<Object> getTargets(Class<?> targetType, Iterable<J> targetIds, boolean load) {
+		EntityManager em = module.getEntityManager();
+		List<Object> distinctIds = toDistinctList(targetIds);
+		List<Object> targets = new ArrayList<>(distinctIds.size());
+		if (!load) {
+			for (Object targetId : distinctIds) {
+				targets.add(em.getReference(targetType, targetId));
+			}
+			return targets;
+		}
+
+		MetaAttribute primaryKeyAttr = getPrimaryKeyAttribute(targetType);
+		if (primaryKeyAttr == null || distinctIds.size() == 1) {
+			for (Object targetId : distinctIds) {
+				Object target = em.find(targetType, targetId);
+				if (target != null) {
+					targets.add(target);
+				}
+			}
+			return targets;
+		}
+
+		// load the targets with one query per IN list
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		Map<Object, Object> targetMap = new HashMap<>();
+		for (List<Object> chunk : toChunks(distinctIds)) {
+			CriteriaQuery<Object> query = builder.createQuery();
+			Root<?> root = query.from(targetType);
+			query.select(root);
+			query.where(root.get(primaryKeyAttr.getName()).in(chunk));
+			for (Object target : em.createQuery(query).getResultList()) {
+				targetMap.put(primaryKeyAttr.getValue(target), target);
+			}
+		}
+		for (Object targetId : distinctIds) {
+			Object target = targetMap.get(targetId);
+			if (target != null) {
+				targets.add(target);
+			}
+		}
+		return targets;
+	}
+
+	/**
+	 * @return single, non-embedded primary key attribute of the given entity or null
+	 */
+	private MetaAttribute getPrimaryKeyAttribute(Class<?> entityClass) {
+		MetaEntity meta = module.getJpaMetaLookup().getMeta(entityClass, MetaEntity.class);
+		MetaPrimaryKey primaryKey = meta.getPrimaryKey();
+		if (primaryKey == null || primaryKey.getElements().size() != 1) {
+			return null;
+		}
+		MetaAttribute primaryKeyAttr = primaryKey.getUniqueElement();
+		return primaryKeyAttr.getType() instanceof MetaDataObject ? null : primaryKeyAttr;
+	}
+
+	/**
+	 * @return the given ids split into lists of at most {@link JpaModule#getMaxInListSize()} elements
+	 */
+	private List<List<Object>> toChunks(List<Object> ids) {
+		int maxInListSize = module.getMaxInListSize();
+		List<List<Object>> chunks = new ArrayList<>();
+		for (int i = 0; i < ids.size(); i += maxInListSize) {
+			chunks.add(ids.subList(i, Math.min(i + maxInListSize, ids.size())));
+		}
+		return chunks;
+	}
+
+	private static List<Object> toDistinctList(Iterable<?> ids) {
+		Set<Object> distinctIds = new LinkedHashSet<>();
+		for (Object id : ids) {
+			distinctIds.add(id);
+		}
+		return new ArrayList<>(distinctIds);
+	}
+
+	/**
+	 * @return the join table to update directly or null if the relationship must be updated through the entities
+	 * @see JpaModule#setDirectJoinTableMutationsEnabled(boolean)
+	 */
+	private JoinTableMapping getDirectJoinTable(MetaAttribute attrMeta, Object sourceEntity) {
+		if (!module.isDirectJoinTableMutationsEnabled()) {
+			return null;
+		}
+		ManyToMany manyToMany = attrMeta.getAnnotation(ManyToMany.class);
+		JoinTable joinTable = attrMeta.getAnnotation(JoinTable.class);
+		if (manyToMany == null || !manyToMany.mappedBy().isEmpty() || joinTable == null || joinTable.name().isEmpty()
+				|| joinTable.joinColumns().length != 1 || joinTable.inverseJoinColumns().length != 1
+				|| joinTable.joinColumns()[0].name().isEmpty() || joinTable.inverseJoinColumns()[0].name().isEmpty()) {
+			return null;
+		}
+		MetaAttribute sourcePrimaryKeyAttr = getPrimaryKeyAttribute(sourceEntityClass);
+		if (sourcePrimaryKeyAttr == null || getPrimaryKeyAttribute(getElementType(attrMeta)) == null) {
+			return null;
+		}
+		if (Persistence.getPersistenceUtil().isLoaded(sourceEntity, attrMeta.getName())) {
+			// already paid for loading the collection, keep it consistent
+			return null;
+		}
+		return new JoinTableMapping(joinTable, sourcePrimaryKeyAttr);
+	}
+
+	/**
+	 * Inserts and deletes rows of a many-to-many join table with native statements. Pending changes are flushed once
+	 * before the first statement, IN lists are split according to {@link JpaModule#getMaxInListSize()}. Rows are
+	 * inserted with a single-row statement, sent as JDBC batches of the same size when running on Hibernate.
+	 */
+	private final class JoinTableMapping {
+
+		private final String table;
+
+		private final String sourceColumn;
+
+		private final String targetColumn;
+
+		private final MetaAttribute sourcePrimaryKeyAttr;
+
+		private boolean flushed;
+
+		JoinTableMapping(JoinTable joinTable, MetaAttribute sourcePrimaryKeyAttr) {
+			this.table = joinTable.schema().isEmpty() ? joinTable.name() : joinTable.schema() + "." + joinTable.name();
+			this.sourceColumn = joinTable.joinColumns()[0].name();
+			this.targetColumn = joinTable.inverseJoinColumns()[0].name();
+			this.sourcePrimaryKeyAttr = sourcePrimaryKeyAttr;
+		}
+
+		List<Object> findTargetIds(Object sourceEntity, List<Object> targetIds) {
+			if (targetIds.isEmpty()) {
+				return targetIds;
+			}
+			Set<String> existingIds = new HashSet<>();
+			for (List<Object> chunk : toChunks(targetIds)) {
+				Query query = createQuery(
+						"SELECT " + targetColumn + " FROM " + table + " WHERE " + sourceColumn + " = ?1 AND " + targetColumn
+								+ " IN (" + toPlaceholders(chunk.size()) + ")", sourceEntity, chunk);
+				for (Object existingId : query.getResultList()) {
+					existingIds.add(existingId.toString());
+				}
+			}
+			List<Object> result = new ArrayList<>();
+			for (Object targetId : targetIds) {
+				if (existingIds.contains(targetId.toString())) {
+					result.add(targetId);
+				}
+			}
+			return result;
+		}
+
+		void insert(Object sourceEntity, List<Object> targetIds) {
+			if (targetIds.isEmpty()) {
+				return;
+			}
+			String sql = "INSERT INTO " + table + " (" + sourceColumn + ", " + targetColumn + ") VALUES ";
+			EntityManager em = module.getEntityManager();
+			if (HibernateBatchUtils.isAvailable(em)) {
+				flush(em);
+				Object sourceId = sourcePrimaryKeyAttr.getValue(sourceEntity);
+				List<List<Object>> rows = new ArrayList<>(targetIds.size());
+				for (Object targetId : targetIds) {
+					rows.add(Arrays.asList(sourceId, targetId));
+				}
+				HibernateBatchUtils.executeBatch(em, sql + "(?, ?)", rows, module.getMaxInListSize());
+			}
+			else {
+				// multi-row inserts are not portable, fall back to one statement per row
+				for (Object targetId : targetIds) {
+					createQuery(sql + "(?1, ?2)", sourceEntity, Collections.singletonList(targetId)).executeUpdate();
+				}
+			}
+		}
+
+		void delete(Object sourceEntity, List<Object> targetIds) {
+			for (List<Object> chunk : toChunks(targetIds)) {
+				createQuery("DELETE FROM " + table + " WHERE " + sourceColumn + " = ?1 AND " + targetColumn + " IN ("
+						+ toPlaceholders(chunk.size()) + ")", sourceEntity, chunk).executeUpdate();
+			}
+		}
+
+		void deleteAll(Object sourceEntity) {
+			createQuery("DELETE FROM " + table + " WHERE " + sourceColumn + " = ?1", sourceEntity,
+					Collections.emptyList()).executeUpdate();
+		}
+
+		private Query createQuery(String sql, Object sourceEntity, List<Object> targetIds) {
+			EntityManager em = module.getEntityManager();
+			flush(em);
+			Query query = em.createNativeQuery(sql);
+			query.setParameter(1, sourcePrimaryKeyAttr.getValue(sourceEntity));
+			for (int i = 0; i < targetIds.size(); i++) {
+				query.setParameter(i + 2, targetIds.get(i));
+			}
+			return query;
+		}
+
+		private void flush(EntityManager em) {
+			if (!flushed) {
+				// native statements bypass the persistence context, the entities they refer to must be written first
+				em.flush();
+				flushed = true;
+			}
+		}
+
+		private String toPlaceholders(int count) {
+			StringBuilder builder = new StringBuilder();
+			for (int i = 0; i < count; i++) {
+				if (i > 0) {
+					builder.append(", ");
+				}
+				builder.append('?').append(i + 2);
+			}
+			return builder.toString();
+		}
+	}
+
 	@Override
 	public MultivaluedMap<I, T> findTargets(Iterable<I> sourceIds, String fieldName, QuerySpec querySpec) {
 		List<I> sourceIdLists = new ArrayList<>();
@@ -204,14 +477,30 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 			sourceIdLists.add(sourceId);
 		}
 
-		if (querySpec.getLimit() != null && sourceIdLists.size() > 1) {
-			throw new UnsupportedOperationException("page limit not supported for bulk inclusions");
+		// sorting and paging apply per source, batches of sources can be fetched independently
+		int idBatchSize = module.getIdBatchSize();
+		if (idBatchSize > 0 && sourceIdLists.size() > idBatchSize) {
+			MultivaluedMap<I, T> map = new MultivaluedMap<>();
+			for (int i = 0; i < sourceIdLists.size(); i += idBatchSize) {
+				List<I> batchIds = sourceIdLists.subList(i, Math.min(i + idBatchSize, sourceIdLists.size()));
+				MultivaluedMap<I, T> batchMap = findTargets(batchIds, fieldName, querySpec);
+				for (I sourceId : batchMap.keySet()) {
+					map.set(sourceId, batchMap.getList(sourceId));
+				}
+			}
+			return map;
 		}
-		// support paging for non-bulk requests
+
+		// paging applies per source, paged bulk requests are bounded per source within a single query
+		boolean pagedBulkRequest = sourceIdLists.size() > 1 && (querySpec.getLimit() != null || querySpec.getOffset() != 0);
 		boolean pagedSingleRequest = sourceIdLists.size() == 1 && querySpec.getLimit() != null;
-		boolean fetchNext = pagedSingleRequest && isNextFetched(querySpec);
+		boolean fetchNext = (pagedSingleRequest || pagedBulkRequest) && isNextFetched(querySpec);
 
 		QuerySpec bulkQuerySpec = querySpec.duplicate();
+		if (pagedBulkRequest) {
+			bulkQuerySpec.setOffset(0);
+			bulkQuerySpec.setLimit(null);
+		}
 
 		QuerySpec filteredQuerySpec = filterQuerySpec(bulkQuerySpec);
 
@@ -227,17 +516,27 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 		JpaRepositoryUtils.prepareQuery(query, filteredQuerySpec, computedAttrs);
 
+		boolean fetchBulkTotal = pagedBulkRequest && isTotalFetched(querySpec);
+		boolean windowed = pagedBulkRequest && isRankable(filteredQuerySpec, computedAttrs);
+		if (windowed) {
+			int limit = querySpec.getLimit() != null ? querySpec.getLimit().intValue() + (fetchNext ? 1 : 0) : -1;
+			query.setParentWindow((int) querySpec.getOffset(), limit);
+			if (fetchBulkTotal) {
+				query.addParentTotalSelection();
+			}
+		}
+
 		JpaQueryExecutor<?> executor = query.buildExecutor();
 		JpaRepositoryUtils.prepareExecutor(executor, filteredQuerySpec, fetchRelations(fieldName));
 		executor = filterExecutor(filteredQuerySpec, executor);
-		if (fetchNext) {
+		if (pagedSingleRequest && fetchNext) {
 			executor.setLimit(executor.getLimit() + 1);
 		}
 
 
 		List<Tuple> tuples = executor.getResultTuples();
 		Boolean hasNext = null;
-		if (fetchNext) {
+		if (pagedSingleRequest && fetchNext) {
 			hasNext = tuples.size() == querySpec.getLimit() + 1;
 			if (hasNext) {
 				tuples = tuples.subList(0, querySpec.getLimit().intValue());
@@ -246,9 +545,15 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 		tuples = filterTuples(bulkQuerySpec, tuples);
 
-		MultivaluedMap<I, T> map = mapTuples(tuples);
+		if (pagedBulkRequest) {
+			Map<I, Long> totals = new HashMap<>();
+			MultivaluedMap<I, T> map = mapTuples(tuples, windowed && fetchBulkTotal ? totals : null);
+			return pagePerSource(map, totals, querySpec, windowed, fetchBulkTotal, fetchNext);
+		}
+
+		MultivaluedMap<I, T> map = mapTuples(tuples, null);
 
-		if (pagedSingleRequest) {
+		if (pagedSingleRequest && map.containsKey(sourceIdLists.get(0))) {
 			I sourceId = sourceIdLists.get(0);
 			ResourceList<T> iterable = (ResourceList<T>) map.getList(sourceId);
 
@@ -266,8 +571,70 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		return map;
 	}
 
+	/**
+	 * Sort attributes of the targets must be total and must not be null to rank the targets of each source within the
+	 * query, see {@link JpaQuery#setParentWindow(int, int)}. Other bulk requests are paged in memory.
+	 */
+	private boolean isRankable(QuerySpec querySpec, Set<String> computedAttrs) {
+		MetaEntity targetMeta = module.getJpaMetaLookup().getMeta(repositoryConfig.getEntityClass(), MetaEntity.class);
+		if (targetMeta.getPrimaryKey() == null) {
+			return false;
+		}
+		for (SortSpec sortSpec : querySpec.getSort()) {
+			List<String> attributePath = sortSpec.getAttributePath();
+			if (computedAttrs.contains(attributePath.get(0))) {
+				return false;
+			}
+			MetaAttributePath path = targetMeta.resolvePath(attributePath);
+			for (MetaAttribute attr : path) {
+				MetaType type = attr.getType();
+				if (attr.isNullable() || type.isCollection() || type instanceof MetaMapType
+						|| AnyTypeObject.class.isAssignableFrom(type.getImplementationClass())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param totals of the sources if selected by the query, see {@link JpaQuery#addParentTotalSelection()}
+	 * @param windowed whether the targets are already bounded per source by the query
+	 */
+	private MultivaluedMap<I, T> pagePerSource(MultivaluedMap<I, T> map, Map<I, Long> totals, QuerySpec querySpec,
+			boolean windowed, boolean fetchTotal, boolean fetchNext) {
+		int offset = windowed ? 0 : (int) querySpec.getOffset();
+		Long limit = querySpec.getLimit();
+
+		MultivaluedMap<I, T> pagedMap = new MultivaluedMap<>();
+		for (I sourceId : map.keySet()) {
+			List<T> targets = map.getList(sourceId);
+			int fromIndex = Math.min(offset, targets.size());
+			int toIndex = limit != null ? (int) Math.min(fromIndex + limit, targets.size()) : targets.size();
+			if (fromIndex == toIndex) {
+				continue;
+			}
+			ResourceList<T> page = repositoryConfig.newResultList();
+			page.addAll(targets.subList(fromIndex, toIndex));
+
+			MetaInformation metaInfo = page.getMeta();
+			if (fetchTotal) {
+				long total = windowed ? totals.get(sourceId) : targets.size();
+				((PagedMetaInformation) metaInfo).setTotalResourceCount(total);
+			}
+			if (fetchNext) {
+				((HasMoreResourcesMetaInformation) metaInfo).setHasMoreResources(toIndex < targets.size());
+			}
+			pagedMap.set(sourceId, page);
+		}
+		return pagedMap;
+	}
+
+	/**
+	 * @param totals to add the selected total of each source to or null if not selected
+	 */
 	@SuppressWarnings("unchecked")
-	private MultivaluedMap<I, T> mapTuples(List<Tuple> tuples) {
+	private MultivaluedMap<I, T> mapTuples(List<Tuple> tuples, Map<I, Long> totals) {
 		MultivaluedMap<I, T> map = new MultivaluedMap<I, T>() {
 
 			@Override
@@ -278,6 +645,9 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		for (Tuple tuple : tuples) {
 			I sourceId = (I) tuple.get(0, Object.class);
 			tuple.reduce(1);
+			if (totals != null) {
+				totals.put(sourceId, tuple.get(JpaQuery.PARENT_TOTAL_SELECTION, Number.class).longValue());
+			}
 			JpaMapper<Object, T> mapper = repositoryConfig.getMapper();
 			map.add(sourceId, mapper.map(tuple));
 		}
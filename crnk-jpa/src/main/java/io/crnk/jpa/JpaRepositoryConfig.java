@@ -18,6 +18,8 @@ import io.crnk.core.resource.meta.DefaultPagedMetaInformation;
 import io.crnk.core.resource.meta.MetaInformation;
 import io.crnk.jpa.mapping.IdentityMapper;
 import io.crnk.jpa.mapping.JpaMapper;
+import io.crnk.jpa.query.ExactCountStrategy;
+import io.crnk.jpa.query.JpaCountStrategy;
 import net.jodah.typetools.TypeResolver;
 
 /**
@@ -41,6 +43,10 @@ public class JpaRepositoryConfig<T> {
 
 	private Map<Class<?>, RelationshipRepositoryDecorator<T, ?, ?, ?>> relationshipRepositoriesDecorators;
 
+	private JpaCountStrategy countStrategy;
+
+	private boolean fieldProjectionEnabled;
+
 	private JpaRepositoryConfig() {
 	}
 
@@ -103,6 +109,14 @@ public class JpaRepositoryConfig<T> {
 		return listLinksClass;
 	}
 
+	public JpaCountStrategy getCountStrategy() {
+		return countStrategy;
+	}
+
+	public boolean isFieldProjectionEnabled() {
+		return fieldProjectionEnabled;
+	}
+
 	@SuppressWarnings("unchecked")
 	public <E> JpaMapper<E, T> getMapper() {
 		return (JpaMapper<E, T>) mapper;
@@ -170,6 +184,10 @@ public class JpaRepositoryConfig<T> {
 
 		private Map<Class<?>, RelationshipRepositoryDecorator<T, ?, ?, ?>> relationshipRepositoryDecorators = new HashMap<>();
 
+		private JpaCountStrategy countStrategy = new ExactCountStrategy();
+
+		private boolean fieldProjectionEnabled = true;
+
 		public JpaRepositoryConfig<T> build() {
 			JpaRepositoryConfig<T> config = new JpaRepositoryConfig<>();
 			config.entityClass = entityClass;
@@ -180,6 +198,8 @@ public class JpaRepositoryConfig<T> {
 			config.listLinksClass = listLinksClass;
 			config.resourceRepositoryDecorator = resourceRepositoryDecorator;
 			config.relationshipRepositoriesDecorators = relationshipRepositoryDecorators;
+			config.countStrategy = countStrategy;
+			config.fieldProjectionEnabled = fieldProjectionEnabled;
 			return config;
 		}
 
@@ -237,6 +257,29 @@ public class JpaRepositoryConfig<T> {
 			return this;
 		}
 
+		/**
+		 * @param countStrategy to determine the total resource count of paged requests, {@link ExactCountStrategy} by
+		 *                      default
+		 * @return this builder
+		 */
+		public Builder<T> setCountStrategy(JpaCountStrategy countStrategy) {
+			this.countStrategy = countStrategy;
+			return this;
+		}
+
+		/**
+		 * @param fieldProjectionEnabled to select only the requested fields of sparse field sets rather than entire
+		 *                               entities, enabled by default. Resources then are partially populated entity
+		 *                               instances not managed by the entity manager. Disable it for entities that depend
+		 *                               on being loaded entirely, such as those with lifecycle callbacks or getters
+		 *                               computed from other attributes.
+		 * @return this builder
+		 */
+		public Builder<T> setFieldProjectionEnabled(boolean fieldProjectionEnabled) {
+			this.fieldProjectionEnabled = fieldProjectionEnabled;
+			return this;
+		}
+
 		/**
 		 * Sets a decorator that allows to intercept all requests to the actual document.
 		 *
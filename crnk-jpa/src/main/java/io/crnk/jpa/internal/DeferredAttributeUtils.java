@@ -0,0 +1,56 @@
+package io.crnk.jpa.internal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Persistence;
+import javax.persistence.PersistenceUtil;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+import io.crnk.core.engine.document.Document;
+import io.crnk.core.engine.document.Resource;
+
+/**
+ * Attribute values deferred by {@link io.crnk.core.boot.CrnkProperties#SERIALIZATION_STREAMING_ENABLED} are serialized
+ * once the response is written, after the transaction has ended. Values the persistence context has not loaded yet are
+ * serialized beforehand, all others stay deferred.
+ */
+public class DeferredAttributeUtils {
+
+	private DeferredAttributeUtils() {
+	}
+
+	public static void serializeUnloadedAttributes(Document document, ObjectMapper objectMapper) {
+		if (document.getData() != null && document.getData().isPresent()) {
+			Object data = document.getData().get();
+			for (Object element : data instanceof List ? (List<?>) data : Collections.singletonList(data)) {
+				// relationship requests return identifiers only
+				if (element instanceof Resource) {
+					serializeUnloadedAttributes((Resource) element, objectMapper);
+				}
+			}
+		}
+		if (document.getIncluded() != null) {
+			for (Resource resource : document.getIncluded()) {
+				serializeUnloadedAttributes(resource, objectMapper);
+			}
+		}
+	}
+
+	private static void serializeUnloadedAttributes(Resource resource, ObjectMapper objectMapper) {
+		PersistenceUtil persistenceUtil = null;
+		for (Map.Entry<String, JsonNode> entry : resource.getAttributes().entrySet()) {
+			if (entry.getValue() instanceof POJONode) {
+				Object value = ((POJONode) entry.getValue()).getPojo();
+				if (persistenceUtil == null) {
+					persistenceUtil = Persistence.getPersistenceUtil();
+				}
+				if (value != null && !persistenceUtil.isLoaded(value)) {
+					entry.setValue(objectMapper.valueToTree(value));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package io.crnk.jpa.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+import io.crnk.core.engine.internal.utils.ClassUtils;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+
+/**
+ * Executes native statements as JDBC batches on the connection of a Hibernate session. Only makes use of Hibernate
+ * classes if {@link #isAvailable(EntityManager)} holds.
+ */
+public class HibernateBatchUtils {
+
+	private static final boolean HIBERNATE_PRESENT = ClassUtils.existsClass("org.hibernate.Session");
+
+	private HibernateBatchUtils() {
+	}
+
+	/**
+	 * @return true if the given entity manager is backed by a Hibernate session
+	 */
+	public static boolean isAvailable(EntityManager em) {
+		if (!HIBERNATE_PRESENT) {
+			return false;
+		}
+		try {
+			return em.unwrap(Session.class) != null;
+		}
+		catch (PersistenceException e) { // NOSONAR
+			// other JPA provider
+			return false;
+		}
+	}
+
+	/**
+	 * Executes the given statement once for each row of parameters.
+	 *
+	 * @param sql       statement with positional <code>?</code> parameters
+	 * @param rows      parameters of each execution
+	 * @param batchSize maximum number of rows sent to the database at once
+	 */
+	public static void executeBatch(EntityManager em, final String sql, final List<List<Object>> rows,
+			final int batchSize) {
+		em.unwrap(Session.class).doWork(new Work() {
+
+			@Override
+			public void execute(Connection connection) throws SQLException {
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					int batchedRows = 0;
+					for (List<Object> row : rows) {
+						for (int i = 0; i < row.size(); i++) {
+							statement.setObject(i + 1, row.get(i));
+						}
+						statement.addBatch();
+						if (++batchedRows == batchSize) {
+							statement.executeBatch();
+							batchedRows = 0;
+						}
+					}
+					if (batchedRows > 0) {
+						statement.executeBatch();
+					}
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,34 @@
+package io.crnk.jpa.internal;
+
+import javax.persistence.PersistenceException;
+import javax.persistence.Query;
+
+import io.crnk.core.engine.internal.utils.ClassUtils;
+
+/**
+ * Obtains the JPQL rendered by Hibernate for criteria queries. Only makes use of Hibernate classes if Hibernate is
+ * present.
+ */
+public class HibernateQueryUtils {
+
+	private static final boolean HIBERNATE_PRESENT = ClassUtils.existsClass("org.hibernate.query.Query");
+
+	private HibernateQueryUtils() {
+	}
+
+	/**
+	 * @return JPQL of the given query or null if not created by Hibernate
+	 */
+	public static String getQueryString(Query query) {
+		if (!HIBERNATE_PRESENT) {
+			return null;
+		}
+		try {
+			return query.unwrap(org.hibernate.query.Query.class).getQueryString();
+		}
+		catch (PersistenceException e) { // NOSONAR
+			// other JPA provider
+			return null;
+		}
+	}
+}
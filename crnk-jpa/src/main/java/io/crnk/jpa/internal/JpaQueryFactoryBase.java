@@ -1,6 +1,9 @@
 package io.crnk.jpa.internal;
 
+import io.crnk.jpa.internal.query.AbstractJpaQueryImpl;
 import io.crnk.jpa.internal.query.ComputedAttributeRegistryImpl;
+import io.crnk.jpa.internal.query.QueryFilterBuilder;
+import io.crnk.jpa.internal.query.QueryShapeCache;
 import io.crnk.jpa.query.ComputedAttributeRegistry;
 import io.crnk.jpa.query.JpaQueryFactory;
 import io.crnk.jpa.query.JpaQueryFactoryContext;
@@ -16,6 +19,11 @@ public abstract class JpaQueryFactoryBase implements JpaQueryFactory {
 
 	protected MetaLookup metaLookup;
 
+	private int maxInListSize = QueryFilterBuilder.DEFAULT_MAX_IN_LIST_SIZE;
+
+	private boolean inListPaddingEnabled;
+
+	private QueryShapeCache shapeCache;
 
 	@Override
 	public void initalize(JpaQueryFactoryContext context) {
@@ -31,4 +39,44 @@ public abstract class JpaQueryFactoryBase implements JpaQueryFactory {
 	public ComputedAttributeRegistry getComputedAttributes() {
 		return computedAttrs;
 	}
+
+	public int getMaxInListSize() {
+		return maxInListSize;
+	}
+
+	/**
+	 * @param maxInListSize maximum number of values of an IN list, larger lists are split into multiple IN lists.
+	 */
+	public void setMaxInListSize(int maxInListSize) {
+		this.maxInListSize = maxInListSize;
+	}
+
+	public boolean isInListPaddingEnabled() {
+		return inListPaddingEnabled;
+	}
+
+	/**
+	 * @param inListPaddingEnabled to pad IN lists to the next power of two by repeating the last value.
+	 */
+	public void setInListPaddingEnabled(boolean inListPaddingEnabled) {
+		this.inListPaddingEnabled = inListPaddingEnabled;
+	}
+
+	public QueryShapeCache getShapeCache() {
+		return shapeCache;
+	}
+
+	/**
+	 * @param shapeCacheSize maximum number of query shapes to cache built queries for, zero to disable caching.
+	 */
+	public void setShapeCacheSize(int shapeCacheSize) {
+		this.shapeCache = shapeCacheSize > 0 ? new QueryShapeCache(shapeCacheSize) : null;
+	}
+
+	protected <Q extends AbstractJpaQueryImpl<?, ?>> Q configure(Q query) {
+		query.setMaxInListSize(maxInListSize);
+		query.setInListPaddingEnabled(inListPaddingEnabled);
+		query.setShapeCache(shapeCache);
+		return query;
+	}
 }
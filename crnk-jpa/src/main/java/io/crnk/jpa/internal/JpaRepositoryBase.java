@@ -10,6 +10,7 @@ import io.crnk.core.resource.meta.PagedMetaInformation;
 import io.crnk.jpa.JpaModule;
 import io.crnk.jpa.JpaRepositoryConfig;
 import io.crnk.jpa.JpaRepositoryFilter;
+import io.crnk.jpa.internal.query.AbstractJpaQueryImpl;
 import io.crnk.jpa.mapping.JpaMapper;
 import io.crnk.jpa.query.JpaQuery;
 import io.crnk.jpa.query.JpaQueryExecutor;
@@ -62,6 +63,18 @@ public abstract class JpaRepositoryBase<T> {
 		return false;
 	}
 
+	/**
+	 * @return true if a {@link JpaRepositoryFilter} applies to this repository
+	 */
+	protected boolean isFiltered() {
+		for (JpaRepositoryFilter filter : module.getFilters()) {
+			if (filter.accept(repositoryConfig.getResourceClass())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	protected QuerySpec filterQuerySpec(QuerySpec querySpec) {
 		QuerySpec filteredQuerySpec = querySpec;
 		for (JpaRepositoryFilter filter : module.getFilters()) {
@@ -76,6 +89,10 @@ public abstract class JpaRepositoryBase<T> {
 		JpaQuery<E> filteredQuery = query;
 		for (JpaRepositoryFilter filter : module.getFilters()) {
 			if (filter.accept(repositoryConfig.getResourceClass())) {
+				// filters may customize queries and executors beyond their shape
+				if (filteredQuery instanceof AbstractJpaQueryImpl) {
+					((AbstractJpaQueryImpl<?, ?>) filteredQuery).setShapeCacheEnabled(false);
+				}
 				filteredQuery = filter.filterQuery(this, querySpec, filteredQuery);
 			}
 		}
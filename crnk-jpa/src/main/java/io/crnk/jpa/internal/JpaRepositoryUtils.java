@@ -42,13 +42,14 @@ public class JpaRepositoryUtils {
 		for (FilterSpec filter : querySpec.getFilters()) {
 			query.addFilter(filter);
 		}
+		FilterSpec pageAfterFilter = querySpec.getPageAfterFilter();
+		if (pageAfterFilter != null) {
+			// seek predicate of cursor-based paging
+			query.addFilter(pageAfterFilter);
+		}
 		for (SortSpec sortSpec : querySpec.getSort()) {
 			query.addSortBy(sortSpec);
 		}
-		if (!querySpec.getIncludedFields().isEmpty()) {
-			throw new UnsupportedOperationException("includeFields not yet supported");
-		}
-
 	}
 
 	public static void prepareExecutor(JpaQueryExecutor<?> executor, QuerySpec querySpec, boolean includeRelations) {
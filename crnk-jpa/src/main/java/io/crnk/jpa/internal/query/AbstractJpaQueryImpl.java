@@ -44,10 +44,26 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 
 	protected boolean parentIdSelection;
 
+	protected boolean parentTotalSelection;
+
+	protected int parentOffset;
+
+	protected int parentLimit = -1;
+
+	protected boolean entitySelected = true;
+
 	private ComputedAttributeRegistryImpl computedAttrs;
 
 	private Object privateData;
 
+	private int maxInListSize = QueryFilterBuilder.DEFAULT_MAX_IN_LIST_SIZE;
+
+	private boolean inListPaddingEnabled;
+
+	private QueryShapeCache shapeCache;
+
+	private boolean shapeCacheEnabled = true;
+
 	protected AbstractJpaQueryImpl(MetaLookup metaLookup, EntityManager em, Class<T> clazz,
 								   ComputedAttributeRegistryImpl computedAttrs) {
 		this.em = em;
@@ -83,16 +99,95 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 		this.privateData = privateData;
 	}
 
+	public int getMaxInListSize() {
+		return maxInListSize;
+	}
+
+	public void setMaxInListSize(int maxInListSize) {
+		this.maxInListSize = maxInListSize;
+	}
+
+	public boolean isInListPaddingEnabled() {
+		return inListPaddingEnabled;
+	}
+
+	public void setInListPaddingEnabled(boolean inListPaddingEnabled) {
+		this.inListPaddingEnabled = inListPaddingEnabled;
+	}
+
+	/**
+	 * @return cache to reuse queries of the same shape or null if disabled.
+	 */
+	public QueryShapeCache getShapeCache() {
+		return shapeCacheEnabled ? shapeCache : null;
+	}
+
+	public void setShapeCache(QueryShapeCache shapeCache) {
+		this.shapeCache = shapeCache;
+	}
+
+	/**
+	 * @param shapeCacheEnabled false to always build this query, e.g. because a filter customizes it for the current
+	 *                          request.
+	 */
+	public void setShapeCacheEnabled(boolean shapeCacheEnabled) {
+		this.shapeCacheEnabled = shapeCacheEnabled;
+	}
+
 	@Override
 	public void addParentIdSelection() {
 		this.parentIdSelection = true;
 	}
 
+	@Override
+	public JpaQuery<T> setParentWindow(int offset, int limit) {
+		if (parentAttr == null) {
+			throw new IllegalStateException("window only supported for the parents of relationship queries");
+		}
+		this.parentOffset = offset;
+		this.parentLimit = limit;
+		return this;
+	}
+
+	public boolean hasParentWindow() {
+		return parentOffset > 0 || parentLimit >= 0;
+	}
+
+	public int getParentOffset() {
+		return parentOffset;
+	}
+
+	public int getParentLimit() {
+		return parentLimit;
+	}
+
+	@Override
+	public void addParentTotalSelection() {
+		if (parentAttr == null) {
+			throw new IllegalStateException("total only supported for the parents of relationship queries");
+		}
+		this.parentTotalSelection = true;
+	}
+
+	public boolean isParentTotalSelected() {
+		return parentTotalSelection;
+	}
+
 	@Override
 	public void addSelection(List<String> path) {
 		includedFields.add(new IncludeFieldSpec(path));
 	}
 
+	@Override
+	public JpaQuery<T> setEntitySelected(boolean entitySelected) {
+		this.entitySelected = entitySelected;
+		return this;
+	}
+
+	public boolean isEntitySelected() {
+		return entitySelected;
+	}
+
 	@Override
 	public JpaQuery<T> setEnsureTotalOrder(boolean ensureTotalOrder) {
 		this.ensureTotalOrder = ensureTotalOrder;
@@ -206,6 +301,9 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 
 	@SuppressWarnings({"unchecked", "hiding"})
 	public <T> List<T> getParentIds() {
+		if (inListPaddingEnabled) {
+			return (List<T>) QueryFilterBuilder.padInList(parentIds, maxInListSize);
+		}
 		return (List<T>) parentIds;
 	}
 
@@ -213,6 +311,97 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 		return filterSpecs;
 	}
 
+	/**
+	 * @return filters with split and padded IN lists, see {@link QueryFilterBuilder#prepareFilterSpecs(List, int, boolean)}
+	 */
+	public List<FilterSpec> getPreparedFilterSpecs() {
+		return QueryFilterBuilder.prepareFilterSpecs(filterSpecs, maxInListSize, inListPaddingEnabled);
+	}
+
+	/**
+	 * Computes the shape of this query, i.e. everything that determines the built query except for the filter values,
+	 * parent ids and parent window. Those are collected instead in the order they are bound by the built query: the
+	 * filter values of the parent total, the filter values, the parent ids and the filter values and bounds of the parent
+	 * window.
+	 *
+	 * @param values to add the filter values and parent ids to
+	 * @return shape usable as key of a {@link QueryShapeCache}
+	 */
+	public Object getShape(List<Object> values) {
+		List<Object> shape = new ArrayList<>();
+		shape.add(getClass());
+		shape.add(clazz);
+		shape.add(parentAttr);
+		shape.add(parentIdSelection);
+		shape.add(entitySelected);
+		shape.add(new ArrayList<>(sortSpecs));
+		shape.add(new ArrayList<>(includedFields));
+		shape.add(new HashMap<>(joinTypes));
+		shape.add(defaultJoinType);
+		shape.add(Arrays.asList(autoDistinct, distinct, autoGroupBy, ensureTotalOrder));
+		shape.add(Arrays.asList(parentTotalSelection, parentOffset > 0, parentLimit >= 0));
+		List<FilterSpec> preparedFilterSpecs = getPreparedFilterSpecs();
+		if (parentTotalSelection) {
+			addFilterValues(preparedFilterSpecs, values);
+		}
+		for (FilterSpec filterSpec : preparedFilterSpecs) {
+			shape.add(getShape(filterSpec, values));
+		}
+		if (parentAttr != null) {
+			List<?> paddedParentIds = getParentIds();
+			shape.add(getValueShape(paddedParentIds));
+			values.addAll(paddedParentIds);
+		}
+		if (hasParentWindow()) {
+			addFilterValues(preparedFilterSpecs, values);
+			if (parentOffset > 0) {
+				values.add((long) parentOffset);
+			}
+			if (parentLimit >= 0) {
+				values.add((long) parentOffset + parentLimit);
+			}
+		}
+		return shape;
+	}
+
+	private static void addFilterValues(List<FilterSpec> filterSpecs, List<Object> values) {
+		for (FilterSpec filterSpec : filterSpecs) {
+			getShape(filterSpec, values);
+		}
+	}
+
+	private static Object getShape(FilterSpec filterSpec, List<Object> values) {
+		if (filterSpec.hasExpressions()) {
+			List<Object> shape = new ArrayList<>();
+			shape.add(filterSpec.getOperator());
+			for (FilterSpec expression : filterSpec.getExpression()) {
+				shape.add(getShape(expression, values));
+			}
+			return shape;
+		}
+
+		Object value = filterSpec.getValue();
+		if (value instanceof List) {
+			values.addAll((List<?>) value);
+		} else if (value != null && filterSpec.getOperator() == FilterOperator.LIKE) {
+			values.add(value.toString().toLowerCase());
+		} else if (value != null) {
+			values.add(value);
+		}
+		return Arrays.asList(filterSpec.getAttributePath(), filterSpec.getOperator(), getValueShape(value));
+	}
+
+	private static Object getValueShape(Object value) {
+		if (value instanceof List) {
+			List<Class<?>> elementClasses = new ArrayList<>();
+			for (Object element : (List<?>) value) {
+				elementClasses.add(element != null ? element.getClass() : null);
+			}
+			return elementClasses;
+		}
+		return value != null ? value.getClass() : null;
+	}
+
 	public MetaAttribute getParentAttr() {
 		return parentAttr;
 	}
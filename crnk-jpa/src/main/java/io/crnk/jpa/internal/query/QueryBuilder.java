@@ -5,9 +5,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
+import io.crnk.core.queryspec.Direction;
+import io.crnk.core.queryspec.FilterOperator;
 import io.crnk.core.queryspec.FilterSpec;
 import io.crnk.core.queryspec.IncludeFieldSpec;
+import io.crnk.core.queryspec.SortSpec;
 import io.crnk.jpa.internal.query.backend.JpaQueryBackend;
+import io.crnk.jpa.query.JpaQuery;
 import io.crnk.meta.model.MetaAttribute;
 import io.crnk.meta.model.MetaAttributeFinder;
 import io.crnk.meta.model.MetaAttributePath;
@@ -76,7 +81,8 @@ public class QueryBuilder<T, F, O, P, E> {
 
 		Map<String, Integer> selectionBindings = new HashMap<>();
 
-		int index = 1;
+		// tuples start with the entity if selected
+		int index = query.isEntitySelected() ? 1 : 0;
 
 		List<IncludeFieldSpec> includedFields = query.getIncludedFields();
 		for (IncludeFieldSpec includedField : includedFields) {
@@ -86,6 +92,14 @@ public class QueryBuilder<T, F, O, P, E> {
 			backend.addSelection(attr, path.toString());
 			selectionBindings.put(path.toString(), index++);
 		}
+
+		if (query.isParentTotalSelected()) {
+			// number of results of the parent of each result, i.e. the total of each parent if paged with a parent window
+			backend.beginParentSubquery();
+			applyFilterPredicates();
+			backend.addSelection(backend.endParentSubquery(), JpaQuery.PARENT_TOTAL_SELECTION);
+			selectionBindings.put(JpaQuery.PARENT_TOTAL_SELECTION, index++);
+		}
 		return selectionBindings;
 	}
 
@@ -111,14 +125,7 @@ public class QueryBuilder<T, F, O, P, E> {
 	}
 
 	protected void applyFilterSpec() {
-		QueryFilterBuilder<P, F> predicateBuilder = new QueryFilterBuilder<>(backend, attributeFinder);
-
-		MetaDataObject meta = query.getMeta();
-		List<FilterSpec> filters = query.getFilterSpecs();
-		List<P> predicates = predicateBuilder.filterSpecListToPredicateArray(meta, backend.getRoot(), filters);
-		if (predicates != null && !predicates.isEmpty()) {
-			backend.addPredicate(backend.and(predicates));
-		}
+		applyFilterPredicates();
 
 		MetaAttribute parentAttr = query.getParentAttr();
 		if (parentAttr != null) {
@@ -130,6 +137,79 @@ public class QueryBuilder<T, F, O, P, E> {
 			MetaAttribute primaryKeyAttr = primaryKey.getUniqueElement();
 
 			backend.addParentPredicate(primaryKeyAttr);
+
+			if (query.hasParentWindow()) {
+				applyParentWindow();
+			}
+		}
+	}
+
+	private void applyFilterPredicates() {
+		QueryFilterBuilder<P, F> predicateBuilder = new QueryFilterBuilder<>(backend, attributeFinder);
+
+		MetaDataObject meta = query.getMeta();
+		List<FilterSpec> filters = query.getPreparedFilterSpecs();
+		List<P> predicates = predicateBuilder.filterSpecListToPredicateArray(meta, backend.getRoot(), filters);
+		if (predicates != null && !predicates.isEmpty()) {
+			backend.addPredicate(backend.and(predicates));
+		}
+	}
+
+	/**
+	 * Restricts the results of each parent to the requested window by ranking each result with the number of
+	 * results of the same parent preceding it in sort order. Unlike a window function, this works with any database
+	 * supporting correlated subqueries. The sort order must be total and must not involve null values.
+	 */
+	private void applyParentWindow() {
+		List<MetaAttributePath> sortPaths = new ArrayList<>();
+		List<Direction> sortDirections = new ArrayList<>();
+		MetaDataObject meta = query.getMeta();
+		List<SortSpec> sortSpecs = query.getSortSpecs();
+		for (SortSpec sortSpec : sortSpecs) {
+			MetaAttributePath path = meta.resolvePath(sortSpec.getAttributePath(), attributeFinder);
+			for (MetaAttributePath sortPath : QuerySortBuilder.expandAnyType(path)) {
+				sortPaths.add(sortPath);
+				sortDirections.add(sortSpec.getDirection());
+			}
+		}
+		if (!QueryUtil.hasTotalOrder(meta, sortSpecs)) {
+			MetaKey primaryKey = meta.getPrimaryKey();
+			PreconditionUtil.assertNotNull("primary key not found for " + meta.getId(), primaryKey);
+			for (MetaAttribute primaryKeyElem : primaryKey.getElements()) {
+				sortPaths.add(new MetaAttributePath(primaryKeyElem));
+				sortDirections.add(Direction.ASC);
+			}
+		}
+
+		List<E> outerExpressions = new ArrayList<>();
+		for (MetaAttributePath sortPath : sortPaths) {
+			outerExpressions.add(backend.getAttribute(sortPath));
+		}
+
+		backend.beginParentSubquery();
+		applyFilterPredicates();
+		List<P> precedingPredicates = new ArrayList<>();
+		List<P> equalPredicates = new ArrayList<>();
+		for (int i = 0; i < sortPaths.size(); i++) {
+			E innerExpression = backend.getAttribute(sortPaths.get(i));
+			E outerExpression = outerExpressions.get(i);
+			FilterOperator operator = sortDirections.get(i) == Direction.DESC ? FilterOperator.GT : FilterOperator.LT;
+
+			List<P> precedingPredicate = new ArrayList<>(equalPredicates);
+			precedingPredicate.add(backend.buildComparison(operator, innerExpression, outerExpression));
+			precedingPredicates.add(backend.and(precedingPredicate));
+			equalPredicates.add(backend.buildComparison(FilterOperator.EQ, innerExpression, outerExpression));
+		}
+		backend.addPredicate(backend.or(precedingPredicates));
+		E rank = backend.endParentSubquery();
+
+		int offset = query.getParentOffset();
+		int limit = query.getParentLimit();
+		if (offset > 0) {
+			backend.addPredicate(backend.buildPredicate(FilterOperator.GE, rank, (long) offset));
+		}
+		if (limit >= 0) {
+			backend.addPredicate(backend.buildPredicate(FilterOperator.LT, rank, (long) offset + limit));
 		}
 	}
 
@@ -19,7 +19,10 @@ import io.crnk.meta.model.MetaType;
 
 public final class QueryFilterBuilder<P, F> {
 
-	private static final int PARAM_LIMIT_FOR_ORACLE = 900;
+	/**
+	 * Default maximum number of values of an IN list. Oracle is limited to 1000.
+	 */
+	public static final int DEFAULT_MAX_IN_LIST_SIZE = 900;
 
 	private MetaAttributeFinder attributeFinder;
 
@@ -31,6 +34,91 @@ public final class QueryFilterBuilder<P, F> {
 		this.attributeFinder = attributeFinder;
 	}
 
+	/**
+	 * Converts set values to lists, splits IN lists with more than maxInListSize values and pads them if enabled.
+	 *
+	 * @param filterSpecs          to prepare
+	 * @param maxInListSize        maximum number of values of an IN list
+	 * @param inListPaddingEnabled to pad IN lists with {@link #padInList(List, int)}
+	 * @return prepared filters to build predicates from
+	 */
+	public static List<FilterSpec> prepareFilterSpecs(List<FilterSpec> filterSpecs, int maxInListSize,
+													  boolean inListPaddingEnabled) {
+		List<FilterSpec> preparedSpecs = new ArrayList<>();
+		for (FilterSpec filterSpec : filterSpecs) {
+			preparedSpecs.add(prepareFilterSpec(filterSpec, maxInListSize, inListPaddingEnabled));
+		}
+		return preparedSpecs;
+	}
+
+	private static FilterSpec prepareFilterSpec(FilterSpec fs, int maxInListSize, boolean inListPaddingEnabled) {
+		if (fs.hasExpressions()) {
+			List<FilterSpec> expressions = prepareFilterSpecs(fs.getExpression(), maxInListSize, inListPaddingEnabled);
+			return new FilterSpec(fs.getOperator(), expressions);
+		}
+
+		Object value = fs.getValue();
+		boolean equals = fs.getOperator() == FilterOperator.EQ || fs.getOperator() == FilterOperator.NEQ;
+		if (equals && value instanceof Collection && ((Collection<?>) value).size() > maxInListSize) {
+			return splitLargeValueSets(fs, maxInListSize, inListPaddingEnabled);
+		}
+		if (value instanceof Set) {
+			// HashSet not properly supported in ORM/JDBC, convert to
+			// list
+			Set<?> set = (Set<?>) value;
+			value = new ArrayList<Object>(set);
+		}
+		if (inListPaddingEnabled && equals && value instanceof List) {
+			value = padInList((List<?>) value, maxInListSize);
+		}
+		if (value == fs.getValue()) {
+			return fs;
+		}
+		return new FilterSpec(fs.getAttributePath(), fs.getOperator(), value);
+	}
+
+	private static FilterSpec splitLargeValueSets(FilterSpec filterSpec, int maxInListSize, boolean inListPaddingEnabled) {
+		// Split filter values with two many elements. Oracle is limited to 1000.
+		ArrayList<FilterSpec> filterSpecs = new ArrayList<>();
+		List<?> list = new ArrayList<>((Collection<?>) filterSpec.getValue());
+		for (int i = 0; i < list.size(); i += maxInListSize) {
+			int nextOffset = i + Math.min(list.size() - i, maxInListSize);
+			List<?> batchList = list.subList(i, nextOffset);
+			FilterSpec batchSpec = new FilterSpec(filterSpec.getAttributePath(), filterSpec.getOperator(), batchList);
+			filterSpecs.add(prepareFilterSpec(batchSpec, maxInListSize, inListPaddingEnabled));
+		}
+
+		// a value must not be in any of the batches for NEQ
+		boolean neq = filterSpec.getOperator() == FilterOperator.NEQ;
+		return neq ? FilterSpec.and(filterSpecs) : FilterSpec.or(filterSpecs);
+	}
+
+	/**
+	 * Pads the values of an IN list to the next power of two, but not beyond maxSize, by repeating the last value. Lists of
+	 * varying sizes then share a small number of statement shapes, which databases and JDBC drivers can cache.
+	 *
+	 * @param values  of the IN list
+	 * @param maxSize maximum number of values of an IN list
+	 * @return padded list of values
+	 */
+	public static List<?> padInList(List<?> values, int maxSize) {
+		int size = values.size();
+		if (size <= 1 || size >= maxSize) {
+			return values;
+		}
+		int paddedSize = Math.min(Integer.highestOneBit(size - 1) << 1, maxSize);
+		if (paddedSize == size) {
+			return values;
+		}
+		List<Object> paddedValues = new ArrayList<Object>(paddedSize);
+		paddedValues.addAll(values);
+		Object last = values.get(size - 1);
+		while (paddedValues.size() < paddedSize) {
+			paddedValues.add(last);
+		}
+		return paddedValues;
+	}
+
 	public List<P> filterSpecListToPredicateArray(MetaDataObject rootMeta, F root, List<FilterSpec> rowFilters) {
 		return filterSpecListToPredicateArray(rootMeta, root, rowFilters, null);
 	}
@@ -45,41 +133,15 @@ public final class QueryFilterBuilder<P, F> {
 	}
 
 	protected P filterSpecListToPredicate(MetaDataObject rootMeta, F root, FilterSpec fs, JoinType defaultPredicateJoinType) {
-		if ((fs.getOperator() == FilterOperator.EQ || fs.getOperator() == FilterOperator.NEQ)
-				&& fs.getValue() instanceof Collection && ((Collection<?>) fs.getValue()).size() > PARAM_LIMIT_FOR_ORACLE) {
-
-			return filterLargeValueSets(fs, rootMeta, root, defaultPredicateJoinType);
+		if (fs.hasExpressions()) {
+			return filterExpressions(fs, rootMeta, root, defaultPredicateJoinType);
 		} else {
-			if (fs.hasExpressions()) {
-				return filterExpressions(fs, rootMeta, root, defaultPredicateJoinType);
-			} else {
-				return filterSimpleOperation(fs, rootMeta);
-			}
-		}
-	}
-
-	private P filterLargeValueSets(FilterSpec filterSpec, MetaDataObject rootMeta, F root, JoinType defaultPredicateJoinType) {
-		// Split filter values with two many elements. Oracle is limited to 1000.
-		ArrayList<FilterSpec> filterSpecs = new ArrayList<>();
-		List<?> list = new ArrayList<>((Collection<?>) filterSpec.getValue());
-		for (int i = 0; i < list.size(); i += PARAM_LIMIT_FOR_ORACLE) {
-			int nextOffset = i + Math.min(list.size() - i, PARAM_LIMIT_FOR_ORACLE);
-			List<?> batchList = list.subList(i, nextOffset);
-			filterSpecs.add(new FilterSpec(filterSpec.getAttributePath(), filterSpec.getOperator(), batchList));
+			return filterSimpleOperation(fs, rootMeta);
 		}
-
-		FilterSpec orSpec = FilterSpec.or(filterSpecs);
-		return filterSpecListToPredicate(rootMeta, root, orSpec, defaultPredicateJoinType);
 	}
 
 	private P filterSimpleOperation(FilterSpec fs, MetaDataObject rootMeta) {
 		Object value = fs.getValue();
-		if (value instanceof Set) {
-			// HashSet not properly supported in ORM/JDBC, convert to
-			// list
-			Set<?> set = (Set<?>) value;
-			value = new ArrayList<Object>(set);
-		}
 		MetaAttributePath path = rootMeta.resolvePath(fs.getAttributePath(), attributeFinder);
 		path = enhanceAttributePath(path, value);
 		return backend.buildPredicate(fs.getOperator(), path, value);
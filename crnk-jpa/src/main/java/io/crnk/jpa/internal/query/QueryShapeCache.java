@@ -0,0 +1,40 @@
+package io.crnk.jpa.internal.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
+
+/**
+ * Holds queries built for a given query shape, i.e. for the same attribute paths, operators, sorting and selections
+ * but different filter values. The least recently used queries are evicted first.
+ */
+public class QueryShapeCache {
+
+	private final Map<Object, Object> cache;
+
+	public QueryShapeCache(final int maxSize) {
+		PreconditionUtil.assertTrue("maxSize must be positive", maxSize > 0);
+		this.cache = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public synchronized Object get(Object shape) {
+		return cache.get(shape);
+	}
+
+	public synchronized void put(Object shape, Object query) {
+		cache.put(shape, query);
+	}
+
+	public synchronized int size() {
+		return cache.size();
+	}
+}
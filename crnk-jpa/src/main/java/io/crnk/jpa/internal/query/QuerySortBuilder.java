@@ -52,9 +52,21 @@ public class QuerySortBuilder<T, E, O> {
 
 	private List<O> sortSpecToOrder(SortSpec sortSpec) {
 		List<O> orders = new ArrayList<>();
+		MetaAttributePath path = query.getMeta().resolvePath(sortSpec.getAttributePath(), attributeFinder);
+		for (MetaAttributePath sortPath : expandAnyType(path)) {
+			E expr = backend.getAttribute(sortPath);
+			orders.add(backend.newSort(expr, sortSpec.getDirection()));
+		}
+		return orders;
+	}
+
+	/**
+	 * @return paths to sort by for the given sorted path, i.e. the path itself or all attributes of an AnyType.
+	 */
+	protected static List<MetaAttributePath> expandAnyType(MetaAttributePath path) {
+		List<MetaAttributePath> paths = new ArrayList<>();
 
 		// check for AnyType
-		MetaAttributePath path = query.getMeta().resolvePath(sortSpec.getAttributePath(), attributeFinder);
 		MetaAttribute attr = path.getLast();
 		MetaType valueType = attr.getType();
 		if (valueType instanceof MetaMapType) {
@@ -67,15 +79,13 @@ public class QuerySortBuilder<T, E, O> {
 			MetaDataObject anyMeta = valueType.asDataObject();
 			for (MetaAttribute anyAttr : anyMeta.getAttributes()) {
 				if (!anyAttr.isDerived()) {
-					E expr = backend.getAttribute(path.concat(anyAttr));
-					orders.add(backend.newSort(expr, sortSpec.getDirection()));
+					paths.add(path.concat(anyAttr));
 				}
 			}
 		} else {
-			E expr = backend.getAttribute(path);
-			orders.add(backend.newSort(expr, sortSpec.getDirection()));
+			paths.add(path);
 		}
-		return orders;
+		return paths;
 	}
 
 }
@@ -36,6 +36,25 @@ public interface JpaQueryBackend<F, O, P, E> {
 
 	P buildPredicate(FilterOperator operator, MetaAttributePath path, Object value);
 
+	P buildPredicate(FilterOperator operator, E expression, Object value);
+
+	/**
+	 * @param operator one of {@link FilterOperator#EQ}, {@link FilterOperator#LT} and {@link FilterOperator#GT}
+	 * @return predicate comparing the two expressions
+	 */
+	P buildComparison(FilterOperator operator, E left, E right);
+
+	/**
+	 * Starts a subquery over the results of the parent of the current result of a relationship query. Attributes,
+	 * joins and predicates refer to the subquery until {@link #endParentSubquery()} is called.
+	 */
+	void beginParentSubquery();
+
+	/**
+	 * @return expression counting the distinct results of the subquery started by {@link #beginParentSubquery()}
+	 */
+	E endParentSubquery();
+
 	P and(List<P> predicates);
 
 	P not(P predicate);
@@ -0,0 +1,80 @@
+package io.crnk.jpa.internal.query.backend.criteria;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.crnk.jpa.internal.query.QueryShapeCache;
+
+/**
+ * Immutable outcome of building a criteria query for a query shape, see {@link QueryShapeCache}. Holds the JPQL the
+ * query and its count query were rendered to. Executors of the same shape create queries from it and bind their own
+ * values, neither sharing a criteria query nor rendering it again. Nothing is registered with the entity manager
+ * factory, evicting a template releases it.
+ */
+final class CriteriaQueryTemplate {
+
+	private final String jpql;
+
+	private final String countJpql;
+
+	private final List<String> parameterNames;
+
+	private final int numAutoSelections;
+
+	private final Map<String, Integer> selectionBindings;
+
+	private final boolean compoundSelection;
+
+	private final boolean distinct;
+
+	private final boolean manyRootsFetchesOrJoins;
+
+	CriteriaQueryTemplate(String jpql, String countJpql, List<String> parameterNames, int numAutoSelections,
+			Map<String, Integer> selectionBindings, boolean compoundSelection, boolean distinct,
+			boolean manyRootsFetchesOrJoins) {
+		this.jpql = jpql;
+		this.countJpql = countJpql;
+		this.parameterNames = Collections.unmodifiableList(parameterNames);
+		this.numAutoSelections = numAutoSelections;
+		this.selectionBindings = Collections.unmodifiableMap(selectionBindings);
+		this.compoundSelection = compoundSelection;
+		this.distinct = distinct;
+		this.manyRootsFetchesOrJoins = manyRootsFetchesOrJoins;
+	}
+
+	String getJpql() {
+		return jpql;
+	}
+
+	String getCountJpql() {
+		return countJpql;
+	}
+
+	/**
+	 * @return names of the parameters in the order of the values collected for the query shape
+	 */
+	List<String> getParameterNames() {
+		return parameterNames;
+	}
+
+	int getNumAutoSelections() {
+		return numAutoSelections;
+	}
+
+	Map<String, Integer> getSelectionBindings() {
+		return selectionBindings;
+	}
+
+	boolean isCompoundSelection() {
+		return compoundSelection;
+	}
+
+	boolean isDistinct() {
+		return distinct;
+	}
+
+	boolean hasManyRootsFetchesOrJoins() {
+		return manyRootsFetchesOrJoins;
+	}
+}
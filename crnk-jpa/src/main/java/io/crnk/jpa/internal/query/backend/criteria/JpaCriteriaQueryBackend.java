@@ -1,5 +1,6 @@
 package io.crnk.jpa.internal.query.backend.criteria;
 
+import io.crnk.core.engine.internal.utils.ClassUtils;
 import io.crnk.core.engine.internal.utils.PreconditionUtil;
 import io.crnk.core.queryspec.Direction;
 import io.crnk.core.queryspec.FilterOperator;
@@ -30,8 +31,22 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 
 	private Root<?> parentFrom;
 
+	private MetaAttribute parentAttr;
+
+	private Subquery<Long> parentSubquery;
+
+	private From<T, T> outerRoot;
+
+	private JoinRegistry<From<?, ?>, Expression<?>> outerJoinHelper;
+
 	private JpaCriteriaQueryImpl<T> queryImpl;
 
+	private List<ParameterExpression<?>> parameters = new ArrayList<>();
+
+	private List<Object> parameterValues = new ArrayList<>();
+
+	private boolean parameterized = true;
+
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	public JpaCriteriaQueryBackend(JpaCriteriaQueryImpl<T> query, EntityManager em, Class<T> clazz, MetaDataObject parentMeta,
 								   MetaAttribute parentAttr, boolean parentIdSelection) {
@@ -39,24 +54,30 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 
 		cb = em.getCriteriaBuilder();
 		criteriaQuery = (CriteriaQuery<T>) cb.createQuery();
+		boolean entitySelected = query.isEntitySelected();
 
 		if (parentMeta != null) {
+			this.parentAttr = parentAttr;
 			parentFrom = criteriaQuery.from(parentMeta.getImplementationClass());
 			root = parentFrom.join(parentAttr.getName());
 			joinHelper = new JoinRegistry<>(this, query);
 			joinHelper.putJoin(new MetaAttributePath(), root);
 
-			if (parentIdSelection) {
+			if (parentIdSelection && entitySelected) {
 				Expression<?> parentIdExpr = getParentIdExpression(parentAttr);
 				criteriaQuery.multiselect((List) Arrays.asList(parentIdExpr, root));
-			} else {
+			} else if (parentIdSelection) {
+				criteriaQuery.select((Selection) getParentIdExpression(parentAttr));
+			} else if (entitySelected) {
 				criteriaQuery.select(root);
 			}
 		} else {
 			root = criteriaQuery.from(clazz);
 			joinHelper = new JoinRegistry<>(this, query);
 			joinHelper.putJoin(new MetaAttributePath(), root);
-			criteriaQuery.select(root);
+			if (entitySelected) {
+				criteriaQuery.select(root);
+			}
 		}
 	}
 
@@ -76,14 +97,39 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 
 	@Override
 	public void addPredicate(Predicate predicate) {
-		Predicate restriction = criteriaQuery.getRestriction();
+		AbstractQuery<?> query = parentSubquery != null ? parentSubquery : criteriaQuery;
+		Predicate restriction = query.getRestriction();
 		if (restriction != null) {
-			criteriaQuery.where(restriction, predicate);
+			query.where(restriction, predicate);
 		} else {
-			criteriaQuery.where(predicate);
+			query.where(predicate);
 		}
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public void beginParentSubquery() {
+		PreconditionUtil.assertNull("subquery already started", parentSubquery);
+		parentSubquery = criteriaQuery.subquery(Long.class);
+		Root<?> subqueryParentFrom = parentSubquery.from(parentFrom.getJavaType());
+		parentSubquery.where(cb.equal(subqueryParentFrom, parentFrom));
+
+		outerRoot = root;
+		outerJoinHelper = joinHelper;
+		root = (From<T, T>) subqueryParentFrom.join(parentAttr.getName());
+		joinHelper = new JoinRegistry<>(this, queryImpl);
+		joinHelper.putJoin(new MetaAttributePath(), root);
+	}
+
+	@Override
+	public Expression<?> endParentSubquery() {
+		Subquery<Long> subquery = parentSubquery.select(cb.countDistinct(root));
+		parentSubquery = null;
+		root = outerRoot;
+		joinHelper = outerJoinHelper;
+		return subquery;
+	}
+
 	@Override
 	public From<?, ?> getRoot() {
 		return root;
@@ -117,11 +163,55 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 		return criteriaQuery;
 	}
 
+	/**
+	 * @return parameters in the order of their creation, to be bound to {@link #getParameterValues()}.
+	 */
+	public List<ParameterExpression<?>> getParameters() {
+		return parameters;
+	}
+
+	public List<Object> getParameterValues() {
+		return parameterValues;
+	}
+
+	/**
+	 * @return true if all values are bound as parameters rather than inlined as literals.
+	 */
+	public boolean isParameterized() {
+		return parameterized;
+	}
+
+	/**
+	 * Binds values as parameters. This keeps the JPQL generated by the provider the same for different values, letting it
+	 * reuse its query plans. Values not matching the type of the expression are inlined as literals as before.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private Expression bind(Expression<?> expression, Object value) {
+		Class<?> type = ClassUtils.primitiveToWrapper(expression.getJavaType());
+		if (type != null && type.isInstance(value)) {
+			// named, so that they can also be bound to the named queries of a CriteriaQueryTemplate
+			ParameterExpression<?> parameter = cb.parameter(type, "p" + parameters.size());
+			parameters.add(parameter);
+			parameterValues.add(value);
+			return parameter;
+		}
+		parameterized = false;
+		return cb.literal(value);
+	}
+
+	private Expression<?>[] bindAll(Expression<?> expression, List<?> values) {
+		Expression<?>[] valueExpressions = new Expression<?>[values.size()];
+		for (int i = 0; i < valueExpressions.length; i++) {
+			valueExpressions[i] = bind(expression, values.get(i));
+		}
+		return valueExpressions;
+	}
+
 	@Override
 	public void addParentPredicate(MetaAttribute primaryKeyAttr) {
 		List<?> parentIds = queryImpl.getParentIds();
 		Path<Object> parentIdPath = parentFrom.get(primaryKeyAttr.getName());
-		addPredicate(parentIdPath.in(new ArrayList<Object>(parentIds)));
+		addPredicate(parentIdPath.in(bindAll(parentIdPath, parentIds)));
 	}
 
 	@Override
@@ -130,6 +220,7 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public void addSelection(Expression<?> expression, String name) {
 		Selection<?> selection = criteriaQuery.getSelection();
 
@@ -141,7 +232,12 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 				newSelection.add(selection);
 			}
 		}
-		newSelection.add(expression);
+		if (expression instanceof Subquery) {
+			// Hibernate refuses to render a plain subquery as selection, but not as an argument of a function
+			newSelection.add(cb.coalesce((Subquery<Long>) expression, 0L));
+		} else {
+			newSelection.add(expression);
+		}
 		criteriaQuery.multiselect(newSelection);
 	}
 
@@ -155,8 +251,10 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 		return QueryUtil.containsRelation(expression);
 	}
 
+	@SuppressWarnings("unchecked")
 	public Predicate ilike(Expression<String> expr, String val) {
-		return cb.like(cb.lower(expr), val.toLowerCase());
+		Expression<String> lowerExpr = cb.lower(expr);
+		return cb.like(lowerExpr, (Expression<String>) bind(lowerExpr, val.toLowerCase()));
 	}
 
 	private Predicate negateIfNeeded(Predicate p, FilterOperator fc) {
@@ -171,6 +269,23 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 		return buildPredicate(operator, attr, value);
 	}
 
+	@Override
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public Predicate buildComparison(FilterOperator operator, Expression<?> left, Expression<?> right) {
+		Expression leftExpr = left;
+		Expression rightExpr = right;
+		if (operator == FilterOperator.EQ) {
+			return cb.equal(leftExpr, rightExpr);
+		} else if (operator == FilterOperator.LT) {
+			return cb.lessThan(leftExpr, rightExpr);
+		} else if (operator == FilterOperator.GT) {
+			return cb.greaterThan(leftExpr, rightExpr);
+		} else {
+			throw new IllegalStateException("unexpected operator " + operator);
+		}
+	}
+
+	@Override
 	@SuppressWarnings({"rawtypes"})
 	public Predicate buildPredicate(FilterOperator operator, Expression<?> expressionObj, Object value) {
 		Expression expression = expressionObj;
@@ -188,13 +303,13 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 		} else if (operator == FilterOperator.LIKE) {
 			return ilike(expression, value.toString());
 		} else if (operator == FilterOperator.GT) {
-			return cb.greaterThan(expression, (Comparable) value);
+			return cb.greaterThan(expression, bind(expression, value));
 		} else if (operator == FilterOperator.LT) {
-			return cb.lessThan(expression, (Comparable) value);
+			return cb.lessThan(expression, bind(expression, value));
 		} else if (operator == FilterOperator.GE) {
-			return cb.greaterThanOrEqualTo(expression, (Comparable) value);
+			return cb.greaterThanOrEqualTo(expression, bind(expression, value));
 		} else if (operator == FilterOperator.LE) {
-			return cb.lessThanOrEqualTo(expression, (Comparable) value);
+			return cb.lessThanOrEqualTo(expression, bind(expression, value));
 		} else {
 			throw new IllegalStateException("unexpected operator " + operator);
 		}
@@ -204,18 +319,20 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 	@SuppressWarnings({"rawtypes", "unchecked"})
 	private Predicate handleEquals(Expression<?> expression, FilterOperator operator, Object value) {
 		if (value instanceof List) {
-			Predicate p = expression.in(((List<?>) value).toArray());
+			Predicate p = expression.in(bindAll(expression, (List<?>) value));
 			return negateIfNeeded(p, operator);
 		} else if (Collection.class.isAssignableFrom(expression.getJavaType())) {
+			parameterized = false;
 			Predicate p = cb.literal(value).in(expression);
 			return negateIfNeeded(p, operator);
 		} else if (expression instanceof MapJoin) {
+			parameterized = false;
 			Predicate p = cb.literal(value).in(((MapJoin) expression).value());
 			return negateIfNeeded(p, operator);
 		} else if (value == null) {
 			return negateIfNeeded(cb.isNull(expression), operator);
 		}
-		return negateIfNeeded(cb.equal(expression, value), operator);
+		return negateIfNeeded(cb.equal(expression, bind(expression, value)), operator);
 	}
 
 	private Expression<?> handleConversions(Expression<?> expression, FilterOperator operator) {
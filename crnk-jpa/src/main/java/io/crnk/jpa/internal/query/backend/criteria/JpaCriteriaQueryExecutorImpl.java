@@ -1,5 +1,6 @@
 package io.crnk.jpa.internal.query.backend.criteria;
 
+import io.crnk.jpa.internal.HibernateQueryUtils;
 import io.crnk.jpa.internal.query.AbstractQueryExecutorImpl;
 import io.crnk.jpa.internal.query.QueryUtil;
 import io.crnk.jpa.internal.query.backend.querydsl.ObjectArrayTupleImpl;
@@ -7,10 +8,13 @@ import io.crnk.jpa.query.criteria.JpaCriteriaQueryExecutor;
 import io.crnk.meta.model.MetaDataObject;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
+import javax.persistence.Query;
 import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,41 +23,178 @@ public class JpaCriteriaQueryExecutorImpl<T> extends AbstractQueryExecutorImpl<T
 
 	private CriteriaQuery<T> query;
 
+	private List<ParameterExpression<?>> parameters;
+
+	private List<Object> parameterValues;
+
+	private CriteriaQueryTemplate template;
+
+	private JpaCriteriaQueryImpl<T> queryImpl;
+
 	public JpaCriteriaQueryExecutorImpl(EntityManager em, MetaDataObject meta, CriteriaQuery<T> criteriaQuery,
 										int numAutoSelections, Map<String, Integer> selectionBindings) {
+		this(em, meta, criteriaQuery, numAutoSelections, selectionBindings, new ArrayList<ParameterExpression<?>>(),
+				new ArrayList<>());
+	}
+
+	/**
+	 * @param parameters      of the criteria query
+	 * @param parameterValues to bind to the parameters
+	 */
+	public JpaCriteriaQueryExecutorImpl(EntityManager em, MetaDataObject meta, CriteriaQuery<T> criteriaQuery,
+										int numAutoSelections, Map<String, Integer> selectionBindings,
+										List<ParameterExpression<?>> parameters, List<Object> parameterValues) {
 		super(em, meta, numAutoSelections, selectionBindings);
 
 		this.query = criteriaQuery;
+		this.parameters = parameters;
+		this.parameterValues = parameterValues;
+	}
+
+	/**
+	 * @param template        of a previous query with the same shape
+	 * @param parameterValues to bind to the parameters of the template
+	 * @param queryImpl       to build a criteria query from if {@link #getQuery()} is accessed
+	 */
+	JpaCriteriaQueryExecutorImpl(EntityManager em, MetaDataObject meta, CriteriaQueryTemplate template,
+								 List<Object> parameterValues, JpaCriteriaQueryImpl<T> queryImpl) {
+		super(em, meta, template.getNumAutoSelections(), template.getSelectionBindings());
+
+		this.template = template;
+		this.parameterValues = parameterValues;
+		this.queryImpl = queryImpl;
 	}
 
+	/**
+	 * @return criteria query with filter values bound as parameters, see {@link #getParameters()}. It belongs to this
+	 * executor and is used for all further executions, also if it was created from a {@link CriteriaQueryTemplate}.
+	 */
 	public CriteriaQuery<T> getQuery() {
+		if (query == null) {
+			// the criteria query may be customized, so stop using the JPQL of the template
+			JpaCriteriaQueryExecutorImpl<T> builtExecutor = queryImpl.buildUncachedExecutor();
+			query = builtExecutor.query;
+			parameters = builtExecutor.parameters;
+			parameterValues = builtExecutor.parameterValues;
+			template = null;
+			queryImpl = null;
+		}
 		return query;
 	}
 
+	public List<ParameterExpression<?>> getParameters() {
+		getQuery();
+		return parameters;
+	}
+
+	public List<Object> getParameterValues() {
+		return parameterValues;
+	}
+
+	/**
+	 * Renders this query and its count query to JPQL, see {@link CriteriaQueryTemplate}. Must be called before this
+	 * executor is used, as it turns the query into a count query in the meantime.
+	 *
+	 * @return template for the query or null if the JPA provider does not expose the JPQL, no count query can be derived
+	 * or the JPQL contains parameters other than those of the criteria query
+	 */
+	protected CriteriaQueryTemplate createTemplate() {
+		if (query.getRoots().size() != 1 || !query.getGroupList().isEmpty()) {
+			return null;
+		}
+		Set<String> parameterNameSet = new HashSet<>();
+		List<String> parameterNames = new ArrayList<>();
+		for (ParameterExpression<?> parameter : parameters) {
+			parameterNames.add(parameter.getName());
+			parameterNameSet.add(parameter.getName());
+		}
+		String jpql = HibernateQueryUtils.getQueryString(em.createQuery(query));
+		String countJpql = jpql != null ? HibernateQueryUtils.getQueryString(createCountQuery()) : null;
+		if (countJpql == null || !parameterNameSet.containsAll(getParameterNames(em.createQuery(jpql)))
+				|| !parameterNameSet.containsAll(getParameterNames(em.createQuery(countJpql)))) {
+			// for example literals the provider binds as parameters of its own
+			return null;
+		}
+		return new CriteriaQueryTemplate(jpql, countJpql, parameterNames, numAutoSelections, selectionBindings,
+				isCompoundSelection(), isDistinct(), hasManyRootsFetchesOrJoins());
+	}
+
+	private static Set<String> getParameterNames(Query query) {
+		Set<String> names = new HashSet<>();
+		for (Parameter<?> parameter : query.getParameters()) {
+			names.add(parameter.getName());
+		}
+		return names;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public TypedQuery<T> getTypedQuery() {
-		return (TypedQuery<T>) setupQuery(em.createQuery(query));
+		if (template != null) {
+			// multiple selections are returned as arrays
+			Class<?> resultType = template.isCompoundSelection() ? Object[].class : getEntityClass();
+			TypedQuery<T> typedQuery = (TypedQuery<T>) em.createQuery(template.getJpql(), resultType);
+			bindParameters(typedQuery);
+			return (TypedQuery<T>) setupQuery(typedQuery);
+		}
+		TypedQuery<T> typedQuery = em.createQuery(query);
+		bindParameters(typedQuery);
+		return (TypedQuery<T>) setupQuery(typedQuery);
+	}
+
+	/**
+	 * Binds the values of the parameters used by the given query. Count queries do not use parameters only occurring in
+	 * the selection.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private void bindParameters(TypedQuery<?> typedQuery) {
+		Set<String> usedNames = getParameterNames(typedQuery);
+		if (template != null) {
+			List<String> parameterNames = template.getParameterNames();
+			for (int i = 0; i < parameterNames.size(); i++) {
+				if (usedNames.contains(parameterNames.get(i))) {
+					typedQuery.setParameter(parameterNames.get(i), parameterValues.get(i));
+				}
+			}
+			return;
+		}
+		for (int i = 0; i < parameters.size(); i++) {
+			if (usedNames.contains(parameters.get(i).getName())) {
+				typedQuery.setParameter((Parameter) parameters.get(i), parameterValues.get(i));
+			}
+		}
 	}
 
 	@Override
 	protected boolean isCompoundSelection() {
-		return query.getSelection().isCompoundSelection();
+		return template != null ? template.isCompoundSelection() : query.getSelection().isCompoundSelection();
 	}
 
 	@Override
 	protected boolean isDistinct() {
-		return query.isDistinct();
+		return template != null ? template.isDistinct() : query.isDistinct();
 	}
 
 	@Override
 	protected boolean hasManyRootsFetchesOrJoins() {
-		return QueryUtil.hasManyRootsFetchesOrJoins(query);
+		return template != null ? template.hasManyRootsFetchesOrJoins() : QueryUtil.hasManyRootsFetchesOrJoins(query);
 	}
 
 	@Override
-	@SuppressWarnings({"rawtypes"})
 	public long getTotalRowCount() {
+		TypedQuery<Long> countQuery;
+		if (template != null) {
+			countQuery = em.createQuery(template.getCountJpql(), Long.class);
+		}
+		else {
+			countQuery = createCountQuery();
+		}
+		bindParameters(countQuery);
+		return countQuery.getSingleResult();
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private TypedQuery<Long> createCountQuery() {
 		Selection<T> selection = query.getSelection();
 		List<Order> orderList = query.getOrderList();
 		try {
@@ -73,9 +214,7 @@ public class JpaCriteriaQueryExecutorImpl<T> extends AbstractQueryExecutorImpl<T
 			countExpr = builder.count(root);
 			query.multiselect(countExpr);
 			query.orderBy(new ArrayList<Order>());
-			TypedQuery countQuery = em.createQuery(query);
-
-			return (Long) countQuery.getSingleResult();
+			return (TypedQuery) em.createQuery(query);
 		} finally {
 			// transform count query back to regular query
 			query.multiselect(selection);
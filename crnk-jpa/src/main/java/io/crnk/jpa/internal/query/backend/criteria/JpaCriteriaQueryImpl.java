@@ -2,17 +2,21 @@ package io.crnk.jpa.internal.query.backend.criteria;
 
 import io.crnk.jpa.internal.query.AbstractJpaQueryImpl;
 import io.crnk.jpa.internal.query.ComputedAttributeRegistryImpl;
+import io.crnk.jpa.internal.query.QueryShapeCache;
 import io.crnk.jpa.query.criteria.JpaCriteriaQuery;
 import io.crnk.meta.MetaLookup;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaQuery;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 public class JpaCriteriaQueryImpl<T> extends AbstractJpaQueryImpl<T, JpaCriteriaQueryBackend<T>>
 		implements JpaCriteriaQuery<T> {
 
+	private boolean parameterized;
+
 	public JpaCriteriaQueryImpl(MetaLookup metaLookup, EntityManager em, Class<T> clazz,
 								ComputedAttributeRegistryImpl virtualAttrs) {
 		super(metaLookup, em, clazz, virtualAttrs);
@@ -23,12 +27,44 @@ public class JpaCriteriaQueryImpl<T> extends AbstractJpaQueryImpl<T, JpaCriteria
 		super(metaLookup, em, clazz, virtualAttrs, attrName, entityIds);
 	}
 
+	/**
+	 * @return new criteria query, never one shared with other queries of the same shape
+	 */
 	public CriteriaQuery<T> buildQuery() {
-		return buildExecutor().getQuery();
+		return buildUncachedExecutor().getQuery();
 	}
 
+	/**
+	 * Uses the {@link CriteriaQueryTemplate} of a previous query with the same shape if a {@link QueryShapeCache} is
+	 * available. Only queries binding all values as parameters are cached.
+	 */
 	@Override
 	public JpaCriteriaQueryExecutorImpl<T> buildExecutor() {
+		QueryShapeCache shapeCache = getShapeCache();
+		if (shapeCache == null) {
+			return buildUncachedExecutor();
+		}
+
+		List<Object> values = new ArrayList<>();
+		Object shape = getShape(values);
+		CriteriaQueryTemplate template = (CriteriaQueryTemplate) shapeCache.get(shape);
+		if (template != null) {
+			return new JpaCriteriaQueryExecutorImpl<>(em, meta, template, values, this);
+		}
+
+		JpaCriteriaQueryExecutorImpl<T> executor = buildUncachedExecutor();
+		// values must have been bound in the order they are collected from the shape
+		if (parameterized && values.equals(executor.getParameterValues())) {
+			template = executor.createTemplate();
+			if (template != null) {
+				shapeCache.put(shape, template);
+			}
+		}
+		return executor;
+	}
+
+	@SuppressWarnings("unchecked")
+	JpaCriteriaQueryExecutorImpl<T> buildUncachedExecutor() {
 		return (JpaCriteriaQueryExecutorImpl<T>) super.buildExecutor();
 	}
 
@@ -39,6 +75,8 @@ public class JpaCriteriaQueryImpl<T> extends AbstractJpaQueryImpl<T, JpaCriteria
 
 	@Override
 	protected JpaCriteriaQueryExecutorImpl<T> newExecutor(JpaCriteriaQueryBackend<T> ctx, int numAutoSelections, Map<String, Integer> selectionBindings) {
-		return new JpaCriteriaQueryExecutorImpl<>(em, meta, ctx.getCriteriaQuery(), numAutoSelections, selectionBindings);
+		parameterized = ctx.isParameterized();
+		return new JpaCriteriaQueryExecutorImpl<>(em, meta, ctx.getCriteriaQuery(), numAutoSelections, selectionBindings,
+				ctx.getParameters(), ctx.getParameterValues());
 	}
 }
@@ -4,7 +4,9 @@ import com.google.common.collect.ImmutableList;
 import com.querydsl.core.support.FetchableSubQueryBase;
 import com.querydsl.core.types.*;
 import com.querydsl.core.types.dsl.*;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPAQueryBase;
+import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import io.crnk.core.engine.internal.utils.PreconditionUtil;
@@ -38,6 +40,16 @@ public class QuerydslQueryBackend<T>
 
 	private EntityPath<?> parentFrom;
 
+	private MetaAttribute parentAttr;
+
+	private JPQLQuery parentSubquery;
+
+	private int numParentSubqueries;
+
+	private Path<T> outerRoot;
+
+	private JoinRegistry<Expression<?>, Expression<?>> outerJoinHelper;
+
 	private QuerydslQueryImpl<T> queryImpl;
 
 	private JPAQueryBase querydslQuery;
@@ -49,8 +61,10 @@ public class QuerydslQueryBackend<T>
 		this.queryImpl = queryImpl;
 
 		JPAQueryFactory queryFactory = queryImpl.getQueryFactory();
+		boolean entitySelected = queryImpl.isEntitySelected();
 
 		if (parentMeta != null) {
+			this.parentAttr = parentAttr;
 			parentFrom = QuerydslUtils.getEntityPath(parentMeta.getImplementationClass());
 			root = QuerydslUtils.getEntityPath(clazz);
 
@@ -59,11 +73,15 @@ public class QuerydslQueryBackend<T>
 
 			joinHelper.putJoin(new MetaAttributePath(), root);
 
-			if (addParentSelection) {
+			if (addParentSelection && entitySelected) {
 				Expression<Object> parentIdExpr = getParentIdExpression(parentMeta, parentAttr);
 				querydslQuery = queryFactory.select(parentIdExpr, root);
-			} else {
+			} else if (addParentSelection) {
+				querydslQuery = queryFactory.select(getParentIdExpression(parentMeta, parentAttr));
+			} else if (entitySelected) {
 				querydslQuery = queryFactory.select(root);
+			} else {
+				querydslQuery = queryFactory.query();
 			}
 
 			querydslQuery = querydslQuery.from(parentFrom);
@@ -76,7 +94,7 @@ public class QuerydslQueryBackend<T>
 			root = QuerydslUtils.getEntityPath(clazz);
 			joinHelper = new JoinRegistry<>(this, queryImpl);
 			joinHelper.putJoin(new MetaAttributePath(), root);
-			querydslQuery = queryFactory.select(root);
+			querydslQuery = entitySelected ? queryFactory.select(root) : queryFactory.query();
 			querydslQuery = querydslQuery.from((EntityPath) root);
 		}
 	}
@@ -107,7 +125,45 @@ public class QuerydslQueryBackend<T>
 
 	@Override
 	public void addPredicate(Predicate predicate) {
-		querydslQuery = (JPAQueryBase) querydslQuery.where(predicate);
+		if (parentSubquery != null) {
+			parentSubquery = (JPQLQuery) parentSubquery.where(predicate);
+		} else {
+			querydslQuery = (JPAQueryBase) querydslQuery.where(predicate);
+		}
+	}
+
+	@Override
+	public void beginParentSubquery() {
+		PreconditionUtil.assertNull("subquery already started", parentSubquery);
+		// aliases must differ from the ones of the outer query
+		String aliasSuffix = "_parentSubquery" + numParentSubqueries++;
+		EntityPath<?> subqueryParentFrom = QuerydslUtils.getEntityPath(parentFrom.getType(),
+				parentFrom.getMetadata().getName() + aliasSuffix);
+		Path subqueryRoot = QuerydslUtils.getEntityPath(root.getType(), root.getMetadata().getName() + aliasSuffix);
+
+		Path joinPath = (Path) QuerydslUtils.get(subqueryParentFrom, parentAttr.getName());
+		parentSubquery = JPAExpressions.selectFrom(subqueryParentFrom);
+		if (joinPath instanceof CollectionExpression) {
+			parentSubquery = parentSubquery.join((CollectionExpression) joinPath, subqueryRoot);
+		} else {
+			parentSubquery = parentSubquery.join((EntityPath) joinPath, subqueryRoot);
+		}
+		parentSubquery = (JPQLQuery) parentSubquery.where(((SimpleExpression) subqueryParentFrom).eq(parentFrom));
+
+		outerRoot = root;
+		outerJoinHelper = joinHelper;
+		root = subqueryRoot;
+		joinHelper = new JoinRegistry<>(this, queryImpl);
+		joinHelper.putJoin(new MetaAttributePath(), root);
+	}
+
+	@Override
+	public Expression<?> endParentSubquery() {
+		JPQLQuery subquery = parentSubquery.select(((SimpleExpression) root).countDistinct());
+		parentSubquery = null;
+		root = outerRoot;
+		joinHelper = outerJoinHelper;
+		return subquery;
 	}
 
 	@Override
@@ -183,6 +239,26 @@ public class QuerydslQueryBackend<T>
 		return buildPredicate(operator, attr, value);
 	}
 
+	@Override
+	public Predicate buildComparison(FilterOperator operator, Expression<?> left, Expression<?> right) {
+		if (operator == FilterOperator.EQ) {
+			return ((SimpleExpression) left).eq(right);
+		} else if (operator == FilterOperator.LT) {
+			if (left instanceof NumberExpression) {
+				return ((NumberExpression) left).lt(right);
+			}
+			return ((ComparableExpression) left).lt(right);
+		} else if (operator == FilterOperator.GT) {
+			if (left instanceof NumberExpression) {
+				return ((NumberExpression) left).gt(right);
+			}
+			return ((ComparableExpression) left).gt(right);
+		} else {
+			throw new IllegalStateException("unexpected operator " + operator);
+		}
+	}
+
+	@Override
 	public Predicate buildPredicate(FilterOperator operator, Expression<?> expressionObj, Object value) {
 		Expression expression = expressionObj;
 
@@ -348,7 +424,8 @@ public class QuerydslQueryBackend<T>
 			return expressionFactory.getExpression(parent, getQuery());
 		} else {
 			Expression<Object> expression = QuerydslUtils.get(parent, targetAttr.getName());
-			querydslQuery.getMetadata().addJoin(QuerydslUtils.convertJoinType(joinType), expression);
+			JPQLQuery query = parentSubquery != null ? parentSubquery : querydslQuery;
+			query.getMetadata().addJoin(QuerydslUtils.convertJoinType(joinType), expression);
 			return expression;
 		}
 	}
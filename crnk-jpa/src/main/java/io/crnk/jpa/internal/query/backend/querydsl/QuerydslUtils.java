@@ -27,6 +27,20 @@ class QuerydslUtils {
 		}
 	}
 
+	/**
+	 * @return new path to the given entity with the given alias, e.g. to use it in a subquery of a query using the default
+	 * path returned by {@link #getEntityPath(Class)}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> EntityPath<T> getEntityPath(Class<T> entityClass, String alias) {
+		Class<?> queryClass = getQueryClass(entityClass);
+		try {
+			return (EntityPath<T>) queryClass.getConstructor(String.class).newInstance(alias);
+		} catch (ReflectiveOperationException | SecurityException | IllegalArgumentException e) {
+			throw new IllegalStateException("failed to create path for query class " + queryClass.getName(), e);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <T> Expression<T> get(Expression<?> path, String name) {
 		try {
@@ -0,0 +1,108 @@
+package io.crnk.jpa.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
+import io.crnk.core.queryspec.FilterSpec;
+import io.crnk.core.queryspec.QuerySpec;
+
+/**
+ * Remembers counts by entity class and filters for a limited time. Paging through the same filtered resources then
+ * counts only once. Counts of an entity class are dropped when a repository modifies it or its relationships.
+ * Modifications by other means become visible once the entries expire. Counts of repositories with a
+ * {@link io.crnk.jpa.JpaRepositoryFilter} are not cached, since such filters may restrict queries per tenant or user.
+ */
+public class CachedCountStrategy implements JpaCountStrategy {
+
+	private final JpaCountStrategy delegate;
+
+	private final long timeToLiveMillis;
+
+	private final Map<List<Object>, CachedCount> cache;
+
+	/**
+	 * @param delegate         to compute counts not found in the cache
+	 * @param timeToLiveMillis after which cached counts expire
+	 * @param maxSize          maximum number of cached counts, the least recently used ones are evicted first
+	 */
+	public CachedCountStrategy(JpaCountStrategy delegate, long timeToLiveMillis, final int maxSize) {
+		PreconditionUtil.assertTrue("maxSize must be positive", maxSize > 0);
+		this.delegate = delegate;
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.cache = new LinkedHashMap<List<Object>, CachedCount>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<List<Object>, CachedCount> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	@Override
+	public long count(JpaQueryExecutor<?> executor, QuerySpec querySpec, int resultCount, boolean filtered) {
+		if (filtered) {
+			return delegate.count(executor, querySpec, resultCount, true);
+		}
+
+		List<Object> key = toKey(executor.getEntityClass(), querySpec);
+		long now = currentTimeMillis();
+		synchronized (cache) {
+			CachedCount cachedCount = cache.get(key);
+			if (cachedCount != null && cachedCount.expiresAt > now) {
+				return cachedCount.count;
+			}
+		}
+
+		long count = delegate.count(executor, querySpec, resultCount, false);
+		synchronized (cache) {
+			cache.put(key, new CachedCount(count, now + timeToLiveMillis));
+		}
+		return count;
+	}
+
+	@Override
+	public void invalidate(Class<?> entityClass) {
+		synchronized (cache) {
+			Iterator<List<Object>> iterator = cache.keySet().iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().get(0) == entityClass) {
+					iterator.remove();
+				}
+			}
+		}
+		delegate.invalidate(entityClass);
+	}
+
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private static List<Object> toKey(Class<?> entityClass, QuerySpec querySpec) {
+		List<FilterSpec> filters = new ArrayList<>();
+		for (FilterSpec filter : querySpec.getFilters()) {
+			filters.add(filter.normalize());
+		}
+		Collections.sort(filters);
+		return Arrays.asList(entityClass, filters, querySpec.getPageAfterFilter());
+	}
+
+	private static final class CachedCount {
+
+		private final long count;
+
+		private final long expiresAt;
+
+		CachedCount(long count, long expiresAt) {
+			this.count = count;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
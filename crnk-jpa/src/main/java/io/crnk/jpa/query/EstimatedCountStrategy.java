@@ -0,0 +1,58 @@
+package io.crnk.jpa.query;
+
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
+import io.crnk.core.queryspec.QuerySpec;
+
+/**
+ * Counts exactly up to a threshold only. Beyond the threshold the database just has to skip rows rather than count all of
+ * them. Larger counts are reported as the threshold, or as one more than the current page if it is beyond the threshold,
+ * so that a next page remains available. Clients can read a total equal to the threshold as "threshold or more".
+ */
+public class EstimatedCountStrategy implements JpaCountStrategy {
+
+	private final long threshold;
+
+	private final JpaCountStrategy delegate;
+
+	/**
+	 * @param threshold up to which entities are counted exactly
+	 */
+	public EstimatedCountStrategy(long threshold) {
+		this(threshold, new ExactCountStrategy());
+	}
+
+	/**
+	 * @param threshold up to which entities are counted exactly
+	 * @param delegate  to count below the threshold
+	 */
+	public EstimatedCountStrategy(long threshold, JpaCountStrategy delegate) {
+		PreconditionUtil.assertTrue("threshold must be positive", threshold > 0 && threshold < Integer.MAX_VALUE);
+		this.threshold = threshold;
+		this.delegate = delegate;
+	}
+
+	public long getThreshold() {
+		return threshold;
+	}
+
+	@Override
+	public long count(JpaQueryExecutor<?> executor, QuerySpec querySpec, int resultCount, boolean filtered) {
+		int limit = executor.getLimit();
+		executor.setWindow((int) threshold, 1);
+		boolean capped;
+		try {
+			capped = !executor.getResultList().isEmpty();
+		} finally {
+			executor.setWindow((int) querySpec.getOffset(), limit);
+		}
+		if (capped) {
+			return Math.max(threshold, querySpec.getOffset() + resultCount + 1);
+		}
+		return delegate.count(executor, querySpec, resultCount, filtered);
+	}
+
+	@Override
+	public void invalidate(Class<?> entityClass) {
+		delegate.invalidate(entityClass);
+	}
+}
@@ -0,0 +1,19 @@
+package io.crnk.jpa.query;
+
+import io.crnk.core.queryspec.QuerySpec;
+
+/**
+ * Counts the entities with a second query, see {@link JpaQueryExecutor#getTotalRowCount()}. This is the default.
+ */
+public class ExactCountStrategy implements JpaCountStrategy {
+
+	@Override
+	public long count(JpaQueryExecutor<?> executor, QuerySpec querySpec, int resultCount, boolean filtered) {
+		return executor.getTotalRowCount();
+	}
+
+	@Override
+	public void invalidate(Class<?> entityClass) {
+		// nothing cached
+	}
+}
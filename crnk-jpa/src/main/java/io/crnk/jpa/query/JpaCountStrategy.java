@@ -0,0 +1,33 @@
+package io.crnk.jpa.query;
+
+import io.crnk.core.queryspec.QuerySpec;
+
+/**
+ * Determines the total number of resources of a paged request. Set with
+ * {@link io.crnk.jpa.JpaRepositoryConfig.Builder#setCountStrategy(JpaCountStrategy)}. Only invoked if the total cannot
+ * be derived from the page itself, i.e. if the page is full or empty at a non-zero offset.
+ *
+ * @see ExactCountStrategy
+ * @see CachedCountStrategy
+ * @see EstimatedCountStrategy
+ */
+public interface JpaCountStrategy {
+
+	/**
+	 * @param executor    that fetched the current page
+	 * @param querySpec   of the request
+	 * @param resultCount number of entities returned for the current page
+	 * @param filtered    whether a {@link io.crnk.jpa.JpaRepositoryFilter} applies to the repository. Such filters may
+	 *                    restrict the query beyond the querySpec, for example per tenant or user.
+	 * @return total number of entities matching the query, may be an estimate
+	 */
+	long count(JpaQueryExecutor<?> executor, QuerySpec querySpec, int resultCount, boolean filtered);
+
+	/**
+	 * Called after entities of the given class, or their relationships, have been created, updated or deleted by a
+	 * repository.
+	 *
+	 * @param entityClass modified entity class
+	 */
+	void invalidate(Class<?> entityClass);
+}
@@ -10,6 +10,11 @@ import java.util.List;
 
 public interface JpaQuery<T> {
 
+	/**
+	 * Name of the selection added by {@link #addParentTotalSelection()}.
+	 */
+	String PARENT_TOTAL_SELECTION = "__parentTotal";
+
 	JpaQuery<T> setEnsureTotalOrder(boolean ensureTotalOrder);
 
 	JpaQuery<T> addFilter(FilterSpec filters);
@@ -36,8 +41,32 @@ public interface JpaQuery<T> {
 
 	void addSelection(List<String> path);
 
+	/**
+	 * @param entitySelected true to select the entity (default). If false, only the attributes added with
+	 *                       {@link #addSelection(List)} are selected and tuples start with the first of them.
+	 * @return this query
+	 */
+	JpaQuery<T> setEntitySelected(boolean entitySelected);
+
 	void addParentIdSelection();
 
+	/**
+	 * Restricts the results of each parent id of a relationship query to a window of its results, ordered by the sort
+	 * specification and the primary key. The results of a parent are ranked with a correlated subquery, letting a single
+	 * query serve all parents. Sort attributes must not be nullable, since null values cannot be ranked.
+	 *
+	 * @param offset number of results to skip for each parent
+	 * @param limit  maximum number of results for each parent or -1 for no limit
+	 * @return this query
+	 */
+	JpaQuery<T> setParentWindow(int offset, int limit);
+
+	/**
+	 * Selects the number of results of the parent of each tuple of a relationship query, not restricted by
+	 * {@link #setParentWindow(int, int)}. The number is available from the tuples as {@link #PARENT_TOTAL_SELECTION}.
+	 */
+	void addParentTotalSelection();
+
 	/**
 	 * @return private data that can be set by the consumer to provide some context for a query, for example, when being called back by an interceptor. Does
 	 * not have any direct impact on the created query.
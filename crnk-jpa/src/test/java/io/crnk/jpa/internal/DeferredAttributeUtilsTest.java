@@ -0,0 +1,51 @@
+package io.crnk.jpa.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.EntityManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+import io.crnk.core.engine.document.Document;
+import io.crnk.core.engine.document.Resource;
+import io.crnk.core.utils.Nullable;
+import io.crnk.jpa.model.RelatedEntity;
+import io.crnk.jpa.model.TestEntity;
+import io.crnk.jpa.query.AbstractJpaTest;
+import io.crnk.jpa.query.JpaQueryFactory;
+import io.crnk.jpa.query.criteria.JpaCriteriaQueryFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class DeferredAttributeUtilsTest extends AbstractJpaTest {
+
+	@Override
+	protected JpaQueryFactory createQueryFactory(EntityManager em) {
+		return JpaCriteriaQueryFactory.newInstance();
+	}
+
+	@Test
+	public void testSerializeUnloadedAttributes() {
+		TestEntity entity = em.find(TestEntity.class, 1L);
+		List<RelatedEntity> unloadedValue = entity.getManyRelatedValues();
+		String loadedValue = entity.getStringValue();
+
+		Resource resource = new Resource();
+		resource.setAttribute("manyRelatedValues", new POJONode(unloadedValue));
+		resource.setAttribute("stringValue", new POJONode(loadedValue));
+		Document document = new Document();
+		document.setData(Nullable.of((Object) Arrays.asList(resource)));
+
+		DeferredAttributeUtils.serializeUnloadedAttributes(document, new ObjectMapper());
+
+		JsonNode manyRelatedValues = resource.getAttributes().get("manyRelatedValues");
+		Assert.assertFalse(manyRelatedValues instanceof POJONode);
+		Assert.assertTrue(manyRelatedValues.isArray());
+		JsonNode stringValue = resource.getAttributes().get("stringValue");
+		Assert.assertTrue(stringValue instanceof POJONode);
+		Assert.assertSame(loadedValue, ((POJONode) stringValue).getPojo());
+	}
+}
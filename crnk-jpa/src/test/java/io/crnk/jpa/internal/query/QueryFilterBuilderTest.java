@@ -0,0 +1,21 @@
+package io.crnk.jpa.internal.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueryFilterBuilderTest {
+
+	@Test
+	public void testPadInList() {
+		Assert.assertEquals(Collections.emptyList(), QueryFilterBuilder.padInList(Collections.emptyList(), 900));
+		Assert.assertEquals(Arrays.asList(1), QueryFilterBuilder.padInList(Arrays.asList(1), 900));
+		Assert.assertEquals(Arrays.asList(1, 2), QueryFilterBuilder.padInList(Arrays.asList(1, 2), 900));
+		Assert.assertEquals(Arrays.asList(1, 2, 3, 3), QueryFilterBuilder.padInList(Arrays.asList(1, 2, 3), 900));
+		Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 5, 5, 5), QueryFilterBuilder.padInList(Arrays.asList(1, 2, 3, 4, 5), 900));
+		Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 5), QueryFilterBuilder.padInList(Arrays.asList(1, 2, 3, 4, 5), 6));
+		Assert.assertEquals(Arrays.asList(1, 2, 3), QueryFilterBuilder.padInList(Arrays.asList(1, 2, 3), 3));
+	}
+}
@@ -0,0 +1,42 @@
+package io.crnk.jpa.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+
+@Entity
+public class ManyToManyTestEntity {
+
+	public static final String ATTR_id = "id";
+
+	public static final String ATTR_relatedValues = "relatedValues";
+
+	@Id
+	private Long id;
+
+	@ManyToMany(fetch = FetchType.LAZY)
+	@JoinTable(name = "MANY_TO_MANY_RELATED", joinColumns = @JoinColumn(name = "OWNER_ID"),
+			inverseJoinColumns = @JoinColumn(name = "RELATED_ID"))
+	private List<RelatedEntity> relatedValues = new ArrayList<>();
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public List<RelatedEntity> getRelatedValues() {
+		return relatedValues;
+	}
+
+	public void setRelatedValues(List<RelatedEntity> relatedValues) {
+		this.relatedValues = relatedValues;
+	}
+}
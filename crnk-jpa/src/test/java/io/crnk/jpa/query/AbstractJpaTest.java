@@ -67,6 +67,7 @@ public abstract class AbstractJpaTest {
 			}
 		});
 		clear(em, factory.query(TestSubclassWithSuperclassPk.class).buildExecutor().getResultList());
+		clear(em, factory.query(ManyToManyTestEntity.class).buildExecutor().getResultList());
 		clear(em, factory.query(RelatedEntity.class).buildExecutor().getResultList());
 		clear(em, factory.query(TestEntity.class).buildExecutor().getResultList());
 		clear(em, factory.query(OtherRelatedEntity.class).buildExecutor().getResultList());
@@ -406,4 +406,32 @@ public abstract class BasicQueryTestBase extends AbstractJpaTest {
 
 	}
 
+	@Test
+	public void testNotEqualsFilterWithLargeCollection() {
+		List<Long> largeList = new ArrayList<>();
+		for (long i = 2; i < 2500; i++) {
+			largeList.add(i);
+		}
+		largeList.add(0L);
+
+		List<TestEntity> list = builder().addFilter(TestEntity.ATTR_id, FilterOperator.NEQ, largeList).buildExecutor()
+				.getResultList();
+		assertEquals(1, list.size());
+		assertEquals(1L, list.get(0).getId().longValue());
+	}
+
+	@Test
+	public void testFilterWithPaddedCollection() {
+		module.setInListPaddingEnabled(true);
+		assertEquals(3, builder().addFilter(TestEntity.ATTR_id, FilterOperator.EQ, Arrays.asList(0L, 1L, 2L)).buildExecutor().getResultList().size());
+		assertEquals(2, builder().addFilter(TestEntity.ATTR_id, FilterOperator.NEQ, Arrays.asList(0L, 1L, 2L)).buildExecutor().getResultList().size());
+	}
+
+	@Test
+	public void testRelationsWithPaddedParentIds() {
+		module.setInListPaddingEnabled(true);
+		JpaQuery<RelatedEntity> builder = queryFactory.query(TestEntity.class, TestEntity.ATTR_oneRelatedValue, Arrays.asList(1L, 2L, 3L));
+		builder.addParentIdSelection();
+		assertEquals(3, builder.buildExecutor().getResultTuples().size());
+	}
 }
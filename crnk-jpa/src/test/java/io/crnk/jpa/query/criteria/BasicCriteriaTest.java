@@ -1,15 +1,22 @@
 package io.crnk.jpa.query.criteria;
 
+import io.crnk.core.queryspec.Direction;
+import io.crnk.core.queryspec.FilterOperator;
 import io.crnk.jpa.internal.query.backend.criteria.JpaCriteriaQueryExecutorImpl;
+import io.crnk.jpa.internal.query.backend.criteria.JpaCriteriaQueryImpl;
+import io.crnk.jpa.model.RelatedEntity;
 import io.crnk.jpa.model.TestEntity;
 import io.crnk.jpa.query.BasicQueryTestBase;
 import io.crnk.jpa.query.JpaQuery;
 import io.crnk.jpa.query.JpaQueryFactory;
+import io.crnk.jpa.query.Tuple;
 import org.junit.Assert;
 import org.junit.Test;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 public class BasicCriteriaTest extends BasicQueryTestBase {
@@ -28,4 +35,93 @@ public class BasicCriteriaTest extends BasicQueryTestBase {
 		Map<String, Object> hints = typedQuery.getHints();
 		Assert.assertTrue(hints.containsKey("org.hibernate.cacheable"));
 	}
+
+	@Test
+	public void testParameterBinding() {
+		JpaQuery<TestEntity> builder = queryFactory.query(TestEntity.class);
+		builder.addFilter(TestEntity.ATTR_id, FilterOperator.EQ, Arrays.asList(1L, 2L));
+		builder.addFilter(TestEntity.ATTR_stringValue, FilterOperator.LIKE, "TEST%");
+		JpaCriteriaQueryExecutorImpl<TestEntity> executor = (JpaCriteriaQueryExecutorImpl<TestEntity>) builder.buildExecutor();
+		Assert.assertEquals(Arrays.<Object>asList(1L, 2L, "test%"), executor.getParameterValues());
+		Assert.assertEquals(2, executor.getResultList().size());
+		Assert.assertEquals(2, executor.getTotalRowCount());
+	}
+
+	@Test
+	public void testQueryShapeCache() {
+		module.setQueryShapeCacheSize(10);
+
+		JpaCriteriaQueryExecutorImpl<TestEntity> executor1 = buildFilteredExecutor(1L);
+		JpaCriteriaQueryExecutorImpl<TestEntity> executor2 = buildFilteredExecutor(2L);
+		Assert.assertEquals(1, ((JpaCriteriaQueryFactory) queryFactory).getShapeCache().size());
+		Assert.assertEquals(1L, executor1.getUniqueResult(false).getId().longValue());
+		Assert.assertEquals(2L, executor2.getUniqueResult(false).getId().longValue());
+		Assert.assertEquals(1L, executor2.getTotalRowCount());
+		Assert.assertEquals(2L, executor2.getUniqueResult(false).getId().longValue());
+
+		// criteria queries are never shared, accessing one switches to it
+		JpaCriteriaQueryExecutorImpl<TestEntity> executor4 = buildFilteredExecutor(4L);
+		Assert.assertNotSame(executor1.getQuery(), executor4.getQuery());
+		Assert.assertNotSame(executor2.getQuery(), executor4.getQuery());
+		Assert.assertEquals(4L, executor4.getUniqueResult(false).getId().longValue());
+		Assert.assertEquals(1L, executor4.getTotalRowCount());
+		JpaQuery<TestEntity> builder = queryFactory.query(TestEntity.class).addFilter(TestEntity.ATTR_id, FilterOperator.EQ, 1L);
+		Assert.assertNotSame(((JpaCriteriaQueryImpl<TestEntity>) builder).buildQuery(),
+				((JpaCriteriaQueryImpl<TestEntity>) builder).buildQuery());
+
+		JpaQuery<TestEntity> otherShape = queryFactory.query(TestEntity.class).addFilter(TestEntity.ATTR_id,
+				FilterOperator.GT, 2L);
+		JpaCriteriaQueryExecutorImpl<TestEntity> executor3 = (JpaCriteriaQueryExecutorImpl<TestEntity>) otherShape.buildExecutor();
+		Assert.assertNotSame(executor1.getQuery(), executor3.getQuery());
+		Assert.assertEquals(2, executor3.getResultList().size());
+		Assert.assertEquals(2, ((JpaCriteriaQueryFactory) queryFactory).getShapeCache().size());
+	}
+
+	@Test
+	public void testQueryShapeCacheWithParentIds() {
+		module.setQueryShapeCacheSize(10);
+
+		JpaQuery<RelatedEntity> builder1 = queryFactory.query(TestEntity.class, TestEntity.ATTR_oneRelatedValue, Arrays.asList(1L));
+		JpaQuery<RelatedEntity> builder2 = queryFactory.query(TestEntity.class, TestEntity.ATTR_oneRelatedValue, Arrays.asList(2L));
+		RelatedEntity related1 = builder1.buildExecutor().getUniqueResult(false);
+		RelatedEntity related2 = builder2.buildExecutor().getUniqueResult(false);
+		Assert.assertEquals(101L, related1.getId().longValue());
+		Assert.assertEquals(102L, related2.getId().longValue());
+		Assert.assertEquals(1, ((JpaCriteriaQueryFactory) queryFactory).getShapeCache().size());
+	}
+
+	@Test
+	public void testQueryShapeCacheWithParentWindow() {
+		module.setQueryShapeCacheSize(10);
+
+		for (long parentId = 1; parentId <= 2; parentId++) {
+			JpaQuery<RelatedEntity> builder = queryFactory.query(TestEntity.class, TestEntity.ATTR_oneRelatedValue,
+					Arrays.asList(parentId));
+			builder.addFilter(RelatedEntity.ATTR_stringValue, FilterOperator.NEQ, "other" + parentId);
+			builder.setParentWindow(0, 1);
+			builder.addParentTotalSelection();
+			List<Tuple> tuples = builder.buildExecutor().getResultTuples();
+			Assert.assertEquals(1, tuples.size());
+			Assert.assertEquals(100L + parentId, tuples.get(0).get(0, RelatedEntity.class).getId().longValue());
+			Assert.assertEquals(1L, tuples.get(0).get(JpaQuery.PARENT_TOTAL_SELECTION, Number.class).longValue());
+		}
+		Assert.assertEquals(1, ((JpaCriteriaQueryFactory) queryFactory).getShapeCache().size());
+	}
+
+	@Test
+	public void testQueryShapeCacheSkipsLiterals() {
+		module.setQueryShapeCacheSize(10);
+
+		// integer value for long attribute is inlined as literal
+		JpaQuery<TestEntity> builder = queryFactory.query(TestEntity.class).addFilter(TestEntity.ATTR_id, FilterOperator.EQ, 1);
+		Assert.assertEquals(1L, builder.buildExecutor().getUniqueResult(false).getId().longValue());
+		Assert.assertEquals(0, ((JpaCriteriaQueryFactory) queryFactory).getShapeCache().size());
+	}
+
+	private JpaCriteriaQueryExecutorImpl<TestEntity> buildFilteredExecutor(long id) {
+		JpaQuery<TestEntity> builder = queryFactory.query(TestEntity.class);
+		builder.addFilter(TestEntity.ATTR_id, FilterOperator.EQ, id);
+		builder.addSortBy(Arrays.asList(TestEntity.ATTR_stringValue), Direction.ASC);
+		return (JpaCriteriaQueryExecutorImpl<TestEntity>) builder.buildExecutor();
+	}
 }
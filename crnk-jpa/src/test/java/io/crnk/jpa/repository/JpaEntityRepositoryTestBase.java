@@ -4,11 +4,18 @@ import io.crnk.core.queryspec.*;
 import io.crnk.core.resource.list.ResourceList;
 import io.crnk.core.resource.meta.PagedMetaInformation;
 import io.crnk.jpa.JpaEntityRepository;
+import io.crnk.jpa.JpaRelationshipRepository;
 import io.crnk.jpa.JpaRepositoryConfig;
+import io.crnk.jpa.JpaRepositoryFilterBase;
+import io.crnk.jpa.internal.JpaQueryFactoryBase;
 import io.crnk.jpa.model.RelatedEntity;
 import io.crnk.jpa.model.SequenceEntity;
 import io.crnk.jpa.model.TestEntity;
 import io.crnk.jpa.query.AbstractJpaTest;
+import io.crnk.jpa.query.CachedCountStrategy;
+import io.crnk.jpa.query.EstimatedCountStrategy;
+import io.crnk.jpa.query.ExactCountStrategy;
+import io.crnk.jpa.query.JpaQueryExecutor;
 import org.hibernate.Hibernate;
 import org.junit.Assert;
 import org.junit.Before;
@@ -67,6 +74,58 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		}
 	}
 
+	@Test
+	public void testPageAfter() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.addSort(new SortSpec(Arrays.asList(TestEntity.ATTR_longValue), Direction.DESC));
+		querySpec.addSort(new SortSpec(Arrays.asList(TestEntity.ATTR_id), Direction.ASC));
+		querySpec.setPageAfter(Arrays.<Object>asList(3L, 3L));
+		querySpec.setLimit(2L);
+		ResourceList<TestEntity> list = repo.findAll(querySpec);
+
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(2L, list.get(0).getId().longValue());
+		Assert.assertEquals(1L, list.get(1).getId().longValue());
+		PagedMetaInformation metaInformation = list.getMeta(PagedMetaInformation.class);
+		Assert.assertEquals(3L, metaInformation.getTotalResourceCount().longValue());
+	}
+
+	@Test
+	public void testFindAllByIdsInBatches() {
+		module.setIdBatchSize(2);
+		List<TestEntity> list = repo.findAll(Arrays.asList(4L, 0L, 2L, 99L, 1L), new QuerySpec(TestEntity.class));
+		Assert.assertEquals(4, list.size());
+
+		QuerySpec sortedQuerySpec = new QuerySpec(TestEntity.class);
+		sortedQuerySpec.addSort(new SortSpec(Arrays.asList(TestEntity.ATTR_id), Direction.ASC));
+		list = repo.findAll(Arrays.asList(4L, 0L, 2L, 99L, 1L), sortedQuerySpec);
+		Assert.assertEquals(4, list.size());
+		Assert.assertEquals(0L, list.get(0).getId().longValue());
+		Assert.assertEquals(4L, list.get(3).getId().longValue());
+	}
+
+	@Test
+	public void testFindAllWithQueryShapeCache() {
+		module.setQueryShapeCacheSize(10);
+		for (long id = 0; id < numTestEntities; id++) {
+			QuerySpec querySpec = new QuerySpec(TestEntity.class);
+			querySpec.addFilter(new FilterSpec(Arrays.asList(TestEntity.ATTR_id), FilterOperator.EQ, id));
+			List<TestEntity> list = repo.findAll(querySpec);
+			Assert.assertEquals(1, list.size());
+			Assert.assertEquals(id, list.get(0).getId().longValue());
+		}
+	}
+
+	@Test
+	public void testQueryShapeCacheSkippedForFilteredRepositories() {
+		module.setQueryShapeCacheSize(10);
+		module.addFilter(new JpaRepositoryFilterBase());
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList(TestEntity.ATTR_id), FilterOperator.EQ, 1L));
+		Assert.assertEquals(1, repo.findAll(querySpec).size());
+		Assert.assertEquals(0, ((JpaQueryFactoryBase) module.getQueryFactory()).getShapeCache().size());
+	}
+
 	@Test
 	public void testFilterString() throws InstantiationException, IllegalAccessException {
 		QuerySpec querySpec = new QuerySpec(TestEntity.class);
@@ -214,6 +273,90 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		Assert.assertEquals(5, metaInformation.getTotalResourceCount().longValue());
 	}
 
+	@Test
+	public void testTotalCountDerivedFromPage() {
+		CountingStrategy countStrategy = new CountingStrategy();
+		JpaEntityRepository<TestEntity, Long> countingRepo = new JpaEntityRepository<>(module,
+				JpaRepositoryConfig.builder(TestEntity.class).setCountStrategy(countStrategy).build());
+
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setOffset(3L);
+		querySpec.setLimit(3L);
+		ResourceList<TestEntity> list = countingRepo.findAll(querySpec);
+		Assert.assertEquals(5L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+		Assert.assertEquals(0, countStrategy.counts);
+
+		querySpec.setOffset(0L);
+		list = countingRepo.findAll(querySpec);
+		Assert.assertEquals(5L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+		Assert.assertEquals(1, countStrategy.counts);
+	}
+
+	@Test
+	public void testCachedTotalCount() {
+		CountingStrategy countStrategy = new CountingStrategy();
+		JpaRepositoryConfig<TestEntity> cachingConfig = JpaRepositoryConfig.builder(TestEntity.class)
+				.setCountStrategy(new CachedCountStrategy(countStrategy, 60000, 10)).build();
+		JpaEntityRepository<TestEntity, Long> cachingRepo = new JpaEntityRepository<>(module, cachingConfig);
+
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+		cachingRepo.findAll(querySpec);
+		querySpec.setOffset(2L);
+		ResourceList<TestEntity> list = cachingRepo.findAll(querySpec);
+		Assert.assertEquals(5L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+		Assert.assertEquals(1, countStrategy.counts);
+
+		QuerySpec filteredQuerySpec = querySpec.duplicate();
+		filteredQuerySpec.setOffset(0L);
+		filteredQuerySpec.addFilter(new FilterSpec(Arrays.asList("longValue"), FilterOperator.GE, 1L));
+		list = cachingRepo.findAll(filteredQuerySpec);
+		Assert.assertEquals(4L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+		Assert.assertEquals(2, countStrategy.counts);
+
+		cachingRepo.delete(4L);
+		list = cachingRepo.findAll(querySpec);
+		Assert.assertEquals(4L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+		Assert.assertEquals(3, countStrategy.counts);
+
+		// relationship updates invalidate the counts of their target
+		JpaRelationshipRepository<RelatedEntity, Long, TestEntity, Long> relationshipRepo =
+				new JpaRelationshipRepository<>(module, RelatedEntity.class, cachingConfig);
+		relationshipRepo.setRelation(em.find(RelatedEntity.class, 101L), 1L, RelatedEntity.ATTR_testEntity);
+		cachingRepo.findAll(querySpec);
+		Assert.assertEquals(4, countStrategy.counts);
+
+		// counts of filtered repositories are not shared
+		module.addFilter(new JpaRepositoryFilterBase());
+		cachingRepo.findAll(querySpec);
+		cachingRepo.findAll(querySpec);
+		Assert.assertEquals(6, countStrategy.counts);
+	}
+
+	@Test
+	public void testEstimatedTotalCount() {
+		JpaEntityRepository<TestEntity, Long> estimatingRepo = new JpaEntityRepository<>(module,
+				JpaRepositoryConfig.builder(TestEntity.class).setCountStrategy(new EstimatedCountStrategy(3)).build());
+
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+		ResourceList<TestEntity> list = estimatingRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(3L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+
+		querySpec.setOffset(2L);
+		list = estimatingRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(2L, list.get(0).getId().longValue());
+		Assert.assertEquals(5L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+
+		estimatingRepo = new JpaEntityRepository<>(module,
+				JpaRepositoryConfig.builder(TestEntity.class).setCountStrategy(new EstimatedCountStrategy(10)).build());
+		querySpec.setOffset(0L);
+		list = estimatingRepo.findAll(querySpec);
+		Assert.assertEquals(5L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+	}
+
 	@Test
 	public void testPagingFirst() throws InstantiationException, IllegalAccessException {
 		QuerySpec querySpec = new QuerySpec(TestEntity.class);
@@ -263,11 +406,78 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		repo.findAll(querySpec);
 	}
 
-	@Test(expected = Exception.class)
-	public void testSparseFieldSetNotSupported() throws InstantiationException, IllegalAccessException {
+	@Test
+	public void testSparseFieldSetProjection() {
 		QuerySpec querySpec = new QuerySpec(TestEntity.class);
-		querySpec.includeField(Arrays.asList("test"));
-		repo.findAll(querySpec);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		querySpec.addSort(new SortSpec(Arrays.asList(TestEntity.ATTR_longValue), Direction.DESC));
+		querySpec.setLimit(2L);
+		ResourceList<TestEntity> list = repo.findAll(querySpec);
+
+		Assert.assertEquals(2, list.size());
+		TestEntity entity = list.get(0);
+		Assert.assertFalse(em.contains(entity));
+		Assert.assertEquals(4L, entity.getId().longValue());
+		Assert.assertEquals("test4", entity.getStringValue());
+		Assert.assertEquals(4L, entity.getLongValue());
+		Assert.assertNull(entity.getEmbValue());
+		Assert.assertEquals(3L, list.get(1).getId().longValue());
+		PagedMetaInformation metaInformation = list.getMeta(PagedMetaInformation.class);
+		Assert.assertEquals(5L, metaInformation.getTotalResourceCount().longValue());
+	}
+
+	@Test
+	public void testSparseFieldSetProjectionDisabled() {
+		JpaEntityRepository<TestEntity, Long> entityRepo = new JpaEntityRepository<>(module,
+				JpaRepositoryConfig.builder(TestEntity.class).setFieldProjectionEnabled(false).build());
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		querySpec.addFilter(new FilterSpec(Arrays.asList(TestEntity.ATTR_id), FilterOperator.EQ, 1L));
+		List<TestEntity> list = entityRepo.findAll(querySpec);
+
+		Assert.assertEquals(1, list.size());
+		Assert.assertTrue(em.contains(list.get(0)));
+		Assert.assertNotNull(list.get(0).getEmbValue());
+	}
+
+	@Test
+	public void testSparseFieldSetWithRelationSelectsEntities() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_oneRelatedValue));
+		querySpec.addFilter(new FilterSpec(Arrays.asList(TestEntity.ATTR_id), FilterOperator.EQ, 1L));
+		List<TestEntity> list = repo.findAll(querySpec);
+
+		Assert.assertEquals(1, list.size());
+		Assert.assertTrue(em.contains(list.get(0)));
+	}
+
+	@Test
+	public void testSparseFieldSetWithFetchingFilterSelectsEntities() {
+		module.addFilter(new JpaRepositoryFilterBase() {
+
+			@Override
+			public <E> JpaQueryExecutor<E> filterExecutor(Object repository, QuerySpec querySpec,
+					JpaQueryExecutor<E> executor) {
+				executor.fetch(Arrays.asList(TestEntity.ATTR_oneRelatedValue));
+				return executor;
+			}
+		});
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		querySpec.addFilter(new FilterSpec(Arrays.asList(TestEntity.ATTR_id), FilterOperator.EQ, 1L));
+		List<TestEntity> list = repo.findAll(querySpec);
+
+		Assert.assertEquals(1, list.size());
+		Assert.assertTrue(em.contains(list.get(0)));
+		Assert.assertTrue(Hibernate.isInitialized(list.get(0).getOneRelatedValue()));
+	}
+
+	@Test
+	public void testSparseFieldSetNotAppliedToFindOne() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		TestEntity entity = repo.findOne(1L, querySpec);
+		Assert.assertTrue(em.contains(entity));
 	}
 
 	@Test(expected = Exception.class)
@@ -296,4 +506,15 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		entity = sequenceRepo.save(entity);
 		Assert.assertEquals("someUpdatedValue", entity.getStringValue());
 	}
+
+	private static class CountingStrategy extends ExactCountStrategy {
+
+		private int counts = 0;
+
+		@Override
+		public long count(JpaQueryExecutor<?> executor, QuerySpec querySpec, int resultCount, boolean filtered) {
+			counts++;
+			return super.count(executor, querySpec, resultCount, filtered);
+		}
+	}
 }
@@ -3,6 +3,7 @@ package io.crnk.jpa.repository;
 import java.util.Set;
 import javax.persistence.EntityManager;
 
+import io.crnk.core.engine.information.resource.ResourceInformation;
 import io.crnk.jpa.JpaModule;
 import io.crnk.jpa.model.TestEntity;
 import io.crnk.jpa.query.AbstractJpaTest;
@@ -11,6 +12,7 @@ import io.crnk.jpa.query.querydsl.QuerydslQueryFactory;
 import io.crnk.test.mock.ClassTestUtils;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional
@@ -41,6 +43,19 @@ public class JpaModuleTest extends AbstractJpaTest {
 		Assert.assertNotNull(module.getEntityManagerFactory());
 	}
 
+	@Test
+	public void repositoriesBoundToRequestThread() {
+		JpaModule serverModule = JpaModule.newServerModule(emFactory, em, null);
+
+		ResourceInformation entityInformation = Mockito.mock(ResourceInformation.class);
+		Mockito.doReturn(TestEntity.class).when(entityInformation).getResourceClass();
+		Assert.assertTrue(serverModule.isRequestThreadBound(entityInformation));
+
+		ResourceInformation otherInformation = Mockito.mock(ResourceInformation.class);
+		Mockito.doReturn(String.class).when(otherInformation).getResourceClass();
+		Assert.assertFalse(serverModule.isRequestThreadBound(otherInformation));
+	}
+
 	@Override
 	protected JpaQueryFactory createQueryFactory(EntityManager em) {
 		return QuerydslQueryFactory.newInstance();
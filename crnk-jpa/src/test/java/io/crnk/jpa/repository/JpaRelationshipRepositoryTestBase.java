@@ -1,12 +1,17 @@
 package io.crnk.jpa.repository;
 
+import io.crnk.core.engine.internal.utils.MultivaluedMap;
+import io.crnk.core.queryspec.Direction;
 import io.crnk.core.queryspec.FilterOperator;
 import io.crnk.core.queryspec.FilterSpec;
 import io.crnk.core.queryspec.QuerySpec;
+import io.crnk.core.queryspec.SortSpec;
 import io.crnk.core.resource.list.ResourceList;
 import io.crnk.core.resource.meta.PagedMetaInformation;
 import io.crnk.jpa.JpaRelationshipRepository;
 import io.crnk.jpa.JpaRepositoryConfig;
+import io.crnk.jpa.internal.HibernateBatchUtils;
+import io.crnk.jpa.model.ManyToManyTestEntity;
 import io.crnk.jpa.model.RelatedEntity;
 import io.crnk.jpa.model.TestEntity;
 import io.crnk.jpa.query.AbstractJpaTest;
@@ -18,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -112,7 +118,8 @@ public abstract class JpaRelationshipRepositoryTestBase extends AbstractJpaTest
 		test = em.find(TestEntity.class, 1L);
 		Assert.assertEquals(0, test.getManyRelatedValues().size());
 
-		// set relations
+		// set relations, targets loaded with one query per IN list
+		module.setMaxInListSize(1);
 		repo.setRelations(test, Arrays.asList(101L, 102L), TestEntity.ATTR_manyRelatedValues);
 		em.flush();
 		em.clear();
@@ -129,6 +136,60 @@ public abstract class JpaRelationshipRepositoryTestBase extends AbstractJpaTest
 		Assert.assertEquals(101L, related.getId().longValue());
 	}
 
+	@Test
+	public void testDirectJoinTableMutations() {
+		ManyToManyTestEntity owner = new ManyToManyTestEntity();
+		owner.setId(1L);
+		em.persist(owner);
+		em.flush();
+		em.clear();
+
+		module.setDirectJoinTableMutationsEnabled(true);
+		JpaRelationshipRepository<ManyToManyTestEntity, Long, RelatedEntity, Long> manyToManyRepo =
+				new JpaRelationshipRepository<>(module, ManyToManyTestEntity.class,
+						JpaRepositoryConfig.create(RelatedEntity.class));
+
+		owner = em.getReference(ManyToManyTestEntity.class, 1L);
+		manyToManyRepo.addRelations(owner, Arrays.asList(101L, 102L), ManyToManyTestEntity.ATTR_relatedValues);
+		manyToManyRepo.addRelations(owner, Arrays.asList(102L, 103L), ManyToManyTestEntity.ATTR_relatedValues);
+		Assert.assertEquals(Arrays.asList(101L, 102L, 103L), getRelatedIds(1L));
+
+		owner = em.getReference(ManyToManyTestEntity.class, 1L);
+		manyToManyRepo.removeRelations(owner, Arrays.asList(101L, 103L), ManyToManyTestEntity.ATTR_relatedValues);
+		Assert.assertEquals(Arrays.asList(102L), getRelatedIds(1L));
+
+		// statements are split according to the maximum IN list size, inserts are sent in batches of that size
+		Assert.assertTrue(HibernateBatchUtils.isAvailable(em));
+		module.setMaxInListSize(2);
+		owner = em.getReference(ManyToManyTestEntity.class, 1L);
+		manyToManyRepo.setRelations(owner, Arrays.asList(100L, 101L, 102L, 103L, 104L),
+				ManyToManyTestEntity.ATTR_relatedValues);
+		Assert.assertEquals(Arrays.asList(100L, 101L, 102L, 103L, 104L), getRelatedIds(1L));
+
+		owner = em.getReference(ManyToManyTestEntity.class, 1L);
+		manyToManyRepo.removeRelations(owner, Arrays.asList(100L, 101L, 102L), ManyToManyTestEntity.ATTR_relatedValues);
+		Assert.assertEquals(Arrays.asList(103L, 104L), getRelatedIds(1L));
+
+		// loaded collections are updated through the entity
+		owner = em.find(ManyToManyTestEntity.class, 1L);
+		Assert.assertEquals(2, owner.getRelatedValues().size());
+		manyToManyRepo.addRelations(owner, Arrays.asList(100L), ManyToManyTestEntity.ATTR_relatedValues);
+		Assert.assertEquals(3, owner.getRelatedValues().size());
+		Assert.assertEquals(Arrays.asList(100L, 103L, 104L), getRelatedIds(1L));
+	}
+
+	private List<Long> getRelatedIds(Long ownerId) {
+		em.flush();
+		em.clear();
+		ManyToManyTestEntity owner = em.find(ManyToManyTestEntity.class, ownerId);
+		List<Long> ids = new ArrayList<>();
+		for (RelatedEntity related : owner.getRelatedValues()) {
+			ids.add(related.getId());
+		}
+		Collections.sort(ids);
+		return ids;
+	}
+
 	@Test
 	public void testSetRelation() throws InstantiationException, IllegalAccessException {
 		RelatedEntity related = em.find(RelatedEntity.class, 101L);
@@ -184,6 +245,95 @@ public abstract class JpaRelationshipRepositoryTestBase extends AbstractJpaTest
 		Assert.assertEquals(5, metaInformation.getTotalResourceCount().longValue());
 	}
 
+	@Test
+	public void testGetManyRelationsWithPagingPerSource() {
+		setupManyRelation(Arrays.asList(100L, 101L, 102L));
+		TestEntity test2 = em.find(TestEntity.class, 2L);
+		repo.addRelations(test2, Arrays.asList(103L, 104L), TestEntity.ATTR_manyRelatedValues);
+		em.flush();
+		em.clear();
+
+		QuerySpec querySpec = new QuerySpec(RelatedEntity.class);
+		querySpec.addSort(new SortSpec(Arrays.asList(RelatedEntity.ATTR_id), Direction.DESC));
+		querySpec.setOffset(1L);
+		querySpec.setLimit(1L);
+		MultivaluedMap<Long, RelatedEntity> targets =
+				repo.findTargets(Arrays.asList(1L, 2L, 3L), TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(2, targets.keySet().size());
+		Assert.assertEquals(101L, targets.getUnique(1L).getId().longValue());
+		Assert.assertEquals(103L, targets.getUnique(2L).getId().longValue());
+
+		ResourceList<RelatedEntity> list = (ResourceList<RelatedEntity>) targets.getList(1L);
+		Assert.assertEquals(3L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+		list = (ResourceList<RelatedEntity>) targets.getList(2L);
+		Assert.assertEquals(2L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+
+		// offset without limit
+		querySpec.setLimit(null);
+		targets = repo.findTargets(Arrays.asList(1L, 2L, 3L), TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(2, targets.keySet().size());
+		Assert.assertEquals(2, targets.getList(1L).size());
+		Assert.assertEquals(101L, targets.getList(1L).get(0).getId().longValue());
+		Assert.assertEquals(103L, targets.getUnique(2L).getId().longValue());
+	}
+
+	@Test
+	public void testGetManyRelationsWithFilteredPagingPerSource() {
+		setupManyRelation(Arrays.asList(100L, 101L, 102L));
+		TestEntity test2 = em.find(TestEntity.class, 2L);
+		repo.addRelations(test2, Arrays.asList(103L, 104L), TestEntity.ATTR_manyRelatedValues);
+		em.flush();
+		em.clear();
+
+		QuerySpec querySpec = new QuerySpec(RelatedEntity.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList(RelatedEntity.ATTR_id), FilterOperator.NEQ, 103L));
+		querySpec.setLimit(1L);
+		MultivaluedMap<Long, RelatedEntity> targets =
+				repo.findTargets(Arrays.asList(1L, 2L), TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(100L, targets.getUnique(1L).getId().longValue());
+		Assert.assertEquals(104L, targets.getUnique(2L).getId().longValue());
+		ResourceList<RelatedEntity> list = (ResourceList<RelatedEntity>) targets.getList(1L);
+		Assert.assertEquals(3L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+		list = (ResourceList<RelatedEntity>) targets.getList(2L);
+		Assert.assertEquals(1L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+
+		// nullable sort attribute, paged in memory
+		querySpec.addSort(new SortSpec(Arrays.asList(RelatedEntity.ATTR_stringValue), Direction.DESC));
+		querySpec.setOffset(1L);
+		targets = repo.findTargets(Arrays.asList(1L, 2L), TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(1, targets.keySet().size());
+		Assert.assertEquals(101L, targets.getUnique(1L).getId().longValue());
+		list = (ResourceList<RelatedEntity>) targets.getList(1L);
+		Assert.assertEquals(3L, list.getMeta(PagedMetaInformation.class).getTotalResourceCount().longValue());
+	}
+
+	@Test
+	public void testGetManyRelationsInBatches() {
+		setupManyRelation(Arrays.asList(100L, 101L, 102L));
+		TestEntity test2 = em.find(TestEntity.class, 2L);
+		repo.addRelations(test2, Arrays.asList(103L, 104L), TestEntity.ATTR_manyRelatedValues);
+		em.flush();
+		em.clear();
+
+		module.setIdBatchSize(2);
+		module.setInListPaddingEnabled(true);
+		QuerySpec querySpec = new QuerySpec(RelatedEntity.class);
+		querySpec.addSort(new SortSpec(Arrays.asList(RelatedEntity.ATTR_id), Direction.DESC));
+		querySpec.setLimit(2L);
+		MultivaluedMap<Long, RelatedEntity> targets =
+				repo.findTargets(Arrays.asList(1L, 3L, 2L), TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(2, targets.keySet().size());
+		List<RelatedEntity> list = targets.getList(1L);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(102L, list.get(0).getId().longValue());
+		Assert.assertEquals(101L, list.get(1).getId().longValue());
+		list = targets.getList(2L);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(104L, list.get(0).getId().longValue());
+		Assert.assertEquals(3L, ((ResourceList<RelatedEntity>) targets.getList(1L)).getMeta(PagedMetaInformation.class)
+				.getTotalResourceCount().longValue());
+	}
+
 	private TestEntity setupManyRelation(List<Long> ids) {
 		TestEntity test = em.find(TestEntity.class, 1L);
 		Assert.assertThat(test.getManyRelatedValues().size(), Is.is(0));
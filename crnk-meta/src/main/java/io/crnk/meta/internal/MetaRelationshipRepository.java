@@ -3,6 +3,8 @@ package io.crnk.meta.internal;
 import java.util.Collection;
 
 import io.crnk.core.engine.internal.utils.PropertyUtils;
+import io.crnk.core.engine.registry.ResourceRegistry;
+import io.crnk.core.engine.registry.ResourceRegistryAware;
 import io.crnk.core.exception.ResourceNotFoundException;
 import io.crnk.core.queryspec.QuerySpec;
 import io.crnk.core.repository.RelationshipRepositoryV2;
@@ -10,7 +12,8 @@ import io.crnk.core.resource.list.ResourceList;
 import io.crnk.meta.MetaLookup;
 import io.crnk.meta.model.MetaElement;
 
-public class MetaRelationshipRepository implements RelationshipRepositoryV2<MetaElement, String, MetaElement, String> {
+public class MetaRelationshipRepository implements RelationshipRepositoryV2<MetaElement, String, MetaElement, String>,
+		ResourceRegistryAware {
 
 	private MetaLookup lookup;
 
@@ -18,6 +21,8 @@ public class MetaRelationshipRepository implements RelationshipRepositoryV2<Meta
 
 	private Class<? extends MetaElement> targetResourceClass;
 
+	private ResourceRegistry resourceRegistry;
+
 	public MetaRelationshipRepository(MetaLookup lookup, Class<? extends MetaElement> sourceClass,
 			Class<? extends MetaElement> targetClass) {
 		this.lookup = lookup;
@@ -37,7 +42,12 @@ public class MetaRelationshipRepository implements RelationshipRepositoryV2<Meta
 	public ResourceList<MetaElement> findManyTargets(String sourceId, String fieldName, QuerySpec querySpec) {
 		MetaElement source = getSource(sourceId);
 		Object value = PropertyUtils.getProperty(source, fieldName);
-		return querySpec.apply((Collection<MetaElement>) value);
+		return querySpec.apply((Collection<MetaElement>) value, resourceRegistry.getInMemoryEvaluator());
+	}
+
+	@Override
+	public void setResourceRegistry(ResourceRegistry resourceRegistry) {
+		this.resourceRegistry = resourceRegistry;
 	}
 
 	private MetaElement getSource(String sourceId) {
@@ -3,6 +3,7 @@ package io.crnk.meta.internal;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import io.crnk.core.engine.registry.ResourceRegistry;
 import io.crnk.core.exception.ResourceNotFoundException;
 import io.crnk.core.queryspec.QuerySpec;
 import io.crnk.core.repository.ResourceRepositoryBase;
@@ -14,6 +15,8 @@ public class MetaResourceRepositoryImpl<T> extends ResourceRepositoryBase<T, Str
 
 	private MetaLookup lookup;
 
+	private ResourceRegistry resourceRegistry;
+
 	public MetaResourceRepositoryImpl(MetaLookup lookup, Class<T> resourceClass) {
 		super(resourceClass);
 		this.lookup = lookup;
@@ -33,7 +36,13 @@ public class MetaResourceRepositoryImpl<T> extends ResourceRepositoryBase<T, Str
 	@Override
 	public ResourceList<T> findAll(QuerySpec querySpec) {
 		Collection<T> values = filterByType(lookup.getMetaById().values());
-		return querySpec.apply(values);
+		return querySpec.apply(values, resourceRegistry.getInMemoryEvaluator());
+	}
+
+	@Override
+	public void setResourceRegistry(ResourceRegistry resourceRegistry) {
+		super.setResourceRegistry(resourceRegistry);
+		this.resourceRegistry = resourceRegistry;
 	}
 
 	@SuppressWarnings("unchecked")
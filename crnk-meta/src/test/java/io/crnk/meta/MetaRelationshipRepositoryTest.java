@@ -34,6 +34,7 @@ public class MetaRelationshipRepositoryTest extends AbstractMetaTest {
 		lookup.initialize();
 
 		repo = new MetaRelationshipRepository(lookup, MetaElement.class, MetaElement.class);
+		repo.setResourceRegistry(boot.getResourceRegistry());
 	}
 
 	@Test(expected = UnsupportedOperationException.class)
@@ -29,6 +29,7 @@ public class MetaResourceRepositoryTest extends AbstractMetaTest {
 		lookup.initialize();
 
 		repo = new MetaResourceRepositoryImpl(lookup, MetaElement.class);
+		repo.setResourceRegistry(boot.getResourceRegistry());
 	}
 
 	@Test(expected = ResourceNotFoundException.class)
@@ -1,6 +1,7 @@
 package io.crnk.operations.server;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -8,7 +9,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.crnk.core.engine.dispatcher.RequestDispatcher;
 import io.crnk.core.engine.dispatcher.Response;
 import io.crnk.core.engine.document.Document;
@@ -17,6 +20,7 @@ import io.crnk.core.engine.document.Resource;
 import io.crnk.core.engine.http.HttpMethod;
 import io.crnk.core.engine.http.HttpRequestContext;
 import io.crnk.core.engine.http.HttpRequestProcessor;
+import io.crnk.core.engine.http.HttpResponseWriter;
 import io.crnk.core.engine.http.HttpStatus;
 import io.crnk.core.engine.internal.dispatcher.path.JsonPath;
 import io.crnk.core.engine.internal.dispatcher.path.PathBuilder;
@@ -53,18 +57,23 @@ public class OperationsRequestProcessor implements HttpRequestProcessor {
 		if (context.accepts(JSONPATCH_CONTENT_TYPE)) {
 			try {
 				ObjectMapper mapper = moduleContext.getObjectMapper();
-				List<Operation> operations = Arrays.asList(mapper.readValue(context.getRequestBody(), Operation[].class));
+				List<Operation> operations = Arrays.asList(mapper.readValue(context.getRequestBodyStream(), Operation[].class));
 				enrichTypeIdInformation(operations);
 
 				OperationOrderStrategy orderStrategy = operationsModule.getOrderStrategy();
 				List<OrderedOperation> orderedOperations = orderStrategy.order(operations);
 
 				DefaultOperationFilterChain chain = new DefaultOperationFilterChain();
-				List<OperationResponse> responses = chain.doFilter(new DefaultOperationFilterContext(orderedOperations));
+				final List<OperationResponse> responses = chain.doFilter(new DefaultOperationFilterContext(orderedOperations));
 
-				String responseJson = mapper.writeValueAsString(responses);
-				context.setResponse(200, responseJson);
+				final ObjectWriter writer = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 				context.setContentType(JSONPATCH_CONTENT_TYPE);
+				context.setResponse(200, new HttpResponseWriter() {
+					@Override
+					public void writeTo(OutputStream outputStream) throws IOException {
+						writer.writeValue(outputStream, responses);
+					}
+				});
 			}
 			catch (Exception e) {
 				LOGGER.error("failed to execute operations", e);
@@ -1,9 +1,9 @@
 package io.crnk.rs;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -12,16 +12,20 @@ import java.util.Set;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.crnk.core.engine.http.HttpRequestContextBase;
+import io.crnk.core.engine.http.HttpResponseWriter;
+import io.crnk.core.engine.http.StreamingHttpRequestContextBase;
+import io.crnk.core.engine.internal.utils.IOUtils;
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
 import io.crnk.core.engine.internal.utils.UrlUtils;
 import io.crnk.core.utils.Nullable;
 import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 import io.crnk.rs.internal.legacy.JaxrsParameterProvider;
 
-public class JaxrsRequestContext implements HttpRequestContextBase {
+public class JaxrsRequestContext implements StreamingHttpRequestContextBase {
 
 	private final CrnkFeature feature;
 
@@ -35,10 +39,14 @@ public class JaxrsRequestContext implements HttpRequestContextBase {
 
 	private Nullable<byte[]> requestBody = Nullable.empty();
 
+	private boolean requestBodyStreamed;
+
 	private Integer responseCode;
 
 	private byte[] responseBody;
 
+	private HttpResponseWriter responseWriter;
+
 	private RepositoryMethodParameterProvider requestParameterProvider;
 
 	JaxrsRequestContext(ContainerRequestContext requestContext, CrnkFeature feature) {
@@ -86,20 +94,24 @@ public class JaxrsRequestContext implements HttpRequestContextBase {
 
 	@Override
 	public byte[] getRequestBody() throws IOException {
+		PreconditionUtil.assertFalse("request body has already been consumed as stream", requestBodyStreamed);
 		if (!requestBody.isPresent()) {
-			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-			int nRead;
-			byte[] data = new byte[16384];
 			InputStream is = requestContext.getEntityStream();
-			while ((nRead = is.read(data, 0, data.length)) != -1) {
-				buffer.write(data, 0, nRead);
-			}
-			buffer.flush();
-			requestBody = Nullable.of(buffer.toByteArray());
+			requestBody = Nullable.of(IOUtils.readFully(is));
 		}
 		return requestBody.get();
 	}
 
+	@Override
+	public InputStream getRequestBodyStream() {
+		if (requestBody.isPresent()) {
+			return new ByteArrayInputStream(requestBody.get());
+		}
+		PreconditionUtil.assertFalse("request body has already been consumed as stream", requestBodyStreamed);
+		requestBodyStreamed = true;
+		return requestContext.getEntityStream();
+	}
+
 	@Override
 	public void setResponseHeader(String name, String value) {
 		this.responseHeaders.put(name, value);
@@ -111,6 +123,12 @@ public class JaxrsRequestContext implements HttpRequestContextBase {
 		this.responseBody = body;
 	}
 
+	@Override
+	public void setResponse(int code, HttpResponseWriter writer) {
+		this.responseCode = code;
+		this.responseWriter = writer;
+	}
+
 	@Override
 	public String getMethod() {
 		return requestContext.getMethod();
@@ -121,7 +139,16 @@ public class JaxrsRequestContext implements HttpRequestContextBase {
 		if (responseCode != null) {
 			Response.ResponseBuilder builder = Response.status(responseCode);
 
-			if (responseBody != null) {
+			if (responseWriter != null) {
+				final HttpResponseWriter writer = responseWriter;
+				builder = builder.entity(new StreamingOutput() {
+					@Override
+					public void write(OutputStream output) throws IOException {
+						writer.writeTo(output);
+					}
+				});
+			}
+			else if (responseBody != null) {
 				builder = builder.entity(new ByteArrayInputStream(responseBody));
 			}
 
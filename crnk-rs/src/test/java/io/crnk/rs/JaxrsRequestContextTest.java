@@ -2,6 +2,7 @@ package io.crnk.rs;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.Configuration;
@@ -9,6 +10,7 @@ import javax.ws.rs.core.FeatureContext;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
 
+import io.crnk.core.engine.internal.utils.IOUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -58,5 +60,30 @@ public class JaxrsRequestContextTest {
 		Assert.assertTrue(Arrays.equals(copy1, body));
 	}
 
+	@Test
+	public void testStreamedBodyNotBuffered() throws IOException {
+		InputStream body = new ByteArrayInputStream("Hello World".getBytes());
+		Mockito.when(requestContext.getEntityStream()).thenReturn(body);
+
+		Assert.assertSame(body, context.getRequestBodyStream());
+		try {
+			context.getRequestBody();
+			Assert.fail();
+		}
+		catch (IllegalStateException e) {
+			// ok
+		}
+	}
 
+	@Test
+	public void testStreamedBodyAfterBuffering() throws IOException {
+		byte[] body = "Hello World".getBytes();
+		Mockito.when(requestContext.getEntityStream()).thenReturn(new ByteArrayInputStream(body));
+
+		context.getRequestBody();
+		InputStream stream1 = context.getRequestBodyStream();
+		InputStream stream2 = context.getRequestBodyStream();
+		Assert.assertTrue(Arrays.equals(body, IOUtils.readFully(stream1)));
+		Assert.assertTrue(Arrays.equals(body, IOUtils.readFully(stream2)));
+	}
 }
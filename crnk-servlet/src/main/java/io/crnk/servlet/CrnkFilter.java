@@ -60,7 +60,9 @@ public class CrnkFilter implements Filter {
 
 	@Override
 	public void destroy() {
-		// nothing to do
+		if (boot != null) {
+			boot.close();
+		}
 	}
 
 	@Override
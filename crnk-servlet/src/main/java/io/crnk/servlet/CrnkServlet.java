@@ -71,6 +71,12 @@ public class CrnkServlet extends HttpServlet {
 		}
 	}
 
+	@Override
+	public void destroy() {
+		boot.close();
+		super.destroy();
+	}
+
 	public CrnkBoot getBoot() {
 		return boot;
 	}
@@ -2,11 +2,13 @@ package io.crnk.servlet.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.InputStream;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 
+import io.crnk.core.engine.internal.utils.IOUtils;
+
 /**
  * A class which provides a buffered payload. Inspired by
  * <a href="http://massimilianosciacco.com/implementing-hmac-authentication-rest-api-spring-security">Implementing HMAC
@@ -14,21 +16,19 @@ import javax.servlet.http.HttpServletRequestWrapper;
  */
 public class BufferedRequestWrapper extends HttpServletRequestWrapper {
 
-	private String bufferedRequest;
+	private byte[] bufferedRequest;
 
 	public BufferedRequestWrapper(HttpServletRequest request) throws IOException {
 		super(request);
-		this.bufferedRequest = getInputString(request);
+		this.bufferedRequest = getInputBytes(request);
 	}
 
-	private String getInputString(HttpServletRequest request) throws IOException {
-		if (request.getInputStream() == null) {
+	private byte[] getInputBytes(HttpServletRequest request) throws IOException {
+		InputStream inputStream = request.getInputStream();
+		if (inputStream == null) {
 			return null;
 		}
-
-		Scanner s = new Scanner(request.getInputStream(), "UTF-8").useDelimiter("\\A");
-		String requestBody = s.hasNext() ? s.next() : "";
-		return requestBody;
+		return IOUtils.readFully(inputStream);
 	}
 
 	@Override
@@ -36,12 +36,22 @@ public class BufferedRequestWrapper extends HttpServletRequestWrapper {
 		if (bufferedRequest == null) {
 			return null;
 		}
-		final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bufferedRequest.getBytes());
+		final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bufferedRequest);
 		return new ServletInputStream() {
 			@Override
 			public int read() throws IOException {
 				return byteArrayInputStream.read();
 			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				return byteArrayInputStream.read(b, off, len);
+			}
+
+			@Override
+			public int available() throws IOException {
+				return byteArrayInputStream.available();
+			}
 		};
 	}
 }
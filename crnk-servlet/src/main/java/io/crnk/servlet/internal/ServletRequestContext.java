@@ -16,6 +16,7 @@
  */
 package io.crnk.servlet.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -28,13 +29,15 @@ import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import io.crnk.core.engine.http.HttpRequestContextBase;
+import io.crnk.core.engine.http.HttpResponseWriter;
+import io.crnk.core.engine.http.StreamingHttpRequestContextBase;
+import io.crnk.core.engine.internal.utils.PreconditionUtil;
 import io.crnk.core.engine.internal.utils.UrlUtils;
 import io.crnk.core.utils.Nullable;
 import io.crnk.legacy.internal.RepositoryMethodParameterProvider;
 import io.crnk.servlet.internal.legacy.ServletParametersProvider;
 
-public class ServletRequestContext implements HttpRequestContextBase {
+public class ServletRequestContext implements StreamingHttpRequestContextBase {
 
 
 	private final HttpServletRequest request;
@@ -49,6 +52,8 @@ public class ServletRequestContext implements HttpRequestContextBase {
 
 	private Nullable<byte[]> requestBody = Nullable.empty();
 
+	private boolean requestBodyStreamed;
+
 	private boolean hasResponse;
 
 	private String pathPrefix;
@@ -120,6 +125,7 @@ public class ServletRequestContext implements HttpRequestContextBase {
 
 	@Override
 	public byte[] getRequestBody() throws IOException {
+		PreconditionUtil.assertFalse("request body has already been consumed as stream", requestBodyStreamed);
 		if (!requestBody.isPresent()) {
 
 			InputStream is = request.getInputStream();
@@ -133,6 +139,17 @@ public class ServletRequestContext implements HttpRequestContextBase {
 		return requestBody.get();
 	}
 
+	@Override
+	public InputStream getRequestBodyStream() throws IOException {
+		if (requestBody.isPresent()) {
+			byte[] body = requestBody.get();
+			return body != null ? new ByteArrayInputStream(body) : null;
+		}
+		PreconditionUtil.assertFalse("request body has already been consumed as stream", requestBodyStreamed);
+		requestBodyStreamed = true;
+		return request.getInputStream();
+	}
+
 	@Override
 	public void setResponseHeader(String name, String value) {
 		response.setHeader(name, value);
@@ -149,6 +166,17 @@ public class ServletRequestContext implements HttpRequestContextBase {
 		}
 	}
 
+	@Override
+	public void setResponse(int code, HttpResponseWriter writer) throws IOException {
+		hasResponse = true;
+		response.setStatus(code);
+		if (writer != null) {
+			OutputStream out = response.getOutputStream();
+			writer.writeTo(out);
+			out.close();
+		}
+	}
+
 	@Override
 	public String getMethod() {
 		return request.getMethod().toUpperCase();
@@ -1,10 +1,13 @@
 package io.crnk.servlet;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import io.crnk.core.engine.http.HttpHeaders;
+import io.crnk.core.engine.http.HttpResponseWriter;
 import io.crnk.servlet.internal.ServletRequestContext;
 import org.junit.Assert;
 import org.junit.Before;
@@ -45,6 +48,22 @@ public class ServletRequestContextTest {
 		Assert.assertEquals("13", context.getResponseHeader("test"));
 	}
 
+	@Test
+	public void testStreamedResponse() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletRequestContext context = new ServletRequestContext(servletContext, request, response, "/api");
+
+		context.setResponse(201, new HttpResponseWriter() {
+			@Override
+			public void writeTo(OutputStream outputStream) throws IOException {
+				outputStream.write("test".getBytes());
+			}
+		});
+		Assert.assertTrue(context.checkAbort());
+		Assert.assertEquals(201, response.getStatus());
+		Assert.assertEquals("test", response.getContentAsString());
+	}
+
 	@Test
 	public void testGetUrl() {
 		MockHttpServletRequest request = new MockHttpServletRequest(servletContext);